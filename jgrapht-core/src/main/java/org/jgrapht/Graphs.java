@@ -20,6 +20,7 @@ package org.jgrapht;
 import org.jgrapht.graph.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.*;
 
 /**
@@ -576,6 +577,118 @@ public abstract class Graphs
     {
         return !graph.incomingEdgesOf(vertex).isEmpty();
     }
+
+    /**
+     * Performs an action for each vertex of a graph in parallel, using the common fork-join pool.
+     * The action must be thread-safe and must not modify the graph. No ordering guarantees are
+     * provided.
+     *
+     * @param graph the graph
+     * @param action the action to perform for each vertex
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     */
+    public static <V, E> void parallelForEachVertex(Graph<V, E> graph, Consumer<? super V> action)
+    {
+        parallelForEachVertex(graph, action, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Performs an action for each vertex of a graph in parallel, using the given fork-join pool.
+     * The action must be thread-safe and must not modify the graph. No ordering guarantees are
+     * provided.
+     *
+     * @param graph the graph
+     * @param action the action to perform for each vertex
+     * @param pool the fork-join pool
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     */
+    public static <V, E> void parallelForEachVertex(
+        Graph<V, E> graph, Consumer<? super V> action, ForkJoinPool pool)
+    {
+        parallelForEach(graph.vertexSet(), action, pool);
+    }
+
+    /**
+     * Performs an action for each edge of a graph in parallel, using the common fork-join pool.
+     * The action must be thread-safe and must not modify the graph. No ordering guarantees are
+     * provided.
+     *
+     * @param graph the graph
+     * @param action the action to perform for each edge
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     */
+    public static <V, E> void parallelForEachEdge(Graph<V, E> graph, Consumer<? super E> action)
+    {
+        parallelForEachEdge(graph, action, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Performs an action for each edge of a graph in parallel, using the given fork-join pool. The
+     * action must be thread-safe and must not modify the graph. No ordering guarantees are
+     * provided.
+     *
+     * @param graph the graph
+     * @param action the action to perform for each edge
+     * @param pool the fork-join pool
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     */
+    public static <V, E> void parallelForEachEdge(
+        Graph<V, E> graph, Consumer<? super E> action, ForkJoinPool pool)
+    {
+        parallelForEach(graph.edgeSet(), action, pool);
+    }
+
+    private static <T> void parallelForEach(
+        Collection<T> elements, Consumer<? super T> action, ForkJoinPool pool)
+    {
+        Objects.requireNonNull(action, "Action cannot be null");
+        Spliterator<T> spliterator = elements.spliterator();
+        // split into about four leaf tasks per worker in order to balance the load
+        long threshold = Math.max(1, spliterator.estimateSize() / (4L * pool.getParallelism()));
+        pool.invoke(new ForEachTask<>(spliterator, action, threshold));
+    }
+
+    /**
+     * Fork-join task which recursively splits a spliterator and applies an action to each leaf.
+     */
+    private static class ForEachTask<T>
+        extends
+        RecursiveAction
+    {
+        private static final long serialVersionUID = 2786302135834497396L;
+
+        private final Spliterator<T> spliterator;
+        private final Consumer<? super T> action;
+        private final long threshold;
+
+        ForEachTask(Spliterator<T> spliterator, Consumer<? super T> action, long threshold)
+        {
+            this.spliterator = spliterator;
+            this.action = action;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute()
+        {
+            Spliterator<T> right = spliterator;
+            Spliterator<T> left;
+            List<ForEachTask<T>> forked = new ArrayList<>();
+            while (right.estimateSize() > threshold && (left = right.trySplit()) != null) {
+                ForEachTask<T> task = new ForEachTask<>(left, action, threshold);
+                task.fork();
+                forked.add(task);
+            }
+            right.forEachRemaining(action);
+            for (ForEachTask<T> task : forked) {
+                task.join();
+            }
+        }
+    }
 }
 
 // End Graphs.java
@@ -0,0 +1,183 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.clustering;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.connectivity.*;
+import org.jgrapht.alg.scoring.*;
+import org.jgrapht.graph.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * The Girvan-Newman community detection algorithm.
+ *
+ * <p>
+ * The algorithm repeatedly removes the edge of highest betweenness centrality, as computed by
+ * {@link BetweennessCentrality#getEdgeScores()}, until the graph falls apart into the requested
+ * number of connected components, which are the clusters. It is described in the following paper:
+ * <ul>
+ * <li>Michelle Girvan, Mark Newman. Community structure in social and biological networks.
+ * Proceedings of the National Academy of Sciences 99(12), 7821-7826, 2002.</li>
+ * </ul>
+ *
+ * <p>
+ * Since shortest paths never leave a connected component, removing an edge only changes the edge
+ * betweenness of the component which contained the edge. Thus the betweenness is recomputed only
+ * for this component, or for the two components into which it splits, while the scores and the
+ * edge of maximum betweenness of all other components are kept. Once the graph has split, each
+ * iteration costs $O(n_c m_c)$ time for unweighted graphs, where $n_c$ and $m_c$ are the numbers of
+ * vertices and edges of the affected component. The input graph is not modified; the edges are
+ * removed from subgraph views of its components. For directed graphs the components are the
+ * weakly connected components. If the graph is weighted, the edge weights are used as lengths of
+ * the shortest paths.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class GirvanNewmanClustering<V, E>
+{
+    private final Graph<V, E> graph;
+    private final int k;
+    private final ForkJoinPool pool;
+    private List<Set<V>> clusters;
+
+    /**
+     * Create a new clustering algorithm.
+     *
+     * @param graph the graph
+     * @param k the number of clusters
+     * @throws IllegalArgumentException if k is not positive or larger than the number of vertices
+     */
+    public GirvanNewmanClustering(Graph<V, E> graph, int k)
+    {
+        this(graph, k, null);
+    }
+
+    /**
+     * Create a new clustering algorithm which computes the edge betweenness in a fork-join pool.
+     *
+     * @param graph the graph
+     * @param k the number of clusters
+     * @param pool the fork-join pool, or null to run in the calling thread
+     * @throws IllegalArgumentException if k is not positive or larger than the number of vertices
+     */
+    public GirvanNewmanClustering(Graph<V, E> graph, int k, ForkJoinPool pool)
+    {
+        this.graph = GraphTests.requireDirectedOrUndirected(graph);
+        if (k < 1 || k > graph.vertexSet().size()) {
+            throw new IllegalArgumentException(
+                "Number of clusters must be positive and at most the number of vertices");
+        }
+        this.k = k;
+        this.pool = pool;
+    }
+
+    /**
+     * Get the clusters, which are the vertex sets of the connected components after removing the
+     * edges of highest betweenness. If the graph has more than k connected components, these
+     * components are returned.
+     *
+     * @return the clusters
+     */
+    public List<Set<V>> getClusters()
+    {
+        if (clusters == null) {
+            compute();
+        }
+        return clusters;
+    }
+
+    private void compute()
+    {
+        // the subgraphs are views of an unmodifiable graph, which unlike a listenable graph does
+        // not keep the subgraphs as listeners
+        Graph<V, E> base = new AsUnmodifiableGraph<>(graph);
+        List<Component> components = new ArrayList<>();
+        for (Set<V> vertices : new ConnectivityInspector<>(graph).connectedSets()) {
+            components.add(new Component(new AsSubgraph<>(base, vertices)));
+        }
+
+        while (components.size() < k) {
+            // a component with an edge exists, since there are fewer components than vertices
+            Component best = null;
+            for (Component c : components) {
+                if (c.maxEdge != null && (best == null || c.maxScore > best.maxScore)) {
+                    best = c;
+                }
+            }
+
+            best.subgraph.removeEdge(best.maxEdge);
+            List<Set<V>> split = new ConnectivityInspector<>(best.subgraph).connectedSets();
+            if (split.size() == 1) {
+                best.update();
+            } else {
+                components.remove(best);
+                for (Set<V> vertices : split) {
+                    components.add(
+                        new Component(new AsSubgraph<>(base, vertices, best.subgraph.edgeSet())));
+                }
+            }
+        }
+
+        clusters = new ArrayList<>(components.size());
+        for (Component c : components) {
+            clusters.add(new LinkedHashSet<>(c.subgraph.vertexSet()));
+        }
+    }
+
+    /**
+     * A connected component with its edge of maximum betweenness.
+     */
+    private class Component
+    {
+        final Graph<V, E> subgraph;
+        E maxEdge;
+        double maxScore;
+
+        Component(Graph<V, E> subgraph)
+        {
+            this.subgraph = subgraph;
+            update();
+        }
+
+        /**
+         * Recompute the edge betweenness of the component.
+         */
+        void update()
+        {
+            maxEdge = null;
+            maxScore = Double.NEGATIVE_INFINITY;
+            if (subgraph.edgeSet().isEmpty()) {
+                return;
+            }
+            Map<E, Double> scores =
+                new BetweennessCentrality<>(subgraph, false, pool).getEdgeScores();
+            for (E e : subgraph.edgeSet()) {
+                double score = scores.get(e);
+                if (score > maxScore) {
+                    maxEdge = e;
+                    maxScore = score;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Clustering and community detection algorithms.
+ */
+package org.jgrapht.alg.clustering;
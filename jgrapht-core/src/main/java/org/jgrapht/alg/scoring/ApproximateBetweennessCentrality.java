@@ -0,0 +1,500 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.connectivity.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Approximate betweenness centrality.
+ *
+ * <p>
+ * Estimates the betweenness centrality of each vertex of a graph, as defined in
+ * {@link BetweennessCentrality}, by sampling shortest paths. The algorithm is based on
+ * <ul>
+ * <li>Matteo Riondato, Evgenios M. Kornaropoulos. Fast approximation of betweenness centrality
+ * through sampling. Data Mining and Knowledge Discovery 30(2), 438-475, 2016.</li>
+ * </ul>
+ *
+ * <p>
+ * Each sample is a pair of distinct vertices $s$ and $t$ chosen uniformly at random together with
+ * a shortest path from $s$ to $t$ chosen uniformly at random among all shortest paths. The
+ * estimate of a vertex is the fraction of the sampled paths which pass through the vertex, scaled
+ * by the number of pairs of vertices. The number of samples is
+ * $r = \frac{c}{\epsilon^2} (\lfloor \log_2 (VD - 2) \rfloor + 1 + \ln \frac{1}{\delta})$, where
+ * $c = 0.5$ and $VD$ is an upper bound of the vertex diameter of the graph, which is the maximum
+ * number of vertices of a shortest path. With probability at least $1 - \delta$ the fraction of
+ * the sampled paths which pass through a vertex differs from the betweenness of the vertex divided
+ * by the number of ordered pairs $n (n-1)$ by at most $\epsilon$, simultaneously for all vertices.
+ * Note that the number of samples depends on the graph only through the vertex diameter. The
+ * vertex diameter is bounded by the size of the largest (weakly) connected component and, for
+ * undirected unweighted graphs, by twice the eccentricity of a vertex of each component plus one.
+ *
+ * <p>
+ * Each sample requires a single source shortest path search from $s$ which stops as soon as $t$
+ * is reached, followed by a random walk back from $t$ to $s$ along the shortest path predecessors.
+ * If a fork-join pool is given, the samples are distributed among the workers of the pool, each
+ * of which uses its own arrays. The samples are drawn in blocks with separate random number
+ * generators seeded from the given seed, thus the scores only depend on the seed and not on the
+ * number of workers.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class ApproximateBetweennessCentrality<V, E>
+    implements
+    VertexScoringAlgorithm<V, Double>
+{
+    /**
+     * The universal constant $c$ of the sample size.
+     */
+    private static final double SAMPLE_SIZE_CONSTANT = 0.5;
+    /**
+     * The number of samples drawn with the same random number generator.
+     */
+    private static final int BLOCK_SIZE = 64;
+
+    /**
+     * Underlying graph
+     */
+    private final Graph<V, E> graph;
+    /**
+     * Whether to normalize scores
+     */
+    private final boolean normalize;
+    /**
+     * The maximum additive error of the fraction of paths through each vertex
+     */
+    private final double epsilon;
+    /**
+     * The probability that the error bound does not hold
+     */
+    private final double delta;
+    /**
+     * The seed of the random samples
+     */
+    private final long seed;
+    /**
+     * The pool among whose workers the samples are distributed, null to run in the calling thread
+     */
+    private final ForkJoinPool pool;
+    /**
+     * The actual scores
+     */
+    private Map<V, Double> scores;
+    /**
+     * The number of samples
+     */
+    private int sampleSize;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param graph the input graph
+     * @param epsilon the maximum additive error of the fraction of shortest paths through each
+     *        vertex
+     * @param delta the probability that the error bound does not hold
+     * @param seed the seed of the random number generator
+     * @throws IllegalArgumentException if epsilon or delta are not in $(0, 1)$
+     */
+    public ApproximateBetweennessCentrality(
+        Graph<V, E> graph, double epsilon, double delta, long seed)
+    {
+        this(graph, false, epsilon, delta, seed, null);
+    }
+
+    /**
+     * Construct a new instance.
+     *
+     * @param graph the input graph
+     * @param normalize whether to normalize by dividing the closeness by $(n-1) \cdot (n-2)$, where
+     *        $n$ is the number of vertices of the graph
+     * @param epsilon the maximum additive error of the fraction of shortest paths through each
+     *        vertex
+     * @param delta the probability that the error bound does not hold
+     * @param seed the seed of the random number generator
+     * @param pool the fork-join pool, or null to run in the calling thread
+     * @throws IllegalArgumentException if epsilon or delta are not in $(0, 1)$
+     */
+    public ApproximateBetweennessCentrality(
+        Graph<V, E> graph, boolean normalize, double epsilon, double delta, long seed,
+        ForkJoinPool pool)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        if (!(epsilon > 0d && epsilon < 1d)) {
+            throw new IllegalArgumentException("Epsilon must be in (0, 1)");
+        }
+        if (!(delta > 0d && delta < 1d)) {
+            throw new IllegalArgumentException("Delta must be in (0, 1)");
+        }
+        this.normalize = normalize;
+        this.epsilon = epsilon;
+        this.delta = delta;
+        this.seed = seed;
+        this.pool = pool;
+
+        this.scores = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<V, Double> getScores()
+    {
+        if (scores == null) {
+            compute();
+        }
+        return Collections.unmodifiableMap(scores);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Double getVertexScore(V v)
+    {
+        if (!graph.containsVertex(v)) {
+            throw new IllegalArgumentException("Cannot return score of unknown vertex");
+        }
+        if (scores == null) {
+            compute();
+        }
+        return scores.get(v);
+    }
+
+    /**
+     * Get the number of sampled shortest paths.
+     *
+     * @return the number of sampled shortest paths
+     */
+    public int getSampleSize()
+    {
+        if (scores == null) {
+            compute();
+        }
+        return sampleSize;
+    }
+
+    /**
+     * Compute the centrality index
+     */
+    private void compute()
+    {
+        int n = graph.vertexSet().size();
+        boolean weighted = graph.getType().isWeighted();
+
+        // index the graph, storing the outgoing and incoming arcs of each vertex
+        List<V> vertices = new ArrayList<>(graph.vertexSet());
+        Map<V, Integer> indices = ArcArrays.indexVertices(vertices);
+        ArcArrays<V, E> outArcs =
+            new ArcArrays<>(graph, vertices, indices, false, weighted, false);
+        outArcs.requireNonNegativeWeights();
+        Arcs out = new Arcs(outArcs);
+        // the incoming arcs of undirected graphs are their outgoing arcs
+        Arcs in = graph.getType().isDirected()
+            ? new Arcs(new ArcArrays<>(graph, vertices, indices, true, weighted, false)) : out;
+
+        // compute the sample size from an upper bound of the vertex diameter
+        long vertexDiameter = 0;
+        Workspace workspace = new Workspace(out, in);
+        for (Set<V> component : new ConnectivityInspector<>(graph).connectedSets()) {
+            long bound = component.size();
+            if (!weighted && !graph.getType().isDirected()) {
+                int eccentricity = workspace.eccentricity(indices.get(component.iterator().next()));
+                bound = Math.min(bound, 2L * eccentricity + 1);
+            }
+            vertexDiameter = Math.max(vertexDiameter, bound);
+        }
+        double r = SAMPLE_SIZE_CONSTANT / (epsilon * epsilon)
+            * (Math.floor(Math.log(Math.max(vertexDiameter - 2, 1)) / Math.log(2)) + 1
+                + Math.log(1 / delta));
+        this.sampleSize = n < 2 ? 0 : (int) Math.ceil(r);
+
+        // draw the samples in blocks, each with its own random number generator
+        int blocks = (sampleSize + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        long[] blockSeeds = new long[blocks];
+        Random random = new Random(seed);
+        for (int block = 0; block < blocks; block++) {
+            blockSeeds[block] = random.nextLong();
+        }
+        long[] counts;
+        if (pool == null) {
+            for (int block = 0; block < blocks; block++) {
+                sampleBlock(workspace, block, blockSeeds[block]);
+            }
+            counts = workspace.counts;
+        } else {
+            // each block borrows an idle workspace, which is created if there is none
+            Queue<Workspace> used = new ConcurrentLinkedQueue<>();
+            Queue<Workspace> idle = new ConcurrentLinkedQueue<>();
+            pool.invoke(new RangeTask(0, blocks, block -> {
+                Workspace w = idle.poll();
+                if (w == null) {
+                    w = new Workspace(out, in);
+                    used.add(w);
+                }
+                try {
+                    sampleBlock(w, block, blockSeeds[block]);
+                } finally {
+                    idle.offer(w);
+                }
+            }));
+            counts = new long[n];
+            for (Workspace w : used) {
+                for (int v = 0; v < n; v++) {
+                    counts[v] += w.counts[v];
+                }
+            }
+        }
+
+        // scale the fractions of paths to the number of pairs, which for undirected graphs are
+        // unordered pairs
+        double factor = sampleSize == 0 ? 0d : (double) n * (n - 1) / sampleSize;
+        if (!graph.getType().isDirected()) {
+            factor /= 2;
+        }
+        if (normalize) {
+            double normalizationFactor = (n - 1d) * (n - 2d);
+            if (normalizationFactor != 0) {
+                factor /= normalizationFactor;
+            }
+        }
+        this.scores = CollectionUtil.newHashMapWithExpectedSize(n);
+        for (int v = 0; v < n; v++) {
+            this.scores.put(vertices.get(v), counts[v] * factor);
+        }
+    }
+
+    private void sampleBlock(Workspace workspace, int block, long blockSeed)
+    {
+        Random random = new Random(blockSeed);
+        int from = block * BLOCK_SIZE;
+        int to = Math.min(sampleSize, from + BLOCK_SIZE);
+        for (int i = from; i < to; i++) {
+            workspace.sample(random);
+        }
+    }
+
+    /**
+     * The arcs of the vertices in one direction, stored in arrays.
+     */
+    private static class Arcs
+    {
+        final int[] offsets;
+        final int[] heads;
+        // the arc weights, null if the graph is unweighted
+        final double[] weights;
+
+        Arcs(ArcArrays<?, ?> arcs)
+        {
+            this.offsets = arcs.getOffsets();
+            this.heads = arcs.getHeads();
+            this.weights = arcs.getWeights();
+        }
+
+        double length(int a)
+        {
+            return weights == null ? 1d : weights[a];
+        }
+    }
+
+    /**
+     * The arrays of the searches of the blocks which borrow the workspace one at a time, together
+     * with the number of sampled paths through each vertex. After each search only the entries of
+     * the reached vertices are reset.
+     */
+    private static class Workspace
+    {
+        final Arcs out;
+        final Arcs in;
+
+        // Distance (Weight) of the shortest path from s to v
+        final double[] distance;
+        // Number of shortest paths from s to v
+        final double[] sigma;
+        // the vertices whose distance is finite, in the order in which they were reached
+        final int[] reached;
+        // the order in which the distances were fixed, -1 if not yet fixed
+        final int[] position;
+        final IntDaryHeap heap;
+        // the number of sampled paths through each vertex
+        final long[] counts;
+
+        Workspace(Arcs out, Arcs in)
+        {
+            int n = out.offsets.length - 1;
+            this.out = out;
+            this.in = in;
+            this.distance = new double[n];
+            this.sigma = new double[n];
+            this.reached = new int[n];
+            this.position = new int[n];
+            this.heap = out.weights == null ? null : new IntDaryHeap(n);
+            this.counts = new long[n];
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            Arrays.fill(position, -1);
+        }
+
+        /**
+         * Sample a pair of distinct vertices and a shortest path between them and count the
+         * vertices of the path except its endpoints.
+         */
+        void sample(Random random)
+        {
+            int n = distance.length;
+            int s = random.nextInt(n);
+            int t = random.nextInt(n - 1);
+            if (t >= s) {
+                t++;
+            }
+
+            int count = search(s, t);
+            if (position[t] >= 0) {
+                // walk back from t choosing each predecessor with probability proportional to
+                // its number of shortest paths
+                int w = t;
+                while (w != s) {
+                    double x = random.nextDouble() * sigma[w];
+                    int next = -1;
+                    for (int a = in.offsets[w]; a < in.offsets[w + 1]; a++) {
+                        int v = in.heads[a];
+                        if (position[v] >= 0 && position[v] < position[w]
+                            && distance[v] + in.length(a) == distance[w])
+                        {
+                            next = v;
+                            x -= sigma[v];
+                            if (x < 0d) {
+                                break;
+                            }
+                        }
+                    }
+                    w = next;
+                    if (w != s) {
+                        counts[w]++;
+                    }
+                }
+            }
+            reset(count);
+        }
+
+        /**
+         * Compute the eccentricity of a vertex in an unweighted graph.
+         */
+        int eccentricity(int s)
+        {
+            int count = search(s, -1);
+            int eccentricity = (int) distance[reached[count - 1]];
+            reset(count);
+            return eccentricity;
+        }
+
+        /**
+         * Compute the distances and the numbers of shortest paths from s until the distance of t
+         * is fixed. Returns the number of reached vertices.
+         */
+        private int search(int s, int t)
+        {
+            distance[s] = 0d;
+            sigma[s] = 1d;
+            reached[0] = s;
+            return out.weights == null ? breadthFirstSearch(s, t) : dijkstra(s, t);
+        }
+
+        /**
+         * Search an unweighted graph, using the reached vertices as the queue.
+         */
+        private int breadthFirstSearch(int s, int t)
+        {
+            int count = 1;
+            for (int head = 0; head < count; head++) {
+                int v = reached[head];
+                position[v] = head;
+                if (v == t) {
+                    break;
+                }
+                double d = distance[v] + 1d;
+                for (int a = out.offsets[v]; a < out.offsets[v + 1]; a++) {
+                    int w = out.heads[a];
+                    if (distance[w] == Double.POSITIVE_INFINITY) {
+                        distance[w] = d;
+                        reached[count++] = w;
+                    }
+                    if (distance[w] == d) {
+                        sigma[w] += sigma[v];
+                    }
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Search a weighted graph, fixing the vertices in order of distance.
+         */
+        private int dijkstra(int s, int t)
+        {
+            heap.insert(s, 0d);
+            int count = 1;
+            int fixed = 0;
+            while (!heap.isEmpty()) {
+                int v = heap.deleteMin();
+                position[v] = fixed++;
+                if (v == t) {
+                    break;
+                }
+                for (int a = out.offsets[v]; a < out.offsets[v + 1]; a++) {
+                    int w = out.heads[a];
+                    if (position[w] >= 0) {
+                        continue;
+                    }
+                    double d = distance[v] + out.weights[a];
+                    if (d < distance[w]) {
+                        if (distance[w] == Double.POSITIVE_INFINITY) {
+                            reached[count++] = w;
+                        }
+                        distance[w] = d;
+                        sigma[w] = sigma[v];
+                        heap.insertOrDecreaseKey(w, d);
+                    } else if (d == distance[w]) {
+                        sigma[w] += sigma[v];
+                    }
+                }
+            }
+            heap.clear();
+            return count;
+        }
+
+        private void reset(int count)
+        {
+            for (int i = 0; i < count; i++) {
+                int v = reached[i];
+                distance[v] = Double.POSITIVE_INFINITY;
+                sigma[v] = 0d;
+                position[v] = -1;
+            }
+        }
+    }
+}
@@ -19,9 +19,11 @@ package org.jgrapht.alg.scoring;
 
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
 import org.jgrapht.util.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Betweenness centrality.
@@ -34,6 +36,14 @@ import java.util.*;
  * $v$. For more details see
  * <a href="https://en.wikipedia.org/wiki/Betweenness_centrality">wikipedia</a>.
  * 
+ * <p>
+ * The betweenness centrality of each edge, given by the same expression where $\sigma_{st}(e)$ is
+ * the number of shortest paths from $s$ to $t$ that contain edge $e$, is returned by
+ * {@link #getEdgeScores()}. It is the basis of the community detection algorithm of Girvan and
+ * Newman. The edge scores are computed only once they are requested, in the same pass as the
+ * vertex scores, which are then computed again if they were requested before. Computing the edge
+ * scores takes $O(m)$ additional space per worker thread.
+ * 
  * The algorithm is based on
  * <ul>
  * <li>Brandes, Ulrik (2001). "A faster algorithm for betweenness centrality". Journal of
@@ -44,6 +54,14 @@ import java.util.*;
  * respectively, where $n$ is the number of vertices and $m$ the number of edges of the graph. The
  * space complexity is $O(n + m)$.
  *
+ * <p>
+ * The graph is first indexed into arrays holding the outgoing edges of each vertex. The single
+ * source computations then work on primitive arrays which are allocated once and reset only at the
+ * vertices reached from each source. If a fork-join pool is given, the sources are distributed
+ * among the workers of the pool. Each source borrows a set of arrays which no other source is
+ * using, and accumulates its dependencies there. The arrays are summed after all sources have been
+ * processed and are not kept afterwards. The additional space is $O(n + m)$ per worker thread.
+ *
  * 
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
@@ -64,10 +82,18 @@ public class BetweennessCentrality<V, E>
      * Whether to normalize scores
      */
     private final boolean normalize;
+    /**
+     * The pool among whose workers the sources are distributed, null to run in the calling thread
+     */
+    private final ForkJoinPool pool;
     /**
      * The actual scores
      */
     private Map<V, Double> scores;
+    /**
+     * The actual edge scores, null until requested
+     */
+    private Map<E, Double> edgeScores;
 
     /**
      * Construct a new instance.
@@ -87,11 +113,26 @@ public class BetweennessCentrality<V, E>
      *        $n$ is the number of vertices of the graph
      */
     public BetweennessCentrality(Graph<V, E> graph, boolean normalize)
+    {
+        this(graph, normalize, null);
+    }
+
+    /**
+     * Construct a new instance which distributes the sources among the workers of a fork-join
+     * pool.
+     * 
+     * @param graph the input graph
+     * @param normalize whether to normalize by dividing the closeness by $(n-1) \cdot (n-2)$, where
+     *        $n$ is the number of vertices of the graph
+     * @param pool the fork-join pool, or null to run in the calling thread
+     */
+    public BetweennessCentrality(Graph<V, E> graph, boolean normalize, ForkJoinPool pool)
     {
         this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
 
         this.scores = null;
         this.normalize = normalize;
+        this.pool = pool;
     }
 
     /**
@@ -101,7 +142,7 @@ public class BetweennessCentrality<V, E>
     public Map<V, Double> getScores()
     {
         if (scores == null) {
-            compute();
+            compute(false);
         }
         return Collections.unmodifiableMap(scores);
     }
@@ -116,182 +157,291 @@ public class BetweennessCentrality<V, E>
             throw new IllegalArgumentException("Cannot return score of unknown vertex");
         }
         if (scores == null) {
-            compute();
+            compute(false);
         }
         return scores.get(v);
     }
 
     /**
-     * Compute the centrality index
+     * Get the betweenness centrality of all edges. If normalization is enabled, the scores are
+     * divided by the number of pairs of vertices, which is $n \cdot (n-1)$ for directed graphs and
+     * $n \cdot (n-1) / 2$ for undirected graphs.
+     * 
+     * @return a map with the scores of all edges
      */
-    private void compute()
+    public Map<E, Double> getEdgeScores()
     {
-        // initialize result container
-        this.scores = new HashMap<>();
-        this.graph.vertexSet().forEach(v -> this.scores.put(v, 0.0));
-
-        // compute for each source
-        this.graph.vertexSet().forEach(this::compute);
-
-        // For undirected graph, divide scores by two as each shortest path
-        // considered twice.
-        if (!this.graph.getType().isDirected()) {
-            this.scores.forEach((v, score) -> this.scores.put(v, score / 2));
+        if (edgeScores == null) {
+            compute(true);
         }
+        return Collections.unmodifiableMap(edgeScores);
+    }
 
-        if (normalize) {
-            int n = this.graph.vertexSet().size();
-            int normalizationFactor = (n - 1) * (n - 2);
-            if (normalizationFactor != 0) {
-                this.scores.forEach((v, score) -> this.scores.put(v, score / normalizationFactor));
-            }
+    /**
+     * Get the betweenness centrality of an edge.
+     * 
+     * @param e the edge
+     * @return the score of the edge
+     * @see #getEdgeScores()
+     */
+    public Double getEdgeScore(E e)
+    {
+        if (!graph.containsEdge(e)) {
+            throw new IllegalArgumentException("Cannot return score of unknown edge");
+        }
+        if (edgeScores == null) {
+            compute(true);
         }
+        return edgeScores.get(e);
     }
 
-    private void compute(V s)
+    /**
+     * Compute the centrality index, and the centrality of the edges if requested
+     */
+    private void compute(boolean withEdges)
     {
-        // initialize
-        ArrayDeque<V> stack = new ArrayDeque<>();
-        Map<V, List<V>> predecessors = new HashMap<>();
-        this.graph.vertexSet().forEach(w -> predecessors.put(w, new ArrayList<>()));
-
-        // Number of shortest paths from s to v
-        Map<V, Double> sigma = new HashMap<>();
-        this.graph.vertexSet().forEach(t -> sigma.put(t, 0.0));
-        sigma.put(s, 1.0);
-
-        // Distance (Weight) of the shortest path from s to v
-        Map<V, Double> distance = new HashMap<>();
-        this.graph.vertexSet().forEach(t -> distance.put(t, Double.POSITIVE_INFINITY));
-        distance.put(s, 0.0);
-
-        MyQueue<V, Double> queue =
-            this.graph.getType().isWeighted() ? new WeightedQueue() : new UnweightedQueue();
-        queue.insert(s, 0.0);
-
-        // 1. compute the length and the number of shortest paths between all s to v
-        while (!queue.isEmpty()) {
-            V v = queue.remove();
-            stack.push(v);
-
-            for (E e : this.graph.outgoingEdgesOf(v)) {
-                V w = Graphs.getOppositeVertex(this.graph, e, v);
-                double eWeight = graph.getEdgeWeight(e);
-                if (eWeight < 0.0) {
-                    throw new IllegalArgumentException("Negative edge weight not allowed");
+        int n = graph.vertexSet().size();
+        boolean weighted = graph.getType().isWeighted();
+
+        // index the graph, storing the outgoing arcs of each vertex
+        List<V> vertices = new ArrayList<>(graph.vertexSet());
+        ArcArrays<V, E> arcs = new ArcArrays<>(
+            graph, vertices, ArcArrays.indexVertices(vertices), false, weighted, withEdges);
+        arcs.requireNonNegativeWeights();
+        int[] offsets = arcs.getOffsets();
+        int[] targets = arcs.getHeads();
+        double[] weights = arcs.getWeights();
+        List<E> edges = withEdges ? new ArrayList<>(graph.edgeSet()) : Collections.emptyList();
+        // the edge of each arc, null if the edge centrality is not computed
+        int[] arcEdges = withEdges ? indexArcEdges(arcs, edges) : null;
+
+        // compute for each source, accumulating into the centrality of the workspaces
+        double[] centrality;
+        double[] edgeCentrality;
+        if (pool == null) {
+            Workspace workspace = new Workspace(offsets, targets, arcEdges, weights, edges.size());
+            for (int s = 0; s < n; s++) {
+                workspace.compute(s);
+            }
+            centrality = workspace.centrality;
+            edgeCentrality = workspace.edgeCentrality;
+        } else {
+            // each source borrows an idle workspace, which is created if there is none
+            Queue<Workspace> used = new ConcurrentLinkedQueue<>();
+            Queue<Workspace> idle = new ConcurrentLinkedQueue<>();
+            pool.invoke(new RangeTask(0, n, s -> {
+                Workspace workspace = idle.poll();
+                if (workspace == null) {
+                    workspace = new Workspace(offsets, targets, arcEdges, weights, edges.size());
+                    used.add(workspace);
                 }
-                double d = distance.get(v) + eWeight;
-                // w found for the first time?
-                if (distance.get(w) == Double.POSITIVE_INFINITY) {
-                    queue.insert(w, d);
-                    distance.put(w, d);
+                try {
+                    workspace.compute(s);
+                } finally {
+                    idle.offer(workspace);
                 }
-                // shortest path to w via v?
-                if (distance.get(w) >= d) {
-                    queue.update(w, d);
-                    sigma.put(w, sigma.get(w) + sigma.get(v));
-                    predecessors.get(w).add(v);
+            }));
+            centrality = new double[n];
+            edgeCentrality = new double[edges.size()];
+            for (Workspace workspace : used) {
+                for (int v = 0; v < n; v++) {
+                    centrality[v] += workspace.centrality[v];
+                }
+                for (int e = 0; e < edges.size(); e++) {
+                    edgeCentrality[e] += workspace.edgeCentrality[e];
                 }
             }
         }
 
-        // 2. sum all pair dependencies.
-        // The pair-dependency of s and v in w
-        Map<V, Double> dependency = new HashMap<>();
-        this.graph.vertexSet().forEach(v -> dependency.put(v, 0.0));
-        // S returns vertices in order of non-increasing distance from s
-        while (!stack.isEmpty()) {
-            V w = stack.pop();
-            for (V v : predecessors.get(w)) {
-                dependency.put(
-                    v, dependency.get(v) + (sigma.get(v) / sigma.get(w)) * (1 + dependency.get(w)));
+        // For undirected graph, divide scores by two as each shortest path
+        // considered twice.
+        double factor = this.graph.getType().isDirected() ? 1d : 2d;
+        double edgeFactor = factor;
+        if (normalize) {
+            // computed in double precision, since (n-1)(n-2) overflows an int for large graphs
+            double normalizationFactor = (n - 1d) * (n - 2d);
+            if (normalizationFactor != 0) {
+                factor *= normalizationFactor;
             }
-            if (!w.equals(s)) {
-                this.scores.put(w, this.scores.get(w) + dependency.get(w));
+            // divide by the number of pairs, which for undirected graphs are counted twice
+            double pairs = n * (n - 1d);
+            if (pairs != 0) {
+                edgeFactor = pairs;
             }
         }
-    }
 
-    private interface MyQueue<T, D>
-    {
-        void insert(T t, D d);
-
-        void update(T t, D d);
-
-        T remove();
-
-        boolean isEmpty();
-    }
-
-    private class WeightedQueue
-        implements
-        MyQueue<V, Double>
-    {
-
-        FibonacciHeap<V> delegate = new FibonacciHeap<>();
-        Map<V, FibonacciHeapNode<V>> seen = new HashMap<>();
-
-        @Override
-        public void insert(V t, Double d)
-        {
-            FibonacciHeapNode<V> node = new FibonacciHeapNode<>(t);
-            delegate.insert(node, d);
-            seen.put(t, node);
+        this.scores = CollectionUtil.newHashMapWithExpectedSize(n);
+        for (int v = 0; v < n; v++) {
+            this.scores.put(vertices.get(v), centrality[v] / factor);
         }
-
-        @Override
-        public void update(V t, Double d)
-        {
-            if (!seen.containsKey(t)) {
-                throw new IllegalArgumentException("Element " + t + " does not exist in queue");
+        if (withEdges) {
+            this.edgeScores = CollectionUtil.newHashMapWithExpectedSize(edges.size());
+            for (int e = 0; e < edges.size(); e++) {
+                this.edgeScores.put(edges.get(e), edgeCentrality[e] / edgeFactor);
             }
-            delegate.decreaseKey(seen.get(t), d);
         }
+    }
 
-        @Override
-        public V remove()
-        {
-            return delegate.removeMin().getData();
+    /**
+     * Get the index of the edge of each arc.
+     */
+    private static <V, E> int[] indexArcEdges(ArcArrays<V, E> arcs, List<E> edges)
+    {
+        Map<E, Integer> edgeIndices = CollectionUtil.newHashMapWithExpectedSize(edges.size());
+        for (E e : edges) {
+            edgeIndices.put(e, edgeIndices.size());
         }
-
-        @Override
-        public boolean isEmpty()
-        {
-            return delegate.isEmpty();
+        int[] arcEdges = new int[arcs.getArcCount()];
+        for (int a = 0; a < arcEdges.length; a++) {
+            arcEdges[a] = edgeIndices.get(arcs.getEdges().get(a));
         }
-
+        return arcEdges;
     }
 
-    private class UnweightedQueue
-        implements
-        MyQueue<V, Double>
+    /**
+     * The arrays of a single source computation, which are reused for all sources which borrow
+     * them, together with the centrality accumulated over these sources. After each source
+     * only the entries of the vertices reached from the source are reset.
+     */
+    private static class Workspace
     {
+        final int[] offsets;
+        final int[] targets;
+        // the edge of each arc, null if the edge centrality is not computed
+        final int[] arcEdges;
+        // the arc weights, null if the graph is unweighted
+        final double[] weights;
 
-        Queue<V> delegate = new ArrayDeque<>();
-
-        @Override
-        public void insert(V t, Double d)
+        // Distance (Weight) of the shortest path from s to v
+        final double[] distance;
+        // Number of shortest paths from s to v
+        final double[] sigma;
+        // The pair-dependency of s and v
+        final double[] dependency;
+        // the vertices in the order in which their distances were fixed
+        final int[] order;
+        // the position of each vertex in the order, -1 if not yet fixed
+        final int[] position;
+        final IntDaryHeap heap;
+        final double[] centrality;
+        final double[] edgeCentrality;
+
+        Workspace(int[] offsets, int[] targets, int[] arcEdges, double[] weights, int m)
         {
-            delegate.add(t);
+            int n = offsets.length - 1;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.arcEdges = arcEdges;
+            this.weights = weights;
+            this.distance = new double[n];
+            this.sigma = new double[n];
+            this.dependency = new double[n];
+            this.order = new int[n];
+            this.position = new int[n];
+            this.heap = weights == null ? null : new IntDaryHeap(n);
+            this.centrality = new double[n];
+            this.edgeCentrality = new double[m];
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            Arrays.fill(position, -1);
         }
 
-        @Override
-        public void update(V t, Double d)
+        void compute(int s)
         {
-            // do nothing
+            distance[s] = 0d;
+            sigma[s] = 1d;
+
+            // 1. compute the length and the number of shortest paths between all s to v
+            int count = weights == null ? breadthFirstSearch(s) : dijkstra(s);
+
+            // 2. sum all pair dependencies, in order of non-increasing distance from s. The
+            // successors of v on shortest paths are the later fixed vertices w with an arc of
+            // length distance(w) - distance(v).
+            for (int i = count - 1; i >= 0; i--) {
+                int v = order[i];
+                double d = 0d;
+                for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                    int w = targets[a];
+                    double length = weights == null ? 1d : weights[a];
+                    if (position[w] > i && distance[w] == distance[v] + length) {
+                        // the dependency of s on the edge
+                        double c = (sigma[v] / sigma[w]) * (1 + dependency[w]);
+                        if (arcEdges != null) {
+                            edgeCentrality[arcEdges[a]] += c;
+                        }
+                        d += c;
+                    }
+                }
+                dependency[v] = d;
+                if (v != s) {
+                    centrality[v] += d;
+                }
+            }
+
+            // reset the reached vertices
+            for (int i = 0; i < count; i++) {
+                int v = order[i];
+                distance[v] = Double.POSITIVE_INFINITY;
+                sigma[v] = 0d;
+                position[v] = -1;
+            }
         }
 
-        @Override
-        public V remove()
+        /**
+         * Search an unweighted graph, using the order as the queue.
+         */
+        private int breadthFirstSearch(int s)
         {
-            return delegate.remove();
+            order[0] = s;
+            position[s] = 0;
+            int count = 1;
+            for (int head = 0; head < count; head++) {
+                int v = order[head];
+                double d = distance[v] + 1d;
+                for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                    int w = targets[a];
+                    // w found for the first time?
+                    if (distance[w] == Double.POSITIVE_INFINITY) {
+                        distance[w] = d;
+                        position[w] = count;
+                        order[count++] = w;
+                    }
+                    // shortest path to w via v?
+                    if (distance[w] == d) {
+                        sigma[w] += sigma[v];
+                    }
+                }
+            }
+            return count;
         }
 
-        @Override
-        public boolean isEmpty()
+        /**
+         * Search a weighted graph, fixing the vertices in order of distance.
+         */
+        private int dijkstra(int s)
         {
-            return delegate.isEmpty();
+            heap.insert(s, 0d);
+            int count = 0;
+            while (!heap.isEmpty()) {
+                int v = heap.deleteMin();
+                position[v] = count;
+                order[count++] = v;
+                for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                    int w = targets[a];
+                    if (position[w] >= 0) {
+                        continue;
+                    }
+                    double d = distance[v] + weights[a];
+                    if (d < distance[w]) {
+                        // shorter path to w, forget the paths found so far
+                        distance[w] = d;
+                        sigma[w] = sigma[v];
+                        heap.insertOrDecreaseKey(w, d);
+                    } else if (d == distance[w]) {
+                        sigma[w] += sigma[v];
+                    }
+                }
+            }
+            return count;
         }
-
     }
 }
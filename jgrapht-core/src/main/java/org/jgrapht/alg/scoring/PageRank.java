@@ -19,8 +19,12 @@ package org.jgrapht.alg.scoring;
 
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
 
 /**
  * PageRank implementation.
@@ -45,6 +49,13 @@ import java.util.*;
  * $m$ the number of edges of the graph. The maximum number of iterations can be adjusted by the
  * caller. The default value is {@link PageRank#MAX_ITERATIONS_DEFAULT}.
  * </p>
+ *
+ * <p>
+ * The graph is first indexed into arrays holding the incoming edges of each node, after which the
+ * iterations work on arrays of scores without any lookups or boxing. If a fork-join pool is given,
+ * the nodes are split into ranges of roughly equal numbers of incoming edges and the ranges of
+ * each iteration are computed in parallel.
+ * </p>
  * 
  * <p>
  * If the graph is a weighted graph, a weighted variant is used where the probability of following
@@ -124,6 +135,24 @@ public final class PageRank<V, E>
      *        iterations change less than this value
      */
     public PageRank(Graph<V, E> g, double dampingFactor, int maxIterations, double tolerance)
+    {
+        this(g, dampingFactor, maxIterations, tolerance, null);
+    }
+
+    /**
+     * Create and execute an instance of PageRank which splits each iteration among the workers of
+     * a fork-join pool.
+     * 
+     * @param g the input graph
+     * @param dampingFactor the damping factor
+     * @param maxIterations the maximum number of iterations to perform
+     * @param tolerance the calculation will stop if the difference of PageRank values between
+     *        iterations change less than this value
+     * @param pool the fork-join pool, or null to run in the calling thread
+     */
+    public PageRank(
+        Graph<V, E> g, double dampingFactor, int maxIterations, double tolerance,
+        ForkJoinPool pool)
     {
         this.g = g;
         this.scores = new HashMap<>();
@@ -140,7 +169,7 @@ public final class PageRank<V, E>
             throw new IllegalArgumentException("Tolerance not valid, must be positive");
         }
 
-        run(dampingFactor, maxIterations, tolerance);
+        run(dampingFactor, maxIterations, tolerance, pool);
     }
 
     /**
@@ -164,78 +193,138 @@ public final class PageRank<V, E>
         return scores.get(v);
     }
 
-    private void run(double dampingFactor, int maxIterations, double tolerance)
+    private void run(
+        double dampingFactor, int maxIterations, double tolerance, ForkJoinPool pool)
     {
-        // initialization
-        int totalVertices = g.vertexSet().size();
-        boolean weighted = g.getType().isWeighted();
-        Map<V, Double> weights;
-        if (weighted) {
-            weights = new HashMap<>(totalVertices);
-        } else {
-            weights = Collections.emptyMap();
+        int n = g.vertexSet().size();
+        if (n == 0) {
+            return;
         }
+        boolean weighted = g.getType().isWeighted();
 
-        double initScore = 1.0d / totalVertices;
-        for (V v : g.vertexSet()) {
-            scores.put(v, initScore);
+        // index the graph, storing the incoming arcs of each vertex
+        List<V> vertices = new ArrayList<>(g.vertexSet());
+        ArcArrays<V, E> arcs =
+            new ArcArrays<>(g, vertices, ArcArrays.indexVertices(vertices), true, weighted, false);
+        int[] offsets = arcs.getOffsets();
+        int m = arcs.getArcCount();
+        int[] sources = arcs.getHeads();
+        double[] arcWeights = arcs.getWeights();
+        // the outgoing weight of each vertex, zero for vertices without outgoing edges
+        double[] outWeights = new double[n];
+        boolean[] dangling = new boolean[n];
+        for (int v = 0; v < n; v++) {
+            V u = vertices.get(v);
+            Set<E> outgoing = g.outgoingEdgesOf(u);
+            dangling[v] = outgoing.isEmpty();
             if (weighted) {
                 double sum = 0;
-                for (E e : g.outgoingEdgesOf(v)) {
+                for (E e : outgoing) {
                     sum += g.getEdgeWeight(e);
                 }
-                weights.put(v, sum);
+                outWeights[v] = sum;
+            } else {
+                outWeights[v] = outgoing.size();
             }
         }
 
+        // split the vertices into ranges of roughly equal work
+        int parallelism = pool == null ? 1 : pool.getParallelism();
+        int rangeCount = (int) Math.min(n, 4L * parallelism);
+        int[] ranges = new int[rangeCount + 1];
+        long work = (long) n + m;
+        for (int v = 0, range = 1; v < n && range < rangeCount; v++) {
+            if ((long) (v + 1) + offsets[v + 1] >= range * work / rangeCount) {
+                ranges[range++] = v + 1;
+            }
+        }
+        for (int range = 1; range <= rangeCount; range++) {
+            ranges[range] = Math.max(ranges[range], ranges[range - 1]);
+        }
+        ranges[rangeCount] = n;
+
         // run PageRank
-        Map<V, Double> nextScores = new HashMap<>();
+        double[] score = new double[n];
+        double[] nextScore = new double[n];
+        // the score of each vertex multiplied by the damping factor and divided by its outgoing
+        // weight, which is the contribution of the vertex per unit of weight of its outgoing arcs
+        double[] scaled = new double[n];
+        double[] rangeChange = new double[rangeCount];
+        double[] rangeTeleport = new double[rangeCount];
+        Arrays.fill(score, 1.0d / n);
+
+        double r = 0d;
+        for (int v = 0; v < n; v++) {
+            r += dangling[v] ? score[v] : (1d - dampingFactor) * score[v];
+        }
+        r /= n;
         double maxChange = tolerance;
 
         while (maxIterations > 0 && maxChange >= tolerance) {
-            // compute next iteration scores
-            double r = 0d;
-            for (V v : g.vertexSet()) {
-                if (g.outgoingEdgesOf(v).size() > 0) {
-                    r += (1d - dampingFactor) * scores.get(v);
-                } else {
-                    r += scores.get(v);
+            double[] current = score;
+            double[] next = nextScore;
+            double teleport = r;
+            forEachRange(pool, rangeCount, range -> {
+                for (int v = ranges[range]; v < ranges[range + 1]; v++) {
+                    scaled[v] = dangling[v] ? 0d : dampingFactor * current[v] / outWeights[v];
                 }
-            }
-            r /= totalVertices;
-
-            maxChange = 0d;
-            for (V v : g.vertexSet()) {
-                double contribution = 0d;
-
-                if (weighted) {
-                    for (E e : g.incomingEdgesOf(v)) {
-                        V w = Graphs.getOppositeVertex(g, e, v);
-                        contribution +=
-                            dampingFactor * scores.get(w) * g.getEdgeWeight(e) / weights.get(w);
-                    }
-                } else {
-                    for (E e : g.incomingEdgesOf(v)) {
-                        V w = Graphs.getOppositeVertex(g, e, v);
-                        contribution += dampingFactor * scores.get(w) / g.outgoingEdgesOf(w).size();
+            });
+            forEachRange(pool, rangeCount, range -> {
+                double change = 0d;
+                double nextTeleport = 0d;
+                for (int v = ranges[range]; v < ranges[range + 1]; v++) {
+                    double contribution = 0d;
+                    if (weighted) {
+                        for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                            contribution += scaled[sources[a]] * arcWeights[a];
+                        }
+                    } else {
+                        for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                            contribution += scaled[sources[a]];
+                        }
                     }
+                    double vNewValue = teleport + contribution;
+                    change = Math.max(change, Math.abs(vNewValue - current[v]));
+                    nextTeleport += dangling[v] ? vNewValue : (1d - dampingFactor) * vNewValue;
+                    next[v] = vNewValue;
                 }
+                rangeChange[range] = change;
+                rangeTeleport[range] = nextTeleport;
+            });
 
-                double vOldValue = scores.get(v);
-                double vNewValue = r + contribution;
-                maxChange = Math.max(maxChange, Math.abs(vNewValue - vOldValue));
-                nextScores.put(v, vNewValue);
+            maxChange = 0d;
+            r = 0d;
+            for (int range = 0; range < rangeCount; range++) {
+                maxChange = Math.max(maxChange, rangeChange[range]);
+                r += rangeTeleport[range];
             }
+            r /= n;
 
             // swap scores
-            Map<V, Double> tmp = scores;
-            scores = nextScores;
-            nextScores = tmp;
+            nextScore = current;
+            score = next;
 
             // progress
             maxIterations--;
         }
 
+        for (int v = 0; v < n; v++) {
+            scores.put(vertices.get(v), score[v]);
+        }
+    }
+
+    /**
+     * Run an action for each range, in parallel if a pool is given.
+     */
+    private static void forEachRange(ForkJoinPool pool, int rangeCount, IntConsumer action)
+    {
+        if (pool == null) {
+            for (int range = 0; range < rangeCount; range++) {
+                action.accept(range);
+            }
+        } else {
+            pool.invoke(new RangeTask(0, rangeCount, action));
+        }
     }
 
 }
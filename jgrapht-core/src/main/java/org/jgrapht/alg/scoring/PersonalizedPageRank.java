@@ -0,0 +1,355 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+
+/**
+ * Personalized PageRank, also known as random walk with restart.
+ *
+ * <p>
+ * The scores are the stationary distribution of a random walk which at each step follows an
+ * outgoing edge of the current node with probability equal to the damping factor, and otherwise
+ * restarts at a node drawn from a given source distribution. The walk also restarts from nodes
+ * without outgoing edges. The score of a node thus measures its relevance to the sources. With a
+ * uniform source distribution over all nodes the scores coincide with those of {@link PageRank}.
+ * As in {@link PageRank}, if the graph is weighted the probability of following an edge $e$ out of
+ * node $v$ is equal to the weight of $e$ over the sum of weights of all outgoing edges of $v$.
+ * </p>
+ *
+ * <p>
+ * The scores can be computed in two ways. The exact mode performs power iterations, each of which
+ * runs in linear time $O(n+m)$, until the scores change less than a tolerance. The approximate mode
+ * uses the local forward push algorithm described in the following paper:
+ * <ul>
+ * <li>Reid Andersen, Fan Chung, and Kevin Lang. Local graph partitioning using PageRank vectors.
+ * 47th Annual IEEE Symposium on Foundations of Computer Science, 475-486, 2006.</li>
+ * </ul>
+ * The push algorithm keeps a residual probability mass at each node, starting with the source
+ * distribution. While some node $v$ has residual at least $\epsilon \cdot \max(1, d^+(v))$, where
+ * $d^+(v)$ is its out-degree, the residual is pushed: the restart part is added to the score of
+ * $v$ and the rest is distributed among the out-neighbors of $v$. Only nodes close to the sources
+ * are ever touched and the running time is $O(1 / (\epsilon (1 - \alpha)))$ where $\alpha$ is the
+ * damping factor, independent of the size of the graph. The approximate scores never exceed the
+ * exact scores and their total error equals the residual mass which remains when the algorithm
+ * stops.
+ * </p>
+ *
+ * <p>
+ * Nodes without outgoing edges, or whose outgoing edges all have zero weight, are treated as
+ * dangling nodes from which the walk restarts.
+ * </p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public final class PersonalizedPageRank<V, E>
+    implements
+    VertexScoringAlgorithm<V, Double>
+{
+    private final Graph<V, E> g;
+    private final boolean weighted;
+    // the source distribution, normalized to sum up to one
+    private final Map<V, Double> sources;
+    // the non-zero scores, all other vertices have a score of zero
+    private final Map<V, Double> scores;
+    private Map<V, Double> allScores;
+
+    /**
+     * Create and execute an instance of personalized PageRank for a single source vertex, using
+     * power iterations.
+     *
+     * @param g the input graph
+     * @param source the source vertex
+     */
+    public PersonalizedPageRank(Graph<V, E> g, V source)
+    {
+        this(g, Collections.singletonMap(source, 1d));
+    }
+
+    /**
+     * Create and execute an instance of personalized PageRank using power iterations.
+     *
+     * @param g the input graph
+     * @param sources the source vertices and their weights, which are normalized into a
+     *        probability distribution
+     */
+    public PersonalizedPageRank(Graph<V, E> g, Map<V, Double> sources)
+    {
+        this(
+            g, sources, PageRank.DAMPING_FACTOR_DEFAULT, PageRank.MAX_ITERATIONS_DEFAULT,
+            PageRank.TOLERANCE_DEFAULT);
+    }
+
+    /**
+     * Create and execute an instance of personalized PageRank using power iterations.
+     *
+     * @param g the input graph
+     * @param sources the source vertices and their weights, which are normalized into a
+     *        probability distribution
+     * @param dampingFactor the damping factor, the probability of following an edge
+     * @param maxIterations the maximum number of iterations to perform
+     * @param tolerance the calculation will stop if the difference of scores between iterations
+     *        change less than this value
+     */
+    public PersonalizedPageRank(
+        Graph<V, E> g, Map<V, Double> sources, double dampingFactor, int maxIterations,
+        double tolerance)
+    {
+        this.g = Objects.requireNonNull(g, "Graph is null");
+        this.weighted = g.getType().isWeighted();
+        this.sources = normalize(g, sources);
+        if (dampingFactor < 0.0 || dampingFactor >= 1.0) {
+            throw new IllegalArgumentException("Damping factor not valid");
+        }
+        if (maxIterations <= 0) {
+            throw new IllegalArgumentException("Maximum iterations must be positive");
+        }
+        if (tolerance <= 0.0) {
+            throw new IllegalArgumentException("Tolerance not valid, must be positive");
+        }
+        this.scores = new HashMap<>();
+
+        runPowerIterations(dampingFactor, maxIterations, tolerance);
+    }
+
+    /**
+     * Create and execute an instance of personalized PageRank which approximates the scores using
+     * the local forward push algorithm.
+     *
+     * @param g the input graph
+     * @param sources the source vertices and their weights, which are normalized into a
+     *        probability distribution
+     * @param dampingFactor the damping factor, the probability of following an edge
+     * @param epsilon the residual threshold per outgoing edge, smaller values give more accurate
+     *        scores
+     */
+    public PersonalizedPageRank(
+        Graph<V, E> g, Map<V, Double> sources, double dampingFactor, double epsilon)
+    {
+        this.g = Objects.requireNonNull(g, "Graph is null");
+        this.weighted = g.getType().isWeighted();
+        this.sources = normalize(g, sources);
+        if (dampingFactor < 0.0 || dampingFactor >= 1.0) {
+            throw new IllegalArgumentException("Damping factor not valid");
+        }
+        if (epsilon <= 0.0) {
+            throw new IllegalArgumentException("Epsilon not valid, must be positive");
+        }
+        this.scores = new HashMap<>();
+
+        runPush(dampingFactor, epsilon);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<V, Double> getScores()
+    {
+        if (allScores == null) {
+            Map<V, Double> result = CollectionUtil.newHashMapWithExpectedSize(g.vertexSet().size());
+            for (V v : g.vertexSet()) {
+                result.put(v, scores.getOrDefault(v, 0d));
+            }
+            allScores = Collections.unmodifiableMap(result);
+        }
+        return allScores;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Double getVertexScore(V v)
+    {
+        if (!g.containsVertex(v)) {
+            throw new IllegalArgumentException("Cannot return score of unknown vertex");
+        }
+        return scores.getOrDefault(v, 0d);
+    }
+
+    private static <V> Map<V, Double> normalize(Graph<V, ?> g, Map<V, Double> sources)
+    {
+        Objects.requireNonNull(sources, "Sources cannot be null");
+        double total = 0d;
+        for (Map.Entry<V, Double> entry : sources.entrySet()) {
+            if (!g.containsVertex(entry.getKey())) {
+                throw new IllegalArgumentException("Graph must contain the source vertex!");
+            }
+            if (!(entry.getValue() >= 0d)) {
+                throw new IllegalArgumentException("Source weights must be non-negative");
+            }
+            total += entry.getValue();
+        }
+        if (!(total > 0d) || Double.isInfinite(total)) {
+            throw new IllegalArgumentException("Source weights must have a positive finite sum");
+        }
+        Map<V, Double> result = new LinkedHashMap<>();
+        for (Map.Entry<V, Double> entry : sources.entrySet()) {
+            if (entry.getValue() > 0d) {
+                result.put(entry.getKey(), entry.getValue() / total);
+            }
+        }
+        return result;
+    }
+
+    private double outgoingWeight(V v)
+    {
+        Set<E> outgoing = g.outgoingEdgesOf(v);
+        if (!weighted) {
+            return outgoing.size();
+        }
+        double sum = 0d;
+        for (E e : outgoing) {
+            sum += g.getEdgeWeight(e);
+        }
+        return sum;
+    }
+
+    private void runPowerIterations(double dampingFactor, int maxIterations, double tolerance)
+    {
+        int n = g.vertexSet().size();
+
+        // index the graph, storing the incoming arcs of each vertex
+        List<V> vertices = new ArrayList<>(g.vertexSet());
+        Map<V, Integer> indices = ArcArrays.indexVertices(vertices);
+        ArcArrays<V, E> arcs = new ArcArrays<>(g, vertices, indices, true, weighted, false);
+        int[] offsets = arcs.getOffsets();
+        int[] arcSources = arcs.getHeads();
+        // the arc weights, null if the graph is unweighted
+        double[] arcWeights = arcs.getWeights();
+        double[] outWeights = new double[n];
+        boolean[] dangling = new boolean[n];
+        for (int v = 0; v < n; v++) {
+            V u = vertices.get(v);
+            outWeights[v] = outgoingWeight(u);
+            dangling[v] = !(outWeights[v] > 0d);
+        }
+        double[] restart = new double[n];
+        for (Map.Entry<V, Double> entry : sources.entrySet()) {
+            restart[indices.get(entry.getKey())] = entry.getValue();
+        }
+
+        // run the power iterations starting from the source distribution
+        double[] score = Arrays.copyOf(restart, n);
+        double[] nextScore = new double[n];
+        double[] scaled = new double[n];
+        double maxChange = tolerance;
+        while (maxIterations > 0 && maxChange >= tolerance) {
+            // the walk restarts with the remaining probability and from dangling vertices
+            double restartMass = 1d - dampingFactor;
+            for (int v = 0; v < n; v++) {
+                if (dangling[v]) {
+                    restartMass += dampingFactor * score[v];
+                    scaled[v] = 0d;
+                } else {
+                    scaled[v] = dampingFactor * score[v] / outWeights[v];
+                }
+            }
+
+            maxChange = 0d;
+            for (int v = 0; v < n; v++) {
+                double contribution = 0d;
+                if (arcWeights != null) {
+                    for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                        contribution += scaled[arcSources[a]] * arcWeights[a];
+                    }
+                } else {
+                    for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                        contribution += scaled[arcSources[a]];
+                    }
+                }
+                double vNewValue = restartMass * restart[v] + contribution;
+                maxChange = Math.max(maxChange, Math.abs(vNewValue - score[v]));
+                nextScore[v] = vNewValue;
+            }
+
+            // swap scores
+            double[] tmp = score;
+            score = nextScore;
+            nextScore = tmp;
+
+            // progress
+            maxIterations--;
+        }
+
+        for (int v = 0; v < n; v++) {
+            if (score[v] != 0d) {
+                scores.put(vertices.get(v), score[v]);
+            }
+        }
+    }
+
+    private void runPush(double dampingFactor, double epsilon)
+    {
+        Map<V, Double> residual = new HashMap<>(sources);
+        Deque<V> queue = new ArrayDeque<>();
+        Set<V> queued = new HashSet<>();
+        for (Map.Entry<V, Double> entry : sources.entrySet()) {
+            if (entry.getValue() >= threshold(entry.getKey(), epsilon)) {
+                queue.add(entry.getKey());
+                queued.add(entry.getKey());
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            V u = queue.poll();
+            queued.remove(u);
+            double r = residual.put(u, 0d);
+            scores.merge(u, (1d - dampingFactor) * r, Double::sum);
+
+            double mass = dampingFactor * r;
+            double outWeight = outgoingWeight(u);
+            if (!(outWeight > 0d)) {
+                // dangling vertices restart the walk
+                for (Map.Entry<V, Double> entry : sources.entrySet()) {
+                    addResidual(
+                        residual, queue, queued, entry.getKey(), mass * entry.getValue(), epsilon);
+                }
+            } else {
+                for (E e : g.outgoingEdgesOf(u)) {
+                    V v = Graphs.getOppositeVertex(g, e, u);
+                    double w = weighted ? g.getEdgeWeight(e) : 1d;
+                    addResidual(residual, queue, queued, v, mass * w / outWeight, epsilon);
+                }
+            }
+        }
+    }
+
+    private void addResidual(
+        Map<V, Double> residual, Deque<V> queue, Set<V> queued, V v, double mass, double epsilon)
+    {
+        double r = residual.merge(v, mass, Double::sum);
+        if (r >= threshold(v, epsilon) && queued.add(v)) {
+            queue.add(v);
+        }
+    }
+
+    private double threshold(V v, double epsilon)
+    {
+        return epsilon * Math.max(1, g.outgoingEdgesOf(v).size());
+    }
+}
@@ -19,11 +19,13 @@ package org.jgrapht.alg.shortestpath;
 
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
-import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
 import org.jgrapht.alg.util.*;
-import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 
+import java.io.*;
+import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * An admissible heuristic for the A* algorithm using a set of landmarks and the triangle
@@ -59,7 +61,16 @@ import java.util.*;
  * <p>
  * In general more landmarks will speed up A* but will need more space. Given an A* query with
  * vertices source and target, a good landmark appears "before" source or "after" target where
- * before and after are relative to the "direction" from source to target.
+ * before and after are relative to the "direction" from source to target. Instead of providing the
+ * landmarks, they can be selected by the heuristic using one of the strategies of
+ * {@link LandmarkSelectionStrategy}.
+ *
+ * <p>
+ * The shortest path computations of the landmarks run in parallel on a fork-join pool. The
+ * distances are stored in primitive arrays, where the distances of each vertex to all landmarks
+ * are adjacent in memory. The tables can be written to a file using {@link #write(Path)} and
+ * loaded again using {@link #read(Graph, Path)}, which avoids the pre-processing when the same
+ * graph is loaded repeatedly.
  * 
  * @author Dimitrios Michail
  *
@@ -70,14 +81,54 @@ public class ALTAdmissibleHeuristic<V, E>
     implements
     AStarAdmissibleHeuristic<V>
 {
+    /**
+     * Strategies for selecting landmarks, described in the paper of Goldberg and Harrelson.
+     */
+    public enum LandmarkSelectionStrategy
+    {
+        /**
+         * Select the landmarks uniformly at random.
+         */
+        RANDOM,
+        /**
+         * Select a vertex farthest from a random vertex and then repeatedly the vertex farthest
+         * from all landmarks selected so far. The landmarks are spread over the periphery of the
+         * graph. Vertices which cannot be reached from the landmarks are preferred, thus each
+         * connected component receives a landmark as long as landmarks remain.
+         */
+        FARTHEST,
+        /**
+         * Repeatedly compute a shortest path tree from a random vertex and select a leaf of the
+         * subtree whose vertices have the worst lower bounds using the landmarks selected so far.
+         * This strategy requires more work than the others but usually results in the best
+         * landmarks.
+         */
+        AVOID
+    }
+
+    /*
+     * File format. The header consists of the magic number, the format version, the flags, the
+     * number of vertices, the number of edges and the number of landmarks, followed by the
+     * indices of the landmarks in the iteration order of the vertices and the distance tables.
+     */
+    private static final int MAGIC = 0x4A47414C;
+    private static final int VERSION = 1;
+    private static final int DIRECTED = 1;
+
     private final Graph<V, E> graph;
-    private final Comparator<Double> comparator;
-    private final Map<V, Map<V, Double>> fromLandmark;
-    private final Map<V, Map<V, Double>> toLandmark;
     private final boolean directed;
+    private final Map<V, Integer> vertexIndex;
+    private final List<V> landmarks;
+    private final int[] landmarkIndex;
+    // the landmark of each vertex, or -1
+    private final int[] landmarkOf;
+    // the distances from and to the landmarks, the distance of vertex v and landmark l at v * k + l
+    private final double[] fromLandmark;
+    private final double[] toLandmark;
 
     /**
-     * Constructs a new {@link AStarAdmissibleHeuristic} using a set of landmarks.
+     * Constructs a new {@link AStarAdmissibleHeuristic} using a set of landmarks. The
+     * pre-processing runs in the common fork-join pool.
      * 
      * @param graph the graph
      * @param landmarks a set of vertices of the graph which will be used as landmarks
@@ -87,32 +138,108 @@ public class ALTAdmissibleHeuristic<V, E>
      */
     public ALTAdmissibleHeuristic(Graph<V, E> graph, Set<V> landmarks)
     {
-        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
-        Objects.requireNonNull(landmarks, "Landmarks cannot be null");
-        if (landmarks.isEmpty()) {
-            throw new IllegalArgumentException("At least one landmark must be provided");
-        }
-        this.fromLandmark = new HashMap<>();
-        if (graph.getType().isDirected()) {
-            this.directed = true;
-            this.toLandmark = new HashMap<>();
-        } else if (graph.getType().isUndirected()) {
-            this.directed = false;
-            this.toLandmark = this.fromLandmark;
-        } else {
-            throw new IllegalArgumentException("Graph must be directed or undirected");
-        }
-        this.comparator = new ToleranceDoubleComparator();
-
-        // precomputation and validation
-        for (V v : landmarks) {
-            for (E e : graph.edgesOf(v)) {
-                if (comparator.compare(graph.getEdgeWeight(e), 0d) < 0) {
-                    throw new IllegalArgumentException("Graph edge weights cannot be negative");
-                }
-            }
-            precomputeToFromLandmark(v);
+        this(graph, landmarks, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new {@link AStarAdmissibleHeuristic} using a set of landmarks. The
+     * pre-processing runs in the given fork-join pool.
+     * 
+     * @param graph the graph
+     * @param landmarks a set of vertices of the graph which will be used as landmarks
+     * @param pool the fork-join pool
+     * 
+     * @throws IllegalArgumentException if no landmarks are provided
+     * @throws IllegalArgumentException if the graph contains edges with negative weights
+     */
+    public ALTAdmissibleHeuristic(Graph<V, E> graph, Set<V> landmarks, ForkJoinPool pool)
+    {
+        this(Precomputation.withLandmarks(graph, landmarks, pool));
+    }
+
+    /**
+     * Constructs a new {@link AStarAdmissibleHeuristic} selecting the landmarks using a given
+     * strategy. The pre-processing runs in the common fork-join pool.
+     * 
+     * @param graph the graph
+     * @param numberOfLandmarks the number of landmarks to select
+     * @param strategy the landmark selection strategy
+     * @param rng the random number generator used by the strategy
+     * 
+     * @throws IllegalArgumentException if the number of landmarks is not positive or larger than
+     *         the number of vertices
+     * @throws IllegalArgumentException if the graph contains edges with negative weights
+     */
+    public ALTAdmissibleHeuristic(
+        Graph<V, E> graph, int numberOfLandmarks, LandmarkSelectionStrategy strategy, Random rng)
+    {
+        this(graph, numberOfLandmarks, strategy, rng, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new {@link AStarAdmissibleHeuristic} selecting the landmarks using a given
+     * strategy. The pre-processing runs in the given fork-join pool. The landmarks of the
+     * {@link LandmarkSelectionStrategy#FARTHEST} and {@link LandmarkSelectionStrategy#AVOID}
+     * strategies depend on the landmarks selected before them, thus only their remaining
+     * computations run in parallel.
+     * 
+     * @param graph the graph
+     * @param numberOfLandmarks the number of landmarks to select
+     * @param strategy the landmark selection strategy
+     * @param rng the random number generator used by the strategy
+     * @param pool the fork-join pool
+     * 
+     * @throws IllegalArgumentException if the number of landmarks is not positive or larger than
+     *         the number of vertices
+     * @throws IllegalArgumentException if the graph contains edges with negative weights
+     */
+    public ALTAdmissibleHeuristic(
+        Graph<V, E> graph, int numberOfLandmarks, LandmarkSelectionStrategy strategy, Random rng,
+        ForkJoinPool pool)
+    {
+        this(Precomputation.withStrategy(graph, numberOfLandmarks, strategy, rng, pool));
+    }
+
+    private ALTAdmissibleHeuristic(Precomputation<V, E> precomputation)
+    {
+        this(precomputation, precomputation.fromTable());
+    }
+
+    private ALTAdmissibleHeuristic(Precomputation<V, E> precomputation, double[] fromLandmark)
+    {
+        // in undirected graphs both tables are the same
+        this(
+            precomputation.graph, precomputation.vertexIndex, precomputation.landmarkList(),
+            precomputation.landmarks, fromLandmark,
+            precomputation.directed ? precomputation.toTable() : fromLandmark);
+    }
+
+    private ALTAdmissibleHeuristic(
+        Graph<V, E> graph, Map<V, Integer> vertexIndex, List<V> landmarks, int[] landmarkIndex,
+        double[] fromLandmark, double[] toLandmark)
+    {
+        this.graph = graph;
+        this.directed = graph.getType().isDirected();
+        this.vertexIndex = vertexIndex;
+        this.landmarks = landmarks;
+        this.landmarkIndex = landmarkIndex;
+        this.landmarkOf = new int[vertexIndex.size()];
+        Arrays.fill(landmarkOf, -1);
+        for (int l = 0; l < landmarkIndex.length; l++) {
+            landmarkOf[landmarkIndex[l]] = l;
         }
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+    }
+
+    /**
+     * Get the landmarks used by the heuristic.
+     *
+     * @return the landmarks
+     */
+    public List<V> getLandmarks()
+    {
+        return Collections.unmodifiableList(landmarks);
     }
 
     /**
@@ -136,31 +263,37 @@ public class ALTAdmissibleHeuristic<V, E>
             return maxEstimate;
         }
 
+        int k = landmarkIndex.length;
+        int ui = vertexIndex.get(u);
+        int ti = vertexIndex.get(t);
+
         /*
          * Special case, source is landmark
          */
-        if (fromLandmark.containsKey(u)) {
-            return fromLandmark.get(u).get(t);
+        if (landmarkOf[ui] != -1) {
+            return fromLandmark[ti * k + landmarkOf[ui]];
         }
 
         /*
          * Special case, target is landmark
          */
-        if (toLandmark.containsKey(t)) {
-            return toLandmark.get(t).get(u);
+        if (landmarkOf[ti] != -1) {
+            return toLandmark[ui * k + landmarkOf[ti]];
         }
 
         /*
          * Compute from landmarks
          */
-        for (V l : fromLandmark.keySet()) {
+        int uOffset = ui * k;
+        int tOffset = ti * k;
+        for (int l = 0; l < k; l++) {
             double estimate;
-            Map<V, Double> from = fromLandmark.get(l);
             if (directed) {
-                Map<V, Double> to = toLandmark.get(l);
-                estimate = Math.max(to.get(u) - to.get(t), from.get(t) - from.get(u));
+                estimate = Math.max(
+                    toLandmark[uOffset + l] - toLandmark[tOffset + l],
+                    fromLandmark[tOffset + l] - fromLandmark[uOffset + l]);
             } else {
-                estimate = Math.abs(from.get(u) - from.get(t));
+                estimate = Math.abs(fromLandmark[uOffset + l] - fromLandmark[tOffset + l]);
             }
 
             // max over all landmarks
@@ -173,31 +306,488 @@ public class ALTAdmissibleHeuristic<V, E>
     }
 
     /**
-     * Compute all distances to and from a landmark
-     * 
-     * @param landmark the landmark
+     * Write the landmarks and the distance tables to a file.
+     *
+     * @param file the file
+     * @throws IOException in case of an I/O error
      */
-    private void precomputeToFromLandmark(V landmark)
+    public void write(Path file)
+        throws IOException
     {
-        // compute distances from landmark
-        SingleSourcePaths<V, E> fromLandmarkPaths =
-            new DijkstraShortestPath<>(graph).getPaths(landmark);
-        Map<V, Double> fromLandMarkDistances = new HashMap<>();
-        for (V v : graph.vertexSet()) {
-            fromLandMarkDistances.put(v, fromLandmarkPaths.getWeight(v));
-        }
-        fromLandmark.put(landmark, fromLandMarkDistances);
-
-        // compute distances to landmark (using reverse graph)
-        if (directed) {
-            Graph<V, E> reverseGraph = new EdgeReversedGraph<>(graph);
-            SingleSourcePaths<V, E> toLandmarkPaths =
-                new DijkstraShortestPath<>(reverseGraph).getPaths(landmark);
-            Map<V, Double> toLandMarkDistances = new HashMap<>();
-            for (V v : graph.vertexSet()) {
-                toLandMarkDistances.put(v, toLandmarkPaths.getWeight(v));
-            }
-            toLandmark.put(landmark, toLandMarkDistances);
+        try (DataOutputStream out =
+            new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file))))
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(directed ? DIRECTED : 0);
+            out.writeInt(vertexIndex.size());
+            out.writeInt(graph.edgeSet().size());
+            out.writeInt(landmarkIndex.length);
+            for (int l : landmarkIndex) {
+                out.writeInt(l);
+            }
+            for (double d : fromLandmark) {
+                out.writeDouble(d);
+            }
+            if (directed) {
+                for (double d : toLandmark) {
+                    out.writeDouble(d);
+                }
+            }
+        }
+    }
+
+    /**
+     * Read the landmarks and the distance tables written by {@link #write(Path)}. The graph must be
+     * the graph of the heuristic which was written, with the same vertices iterated in the same
+     * order and the same edge weights. Only the number of vertices and edges are verified.
+     *
+     * @param graph the graph
+     * @param file the file
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     * @return the heuristic
+     * @throws IOException in case of an I/O error, if the file is not a valid file or if it does
+     *         not match the graph
+     */
+    public static <V, E> ALTAdmissibleHeuristic<V, E> read(Graph<V, E> graph, Path file)
+        throws IOException
+    {
+        Objects.requireNonNull(graph, "Graph cannot be null");
+        try (DataInputStream in =
+            new DataInputStream(new BufferedInputStream(Files.newInputStream(file))))
+        {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a landmark file");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported landmark file version " + version);
+            }
+            boolean directed = (in.readInt() & DIRECTED) != 0;
+            int n = in.readInt();
+            int m = in.readInt();
+            if (directed != graph.getType().isDirected() || n != graph.vertexSet().size()
+                || m != graph.edgeSet().size())
+            {
+                throw new IOException("Landmark file does not match the graph");
+            }
+
+            int k = in.readInt();
+            if (k < 1 || k > n) {
+                throw new IOException("Corrupt landmark file");
+            }
+            List<V> vertices = new ArrayList<>(graph.vertexSet());
+            Map<V, Integer> vertexIndex = ArcArrays.indexVertices(vertices);
+            int[] landmarkIndex = new int[k];
+            List<V> landmarks = new ArrayList<>(k);
+            for (int l = 0; l < k; l++) {
+                landmarkIndex[l] = in.readInt();
+                if (landmarkIndex[l] < 0 || landmarkIndex[l] >= n) {
+                    throw new IOException("Corrupt landmark file");
+                }
+                landmarks.add(vertices.get(landmarkIndex[l]));
+            }
+            double[] fromLandmark = readTable(in, n * k);
+            double[] toLandmark = directed ? readTable(in, n * k) : fromLandmark;
+            return new ALTAdmissibleHeuristic<>(
+                graph, vertexIndex, landmarks, landmarkIndex, fromLandmark, toLandmark);
+        } catch (EOFException e) {
+            throw new IOException("Truncated landmark file", e);
+        }
+    }
+
+    private static double[] readTable(DataInputStream in, int size)
+        throws IOException
+    {
+        double[] table = new double[size];
+        for (int i = 0; i < size; i++) {
+            table[i] = in.readDouble();
+        }
+        return table;
+    }
+
+    /**
+     * The pre-processing of the heuristic, which selects the landmarks and computes their
+     * distances using Dijkstra's algorithm on a compressed sparse row copy of the graph.
+     */
+    private static class Precomputation<V, E>
+    {
+        final Graph<V, E> graph;
+        final boolean directed;
+        final List<V> vertices;
+        final Map<V, Integer> vertexIndex;
+        final int n;
+
+        // the outgoing and, for directed graphs, the incoming arcs of each vertex
+        final int[] outOffsets;
+        final int[] outTargets;
+        final double[] outWeights;
+        final int[] inOffsets;
+        final int[] inTargets;
+        final double[] inWeights;
+
+        int[] landmarks;
+        int landmarkCount;
+        double[][] fromRows;
+        double[][] toRows;
+
+        private Precomputation(Graph<V, E> graph)
+        {
+            this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+            if (graph.getType().isDirected()) {
+                this.directed = true;
+            } else if (graph.getType().isUndirected()) {
+                this.directed = false;
+            } else {
+                throw new IllegalArgumentException("Graph must be directed or undirected");
+            }
+            this.vertices = new ArrayList<>(graph.vertexSet());
+            this.vertexIndex = ArcArrays.indexVertices(vertices);
+            this.n = vertices.size();
+
+            ArcArrays<V, E> out = new ArcArrays<>(graph, vertices, vertexIndex, false, true, false);
+            Comparator<Double> comparator = new ToleranceDoubleComparator();
+            for (double weight : out.getWeights()) {
+                if (comparator.compare(weight, 0d) < 0) {
+                    throw new IllegalArgumentException("Graph edge weights cannot be negative");
+                }
+            }
+            this.outOffsets = out.getOffsets();
+            this.outTargets = out.getHeads();
+            this.outWeights = out.getWeights();
+            if (directed) {
+                ArcArrays<V, E> in =
+                    new ArcArrays<>(graph, vertices, vertexIndex, true, true, false);
+                this.inOffsets = in.getOffsets();
+                this.inTargets = in.getHeads();
+                this.inWeights = in.getWeights();
+            } else {
+                this.inOffsets = outOffsets;
+                this.inTargets = outTargets;
+                this.inWeights = outWeights;
+            }
+        }
+
+        static <V, E> Precomputation<V, E> withLandmarks(
+            Graph<V, E> graph, Set<V> landmarks, ForkJoinPool pool)
+        {
+            Objects.requireNonNull(landmarks, "Landmarks cannot be null");
+            Objects.requireNonNull(pool, "Pool cannot be null");
+            if (landmarks.isEmpty()) {
+                throw new IllegalArgumentException("At least one landmark must be provided");
+            }
+            Precomputation<V, E> p = new Precomputation<>(graph);
+            p.allocate(landmarks.size());
+            for (V v : landmarks) {
+                Integer index = p.vertexIndex.get(v);
+                if (index == null) {
+                    throw new IllegalArgumentException("Landmark " + v + " not in graph");
+                }
+                p.landmarks[p.landmarkCount++] = index;
+            }
+            p.computeMissingRows(pool);
+            return p;
+        }
+
+        static <V, E> Precomputation<V, E> withStrategy(
+            Graph<V, E> graph, int numberOfLandmarks, LandmarkSelectionStrategy strategy,
+            Random rng, ForkJoinPool pool)
+        {
+            Objects.requireNonNull(strategy, "Strategy cannot be null");
+            Objects.requireNonNull(rng, "Random number generator cannot be null");
+            Objects.requireNonNull(pool, "Pool cannot be null");
+            Precomputation<V, E> p = new Precomputation<>(graph);
+            if (numberOfLandmarks < 1 || numberOfLandmarks > p.n) {
+                throw new IllegalArgumentException(
+                    "Number of landmarks must be between 1 and the number of vertices");
+            }
+            p.allocate(numberOfLandmarks);
+            switch (strategy) {
+            case RANDOM:
+                p.selectRandom(numberOfLandmarks, rng);
+                break;
+            case FARTHEST:
+                p.selectFarthest(numberOfLandmarks, rng);
+                break;
+            case AVOID:
+                p.selectAvoid(numberOfLandmarks, rng);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown strategy " + strategy);
+            }
+            p.computeMissingRows(pool);
+            return p;
+        }
+
+        private void allocate(int k)
+        {
+            this.landmarks = new int[k];
+            this.fromRows = new double[k][];
+            this.toRows = new double[k][];
+        }
+
+        private void selectRandom(int k, Random rng)
+        {
+            int[] permutation = new int[n];
+            for (int v = 0; v < n; v++) {
+                permutation[v] = v;
+            }
+            for (int i = 0; i < k; i++) {
+                int j = i + rng.nextInt(n - i);
+                int tmp = permutation[i];
+                permutation[i] = permutation[j];
+                permutation[j] = tmp;
+                landmarks[landmarkCount++] = permutation[i];
+            }
+        }
+
+        private void selectFarthest(int k, Random rng)
+        {
+            boolean[] isLandmark = new boolean[n];
+            double[] minDistance = dijkstra(rng.nextInt(n), false, null, null);
+            for (int i = 0; i < k; i++) {
+                int l = farthest(minDistance, isLandmark);
+                isLandmark[l] = true;
+                double[] from = dijkstra(l, false, null, null);
+                addLandmark(l, from, directed ? null : from);
+                for (int v = 0; v < n; v++) {
+                    minDistance[v] = i == 0 ? from[v] : Math.min(minDistance[v], from[v]);
+                }
+            }
+        }
+
+        /*
+         * Find a non-landmark vertex with maximum distance, preferring unreachable vertices.
+         */
+        private int farthest(double[] distance, boolean[] isLandmark)
+        {
+            int result = -1;
+            for (int v = 0; v < n; v++) {
+                if (!isLandmark[v] && (result == -1 || distance[v] > distance[result])) {
+                    result = v;
+                }
+            }
+            return result;
+        }
+
+        private void selectAvoid(int k, Random rng)
+        {
+            boolean[] isLandmark = new boolean[n];
+            int[] parent = new int[n];
+            int[] order = new int[n + 1];
+            double[] size = new double[n];
+            boolean[] containsLandmark = new boolean[n];
+            int[] childOffsets = new int[n + 1];
+            int[] children = new int[n];
+
+            for (int i = 0; i < k; i++) {
+                int root = rng.nextInt(n);
+                double[] distance = dijkstra(root, false, parent, order);
+                int settled = order[n];
+
+                // the weight of each vertex is the error of its lower bound from the root
+                for (int j = 0; j < settled; j++) {
+                    int v = order[j];
+                    size[v] = distance[v] - lowerBound(root, v);
+                    containsLandmark[v] = isLandmark[v];
+                }
+                for (int j = settled - 1; j > 0; j--) {
+                    int v = order[j];
+                    size[parent[v]] += size[v];
+                    containsLandmark[parent[v]] |= containsLandmark[v];
+                }
+
+                // find the vertex with maximum size, whose subtree contains no landmark
+                int w = -1;
+                for (int j = 0; j < settled; j++) {
+                    int v = order[j];
+                    if (!containsLandmark[v] && (w == -1 || size[v] > size[w])) {
+                        w = v;
+                    }
+                }
+
+                int l;
+                if (w == -1) {
+                    l = randomNonLandmark(isLandmark, rng);
+                } else {
+                    // descend to a leaf following the children with maximum size
+                    Arrays.fill(childOffsets, 0);
+                    for (int j = 1; j < settled; j++) {
+                        childOffsets[parent[order[j]]]++;
+                    }
+                    for (int v = 1; v <= n; v++) {
+                        childOffsets[v] += childOffsets[v - 1];
+                    }
+                    for (int j = settled - 1; j > 0; j--) {
+                        int v = order[j];
+                        children[--childOffsets[parent[v]]] = v;
+                    }
+                    while (childOffsets[w] < childOffsets[w + 1]) {
+                        int next = children[childOffsets[w]];
+                        for (int c = childOffsets[w] + 1; c < childOffsets[w + 1]; c++) {
+                            if (size[children[c]] > size[next]) {
+                                next = children[c];
+                            }
+                        }
+                        w = next;
+                    }
+                    l = w;
+                }
+
+                isLandmark[l] = true;
+                double[] from = dijkstra(l, false, null, null);
+                addLandmark(l, from, directed ? dijkstra(l, true, null, null) : from);
+            }
+        }
+
+        private int randomNonLandmark(boolean[] isLandmark, Random rng)
+        {
+            int l = rng.nextInt(n);
+            while (isLandmark[l]) {
+                l = (l + 1) % n;
+            }
+            return l;
+        }
+
+        /*
+         * The lower bound on the distance between two vertices given the landmarks selected so
+         * far, whose distances must have been computed.
+         */
+        private double lowerBound(int u, int t)
+        {
+            double result = 0d;
+            for (int l = 0; l < landmarkCount; l++) {
+                double[] from = fromRows[l];
+                double[] to = toRows[l];
+                double estimate;
+                if (directed) {
+                    estimate = Math.max(to[u] - to[t], from[t] - from[u]);
+                } else {
+                    estimate = Math.abs(from[u] - from[t]);
+                }
+                if (Double.isFinite(estimate)) {
+                    result = Math.max(result, estimate);
+                }
+            }
+            return result;
+        }
+
+        private void addLandmark(int l, double[] from, double[] to)
+        {
+            landmarks[landmarkCount] = l;
+            fromRows[landmarkCount] = from;
+            toRows[landmarkCount] = to;
+            landmarkCount++;
+        }
+
+        /*
+         * Compute the distances of the landmarks which are not yet known in parallel.
+         */
+        private void computeMissingRows(ForkJoinPool pool)
+        {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < landmarkCount; i++) {
+                int l = i;
+                if (fromRows[l] == null) {
+                    tasks.add(
+                        pool.submit(() -> fromRows[l] = dijkstra(landmarks[l], false, null, null)));
+                }
+                if (directed && toRows[l] == null) {
+                    tasks.add(
+                        pool.submit(() -> toRows[l] = dijkstra(landmarks[l], true, null, null)));
+                }
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+            if (!directed) {
+                for (int l = 0; l < landmarkCount; l++) {
+                    toRows[l] = fromRows[l];
+                }
+            }
+        }
+
+        /**
+         * Compute the distances from a source vertex, or to it if reversed.
+         *
+         * @param source the source vertex
+         * @param reversed whether to compute the distances to the source
+         * @param parent if not null, receives the parent of each vertex in the shortest path tree
+         * @param order if not null, receives the vertices in the order they were settled followed
+         *        by the number of settled vertices at index $n$
+         * @return the distances
+         */
+        private double[] dijkstra(int source, boolean reversed, int[] parent, int[] order)
+        {
+            int[] offsets = reversed ? inOffsets : outOffsets;
+            int[] targets = reversed ? inTargets : outTargets;
+            double[] weights = reversed ? inWeights : outWeights;
+
+            double[] distance = new double[n];
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            IntDaryHeap heap = new IntDaryHeap(n);
+            distance[source] = 0d;
+            heap.insert(source, 0d);
+            int settled = 0;
+            while (!heap.isEmpty()) {
+                double d = heap.findMinKey();
+                int v = heap.deleteMin();
+                if (order != null) {
+                    order[settled] = v;
+                }
+                settled++;
+                for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                    int w = targets[j];
+                    double dw = d + weights[j];
+                    if (dw < distance[w]) {
+                        distance[w] = dw;
+                        heap.insertOrDecreaseKey(w, dw);
+                        if (parent != null) {
+                            parent[w] = v;
+                        }
+                    }
+                }
+            }
+            if (order != null) {
+                order[n] = settled;
+            }
+            return distance;
+        }
+
+        List<V> landmarkList()
+        {
+            List<V> result = new ArrayList<>(landmarkCount);
+            for (int l = 0; l < landmarkCount; l++) {
+                result.add(vertices.get(landmarks[l]));
+            }
+            return result;
+        }
+
+        double[] fromTable()
+        {
+            return interleave(fromRows);
+        }
+
+        double[] toTable()
+        {
+            return interleave(toRows);
+        }
+
+        /*
+         * Store the distances of each vertex to all landmarks adjacently.
+         */
+        private double[] interleave(double[][] rows)
+        {
+            int k = landmarkCount;
+            double[] table = new double[n * k];
+            for (int l = 0; l < k; l++) {
+                double[] row = rows[l];
+                for (int v = 0; v < n; v++) {
+                    table[v * k + l] = row[v];
+                }
+            }
+            return table;
         }
     }
 
@@ -24,6 +24,7 @@ import org.jgrapht.graph.*;
 import org.jgrapht.util.*;
 
 import java.util.*;
+import java.util.function.*;
 
 /**
  * A* shortest path.
@@ -32,9 +33,10 @@ import java.util.*;
  * algorithm</a>. This class works for directed and undirected graphs, as well as multi-graphs and
  * mixed-graphs. The graph can also change between invocations of the
  * {@link #getPath(Object, Object)} method; no new instance of this class has to be created. The
- * heuristic is implemented using a FibonacciHeap data structure to maintain the set of open nodes.
- * However, there still exist several approaches in literature to improve the performance of this
- * heuristic which one could consider to implement. Another issue to take into consideration is the
+ * heuristic is implemented using a FibonacciHeap data structure to maintain the set of open nodes,
+ * which can be replaced by any other {@link AddressableHeap} using the constructor. However, there
+ * still exist several approaches in literature to improve the performance of this heuristic which
+ * one could consider to implement. Another issue to take into consideration is the
  * following: given two candidate nodes, $i$, $j$ to expand, where $f(i)=f(j)$, $g(i)$ &gt; $g(j)$,
  * $h(i)$ &lt; $g(j)$, $f(i)=g(i)+h(i)$, $g(i)$ is the actual distance from the source node to $i$,
  * $h(i)$ is the estimated distance from $i$ to the target node. Usually a depth-first search is
@@ -62,7 +64,25 @@ public class AStarShortestPath<V, E>
     BaseShortestPathAlgorithm<V, E>
 {
     // List of open nodes
+    protected AddressableHeap<V> openHeap;
+    protected Map<V, AddressableHeap.Handle<V>> vertexToHandleMap;
+
+    /**
+     * The open nodes before the heap became replaceable.
+     *
+     * @deprecated the open nodes are kept in {@link #openHeap}, this field is not used anymore and
+     *             always null
+     */
+    @Deprecated
     protected FibonacciHeap<V> openList;
+
+    /**
+     * The heap nodes of the open nodes before the heap became replaceable.
+     *
+     * @deprecated the handles of the open nodes are kept in {@link #vertexToHandleMap}, this field
+     *             is not used anymore and always null
+     */
+    @Deprecated
     protected Map<V, FibonacciHeapNode<V>> vertexToHeapNodeMap;
 
     // List of closed nodes
@@ -84,6 +104,9 @@ public class AStarShortestPath<V, E>
     // Comparator for comparing doubles with tolerance
     protected Comparator<Double> comparator;
 
+    // Supplier of the heap of open nodes
+    private final Supplier<AddressableHeap<V>> heapSupplier;
+
     /**
      * Create a new instance of the A* shortest path algorithm.
      * 
@@ -92,11 +115,27 @@ public class AStarShortestPath<V, E>
      *        the target node. The heuristic must never overestimate the distance.
      */
     public AStarShortestPath(Graph<V, E> graph, AStarAdmissibleHeuristic<V> admissibleHeuristic)
+    {
+        this(graph, admissibleHeuristic, FibonacciAddressableHeap::new);
+    }
+
+    /**
+     * Create a new instance of the A* shortest path algorithm which uses a custom heap.
+     *
+     * @param graph the input graph
+     * @param admissibleHeuristic admissible heuristic which estimates the distance from a node to
+     *        the target node. The heuristic must never overestimate the distance.
+     * @param heapSupplier supplier of the heap to use for the open nodes
+     */
+    public AStarShortestPath(
+        Graph<V, E> graph, AStarAdmissibleHeuristic<V> admissibleHeuristic,
+        Supplier<AddressableHeap<V>> heapSupplier)
     {
         super(graph);
         this.admissibleHeuristic =
             Objects.requireNonNull(admissibleHeuristic, "Heuristic function cannot be null!");
         this.comparator = new ToleranceDoubleComparator();
+        this.heapSupplier = Objects.requireNonNull(heapSupplier, "Heap supplier cannot be null");
     }
 
     /**
@@ -107,8 +146,8 @@ public class AStarShortestPath<V, E>
     private void initialize(AStarAdmissibleHeuristic<V> admissibleHeuristic)
     {
         this.admissibleHeuristic = admissibleHeuristic;
-        openList = new FibonacciHeap<>();
-        vertexToHeapNodeMap = new HashMap<>();
+        openHeap = heapSupplier.get();
+        vertexToHandleMap = new HashMap<>();
         closedList = new HashSet<>();
         gScoreMap = new HashMap<>();
         cameFrom = new HashMap<>();
@@ -137,23 +176,21 @@ public class AStarShortestPath<V, E>
 
         this.initialize(admissibleHeuristic);
         gScoreMap.put(sourceVertex, 0.0);
-        FibonacciHeapNode<V> heapNode = new FibonacciHeapNode<>(sourceVertex);
-        openList.insert(heapNode, 0.0);
-        vertexToHeapNodeMap.put(sourceVertex, heapNode);
+        vertexToHandleMap.put(sourceVertex, openHeap.insert(0.0, sourceVertex));
 
         do {
-            FibonacciHeapNode<V> currentNode = openList.removeMin();
+            AddressableHeap.Handle<V> currentNode = openHeap.deleteMin();
 
             // Check whether we reached the target vertex
-            if (currentNode.getData().equals(targetVertex)) {
+            if (currentNode.getValue().equals(targetVertex)) {
                 // Build the path
                 return this.buildGraphPath(sourceVertex, targetVertex, currentNode.getKey());
             }
 
             // We haven't reached the target vertex yet; expand the node
             expandNode(currentNode, targetVertex);
-            closedList.add(currentNode.getData());
-        } while (!openList.isEmpty());
+            closedList.add(currentNode.getValue());
+        } while (!openHeap.isEmpty());
 
         // No path exists from sourceVertex to TargetVertex
         return createEmptyPath(sourceVertex, targetVertex);
@@ -200,25 +237,25 @@ public class AStarShortestPath<V, E>
         return true;
     }
 
-    private void expandNode(FibonacciHeapNode<V> currentNode, V endVertex)
+    private void expandNode(AddressableHeap.Handle<V> currentNode, V endVertex)
     {
         numberOfExpandedNodes++;
 
-        Set<E> outgoingEdges = graph.outgoingEdgesOf(currentNode.getData());
+        Set<E> outgoingEdges = graph.outgoingEdgesOf(currentNode.getValue());
 
         for (E edge : outgoingEdges) {
-            V successor = Graphs.getOppositeVertex(graph, edge, currentNode.getData());
+            V successor = Graphs.getOppositeVertex(graph, edge, currentNode.getValue());
 
-            if (successor.equals(currentNode.getData())) { // Ignore self-loop
+            if (successor.equals(currentNode.getValue())) { // Ignore self-loop
                 continue;
             }
 
-            double gScore_current = gScoreMap.get(currentNode.getData());
+            double gScore_current = gScoreMap.get(currentNode.getValue());
             double tentativeGScore = gScore_current + graph.getEdgeWeight(edge);
             double fScore =
                 tentativeGScore + admissibleHeuristic.getCostEstimate(successor, endVertex);
 
-            if (vertexToHeapNodeMap.containsKey(successor)) { // We re-encountered a vertex. It's
+            if (vertexToHandleMap.containsKey(successor)) { // We re-encountered a vertex. It's
                                                               // either in the open or closed list.
                 if (tentativeGScore >= gScoreMap.get(successor)) // Ignore path since it is
                                                                  // non-improving
@@ -231,16 +268,14 @@ public class AStarShortestPath<V, E>
                                                       // open list, since we discovered a shorter
                                                       // path to this node
                     closedList.remove(successor);
-                    openList.insert(vertexToHeapNodeMap.get(successor), fScore);
+                    vertexToHandleMap.put(successor, openHeap.insert(fScore, successor));
                 } else { // It's in the open list
-                    openList.decreaseKey(vertexToHeapNodeMap.get(successor), fScore);
+                    vertexToHandleMap.get(successor).decreaseKey(fScore);
                 }
             } else { // We've encountered a new vertex.
                 cameFrom.put(successor, edge);
                 gScoreMap.put(successor, tentativeGScore);
-                FibonacciHeapNode<V> heapNode = new FibonacciHeapNode<>(successor);
-                openList.insert(heapNode, fScore);
-                vertexToHeapNodeMap.put(successor, heapNode);
+                vertexToHandleMap.put(successor, openHeap.insert(fScore, successor));
             }
         }
     }
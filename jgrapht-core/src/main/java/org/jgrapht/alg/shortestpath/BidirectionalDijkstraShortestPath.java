@@ -22,6 +22,7 @@ import org.jgrapht.graph.*;
 import org.jgrapht.util.*;
 
 import java.util.*;
+import java.util.function.*;
 
 /**
  * A bidirectional version of Dijkstra's algorithm.
@@ -32,6 +33,10 @@ import java.util.*;
  * technique does not change the worst-case behavior of the algorithm but reduces, in some cases,
  * the number of visited vertices in practice. This implementation alternatively constructs forward
  * and reverse paths from the source and target vertices respectively.
+ *
+ * <p>
+ * Both frontiers use a Fibonacci heap by default, which can be replaced by any other
+ * {@link AddressableHeap} using the constructor.
  * 
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
@@ -46,6 +51,7 @@ public final class BidirectionalDijkstraShortestPath<V, E>
     BaseShortestPathAlgorithm<V, E>
 {
     private double radius;
+    private final Supplier<AddressableHeap<V>> heapSupplier;
 
     /**
      * Constructs a new instance for a specified graph.
@@ -64,12 +70,38 @@ public final class BidirectionalDijkstraShortestPath<V, E>
      * @param radius limit on path length, or Double.POSITIVE_INFINITY for unbounded search
      */
     public BidirectionalDijkstraShortestPath(Graph<V, E> graph, double radius)
+    {
+        this(graph, radius, FibonacciAddressableHeap::new);
+    }
+
+    /**
+     * Constructs a new instance for a specified graph which uses a custom heap.
+     *
+     * @param graph the input graph
+     * @param heapSupplier supplier of the heap to use for each search frontier
+     */
+    public BidirectionalDijkstraShortestPath(
+        Graph<V, E> graph, Supplier<AddressableHeap<V>> heapSupplier)
+    {
+        this(graph, Double.POSITIVE_INFINITY, heapSupplier);
+    }
+
+    /**
+     * Constructs a new instance for a specified graph which uses a custom heap.
+     *
+     * @param graph the input graph
+     * @param radius limit on path length, or Double.POSITIVE_INFINITY for unbounded search
+     * @param heapSupplier supplier of the heap to use for each search frontier
+     */
+    public BidirectionalDijkstraShortestPath(
+        Graph<V, E> graph, double radius, Supplier<AddressableHeap<V>> heapSupplier)
     {
         super(graph);
         if (radius < 0.0) {
             throw new IllegalArgumentException("Radius must be non-negative");
         }
         this.radius = radius;
+        this.heapSupplier = Objects.requireNonNull(heapSupplier, "Heap supplier cannot be null");
     }
 
     @Override
@@ -112,14 +144,15 @@ public final class BidirectionalDijkstraShortestPath<V, E>
         while (true) {
             // stopping condition
             if (frontier.heap.isEmpty() || otherFrontier.heap.isEmpty()
-                || frontier.heap.min().getKey() + otherFrontier.heap.min().getKey() >= bestPath)
+                || frontier.heap.findMin().getKey()
+                    + otherFrontier.heap.findMin().getKey() >= bestPath)
             {
                 break;
             }
 
             // frontier scan
-            FibonacciHeapNode<QueueEntry> node = frontier.heap.removeMin();
-            V v = node.getData().v;
+            AddressableHeap.Handle<V> node = frontier.heap.deleteMin();
+            V v = node.getValue();
             double vDistance = node.getKey();
 
             for (E e : frontier.graph.outgoingEdgesOf(v)) {
@@ -221,48 +254,46 @@ public final class BidirectionalDijkstraShortestPath<V, E>
     {
         final Graph<V, E> graph;
 
-        final FibonacciHeap<QueueEntry> heap;
-        final Map<V, FibonacciHeapNode<QueueEntry>> seen;
+        final AddressableHeap<V> heap;
+        final Map<V, QueueEntry> seen;
 
         public SearchFrontier(Graph<V, E> graph)
         {
             this.graph = graph;
-            this.heap = new FibonacciHeap<>();
+            this.heap = heapSupplier.get();
             this.seen = new HashMap<>();
         }
 
         public void updateDistance(V v, E e, double distance)
         {
-            FibonacciHeapNode<QueueEntry> node = seen.get(v);
-            if (node == null) {
-                node = new FibonacciHeapNode<>(new QueueEntry(e, v));
-                heap.insert(node, distance);
-                seen.put(v, node);
+            QueueEntry entry = seen.get(v);
+            if (entry == null) {
+                seen.put(v, new QueueEntry(e, heap.insert(distance, v)));
             } else {
-                if (distance < node.getKey()) {
-                    heap.decreaseKey(node, distance);
-                    node.getData().e = e;
+                if (distance < entry.node.getKey()) {
+                    entry.node.decreaseKey(distance);
+                    entry.e = e;
                 }
             }
         }
 
         public double getDistance(V v)
         {
-            FibonacciHeapNode<QueueEntry> node = seen.get(v);
-            if (node == null) {
+            QueueEntry entry = seen.get(v);
+            if (entry == null) {
                 return Double.POSITIVE_INFINITY;
             } else {
-                return node.getKey();
+                return entry.node.getKey();
             }
         }
 
         public E getTreeEdge(V v)
         {
-            FibonacciHeapNode<QueueEntry> node = seen.get(v);
-            if (node == null) {
+            QueueEntry entry = seen.get(v);
+            if (entry == null) {
                 return null;
             } else {
-                return node.getData().e;
+                return entry.e;
             }
         }
 
@@ -271,12 +302,12 @@ public final class BidirectionalDijkstraShortestPath<V, E>
     class QueueEntry
     {
         E e;
-        V v;
+        final AddressableHeap.Handle<V> node;
 
-        public QueueEntry(E e, V v)
+        public QueueEntry(E e, AddressableHeap.Handle<V> node)
         {
             this.e = e;
-            this.v = v;
+            this.node = node;
         }
     }
 
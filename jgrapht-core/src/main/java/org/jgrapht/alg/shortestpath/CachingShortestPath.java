@@ -0,0 +1,341 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.event.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+
+/**
+ * A shortest path algorithm which caches the paths computed by another algorithm.
+ *
+ * <p>
+ * The paths between pairs of vertices are kept in a cache of bounded size. When the cache is full
+ * the least recently used path is evicted. The numbers of queries answered from the cache and of
+ * queries passed to the wrapped algorithm are reported by {@link #getHitCount()} and
+ * {@link #getMissCount()}. Only point-to-point queries are cached, the single source paths of
+ * {@link #getPaths(Object)} are always computed by the wrapped algorithm.
+ *
+ * <p>
+ * The cache is also a {@link GraphListener}. If the graph is a {@link ListenableGraph}, the cache
+ * can be added as a listener using {@link ListenableGraph#addGraphListener(GraphListener)}, and
+ * removed using {@link ListenableGraph#removeGraphListener(GraphListener)} once it is no longer
+ * used. Removing an edge or increasing its weight invalidates only the cached paths which contain
+ * the edge, since all other paths remain shortest paths. Adding an edge or decreasing the weight of
+ * an edge may shorten any path and invalidates the whole cache. If the cache is not a listener of
+ * the graph it must be cleared using {@link #clear()} whenever the graph is modified. In both
+ * cases the wrapped algorithm must itself reflect the modifications, which is the case for
+ * algorithms such as {@link DijkstraShortestPath} which perform no precomputation. In order to
+ * detect weight increases, the cache records the edge weights when it is first notified of a
+ * weight change, and again at the first weight change after each {@link #clear()}. Since the
+ * previous weight is unknown, such a weight change invalidates the whole cache.
+ *
+ * <p>
+ * The cache can be used by concurrent queries, provided that the wrapped algorithm supports
+ * concurrent queries.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class CachingShortestPath<V, E>
+    extends
+    BaseShortestPathAlgorithm<V, E>
+    implements
+    GraphListener<V, E>
+{
+    /**
+     * The default maximum number of cached paths.
+     */
+    public static final int DEFAULT_CAPACITY = 10000;
+
+    private final ShortestPathAlgorithm<V, E> algorithm;
+    private final int capacity;
+
+    // the cached paths, null if no path exists, in order of access
+    private final LinkedHashMap<Pair<V, V>, GraphPath<V, E>> cache;
+    // the pairs whose cached paths contain an edge
+    private final Map<E, Set<Pair<V, V>>> pairsOfEdge;
+    // the edge weights, used to detect weight increases, null until the first weight change
+    private Map<E, Double> edgeWeights;
+
+    // the number of invalidations, used to discard paths computed while the cache was invalidated
+    private long invalidationCount;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * Constructs a new cache of default capacity.
+     *
+     * @param graph the graph
+     * @param algorithm the algorithm whose paths are cached
+     */
+    public CachingShortestPath(Graph<V, E> graph, ShortestPathAlgorithm<V, E> algorithm)
+    {
+        this(graph, algorithm, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new cache.
+     *
+     * @param graph the graph
+     * @param algorithm the algorithm whose paths are cached
+     * @param capacity the maximum number of cached paths
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public CachingShortestPath(
+        Graph<V, E> graph, ShortestPathAlgorithm<V, E> algorithm, int capacity)
+    {
+        super(graph);
+        this.algorithm = Objects.requireNonNull(algorithm, "Algorithm cannot be null");
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.cache = new LinkedHashMap<Pair<V, V>, GraphPath<V, E>>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = -5307129457307735117L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Pair<V, V>, GraphPath<V, E>> eldest)
+            {
+                if (size() > CachingShortestPath.this.capacity) {
+                    unindex(eldest.getKey(), eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.pairsOfEdge = new HashMap<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GraphPath<V, E> getPath(V source, V sink)
+    {
+        Pair<V, V> pair = Pair.of(source, sink);
+        long invalidations;
+        synchronized (this) {
+            if (cache.containsKey(pair)) {
+                hitCount++;
+                return cache.get(pair);
+            }
+            missCount++;
+            invalidations = invalidationCount;
+        }
+
+        GraphPath<V, E> path = algorithm.getPath(source, sink);
+
+        synchronized (this) {
+            if (invalidations != invalidationCount) {
+                // the graph was modified during the computation, which may have used either the
+                // old or the new graph
+                return path;
+            }
+            GraphPath<V, E> oldPath = cache.put(pair, path);
+            if (oldPath != null) {
+                unindex(pair, oldPath);
+            }
+            if (path != null) {
+                for (E e : path.getEdgeList()) {
+                    pairsOfEdge.computeIfAbsent(e, k -> new HashSet<>()).add(pair);
+                }
+            }
+        }
+        return path;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SingleSourcePaths<V, E> getPaths(V source)
+    {
+        return algorithm.getPaths(source);
+    }
+
+    /**
+     * Get the number of queries answered from the cache.
+     *
+     * @return the number of queries answered from the cache
+     */
+    public synchronized long getHitCount()
+    {
+        return hitCount;
+    }
+
+    /**
+     * Get the number of queries passed to the wrapped algorithm.
+     *
+     * @return the number of queries passed to the wrapped algorithm
+     */
+    public synchronized long getMissCount()
+    {
+        return missCount;
+    }
+
+    /**
+     * Get the number of cached paths.
+     *
+     * @return the number of cached paths
+     */
+    public synchronized int size()
+    {
+        return cache.size();
+    }
+
+    /**
+     * Remove all cached paths and forget the recorded edge weights, which are recorded again from
+     * the graph on the next weight change. The hit and miss counts are not reset.
+     */
+    public synchronized void clear()
+    {
+        invalidateAll();
+        edgeWeights = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void edgeAdded(GraphEdgeChangeEvent<V, E> e)
+    {
+        if (edgeWeights != null) {
+            edgeWeights.put(e.getEdge(), graph.getEdgeWeight(e.getEdge()));
+        }
+        invalidateAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void edgeRemoved(GraphEdgeChangeEvent<V, E> e)
+    {
+        if (edgeWeights != null) {
+            edgeWeights.remove(e.getEdge());
+        }
+        invalidate(e.getEdge());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void edgeWeightUpdated(GraphEdgeChangeEvent<V, E> e)
+    {
+        if (edgeWeights == null) {
+            // no previous weight is known, thus the weight may have decreased
+            edgeWeights = CollectionUtil.newHashMapWithExpectedSize(graph.edgeSet().size());
+            for (E edge : graph.edgeSet()) {
+                edgeWeights.put(edge, graph.getEdgeWeight(edge));
+            }
+            invalidateAll();
+            return;
+        }
+        double weight = e.getEdgeWeight();
+        Double oldWeight = edgeWeights.put(e.getEdge(), weight);
+        if (oldWeight != null && weight >= oldWeight) {
+            invalidate(e.getEdge());
+        } else {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vertexAdded(GraphVertexChangeEvent<V> e)
+    {
+        // an isolated vertex changes no path
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void vertexRemoved(GraphVertexChangeEvent<V> e)
+    {
+        // the paths through the vertex were invalidated when its edges were removed
+        invalidationCount++;
+        V v = e.getVertex();
+        Iterator<Map.Entry<Pair<V, V>, GraphPath<V, E>>> it = cache.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Pair<V, V>, GraphPath<V, E>> entry = it.next();
+            Pair<V, V> pair = entry.getKey();
+            if (v.equals(pair.getFirst()) || v.equals(pair.getSecond())) {
+                unindex(pair, entry.getValue());
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Remove all cached paths.
+     */
+    private void invalidateAll()
+    {
+        invalidationCount++;
+        cache.clear();
+        pairsOfEdge.clear();
+    }
+
+    /**
+     * Remove the cached paths which contain an edge.
+     */
+    private void invalidate(E edge)
+    {
+        invalidationCount++;
+        Set<Pair<V, V>> pairs = pairsOfEdge.remove(edge);
+        if (pairs == null) {
+            return;
+        }
+        for (Pair<V, V> pair : pairs) {
+            unindex(pair, cache.remove(pair));
+        }
+    }
+
+    /**
+     * Remove a pair from the sets of the edges of its path.
+     */
+    private void unindex(Pair<V, V> pair, GraphPath<V, E> path)
+    {
+        if (path == null) {
+            return;
+        }
+        for (E e : path.getEdgeList()) {
+            Set<Pair<V, V>> pairs = pairsOfEdge.get(e);
+            if (pairs != null) {
+                pairs.remove(pair);
+                if (pairs.isEmpty()) {
+                    pairsOfEdge.remove(e);
+                }
+            }
+        }
+    }
+}
+
+// End CachingShortestPath.java
@@ -0,0 +1,662 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * The contraction hierarchy of a graph, the result of the preprocessing phase of the contraction
+ * hierarchies shortest path technique.
+ *
+ * <p>
+ * The vertices of the graph are contracted one by one in order of importance. Contracting a vertex
+ * $v$ removes it from the remaining graph and, for each pair of neighbors $u$ and $w$ such that
+ * $u \to v \to w$ is the only shortest path between them, adds a shortcut arc $u \to w$ with the
+ * same weight. The original arcs together with the shortcuts form the hierarchy, in which every
+ * shortest path can be found by searching only towards vertices contracted later. See R.
+ * Geisberger, P. Sanders, D. Schultes and D. Delling. Contraction hierarchies: Faster and simpler
+ * hierarchical routing in road networks. In Proceedings of the 7th International Workshop on
+ * Experimental Algorithms (WEA 2008), 319&ndash;333, 2008. Queries are answered by
+ * {@link ContractionHierarchyShortestPath}.
+ *
+ * <p>
+ * A shortcut is not needed if a witness path which is not longer exists. Witnesses are searched
+ * using a local Dijkstra search which is limited to a fixed number of settled vertices, thus a
+ * few unnecessary shortcuts may be added but the hierarchy is always correct. The importance of a
+ * vertex combines its edge difference, the number of shortcuts its contraction adds minus the
+ * number of arcs it removes, with the number of its already contracted neighbors and its level in
+ * the hierarchy, which spreads the contraction evenly over the graph. The preprocessing runs in
+ * rounds, where each round contracts all vertices whose importance is smaller than that of all
+ * their remaining neighbors. Since such vertices are pairwise non-adjacent, their witness searches
+ * are independent and run in parallel on a fork-join pool, as does the update of the importance
+ * of their neighbors.
+ *
+ * <p>
+ * The graph must be directed or undirected and its edge weights must be non-negative. Self-loops
+ * are ignored. The hierarchy is a snapshot of the graph; it does not reflect later modifications
+ * of the graph. A hierarchy is immutable after construction and can be shared among any number of
+ * query objects and threads.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class ContractionHierarchy<V, E>
+{
+    /**
+     * Default limit on the number of vertices settled by each witness search
+     */
+    public static final int DEFAULT_WITNESS_SEARCH_LIMIT = 500;
+
+    // below this number of vertices the work is not split into parallel tasks
+    private static final int PARALLEL_THRESHOLD = 1024;
+
+    private final Graph<V, E> graph;
+    private final ForkJoinPool pool;
+    private final int witnessSearchLimit;
+
+    private final List<V> vertices;
+    private final Map<V, Integer> vertexIndex;
+    private final List<E> edges;
+
+    /*
+     * The arcs of the hierarchy. An arc is either an original arc, whose edge is an index in the
+     * edge list, or a shortcut, whose edge is -1 and which replaces the two arcs first and second.
+     */
+    int arcCount;
+    int[] arcTail;
+    int[] arcHead;
+    double[] arcWeight;
+    int[] arcEdge;
+    int[] arcFirst;
+    int[] arcSecond;
+    private int shortcutCount;
+
+    /*
+     * The search graphs in compressed sparse row format. The upward arcs contain for each vertex
+     * the arcs leaving it towards vertices contracted later, while the downward arcs contain for
+     * each vertex the arcs entering it from vertices contracted later.
+     */
+    int[] upwardOffsets;
+    int[] upwardArcs;
+    int[] downwardOffsets;
+    int[] downwardArcs;
+
+    /*
+     * The remaining graph during the preprocessing, as lists of arcs for each vertex.
+     */
+    private int[][] outArcs;
+    private int[] outCount;
+    private int[][] inArcs;
+    private int[] inCount;
+
+    /**
+     * Construct the contraction hierarchy of a graph, running the preprocessing in the common
+     * fork-join pool.
+     *
+     * @param graph the graph
+     * @throws IllegalArgumentException if the graph is mixed or contains a negative edge weight
+     */
+    public ContractionHierarchy(Graph<V, E> graph)
+    {
+        this(graph, ForkJoinPool.commonPool(), DEFAULT_WITNESS_SEARCH_LIMIT);
+    }
+
+    /**
+     * Construct the contraction hierarchy of a graph, running the preprocessing in the given
+     * fork-join pool.
+     *
+     * @param graph the graph
+     * @param pool the fork-join pool
+     * @throws IllegalArgumentException if the graph is mixed or contains a negative edge weight
+     */
+    public ContractionHierarchy(Graph<V, E> graph, ForkJoinPool pool)
+    {
+        this(graph, pool, DEFAULT_WITNESS_SEARCH_LIMIT);
+    }
+
+    /**
+     * Construct the contraction hierarchy of a graph, running the preprocessing in the given
+     * fork-join pool. A smaller witness search limit speeds up the preprocessing but adds more
+     * shortcuts, which slows down the queries.
+     *
+     * @param graph the graph
+     * @param pool the fork-join pool
+     * @param witnessSearchLimit limit on the number of vertices settled by each witness search
+     * @throws IllegalArgumentException if the graph is mixed or contains a negative edge weight,
+     *         or if the witness search limit is not positive
+     */
+    public ContractionHierarchy(Graph<V, E> graph, ForkJoinPool pool, int witnessSearchLimit)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        this.pool = Objects.requireNonNull(pool, "Pool cannot be null");
+        GraphType type = graph.getType();
+        if (!type.isDirected() && !type.isUndirected()) {
+            throw new IllegalArgumentException("Mixed graphs are not supported");
+        }
+        if (witnessSearchLimit < 1) {
+            throw new IllegalArgumentException("Witness search limit must be positive");
+        }
+        this.witnessSearchLimit = witnessSearchLimit;
+
+        this.vertices = new ArrayList<>(graph.vertexSet());
+        this.vertexIndex = CollectionUtil.newHashMapWithExpectedSize(vertices.size());
+        for (V v : vertices) {
+            vertexIndex.put(v, vertexIndex.size());
+        }
+        this.edges = new ArrayList<>(graph.edgeSet());
+
+        initialize(type.isDirected());
+        int[] rank = contract();
+        buildSearchGraphs(rank);
+
+        // free the remaining graph
+        this.outArcs = null;
+        this.outCount = null;
+        this.inArcs = null;
+        this.inCount = null;
+    }
+
+    /**
+     * Get the underlying graph.
+     *
+     * @return the underlying graph
+     */
+    public Graph<V, E> getGraph()
+    {
+        return graph;
+    }
+
+    /**
+     * Get the number of shortcuts added by the preprocessing.
+     *
+     * @return the number of shortcuts
+     */
+    public int getShortcutCount()
+    {
+        return shortcutCount;
+    }
+
+    int vertexCount()
+    {
+        return vertices.size();
+    }
+
+    int getVertexIndex(V v)
+    {
+        return vertexIndex.get(v);
+    }
+
+    V getVertex(int index)
+    {
+        return vertices.get(index);
+    }
+
+    E getEdge(int index)
+    {
+        return edges.get(index);
+    }
+
+    private void initialize(boolean directed)
+    {
+        int n = vertices.size();
+        int capacity = Math.max(16, (directed ? 2 : 4) * edges.size());
+        arcTail = new int[capacity];
+        arcHead = new int[capacity];
+        arcWeight = new double[capacity];
+        arcEdge = new int[capacity];
+        arcFirst = new int[capacity];
+        arcSecond = new int[capacity];
+        outArcs = new int[n][];
+        outCount = new int[n];
+        inArcs = new int[n][];
+        inCount = new int[n];
+
+        for (int i = 0; i < edges.size(); i++) {
+            E e = edges.get(i);
+            int u = vertexIndex.get(graph.getEdgeSource(e));
+            int v = vertexIndex.get(graph.getEdgeTarget(e));
+            double weight = graph.getEdgeWeight(e);
+            if (weight < 0.0) {
+                throw new IllegalArgumentException("Negative edge weight not allowed");
+            }
+            if (u == v) {
+                continue;
+            }
+            addArc(u, v, weight, i, -1, -1);
+            if (!directed) {
+                addArc(v, u, weight, i, -1, -1);
+            }
+        }
+    }
+
+    private int addArc(int tail, int head, double weight, int edge, int first, int second)
+    {
+        if (arcCount == arcTail.length) {
+            int capacity = 2 * arcCount;
+            arcTail = Arrays.copyOf(arcTail, capacity);
+            arcHead = Arrays.copyOf(arcHead, capacity);
+            arcWeight = Arrays.copyOf(arcWeight, capacity);
+            arcEdge = Arrays.copyOf(arcEdge, capacity);
+            arcFirst = Arrays.copyOf(arcFirst, capacity);
+            arcSecond = Arrays.copyOf(arcSecond, capacity);
+        }
+        int a = arcCount++;
+        arcTail[a] = tail;
+        arcHead[a] = head;
+        arcWeight[a] = weight;
+        arcEdge[a] = edge;
+        arcFirst[a] = first;
+        arcSecond[a] = second;
+        outArcs[tail] = append(outArcs[tail], outCount[tail]++, a);
+        inArcs[head] = append(inArcs[head], inCount[head]++, a);
+        return a;
+    }
+
+    private static int[] append(int[] list, int size, int value)
+    {
+        if (list == null) {
+            list = new int[4];
+        } else if (size == list.length) {
+            list = Arrays.copyOf(list, 2 * size);
+        }
+        list[size] = value;
+        return list;
+    }
+
+    private static int remove(int[] list, int size, int value)
+    {
+        for (int i = 0; i < size; i++) {
+            if (list[i] == value) {
+                list[i] = list[size - 1];
+                return size - 1;
+            }
+        }
+        throw new IllegalStateException("Arc not found: " + value);
+    }
+
+    /*
+     * Contract all vertices and return the rank of each vertex in the contraction order.
+     */
+    private int[] contract()
+    {
+        int n = vertices.size();
+        int[] rank = new int[n];
+        int[] deletedNeighbors = new int[n];
+        int[] level = new int[n];
+        int[] priority = new int[n];
+        boolean[] marked = new boolean[n];
+
+        // witness search workspaces, one for each concurrently running task
+        Queue<WitnessSearch> workspaces = new ConcurrentLinkedQueue<>();
+        IntUnaryOperator computePriority = v -> {
+            WitnessSearch search = acquire(workspaces);
+            int shortcuts = search.contract(v, null, null);
+            int removed = search.inSize + search.outSize;
+            workspaces.offer(search);
+            return 2 * (shortcuts - removed) + deletedNeighbors[v] + level[v];
+        };
+
+        int[] remaining = new int[n];
+        for (int v = 0; v < n; v++) {
+            remaining[v] = v;
+        }
+        int remainingCount = n;
+        parallelFor(n, v -> priority[v] = computePriority.applyAsInt(v));
+
+        int nextRank = 0;
+        int[] batch = new int[n];
+        int[] neighbors = new int[n];
+        while (remainingCount > 0) {
+            // select the vertices which are less important than all their neighbors
+            int candidateCount = remainingCount;
+            parallelFor(candidateCount, i -> {
+                int v = remaining[i];
+                marked[v] = isLocalMinimum(v, priority);
+            });
+            int batchSize = 0;
+            int newRemainingCount = 0;
+            for (int i = 0; i < candidateCount; i++) {
+                int v = remaining[i];
+                if (marked[v]) {
+                    batch[batchSize++] = v;
+                } else {
+                    remaining[newRemainingCount++] = v;
+                }
+            }
+            remainingCount = newRemainingCount;
+
+            /*
+             * Find the shortcuts of each selected vertex. A witness which is not shorter than the
+             * path it replaces must avoid all selected vertices, as two of them could otherwise
+             * serve as witness for each other.
+             */
+            int[][] shortcuts = new int[batchSize][];
+            parallelFor(batchSize, i -> {
+                WitnessSearch search = acquire(workspaces);
+                IntList list = new IntList();
+                search.contract(batch[i], marked, list);
+                workspaces.offer(search);
+                shortcuts[i] = list.toArray();
+            });
+            for (int i = 0; i < batchSize; i++) {
+                marked[batch[i]] = false;
+            }
+
+            // contract the selected vertices
+            int neighborCount = 0;
+            for (int i = 0; i < batchSize; i++) {
+                int v = batch[i];
+                rank[v] = nextRank++;
+                for (int j = 0; j < outCount[v]; j++) {
+                    int a = outArcs[v][j];
+                    int w = arcHead[a];
+                    inCount[w] = remove(inArcs[w], inCount[w], a);
+                    deletedNeighbors[w]++;
+                    level[w] = Math.max(level[w], level[v] + 1);
+                    if (!marked[w]) {
+                        marked[w] = true;
+                        neighbors[neighborCount++] = w;
+                    }
+                }
+                for (int j = 0; j < inCount[v]; j++) {
+                    int a = inArcs[v][j];
+                    int u = arcTail[a];
+                    outCount[u] = remove(outArcs[u], outCount[u], a);
+                    deletedNeighbors[u]++;
+                    level[u] = Math.max(level[u], level[v] + 1);
+                    if (!marked[u]) {
+                        marked[u] = true;
+                        neighbors[neighborCount++] = u;
+                    }
+                }
+                outArcs[v] = null;
+                outCount[v] = 0;
+                inArcs[v] = null;
+                inCount[v] = 0;
+
+                int[] pairs = shortcuts[i];
+                for (int j = 0; j < pairs.length; j += 2) {
+                    int first = pairs[j];
+                    int second = pairs[j + 1];
+                    addArc(
+                        arcTail[first], arcHead[second], arcWeight[first] + arcWeight[second], -1,
+                        first, second);
+                    shortcutCount++;
+                }
+            }
+
+            // update the importance of the neighbors
+            parallelFor(neighborCount, i -> {
+                int w = neighbors[i];
+                priority[w] = computePriority.applyAsInt(w);
+            });
+            for (int i = 0; i < neighborCount; i++) {
+                marked[neighbors[i]] = false;
+            }
+        }
+        return rank;
+    }
+
+    private boolean isLocalMinimum(int v, int[] priority)
+    {
+        for (int j = 0; j < outCount[v]; j++) {
+            if (!precedes(v, arcHead[outArcs[v][j]], priority)) {
+                return false;
+            }
+        }
+        for (int j = 0; j < inCount[v]; j++) {
+            if (!precedes(v, arcTail[inArcs[v][j]], priority)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean precedes(int v, int w, int[] priority)
+    {
+        if (priority[v] != priority[w]) {
+            return priority[v] < priority[w];
+        }
+        /*
+         * Break ties pseudo-randomly, as vertex indices often follow the structure of the graph,
+         * in which case only few vertices would be selected in each round.
+         */
+        int hv = mix(v);
+        int hw = mix(w);
+        return hv < hw || (hv == hw && v < w);
+    }
+
+    private static int mix(int v)
+    {
+        int h = v * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private WitnessSearch acquire(Queue<WitnessSearch> workspaces)
+    {
+        WitnessSearch search = workspaces.poll();
+        return search != null ? search : new WitnessSearch();
+    }
+
+    private void parallelFor(int n, IntConsumer action)
+    {
+        if (n < PARALLEL_THRESHOLD || pool.getParallelism() == 1) {
+            for (int i = 0; i < n; i++) {
+                action.accept(i);
+            }
+        } else {
+            // split into about four leaf tasks per worker in order to balance the load
+            int threshold = Math.max(1, n / (4 * pool.getParallelism()));
+            pool.invoke(new RangeTask(0, n, threshold, action));
+        }
+    }
+
+    /*
+     * Split the arcs into the upward and downward search graphs.
+     */
+    private void buildSearchGraphs(int[] rank)
+    {
+        int n = vertices.size();
+        upwardOffsets = new int[n + 1];
+        downwardOffsets = new int[n + 1];
+        for (int a = 0; a < arcCount; a++) {
+            if (rank[arcTail[a]] < rank[arcHead[a]]) {
+                upwardOffsets[arcTail[a] + 1]++;
+            } else {
+                downwardOffsets[arcHead[a] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            upwardOffsets[v + 1] += upwardOffsets[v];
+            downwardOffsets[v + 1] += downwardOffsets[v];
+        }
+        upwardArcs = new int[upwardOffsets[n]];
+        downwardArcs = new int[downwardOffsets[n]];
+        int[] upwardNext = Arrays.copyOf(upwardOffsets, n);
+        int[] downwardNext = Arrays.copyOf(downwardOffsets, n);
+        for (int a = 0; a < arcCount; a++) {
+            if (rank[arcTail[a]] < rank[arcHead[a]]) {
+                upwardArcs[upwardNext[arcTail[a]]++] = a;
+            } else {
+                downwardArcs[downwardNext[arcHead[a]]++] = a;
+            }
+        }
+    }
+
+    /**
+     * A local Dijkstra search used to decide which shortcuts are needed when contracting a vertex.
+     * Each instance must be used by one thread at a time.
+     */
+    private class WitnessSearch
+    {
+        final double[] distance;
+        // whether a shortest path found avoids the selected vertices
+        final boolean[] clean;
+        final int[] touched;
+        int touchedCount;
+        final IntDaryHeap heap;
+
+        // the in and out neighbors of the contracted vertex and their shortest arcs
+        final int[] inNeighbors;
+        final int[] outNeighbors;
+        final int[] inArc;
+        final int[] outArc;
+        final int[] inMark;
+        final int[] outMark;
+        int inSize;
+        int outSize;
+        int stamp;
+
+        WitnessSearch()
+        {
+            int n = vertices.size();
+            this.distance = new double[n];
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            this.clean = new boolean[n];
+            this.touched = new int[n];
+            this.heap = new IntDaryHeap(n);
+            this.inNeighbors = new int[n];
+            this.outNeighbors = new int[n];
+            this.inArc = new int[n];
+            this.outArc = new int[n];
+            this.inMark = new int[n];
+            this.outMark = new int[n];
+        }
+
+        /**
+         * Compute the shortcuts needed when contracting a vertex in the remaining graph.
+         *
+         * @param v the vertex
+         * @param avoid vertices which witnesses must avoid unless they are shorter, or null
+         * @param shortcuts list which receives the two arcs replaced by each shortcut, or null
+         * @return the number of shortcuts
+         */
+        int contract(int v, boolean[] avoid, IntList shortcuts)
+        {
+            stamp++;
+            inSize = 0;
+            for (int j = 0; j < inCount[v]; j++) {
+                int a = inArcs[v][j];
+                int u = arcTail[a];
+                if (inMark[u] != stamp) {
+                    inMark[u] = stamp;
+                    inArc[u] = a;
+                    inNeighbors[inSize++] = u;
+                } else if (arcWeight[a] < arcWeight[inArc[u]]) {
+                    inArc[u] = a;
+                }
+            }
+            outSize = 0;
+            double maxOutWeight = 0d;
+            for (int j = 0; j < outCount[v]; j++) {
+                int a = outArcs[v][j];
+                int w = arcHead[a];
+                if (outMark[w] != stamp) {
+                    outMark[w] = stamp;
+                    outArc[w] = a;
+                    outNeighbors[outSize++] = w;
+                } else if (arcWeight[a] < arcWeight[outArc[w]]) {
+                    outArc[w] = a;
+                }
+                maxOutWeight = Math.max(maxOutWeight, arcWeight[a]);
+            }
+
+            int count = 0;
+            for (int i = 0; i < inSize; i++) {
+                int u = inNeighbors[i];
+                double inWeight = arcWeight[inArc[u]];
+                search(u, v, avoid, inWeight + maxOutWeight);
+                for (int k = 0; k < outSize; k++) {
+                    int w = outNeighbors[k];
+                    if (w == u) {
+                        continue;
+                    }
+                    double weight = inWeight + arcWeight[outArc[w]];
+                    if (distance[w] > weight || (distance[w] == weight && !clean[w])) {
+                        count++;
+                        if (shortcuts != null) {
+                            shortcuts.add(inArc[u]);
+                            shortcuts.add(outArc[w]);
+                        }
+                    }
+                }
+                reset();
+            }
+            return count;
+        }
+
+        private void search(int source, int excluded, boolean[] avoid, double limit)
+        {
+            // the out neighbors of the contracted vertex except the source
+            int targets = outSize - (outMark[source] == stamp ? 1 : 0);
+            distance[source] = 0d;
+            clean[source] = true;
+            touched[touchedCount++] = source;
+            heap.insert(source, 0d);
+            int settled = 0;
+            while (!heap.isEmpty() && settled < witnessSearchLimit) {
+                double d = heap.findMinKey();
+                if (d > limit) {
+                    break;
+                }
+                int u = heap.deleteMin();
+                settled++;
+                if (u != source && outMark[u] == stamp && --targets == 0) {
+                    break;
+                }
+                for (int j = 0; j < outCount[u]; j++) {
+                    int a = outArcs[u][j];
+                    int w = arcHead[a];
+                    double dw = d + arcWeight[a];
+                    if (w == excluded || dw > limit) {
+                        continue;
+                    }
+                    boolean cleanPath = clean[u] && (avoid == null || !avoid[w]);
+                    if (dw < distance[w]) {
+                        if (distance[w] == Double.POSITIVE_INFINITY) {
+                            touched[touchedCount++] = w;
+                        }
+                        distance[w] = dw;
+                        clean[w] = cleanPath;
+                        heap.insertOrDecreaseKey(w, dw);
+                    } else if (dw == distance[w] && cleanPath) {
+                        clean[w] = true;
+                    }
+                }
+            }
+            heap.clear();
+        }
+
+        private void reset()
+        {
+            for (int i = 0; i < touchedCount; i++) {
+                distance[touched[i]] = Double.POSITIVE_INFINITY;
+            }
+            touchedCount = 0;
+        }
+    }
+}
+
+// End ContractionHierarchy.java
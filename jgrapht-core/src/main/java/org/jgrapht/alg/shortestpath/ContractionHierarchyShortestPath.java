@@ -0,0 +1,300 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+
+/**
+ * Shortest path queries using contraction hierarchies.
+ *
+ * <p>
+ * A query runs a bidirectional Dijkstra search on a {@link ContractionHierarchy}, where the
+ * forward search from the source only follows arcs towards vertices contracted later and the
+ * backward search from the target only follows arcs from vertices contracted later. Both searches
+ * prune vertices whose distance is provably not shortest (stall-on-demand), thus a query on a road
+ * network typically settles a few hundred vertices. The shortcuts of the resulting path are then
+ * recursively unpacked into edges of the original graph.
+ *
+ * <p>
+ * The query object reuses its search state among queries, which makes queries cheap but means
+ * that an instance must not be used by multiple threads concurrently. Concurrent queries should
+ * use one instance per thread, all constructed from the same hierarchy.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see ContractionHierarchy
+ *
+ * @author agent
+ */
+public class ContractionHierarchyShortestPath<V, E>
+    extends
+    BaseShortestPathAlgorithm<V, E>
+{
+    private final ContractionHierarchy<V, E> hierarchy;
+
+    private final double[] forwardDistance;
+    private final double[] backwardDistance;
+    private final int[] forwardArc;
+    private final int[] backwardArc;
+    private final IntDaryHeap forwardHeap;
+    private final IntDaryHeap backwardHeap;
+    private final int[] forwardTouched;
+    private final int[] backwardTouched;
+    private int forwardTouchedCount;
+    private int backwardTouchedCount;
+
+    /**
+     * Constructs a new instance for a specified graph, computing its contraction hierarchy in the
+     * common fork-join pool.
+     *
+     * @param graph the graph
+     * @throws IllegalArgumentException if the graph is mixed or contains a negative edge weight
+     */
+    public ContractionHierarchyShortestPath(Graph<V, E> graph)
+    {
+        this(new ContractionHierarchy<>(graph));
+    }
+
+    /**
+     * Constructs a new instance which answers queries using a precomputed contraction hierarchy.
+     *
+     * @param hierarchy the contraction hierarchy
+     */
+    public ContractionHierarchyShortestPath(ContractionHierarchy<V, E> hierarchy)
+    {
+        super(Objects.requireNonNull(hierarchy, "Hierarchy cannot be null").getGraph());
+        this.hierarchy = hierarchy;
+
+        int n = hierarchy.vertexCount();
+        this.forwardDistance = new double[n];
+        Arrays.fill(forwardDistance, Double.POSITIVE_INFINITY);
+        this.backwardDistance = new double[n];
+        Arrays.fill(backwardDistance, Double.POSITIVE_INFINITY);
+        this.forwardArc = new int[n];
+        this.backwardArc = new int[n];
+        this.forwardHeap = new IntDaryHeap(n);
+        this.backwardHeap = new IntDaryHeap(n);
+        this.forwardTouched = new int[n];
+        this.backwardTouched = new int[n];
+    }
+
+    /**
+     * Get the contraction hierarchy used by this algorithm.
+     *
+     * @return the contraction hierarchy
+     */
+    public ContractionHierarchy<V, E> getHierarchy()
+    {
+        return hierarchy;
+    }
+
+    @Override
+    public GraphPath<V, E> getPath(V source, V sink)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        if (!graph.containsVertex(sink)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+        }
+        if (source.equals(sink)) {
+            return createEmptyPath(source, sink);
+        }
+
+        int s = hierarchy.getVertexIndex(source);
+        int t = hierarchy.getVertexIndex(sink);
+        try {
+            forwardTouch(s, 0d, -1);
+            backwardTouch(t, 0d, -1);
+
+            double bestPath = Double.POSITIVE_INFINITY;
+            int bestPathCommonVertex = -1;
+            boolean forward = true;
+            while (true) {
+                // a direction is done when it cannot improve the best path
+                boolean forwardDone =
+                    forwardHeap.isEmpty() || forwardHeap.findMinKey() >= bestPath;
+                boolean backwardDone =
+                    backwardHeap.isEmpty() || backwardHeap.findMinKey() >= bestPath;
+                if (forwardDone && backwardDone) {
+                    break;
+                }
+                if (forward ? forwardDone : backwardDone) {
+                    forward = !forward;
+                }
+
+                int v;
+                double pathDistance;
+                if (forward) {
+                    v = forwardHeap.findMin();
+                    pathDistance = forwardHeap.findMinKey() + backwardDistance[v];
+                    scanForward();
+                } else {
+                    v = backwardHeap.findMin();
+                    pathDistance = backwardHeap.findMinKey() + forwardDistance[v];
+                    scanBackward();
+                }
+                if (pathDistance < bestPath) {
+                    bestPath = pathDistance;
+                    bestPathCommonVertex = v;
+                }
+                forward = !forward;
+            }
+
+            if (bestPathCommonVertex == -1) {
+                return createEmptyPath(source, sink);
+            }
+            return createPath(source, sink, bestPathCommonVertex, bestPath);
+        } finally {
+            reset();
+        }
+    }
+
+    private void scanForward()
+    {
+        double d = forwardHeap.findMinKey();
+        int v = forwardHeap.deleteMin();
+        int[] arcTail = hierarchy.arcTail;
+        int[] arcHead = hierarchy.arcHead;
+        double[] arcWeight = hierarchy.arcWeight;
+
+        // stall if a vertex contracted later provides a shorter path
+        int[] downwardArcs = hierarchy.downwardArcs;
+        for (int j = hierarchy.downwardOffsets[v]; j < hierarchy.downwardOffsets[v + 1]; j++) {
+            int a = downwardArcs[j];
+            if (forwardDistance[arcTail[a]] + arcWeight[a] < d) {
+                return;
+            }
+        }
+
+        int[] upwardArcs = hierarchy.upwardArcs;
+        for (int j = hierarchy.upwardOffsets[v]; j < hierarchy.upwardOffsets[v + 1]; j++) {
+            int a = upwardArcs[j];
+            int w = arcHead[a];
+            double dw = d + arcWeight[a];
+            if (dw < forwardDistance[w]) {
+                forwardTouch(w, dw, a);
+            }
+        }
+    }
+
+    private void scanBackward()
+    {
+        double d = backwardHeap.findMinKey();
+        int v = backwardHeap.deleteMin();
+        int[] arcTail = hierarchy.arcTail;
+        int[] arcHead = hierarchy.arcHead;
+        double[] arcWeight = hierarchy.arcWeight;
+
+        // stall if a vertex contracted later provides a shorter path
+        int[] upwardArcs = hierarchy.upwardArcs;
+        for (int j = hierarchy.upwardOffsets[v]; j < hierarchy.upwardOffsets[v + 1]; j++) {
+            int a = upwardArcs[j];
+            if (backwardDistance[arcHead[a]] + arcWeight[a] < d) {
+                return;
+            }
+        }
+
+        int[] downwardArcs = hierarchy.downwardArcs;
+        for (int j = hierarchy.downwardOffsets[v]; j < hierarchy.downwardOffsets[v + 1]; j++) {
+            int a = downwardArcs[j];
+            int u = arcTail[a];
+            double du = d + arcWeight[a];
+            if (du < backwardDistance[u]) {
+                backwardTouch(u, du, a);
+            }
+        }
+    }
+
+    private void forwardTouch(int v, double distance, int arc)
+    {
+        if (forwardDistance[v] == Double.POSITIVE_INFINITY) {
+            forwardTouched[forwardTouchedCount++] = v;
+        }
+        forwardDistance[v] = distance;
+        forwardArc[v] = arc;
+        forwardHeap.insertOrDecreaseKey(v, distance);
+    }
+
+    private void backwardTouch(int v, double distance, int arc)
+    {
+        if (backwardDistance[v] == Double.POSITIVE_INFINITY) {
+            backwardTouched[backwardTouchedCount++] = v;
+        }
+        backwardDistance[v] = distance;
+        backwardArc[v] = arc;
+        backwardHeap.insertOrDecreaseKey(v, distance);
+    }
+
+    private void reset()
+    {
+        for (int i = 0; i < forwardTouchedCount; i++) {
+            forwardDistance[forwardTouched[i]] = Double.POSITIVE_INFINITY;
+        }
+        forwardTouchedCount = 0;
+        forwardHeap.clear();
+        for (int i = 0; i < backwardTouchedCount; i++) {
+            backwardDistance[backwardTouched[i]] = Double.POSITIVE_INFINITY;
+        }
+        backwardTouchedCount = 0;
+        backwardHeap.clear();
+    }
+
+    private GraphPath<V, E> createPath(V source, V sink, int commonVertex, double weight)
+    {
+        // collect the arcs of the path in the hierarchy
+        Deque<Integer> arcs = new ArrayDeque<>();
+        int v = commonVertex;
+        while (forwardArc[v] != -1) {
+            arcs.addFirst(forwardArc[v]);
+            v = hierarchy.arcTail[forwardArc[v]];
+        }
+        v = commonVertex;
+        while (backwardArc[v] != -1) {
+            arcs.addLast(backwardArc[v]);
+            v = hierarchy.arcHead[backwardArc[v]];
+        }
+
+        // unpack the shortcuts
+        List<E> edgeList = new ArrayList<>();
+        List<V> vertexList = new ArrayList<>();
+        vertexList.add(source);
+        Deque<Integer> stack = new ArrayDeque<>();
+        for (int arc : arcs) {
+            stack.push(arc);
+            while (!stack.isEmpty()) {
+                int a = stack.pop();
+                if (hierarchy.arcEdge[a] == -1) {
+                    stack.push(hierarchy.arcSecond[a]);
+                    stack.push(hierarchy.arcFirst[a]);
+                } else {
+                    edgeList.add(hierarchy.getEdge(hierarchy.arcEdge[a]));
+                    vertexList.add(hierarchy.getVertex(hierarchy.arcHead[a]));
+                }
+            }
+        }
+        return new GraphWalk<>(graph, source, sink, vertexList, edgeList, weight);
+    }
+}
+
+// End ContractionHierarchyShortestPath.java
@@ -0,0 +1,427 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Parallel single-source shortest paths using the delta-stepping algorithm.
+ *
+ * <p>
+ * The algorithm keeps the tentative distances of the vertices in buckets of width $\Delta$ and
+ * processes the buckets in increasing order. The vertices of the current bucket are processed
+ * together in phases, where each phase relaxes the light edges, with weight at most $\Delta$, of
+ * all vertices of the bucket in parallel. Vertices whose distance decreases into the current bucket
+ * are processed by the next phase. Once the bucket stays empty its vertices have their final
+ * distances and their heavy edges are relaxed, again in parallel. The algorithm is described in
+ * the following paper:
+ * <ul>
+ * <li>U. Meyer and P. Sanders. $\Delta$-stepping: a parallelizable shortest path algorithm. Journal
+ * of Algorithms, 49(1):114--152, 2003.</li>
+ * </ul>
+ *
+ * <p>
+ * A small bucket width results in little redundant work but many phases, while a large bucket
+ * width results in few phases with more parallelism but more vertices being relaxed repeatedly. A
+ * width of $\Delta = \infty$ turns the algorithm into a parallel Bellman-Ford. If no width is
+ * provided, the width is chosen as the maximum edge weight divided by the maximum degree, which
+ * works well for graphs with random edge weights.
+ *
+ * <p>
+ * The graph is copied into arrays in compressed sparse row format the first time a path is
+ * requested, and this copy is reused by all subsequent queries, thus the graph must not be
+ * modified afterwards. The edge weights must be non-negative. The algorithm is not thread-safe,
+ * concurrent queries should use one instance per thread.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class DeltaSteppingShortestPath<V, E>
+    extends
+    BaseShortestPathAlgorithm<V, E>
+{
+    /**
+     * The number of vertices below which the vertices of a phase are relaxed by a single task.
+     */
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    /**
+     * The number of locks which protect the updates of the tentative distances.
+     */
+    private static final int LOCK_STRIPES = 1024;
+
+    private final ForkJoinPool pool;
+    private final double requestedDelta;
+    private final Object[] locks;
+
+    private double delta;
+    private List<V> vertices;
+    private Map<V, Integer> vertexIndices;
+    // the graph in compressed sparse row format, with the light arcs of each vertex first
+    private int[] offsets;
+    private int[] lightEnds;
+    private int[] heads;
+    private double[] weights;
+    private List<E> arcEdges;
+
+    /**
+     * Constructs a new instance of the algorithm for a given graph, which chooses the bucket width
+     * automatically and runs in the common fork-join pool.
+     *
+     * @param graph the graph
+     */
+    public DeltaSteppingShortestPath(Graph<V, E> graph)
+    {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new instance of the algorithm for a given graph, which chooses the bucket width
+     * automatically and runs in the given fork-join pool.
+     *
+     * @param graph the graph
+     * @param pool the fork-join pool
+     */
+    public DeltaSteppingShortestPath(Graph<V, E> graph, ForkJoinPool pool)
+    {
+        this(graph, Double.NaN, pool);
+    }
+
+    /**
+     * Constructs a new instance of the algorithm for a given graph and bucket width, which runs in
+     * the common fork-join pool.
+     *
+     * @param graph the graph
+     * @param delta the bucket width
+     * @throws IllegalArgumentException if the bucket width is not positive
+     */
+    public DeltaSteppingShortestPath(Graph<V, E> graph, double delta)
+    {
+        this(graph, delta, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new instance of the algorithm for a given graph and bucket width, which runs in
+     * the given fork-join pool.
+     *
+     * @param graph the graph
+     * @param delta the bucket width, or NaN in order to choose the width automatically
+     * @param pool the fork-join pool
+     * @throws IllegalArgumentException if the bucket width is not positive
+     */
+    public DeltaSteppingShortestPath(Graph<V, E> graph, double delta, ForkJoinPool pool)
+    {
+        super(graph);
+        if (!Double.isNaN(delta) && !(delta > 0d)) {
+            throw new IllegalArgumentException("Delta must be positive");
+        }
+        this.requestedDelta = delta;
+        this.pool = Objects.requireNonNull(pool, "Pool cannot be null");
+        this.locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the graph contains a negative edge weight
+     */
+    @Override
+    public GraphPath<V, E> getPath(V source, V sink)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        if (!graph.containsVertex(sink)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+        }
+        if (source.equals(sink)) {
+            return createEmptyPath(source, sink);
+        }
+        return getPaths(source).getPath(sink);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the graph contains a negative edge weight
+     */
+    @Override
+    public SingleSourcePaths<V, E> getPaths(V source)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        init();
+
+        int n = vertices.size();
+        AtomicLongArray distance = new AtomicLongArray(n);
+        long infinity = Double.doubleToLongBits(Double.POSITIVE_INFINITY);
+        for (int v = 0; v < n; v++) {
+            distance.set(v, infinity);
+        }
+        int[] predecessor = new int[n];
+        Arrays.fill(predecessor, -1);
+        Search search = new Search(distance, predecessor);
+
+        int s = vertexIndices.get(source);
+        distance.set(s, Double.doubleToLongBits(0d));
+        search.insert(s);
+
+        // the last phase in which a vertex was relaxed and the last bucket which contained it
+        int[] phases = new int[n];
+        Arrays.fill(phases, -1);
+        int[] rounds = new int[n];
+        Arrays.fill(rounds, -1);
+        int phase = 0;
+        int round = 0;
+        while (!search.buckets.isEmpty()) {
+            long bucket = search.buckets.firstKey();
+            IntList settled = new IntList();
+            IntList entries;
+            while ((entries = search.buckets.remove(bucket)) != null) {
+                // skip stale and duplicate entries
+                IntList frontier = new IntList();
+                for (int i = 0; i < entries.size(); i++) {
+                    int v = entries.get(i);
+                    if (phases[v] != phase && search.bucketOf(v) == bucket) {
+                        phases[v] = phase;
+                        frontier.add(v);
+                        if (rounds[v] != round) {
+                            rounds[v] = round;
+                            settled.add(v);
+                        }
+                    }
+                }
+                phase++;
+                search.relax(frontier, true);
+            }
+
+            // the distances of the bucket are final, relax the heavy arcs
+            search.relax(settled, false);
+            round++;
+        }
+
+        Map<V, Pair<Double, E>> distanceAndPredecessorMap =
+            CollectionUtil.newHashMapWithExpectedSize(n);
+        for (int v = 0; v < n; v++) {
+            double d = Double.longBitsToDouble(distance.get(v));
+            if (d != Double.POSITIVE_INFINITY) {
+                E e = predecessor[v] == -1 ? null : arcEdges.get(predecessor[v]);
+                distanceAndPredecessorMap.put(vertices.get(v), Pair.of(d, e));
+            }
+        }
+        return new TreeSingleSourcePathsImpl<>(graph, source, distanceAndPredecessorMap);
+    }
+
+    /**
+     * Copy the graph into compressed sparse row format.
+     */
+    private void init()
+    {
+        if (vertices != null) {
+            return;
+        }
+
+        List<V> vertices = new ArrayList<>(graph.vertexSet());
+        int n = vertices.size();
+        Map<V, Integer> vertexIndices = ArcArrays.indexVertices(vertices);
+        ArcArrays<V, E> arcs = new ArcArrays<>(graph, vertices, vertexIndices, false, true, true);
+        arcs.requireNonNegativeWeights();
+        int[] offsets = arcs.getOffsets();
+        int[] arcHeads = arcs.getHeads();
+        double[] arcWeights = arcs.getWeights();
+        List<E> arcEdges = arcs.getEdges();
+
+        double maxWeight = 0d;
+        int maxDegree = 1;
+        for (int v = 0; v < n; v++) {
+            maxDegree = Math.max(maxDegree, offsets[v + 1] - offsets[v]);
+        }
+        for (double weight : arcWeights) {
+            maxWeight = Math.max(maxWeight, weight);
+        }
+        double delta = requestedDelta;
+        if (Double.isNaN(delta)) {
+            delta = maxWeight > 0d ? maxWeight / maxDegree : 1d;
+        }
+
+        // place the light arcs of each vertex before its heavy arcs
+        int m = arcs.getArcCount();
+        int[] lightEnds = new int[n];
+        int[] heads = new int[m];
+        double[] weights = new double[m];
+        List<E> sortedArcEdges = new ArrayList<>(Collections.nCopies(m, null));
+        for (int v = 0; v < n; v++) {
+            int light = offsets[v];
+            int heavy = offsets[v + 1];
+            for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                int j = arcWeights[a] <= delta ? light++ : --heavy;
+                heads[j] = arcHeads[a];
+                weights[j] = arcWeights[a];
+                sortedArcEdges.set(j, arcEdges.get(a));
+            }
+            lightEnds[v] = light;
+        }
+
+        this.delta = delta;
+        this.vertexIndices = vertexIndices;
+        this.offsets = offsets;
+        this.lightEnds = lightEnds;
+        this.heads = heads;
+        this.weights = weights;
+        this.arcEdges = sortedArcEdges;
+        this.vertices = vertices;
+    }
+
+    /**
+     * The state of a single query.
+     */
+    private class Search
+    {
+        final AtomicLongArray distance;
+        final int[] predecessor;
+        final TreeMap<Long, IntList> buckets;
+
+        Search(AtomicLongArray distance, int[] predecessor)
+        {
+            this.distance = distance;
+            this.predecessor = predecessor;
+            this.buckets = new TreeMap<>();
+        }
+
+        double distance(int v)
+        {
+            return Double.longBitsToDouble(distance.get(v));
+        }
+
+        long bucketOf(int v)
+        {
+            return (long) (distance(v) / delta);
+        }
+
+        void insert(int v)
+        {
+            buckets.computeIfAbsent(bucketOf(v), k -> new IntList()).add(v);
+        }
+
+        /**
+         * Relax the light or the heavy arcs of the given vertices, in parallel if there are many
+         * vertices, and insert the vertices whose distance decreased into their buckets.
+         */
+        void relax(IntList frontier, boolean light)
+        {
+            IntList decreased;
+            if (frontier.size() <= PARALLEL_THRESHOLD) {
+                decreased = relax(frontier, 0, frontier.size(), light);
+            } else {
+                decreased = pool.invoke(new RelaxTask(this, frontier, 0, frontier.size(), light));
+            }
+            for (int i = 0; i < decreased.size(); i++) {
+                insert(decreased.get(i));
+            }
+        }
+
+        IntList relax(IntList frontier, int from, int to, boolean light)
+        {
+            IntList decreased = new IntList();
+            for (int i = from; i < to; i++) {
+                int v = frontier.get(i);
+                double d = distance(v);
+                int start = light ? offsets[v] : lightEnds[v];
+                int end = light ? lightEnds[v] : offsets[v + 1];
+                for (int a = start; a < end; a++) {
+                    int w = heads[a];
+                    double dw = d + weights[a];
+                    if (dw < distance(w) && update(w, dw, a)) {
+                        decreased.add(w);
+                    }
+                }
+            }
+            return decreased;
+        }
+
+        /*
+         * Decrease the distance of a vertex, updating its distance and predecessor atomically.
+         */
+        private boolean update(int w, double dw, int arc)
+        {
+            synchronized (locks[w & (LOCK_STRIPES - 1)]) {
+                if (dw < distance(w)) {
+                    distance.set(w, Double.doubleToLongBits(dw));
+                    predecessor[w] = arc;
+                    return true;
+                }
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Fork-join task which relaxes the arcs of a range of the vertices of a phase and returns the
+     * vertices whose distance decreased.
+     */
+    private class RelaxTask
+        extends
+        RecursiveTask<IntList>
+    {
+        private static final long serialVersionUID = 6310975380618361296L;
+
+        private final Search search;
+        private final IntList frontier;
+        private final int from;
+        private final int to;
+        private final boolean light;
+
+        RelaxTask(Search search, IntList frontier, int from, int to, boolean light)
+        {
+            this.search = search;
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+            this.light = light;
+        }
+
+        @Override
+        protected IntList compute()
+        {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                return search.relax(frontier, from, to, light);
+            }
+            int mid = (from + to) >>> 1;
+            RelaxTask left = new RelaxTask(search, frontier, from, mid, light);
+            left.fork();
+            IntList decreased = new RelaxTask(search, frontier, mid, to, light).compute();
+            IntList leftDecreased = left.join();
+            leftDecreased.addAll(decreased);
+            return leftDecreased;
+        }
+    }
+}
+
+// End DeltaSteppingShortestPath.java
@@ -23,6 +23,7 @@ import org.jgrapht.alg.util.*;
 import org.jgrapht.util.*;
 
 import java.util.*;
+import java.util.function.*;
 
 /**
  * A light-weight version of the closest-first iterator for a directed or undirected graphs. For
@@ -53,8 +54,8 @@ class DijkstraClosestFirstIterator<V, E>
     private final Graph<V, E> graph;
     private final V source;
     private final double radius;
-    private final FibonacciHeap<QueueEntry> heap;
-    private final Map<V, FibonacciHeapNode<QueueEntry>> seen;
+    private final AddressableHeap<V> heap;
+    private final Map<V, QueueEntry> seen;
 
     /**
      * Creates a new iterator for the specified graph. Iteration will start at the specified start
@@ -79,6 +80,21 @@ class DijkstraClosestFirstIterator<V, E>
      * @param radius limit on weighted path length, or Double.POSITIVE_INFINITY for unbounded search
      */
     public DijkstraClosestFirstIterator(Graph<V, E> graph, V source, double radius)
+    {
+        this(graph, source, radius, FibonacciAddressableHeap::new);
+    }
+
+    /**
+     * Creates a new radius-bounded iterator for the specified graph which uses a custom heap. The
+     * elements of the heap are the vertices.
+     *
+     * @param graph the graph
+     * @param source the source vertex
+     * @param radius limit on weighted path length, or Double.POSITIVE_INFINITY for unbounded search
+     * @param heapSupplier supplier of the heap to use
+     */
+    public DijkstraClosestFirstIterator(
+        Graph<V, E> graph, V source, double radius, Supplier<AddressableHeap<V>> heapSupplier)
     {
         this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
         this.source = Objects.requireNonNull(source, "Sourve vertex cannot be null");
@@ -86,7 +102,7 @@ class DijkstraClosestFirstIterator<V, E>
             throw new IllegalArgumentException("Radius must be non-negative");
         }
         this.radius = radius;
-        this.heap = new FibonacciHeap<>();
+        this.heap = Objects.requireNonNull(heapSupplier, "Heap supplier cannot be null").get();
         this.seen = new HashMap<>();
 
         // initialize with source vertex
@@ -102,8 +118,7 @@ class DijkstraClosestFirstIterator<V, E>
         if (heap.isEmpty()) {
             return false;
         }
-        FibonacciHeapNode<QueueEntry> vNode = heap.min();
-        double vDistance = vNode.getKey();
+        double vDistance = heap.findMin().getKey();
         if (radius < vDistance) {
             heap.clear();
             return false;
@@ -122,8 +137,8 @@ class DijkstraClosestFirstIterator<V, E>
         }
 
         // settle next node
-        FibonacciHeapNode<QueueEntry> vNode = heap.removeMin();
-        V v = vNode.getData().v;
+        AddressableHeap.Handle<V> vNode = heap.deleteMin();
+        V v = vNode.getValue();
         double vDistance = vNode.getKey();
 
         // relax edges
@@ -139,6 +154,17 @@ class DijkstraClosestFirstIterator<V, E>
         return v;
     }
 
+    /**
+     * Get the distance of a vertex which has already been returned by the iterator.
+     *
+     * @param v the vertex
+     * @return the distance of the vertex from the source vertex
+     */
+    double getDistance(V v)
+    {
+        return seen.get(v).node.getKey();
+    }
+
     /**
      * Return the paths computed by this iterator. Only the paths to vertices which are already
      * returned by the iterator will be shortest paths. Additional paths to vertices which are not
@@ -169,13 +195,12 @@ class DijkstraClosestFirstIterator<V, E>
     {
         Map<V, Pair<Double, E>> distanceAndPredecessorMap = new HashMap<>();
 
-        for (FibonacciHeapNode<QueueEntry> vNode : seen.values()) {
-            double vDistance = vNode.getKey();
+        for (Map.Entry<V, QueueEntry> entry : seen.entrySet()) {
+            double vDistance = entry.getValue().node.getKey();
             if (radius < vDistance) {
                 continue;
             }
-            V v = vNode.getData().v;
-            distanceAndPredecessorMap.put(v, Pair.of(vDistance, vNode.getData().e));
+            distanceAndPredecessorMap.put(entry.getKey(), Pair.of(vDistance, entry.getValue().e));
         }
 
         return distanceAndPredecessorMap;
@@ -183,26 +208,24 @@ class DijkstraClosestFirstIterator<V, E>
 
     private void updateDistance(V v, E e, double distance)
     {
-        FibonacciHeapNode<QueueEntry> node = seen.get(v);
-        if (node == null) {
-            node = new FibonacciHeapNode<>(new QueueEntry(e, v));
-            heap.insert(node, distance);
-            seen.put(v, node);
-        } else if (distance < node.getKey()) {
-            heap.decreaseKey(node, distance);
-            node.getData().e = e;
+        QueueEntry entry = seen.get(v);
+        if (entry == null) {
+            seen.put(v, new QueueEntry(e, heap.insert(distance, v)));
+        } else if (distance < entry.node.getKey()) {
+            entry.node.decreaseKey(distance);
+            entry.e = e;
         }
     }
 
     class QueueEntry
     {
         E e;
-        V v;
+        final AddressableHeap.Handle<V> node;
 
-        public QueueEntry(E e, V v)
+        public QueueEntry(E e, AddressableHeap.Handle<V> node)
         {
             this.e = e;
-            this.v = v;
+            this.node = node;
         }
     }
 }
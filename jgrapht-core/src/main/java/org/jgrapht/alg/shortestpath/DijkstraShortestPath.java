@@ -18,11 +18,25 @@
 package org.jgrapht.alg.shortestpath;
 
 import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.function.*;
 
 /**
  * An implementation of <a href="http://mathworld.wolfram.com/DijkstrasAlgorithm.html">Dijkstra's
  * shortest path algorithm</a> using a Fibonacci heap.
  *
+ * <p>
+ * The heap can be replaced by any other {@link AddressableHeap}, such as a {@link PairingHeap} or
+ * a {@link DaryArrayAddressableHeap}, which are usually faster in practice.
+ *
+ * <p>
+ * A search can be terminated early using a {@link DijkstraStopCondition}, for example after
+ * settling the nearest of a set of target vertices, after visiting a number of vertices or after
+ * a time budget has elapsed. See {@link #getPaths(Object, DijkstraStopCondition)}.
+ *
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
  *
@@ -33,6 +47,7 @@ public final class DijkstraShortestPath<V, E>
     BaseShortestPathAlgorithm<V, E>
 {
     private final double radius;
+    private final Supplier<AddressableHeap<V>> heapSupplier;
 
     /**
      * Constructs a new instance of the algorithm for a given graph.
@@ -51,12 +66,37 @@ public final class DijkstraShortestPath<V, E>
      * @param radius limit on path length, or Double.POSITIVE_INFINITY for unbounded search
      */
     public DijkstraShortestPath(Graph<V, E> graph, double radius)
+    {
+        this(graph, radius, FibonacciAddressableHeap::new);
+    }
+
+    /**
+     * Constructs a new instance of the algorithm for a given graph which uses a custom heap.
+     *
+     * @param graph the graph
+     * @param heapSupplier supplier of the heap to use
+     */
+    public DijkstraShortestPath(Graph<V, E> graph, Supplier<AddressableHeap<V>> heapSupplier)
+    {
+        this(graph, Double.POSITIVE_INFINITY, heapSupplier);
+    }
+
+    /**
+     * Constructs a new instance of the algorithm for a given graph which uses a custom heap.
+     *
+     * @param graph the graph
+     * @param radius limit on path length, or Double.POSITIVE_INFINITY for unbounded search
+     * @param heapSupplier supplier of the heap to use
+     */
+    public DijkstraShortestPath(
+        Graph<V, E> graph, double radius, Supplier<AddressableHeap<V>> heapSupplier)
     {
         super(graph);
         if (radius < 0.0) {
             throw new IllegalArgumentException("Radius must be non-negative");
         }
         this.radius = radius;
+        this.heapSupplier = Objects.requireNonNull(heapSupplier, "Heap supplier cannot be null");
     }
 
     /**
@@ -76,7 +116,7 @@ public final class DijkstraShortestPath<V, E>
         }
 
         DijkstraClosestFirstIterator<V, E> it =
-            new DijkstraClosestFirstIterator<>(graph, source, radius);
+            new DijkstraClosestFirstIterator<>(graph, source, radius, heapSupplier);
 
         while (it.hasNext()) {
             V vertex = it.next();
@@ -103,7 +143,7 @@ public final class DijkstraShortestPath<V, E>
         }
 
         DijkstraClosestFirstIterator<V, E> it =
-            new DijkstraClosestFirstIterator<>(graph, source, radius);
+            new DijkstraClosestFirstIterator<>(graph, source, radius, heapSupplier);
 
         while (it.hasNext()) {
             it.next();
@@ -112,6 +152,44 @@ public final class DijkstraShortestPath<V, E>
         return it.getPaths();
     }
 
+    /**
+     * Compute the shortest paths from a source vertex until a stop condition holds. The search
+     * settles vertices in order of increasing distance and consults the condition after each
+     * settled vertex, including the source vertex. It also stops once all vertices within the
+     * radius have been settled.
+     *
+     * <p>
+     * The returned paths contain exactly the settled vertices, whose paths are shortest paths. Any
+     * other vertex has no path and an infinite weight, even if it is reachable from the source.
+     *
+     * @param source the source vertex
+     * @param condition the stop condition
+     * @return the shortest paths to the settled vertices
+     */
+    public SingleSourcePaths<V, E> getPaths(V source, DijkstraStopCondition<V> condition)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        Objects.requireNonNull(condition, "Condition cannot be null");
+
+        DijkstraClosestFirstIterator<V, E> it =
+            new DijkstraClosestFirstIterator<>(graph, source, radius, heapSupplier);
+
+        List<V> settled = new ArrayList<>();
+        while (it.hasNext()) {
+            V v = it.next();
+            settled.add(v);
+            if (condition.shouldStop(v, it.getDistance(v))) {
+                break;
+            }
+        }
+
+        Map<V, Pair<Double, E>> distanceAndPredecessorMap = it.getDistanceAndPredecessorMap();
+        distanceAndPredecessorMap.keySet().retainAll(new HashSet<>(settled));
+        return new TreeSingleSourcePathsImpl<>(graph, source, distanceAndPredecessorMap);
+    }
+
     /**
      * Find a path between two vertices. For a more advanced search (e.g. limited by radius), use
      * the constructor instead.
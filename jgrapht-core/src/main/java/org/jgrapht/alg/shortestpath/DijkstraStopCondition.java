@@ -0,0 +1,158 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A condition which terminates a Dijkstra search early.
+ *
+ * <p>
+ * The condition is consulted after each vertex is settled, that is after its shortest path from
+ * the source vertex has been found. Vertices are settled in order of increasing distance, thus a
+ * search which stops after settling $k$ vertices has found the $k$ vertices closest to the source.
+ * A condition may keep state, such as the number of targets settled so far, and a new condition
+ * must therefore be created for each search.
+ *
+ * @param <V> the graph vertex type
+ *
+ * @see DijkstraShortestPath#getPaths(Object, DijkstraStopCondition)
+ *
+ * @author agent
+ */
+@FunctionalInterface
+public interface DijkstraStopCondition<V>
+{
+    /**
+     * Decide whether the search should stop after settling a vertex.
+     *
+     * @param vertex the vertex which was settled
+     * @param distance the distance of the vertex from the source vertex
+     * @return true if the search should stop, false otherwise
+     */
+    boolean shouldStop(V vertex, double distance);
+
+    /**
+     * Create a condition which stops when either this or another condition stops. Both conditions
+     * are consulted for every settled vertex.
+     *
+     * @param other the other condition
+     * @return the combined condition
+     */
+    default DijkstraStopCondition<V> or(DijkstraStopCondition<V> other)
+    {
+        Objects.requireNonNull(other, "Condition cannot be null");
+        return (vertex, distance) -> {
+            boolean stop = shouldStop(vertex, distance);
+            return other.shouldStop(vertex, distance) || stop;
+        };
+    }
+
+    /**
+     * Create a condition which stops once a number of the given target vertices have been settled.
+     * This finds the nearest targets, for example the nearest facilities of a location. The search
+     * also stops when the targets are unreachable, once no more vertices can be settled.
+     *
+     * @param targets the target vertices
+     * @param count the number of targets to settle
+     * @param <V> the graph vertex type
+     * @return the condition
+     * @throws IllegalArgumentException if the count is not positive
+     */
+    static <V> DijkstraStopCondition<V> anyTargets(Set<V> targets, int count)
+    {
+        Objects.requireNonNull(targets, "Targets cannot be null");
+        if (count < 1) {
+            throw new IllegalArgumentException("Count must be positive");
+        }
+        int[] settled = new int[1];
+        return (vertex, distance) -> targets.contains(vertex) && ++settled[0] >= count;
+    }
+
+    /**
+     * Create a condition which stops once all the given target vertices have been settled.
+     *
+     * @param targets the target vertices
+     * @param <V> the graph vertex type
+     * @return the condition
+     */
+    static <V> DijkstraStopCondition<V> allTargets(Set<V> targets)
+    {
+        Objects.requireNonNull(targets, "Targets cannot be null");
+        if (targets.isEmpty()) {
+            return (vertex, distance) -> true;
+        }
+        return anyTargets(targets, targets.size());
+    }
+
+    /**
+     * Create a condition which stops once a number of vertices, including the source vertex, have
+     * been settled.
+     *
+     * @param count the maximum number of vertices to settle
+     * @param <V> the graph vertex type
+     * @return the condition
+     * @throws IllegalArgumentException if the count is not positive
+     */
+    static <V> DijkstraStopCondition<V> maxVisits(long count)
+    {
+        if (count < 1) {
+            throw new IllegalArgumentException("Count must be positive");
+        }
+        long[] settled = new long[1];
+        return (vertex, distance) -> ++settled[0] >= count;
+    }
+
+    /**
+     * Create a condition which stops once a time budget has elapsed. The time is measured from the
+     * moment the source vertex is settled, thus the search may exceed the budget by the time
+     * required to settle a single vertex.
+     *
+     * @param budget the time budget
+     * @param unit the time unit of the budget
+     * @param <V> the graph vertex type
+     * @return the condition
+     * @throws IllegalArgumentException if the budget is negative
+     */
+    static <V> DijkstraStopCondition<V> timeBudget(long budget, TimeUnit unit)
+    {
+        if (budget < 0) {
+            throw new IllegalArgumentException("Budget must be non-negative");
+        }
+        long budgetNanos = unit.toNanos(budget);
+        return new DijkstraStopCondition<V>()
+        {
+            private long start;
+            private boolean started;
+
+            @Override
+            public boolean shouldStop(V vertex, double distance)
+            {
+                long now = System.nanoTime();
+                if (!started) {
+                    start = now;
+                    started = true;
+                }
+                return now - start >= budgetNanos;
+            }
+        };
+    }
+}
+
+// End DijkstraStopCondition.java
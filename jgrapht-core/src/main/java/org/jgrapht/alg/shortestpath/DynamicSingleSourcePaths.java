@@ -0,0 +1,334 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.event.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+
+/**
+ * Shortest paths from a single source vertex which are maintained while the graph changes.
+ *
+ * <p>
+ * The shortest path tree is computed once using Dijkstra's algorithm. Afterwards this object
+ * listens to the changes of the graph and repairs the tree incrementally, following the approach
+ * of the following paper:
+ * <ul>
+ * <li>G. Ramalingam, Thomas Reps. An incremental algorithm for a generalization of the
+ * shortest-path problem. Journal of Algorithms 21(2), 267-305, 1996.</li>
+ * </ul>
+ *
+ * <p>
+ * If an edge is added or its weight decreases, the distances which improve are propagated from the
+ * head of the edge using Dijkstra's algorithm restricted to the improved vertices. If the weight of
+ * a tree edge increases or a tree edge is removed, the subtree below the edge is examined in order
+ * of distance. A vertex of the subtree which has an alternative incoming edge of the same distance
+ * from an unaffected vertex keeps its distance, all other vertices are affected. The distances of
+ * the affected vertices are then recomputed by a Dijkstra search seeded with their best incoming
+ * edges from unaffected vertices. Changes of edges which are not in the tree and cannot shorten
+ * any path cost constant time. Thus the time of an update is proportional to the size and degree
+ * of the region of vertices whose distances change, up to a logarithmic factor.
+ *
+ * <p>
+ * Edge weights must be non-negative, also after each update. The source vertex must not be removed
+ * from the graph. This object is added as a listener to the graph on construction and can be
+ * detached by removing it from the listeners of the graph.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class DynamicSingleSourcePaths<V, E>
+    extends
+    TreeSingleSourcePathsImpl<V, E>
+    implements
+    GraphListener<V, E>
+{
+    private static final long serialVersionUID = 4931522306213389125L;
+
+    /**
+     * Compute the shortest paths from a source vertex and maintain them while the graph changes.
+     *
+     * @param graph the graph
+     * @param source the source vertex
+     * @throws IllegalArgumentException if the graph does not contain the source vertex
+     * @throws IllegalArgumentException if the graph contains a negative edge weight
+     */
+    public DynamicSingleSourcePaths(ListenableGraph<V, E> graph, V source)
+    {
+        super(graph, source, new HashMap<>());
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException("Graph must contain the source vertex!");
+        }
+        for (E e : graph.edgeSet()) {
+            assertNonNegativeWeight(e);
+        }
+
+        Search search = new Search();
+        search.update(source, 0d, null);
+        search.run();
+
+        graph.addGraphListener(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void edgeAdded(GraphEdgeChangeEvent<V, E> e)
+    {
+        E edge = e.getEdge();
+        assertNonNegativeWeight(edge);
+        V u = e.getEdgeSource();
+        V v = e.getEdgeTarget();
+        improve(edge, u, v);
+        if (!g.getType().isDirected()) {
+            improve(edge, v, u);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void edgeRemoved(GraphEdgeChangeEvent<V, E> e)
+    {
+        E edge = e.getEdge();
+        V u = e.getEdgeSource();
+        V v = e.getEdgeTarget();
+        if (edge.equals(predecessor(v))) {
+            repair(v);
+        } else if (edge.equals(predecessor(u))) {
+            repair(u);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void edgeWeightUpdated(GraphEdgeChangeEvent<V, E> e)
+    {
+        E edge = e.getEdge();
+        assertNonNegativeWeight(edge);
+        V u = e.getEdgeSource();
+        V v = e.getEdgeTarget();
+        update(edge, u, v);
+        if (!g.getType().isDirected()) {
+            update(edge, v, u);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vertexAdded(GraphVertexChangeEvent<V> e)
+    {
+        // an isolated vertex is unreachable
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vertexRemoved(GraphVertexChangeEvent<V> e)
+    {
+        // the edges of the vertex have already been removed, thus it is unreachable
+        map.remove(e.getVertex());
+    }
+
+    private double distance(V v)
+    {
+        Pair<Double, E> p = map.get(v);
+        return p == null ? Double.POSITIVE_INFINITY : p.getFirst();
+    }
+
+    private E predecessor(V v)
+    {
+        Pair<Double, E> p = map.get(v);
+        return p == null ? null : p.getSecond();
+    }
+
+    private void assertNonNegativeWeight(E e)
+    {
+        if (g.getEdgeWeight(e) < 0d) {
+            throw new IllegalArgumentException("Negative edge weight not allowed");
+        }
+    }
+
+    /**
+     * Handle the new weight of the edge from u to v.
+     */
+    private void update(E edge, V u, V v)
+    {
+        if (!edge.equals(predecessor(v))) {
+            improve(edge, u, v);
+            return;
+        }
+        double d = distance(u) + g.getEdgeWeight(edge);
+        if (d < distance(v)) {
+            Search search = new Search();
+            search.update(v, d, edge);
+            search.run();
+        } else if (d > distance(v)) {
+            repair(v);
+        }
+    }
+
+    /**
+     * Propagate the improvements caused by the edge from u to v, if any.
+     */
+    private void improve(E edge, V u, V v)
+    {
+        if (u.equals(v)) {
+            return;
+        }
+        double d = distance(u) + g.getEdgeWeight(edge);
+        if (d < distance(v)) {
+            Search search = new Search();
+            search.update(v, d, edge);
+            search.run();
+        }
+    }
+
+    /**
+     * Recompute the distances of the subtree of a vertex whose tree edge became longer or was
+     * removed.
+     */
+    private void repair(V root)
+    {
+        // the subtree in breadth-first order, thus parents precede their children
+        Set<V> subtree = new LinkedHashSet<>();
+        subtree.add(root);
+        Deque<V> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            V v = queue.poll();
+            for (E e : g.outgoingEdgesOf(v)) {
+                V w = Graphs.getOppositeVertex(g, e, v);
+                if (e.equals(predecessor(w)) && subtree.add(w)) {
+                    queue.add(w);
+                }
+            }
+        }
+
+        // find the vertices which keep their distance through another edge, in order of distance
+        List<V> order = new ArrayList<>(subtree);
+        order.sort(Comparator.comparingDouble(this::distance));
+        Set<V> unaffected = new HashSet<>();
+        Set<V> affected = new HashSet<>();
+        for (V v : order) {
+            double d = distance(v);
+            E support = null;
+            for (E e : g.incomingEdgesOf(v)) {
+                V u = Graphs.getOppositeVertex(g, e, v);
+                if (u.equals(v) || subtree.contains(u) && !unaffected.contains(u)) {
+                    continue;
+                }
+                if (distance(u) + g.getEdgeWeight(e) == d) {
+                    support = e;
+                    break;
+                }
+            }
+            if (support != null) {
+                map.put(v, Pair.of(d, support));
+                unaffected.add(v);
+            } else {
+                affected.add(v);
+            }
+        }
+        if (affected.isEmpty()) {
+            return;
+        }
+
+        // seed the search with the best edges from unaffected vertices
+        for (V v : affected) {
+            map.remove(v);
+        }
+        Search search = new Search();
+        for (V v : affected) {
+            double best = Double.POSITIVE_INFINITY;
+            E bestEdge = null;
+            for (E e : g.incomingEdgesOf(v)) {
+                V u = Graphs.getOppositeVertex(g, e, v);
+                if (affected.contains(u)) {
+                    continue;
+                }
+                double d = distance(u) + g.getEdgeWeight(e);
+                if (d < best) {
+                    best = d;
+                    bestEdge = e;
+                }
+            }
+            if (bestEdge != null) {
+                search.update(v, best, bestEdge);
+            }
+        }
+        search.run();
+    }
+
+    /**
+     * A Dijkstra search which starts from the vertices whose distances were decreased.
+     */
+    private class Search
+    {
+        private final AddressableHeap<V> heap;
+        private final Map<V, AddressableHeap.Handle<V>> handles;
+
+        Search()
+        {
+            this.heap = new PairingHeap<>();
+            this.handles = new HashMap<>();
+        }
+
+        void update(V v, double d, E edge)
+        {
+            map.put(v, Pair.of(d, edge));
+            AddressableHeap.Handle<V> handle = handles.get(v);
+            if (handle == null) {
+                handles.put(v, heap.insert(d, v));
+            } else {
+                handle.decreaseKey(d);
+            }
+        }
+
+        void run()
+        {
+            while (!heap.isEmpty()) {
+                AddressableHeap.Handle<V> handle = heap.deleteMin();
+                V v = handle.getValue();
+                handles.remove(v);
+                double d = handle.getKey();
+                for (E e : g.outgoingEdgesOf(v)) {
+                    V w = Graphs.getOppositeVertex(g, e, v);
+                    double dw = d + g.getEdgeWeight(e);
+                    if (dw < distance(w)) {
+                        update(w, dw, e);
+                    }
+                }
+            }
+        }
+    }
+}
+
+// End DynamicSingleSourcePaths.java
@@ -34,6 +34,10 @@ import java.util.stream.*;
  * path it stores the "k" best paths at each pass, yielding a complexity of $O(k \cdot n \cdot
  * (m^2))$ where $m$ is the number of edges and $n$ is the number of vertices.
  *
+ * <p>
+ * For graphs with non-negative edge weights {@link YenKShortestPath} is usually much faster and
+ * can compute the paths in parallel.
+ *
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
  *
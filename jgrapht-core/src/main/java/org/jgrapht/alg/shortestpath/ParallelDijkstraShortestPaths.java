@@ -0,0 +1,266 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * All pairs shortest paths using Dijkstra's algorithm from every vertex in parallel.
+ *
+ * <p>
+ * The graph is first copied into arrays in compressed sparse row format. Afterwards one Dijkstra
+ * search per source vertex is executed, where the searches are split among the workers of a
+ * fork-join pool and each worker reuses a single heap for all of its searches. Running time is
+ * $O(n m + n^2 \log n)$ divided among the workers. This is the preferred all pairs algorithm for
+ * sparse graphs with non-negative edge weights, dense graphs are usually better served by
+ * {@link ParallelFloydWarshallShortestPaths}. Graphs with negative edge weights are supported by
+ * {@link JohnsonShortestPaths}.
+ *
+ * <p>
+ * The algorithm stores a distance and a predecessor for every pair of vertices and thus requires
+ * $O(n^2)$ space. No computations are performed during construction, all paths are computed the
+ * first time one of the member methods of this class is invoked.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class ParallelDijkstraShortestPaths<V, E>
+    extends
+    BaseShortestPathAlgorithm<V, E>
+{
+    private final ForkJoinPool pool;
+    private final List<V> vertices;
+    private final Map<V, Integer> vertexIndices;
+    private final int n;
+
+    // the graph in compressed sparse row format
+    private int[] arcOffsets;
+    private int[] arcTails;
+    private int[] arcHeads;
+    private double[] arcWeights;
+    private List<E> arcEdges;
+    // the distances and the predecessor arcs of the shortest path tree of each source
+    private double[][] distances;
+    private int[][] predecessors;
+
+    /**
+     * Create a new instance which runs in the common fork-join pool.
+     *
+     * @param graph the input graph
+     */
+    public ParallelDijkstraShortestPaths(Graph<V, E> graph)
+    {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new instance which runs in the given fork-join pool.
+     *
+     * @param graph the input graph
+     * @param pool the fork-join pool
+     */
+    public ParallelDijkstraShortestPaths(Graph<V, E> graph, ForkJoinPool pool)
+    {
+        super(graph);
+        this.pool = Objects.requireNonNull(pool, "Pool cannot be null");
+        this.vertices = new ArrayList<>(graph.vertexSet());
+        this.n = vertices.size();
+        this.vertexIndices = ArcArrays.indexVertices(vertices);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the graph contains a negative edge weight
+     */
+    @Override
+    public GraphPath<V, E> getPath(V source, V sink)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        if (!graph.containsVertex(sink)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+        }
+
+        run();
+
+        int s = vertexIndices.get(source);
+        int t = vertexIndices.get(sink);
+        if (s == t) {
+            return createEmptyPath(source, sink);
+        }
+        int[] predecessor = predecessors[s];
+        if (predecessor[t] == -1) { // No path exists
+            return null;
+        }
+
+        // Reconstruct the path backwards
+        LinkedList<E> edgeList = new LinkedList<>();
+        int v = t;
+        while (v != s) {
+            int a = predecessor[v];
+            edgeList.addFirst(arcEdges.get(a));
+            v = arcTails[a];
+        }
+        return new GraphWalk<>(graph, source, sink, null, edgeList, distances[s][t]);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the graph contains a negative edge weight
+     */
+    @Override
+    public double getPathWeight(V source, V sink)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        if (!graph.containsVertex(sink)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+        }
+
+        run();
+
+        return distances[vertexIndices.get(source)][vertexIndices.get(sink)];
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the graph contains a negative edge weight
+     */
+    @Override
+    public SingleSourcePaths<V, E> getPaths(V source)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+
+        run();
+
+        return new DijkstraSingleSourcePaths(source);
+    }
+
+    /**
+     * Executes the actual algorithm.
+     */
+    private void run()
+    {
+        if (distances != null) {
+            return;
+        }
+
+        // copy the graph
+        ArcArrays<V, E> arcs = new ArcArrays<>(graph, vertices, vertexIndices, false, true, true);
+        arcs.requireNonNegativeWeights();
+        this.arcOffsets = arcs.getOffsets();
+        this.arcTails = arcs.getTails();
+        this.arcHeads = arcs.getHeads();
+        this.arcWeights = arcs.getWeights();
+        this.arcEdges = arcs.getEdges();
+
+        // split the sources into blocks, each block reuses a single heap for all of its sources
+        double[][] distances = new double[n][];
+        int[][] predecessors = new int[n][];
+        int blockSize = Math.max(1, n / (4 * pool.getParallelism()));
+        int blocks = (n + blockSize - 1) / blockSize;
+        pool.invoke(new RangeTask(0, blocks, b -> {
+            IntDaryHeap heap = new IntDaryHeap(n);
+            for (int source = b * blockSize; source < Math.min(n, (b + 1) * blockSize); source++) {
+                distances[source] = new double[n];
+                predecessors[source] = new int[n];
+                search(heap, source, distances[source], predecessors[source]);
+            }
+        }));
+
+        this.predecessors = predecessors;
+        this.distances = distances;
+    }
+
+    /**
+     * Compute the shortest path tree of a source vertex using the heap of the worker.
+     */
+    private void search(IntDaryHeap heap, int source, double[] distance, int[] predecessor)
+    {
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        Arrays.fill(predecessor, -1);
+        distance[source] = 0d;
+        heap.insert(source, 0d);
+        while (!heap.isEmpty()) {
+            double d = heap.findMinKey();
+            int v = heap.deleteMin();
+            for (int a = arcOffsets[v]; a < arcOffsets[v + 1]; a++) {
+                int w = arcHeads[a];
+                double dw = d + arcWeights[a];
+                if (dw < distance[w]) {
+                    distance[w] = dw;
+                    predecessor[w] = a;
+                    heap.insertOrDecreaseKey(w, dw);
+                }
+            }
+        }
+    }
+
+    class DijkstraSingleSourcePaths
+        implements
+        SingleSourcePaths<V, E>
+    {
+        private V source;
+
+        public DijkstraSingleSourcePaths(V source)
+        {
+            this.source = source;
+        }
+
+        @Override
+        public Graph<V, E> getGraph()
+        {
+            return graph;
+        }
+
+        @Override
+        public V getSourceVertex()
+        {
+            return source;
+        }
+
+        @Override
+        public double getWeight(V sink)
+        {
+            return getPathWeight(source, sink);
+        }
+
+        @Override
+        public GraphPath<V, E> getPath(V sink)
+        {
+            return ParallelDijkstraShortestPaths.this.getPath(source, sink);
+        }
+    }
+}
+
+// End ParallelDijkstraShortestPaths.java
@@ -0,0 +1,340 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A parallel, cache-blocked version of the Floyd-Warshall algorithm.
+ *
+ * <p>
+ * The algorithm computes the same shortest paths as {@link FloydWarshallShortestPaths} in $O(n^3)$
+ * time, but stores the distances in a single row-major array and processes the matrix in square
+ * blocks which fit in the processor cache. Each of the $n / b$ rounds, where $b$ is the block size,
+ * first updates the diagonal block of the round, then the blocks in its row and column in parallel
+ * and finally all remaining blocks in parallel. The blocked algorithm is described in the
+ * following paper:
+ * <ul>
+ * <li>Gayathri Venkataraman, Sartaj Sahni, and Srabani Mukhopadhyaya. A blocked all-pairs
+ * shortest-paths algorithm. Journal of Experimental Algorithmics 8, 2003.</li>
+ * </ul>
+ *
+ * <p>
+ * Edge weights can be negative, but no negative-weight cycles may exist. The algorithm requires
+ * $O(n^2)$ space and is best suited for dense graphs, sparse graphs are usually better served by
+ * {@link ParallelDijkstraShortestPaths}. As with {@link FloydWarshallShortestPaths} no computations
+ * are performed during construction, the matrix is computed the first time one of the member
+ * methods of this class is invoked.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class ParallelFloydWarshallShortestPaths<V, E>
+    extends
+    BaseShortestPathAlgorithm<V, E>
+{
+    /**
+     * The default block size. A block of distances and hops occupies $12 b^2$ bytes.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 64;
+
+    private final ForkJoinPool pool;
+    private final int blockSize;
+    private final List<V> vertices;
+    private final Map<V, Integer> vertexIndices;
+    private final int n;
+
+    private List<E> edges;
+    // the distance from i to j at i * n + j
+    private double[] d;
+    // the index of the first edge on the shortest path from i to j, or -1
+    private int[] firstHop;
+
+    /**
+     * Create a new instance which runs in the common fork-join pool.
+     *
+     * @param graph the input graph
+     * @throws IllegalArgumentException if the graph has more than 46340 vertices, whose distance
+     *         matrix cannot be stored in a single array
+     */
+    public ParallelFloydWarshallShortestPaths(Graph<V, E> graph)
+    {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new instance which runs in the given fork-join pool.
+     *
+     * @param graph the input graph
+     * @param pool the fork-join pool
+     * @throws IllegalArgumentException if the graph has more than 46340 vertices, whose distance
+     *         matrix cannot be stored in a single array
+     */
+    public ParallelFloydWarshallShortestPaths(Graph<V, E> graph, ForkJoinPool pool)
+    {
+        this(graph, pool, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Create a new instance which runs in the given fork-join pool using a given block size.
+     *
+     * @param graph the input graph
+     * @param pool the fork-join pool
+     * @param blockSize the number of rows and columns of a block
+     * @throws IllegalArgumentException if the block size is not positive
+     * @throws IllegalArgumentException if the graph has more than 46340 vertices, whose distance
+     *         matrix cannot be stored in a single array
+     */
+    public ParallelFloydWarshallShortestPaths(Graph<V, E> graph, ForkJoinPool pool, int blockSize)
+    {
+        super(graph);
+        this.pool = Objects.requireNonNull(pool, "Pool cannot be null");
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.blockSize = blockSize;
+        this.vertices = new ArrayList<>(graph.vertexSet());
+        this.n = vertices.size();
+        if ((long) n * n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Graph is too large");
+        }
+        this.vertexIndices = CollectionUtil.newHashMapWithExpectedSize(n);
+        for (V v : vertices) {
+            vertexIndices.put(v, vertexIndices.size());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GraphPath<V, E> getPath(V source, V sink)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        if (!graph.containsVertex(sink)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+        }
+
+        lazyCalculateMatrix();
+
+        return createPath(source, sink);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getPathWeight(V source, V sink)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        if (!graph.containsVertex(sink)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+        }
+
+        lazyCalculateMatrix();
+
+        return d[vertexIndices.get(source) * n + vertexIndices.get(sink)];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SingleSourcePaths<V, E> getPaths(V source)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        return new FloydWarshallSingleSourcePaths(source);
+    }
+
+    private GraphPath<V, E> createPath(V source, V sink)
+    {
+        int s = vertexIndices.get(source);
+        int t = vertexIndices.get(sink);
+        if (s == t) {
+            return createEmptyPath(source, sink);
+        }
+        if (firstHop[s * n + t] == -1) { // No path exists
+            return null;
+        }
+
+        // Reconstruct the path
+        List<E> edgeList = new ArrayList<>();
+        V u = source;
+        int i = s;
+        while (i != t) {
+            E e = edges.get(firstHop[i * n + t]);
+            edgeList.add(e);
+            u = Graphs.getOppositeVertex(graph, e, u);
+            i = vertexIndices.get(u);
+        }
+        return new GraphWalk<>(graph, source, sink, null, edgeList, d[s * n + t]);
+    }
+
+    /**
+     * Calculates the matrix of all shortest paths.
+     */
+    private void lazyCalculateMatrix()
+    {
+        if (d != null) {
+            // already done
+            return;
+        }
+
+        double[] distance = new double[n * n];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        int[] hops = new int[n * n];
+        Arrays.fill(hops, -1);
+        for (int i = 0; i < n; i++) {
+            distance[i * n + i] = 0d;
+        }
+
+        // This works for directed, undirected and mixed graphs
+        List<E> edges = new ArrayList<>(graph.edgeSet().size());
+        for (V v1 : vertices) {
+            int i = vertexIndices.get(v1);
+            for (E e : graph.outgoingEdgesOf(v1)) {
+                V v2 = Graphs.getOppositeVertex(graph, e, v1);
+                int j = vertexIndices.get(v2);
+                double edgeWeight = graph.getEdgeWeight(e);
+                if (i != j && edgeWeight < distance[i * n + j]) {
+                    distance[i * n + j] = edgeWeight;
+                    hops[i * n + j] = edges.size();
+                    edges.add(e);
+                }
+            }
+        }
+
+        int blocks = (n + blockSize - 1) / blockSize;
+        for (int kb = 0; kb < blocks; kb++) {
+            int round = kb;
+
+            // the diagonal block
+            relax(distance, hops, round, round, round);
+
+            // the blocks in the row and the column of the diagonal block
+            pool.invoke(new RangeTask(0, 2 * blocks, b -> {
+                int other = b >> 1;
+                if (other == round) {
+                    return;
+                }
+                if ((b & 1) == 0) {
+                    relax(distance, hops, round, other, round);
+                } else {
+                    relax(distance, hops, other, round, round);
+                }
+            }));
+
+            // all remaining blocks
+            pool.invoke(new RangeTask(0, blocks * blocks, b -> {
+                int ib = b / blocks;
+                int jb = b % blocks;
+                if (ib != round && jb != round) {
+                    relax(distance, hops, ib, jb, round);
+                }
+            }));
+        }
+
+        this.edges = edges;
+        this.firstHop = hops;
+        this.d = distance;
+    }
+
+    /**
+     * Relax the paths of the block with row block ib and column block jb through the vertices of
+     * block kb.
+     */
+    private void relax(double[] distance, int[] hops, int ib, int jb, int kb)
+    {
+        int iFrom = ib * blockSize;
+        int iTo = Math.min(iFrom + blockSize, n);
+        int jFrom = jb * blockSize;
+        int jTo = Math.min(jFrom + blockSize, n);
+        int kFrom = kb * blockSize;
+        int kTo = Math.min(kFrom + blockSize, n);
+
+        for (int k = kFrom; k < kTo; k++) {
+            int kRow = k * n;
+            for (int i = iFrom; i < iTo; i++) {
+                int iRow = i * n;
+                double ik = distance[iRow + k];
+                if (ik == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                int hop = hops[iRow + k];
+                for (int j = jFrom; j < jTo; j++) {
+                    double ik_kj = ik + distance[kRow + j];
+                    if (ik_kj < distance[iRow + j]) {
+                        distance[iRow + j] = ik_kj;
+                        hops[iRow + j] = hop;
+                    }
+                }
+            }
+        }
+    }
+
+    class FloydWarshallSingleSourcePaths
+        implements
+        SingleSourcePaths<V, E>
+    {
+        private V source;
+
+        public FloydWarshallSingleSourcePaths(V source)
+        {
+            this.source = source;
+        }
+
+        @Override
+        public Graph<V, E> getGraph()
+        {
+            return graph;
+        }
+
+        @Override
+        public V getSourceVertex()
+        {
+            return source;
+        }
+
+        @Override
+        public double getWeight(V sink)
+        {
+            return getPathWeight(source, sink);
+        }
+
+        @Override
+        public GraphPath<V, E> getPath(V sink)
+        {
+            return ParallelFloydWarshallShortestPaths.this.getPath(source, sink);
+        }
+    }
+}
+
+// End ParallelFloydWarshallShortestPaths.java
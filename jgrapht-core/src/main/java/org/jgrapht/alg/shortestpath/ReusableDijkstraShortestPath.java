@@ -0,0 +1,303 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Dijkstra's algorithm for serving many queries on the same graph.
+ *
+ * <p>
+ * Each query of {@link DijkstraShortestPath} allocates its own maps and heap, which is wasteful
+ * when thousands of queries are executed on the same graph. This implementation copies the graph
+ * once into arrays in compressed sparse row format and executes the queries in workspaces, which
+ * keep their distance and predecessor arrays and their heap between queries. Each workspace
+ * stamps the vertices touched by a query with the number of the query, thus starting a new query
+ * requires no reset of the arrays and a query takes time proportional to the vertices and edges it
+ * touches, not the size of the graph.
+ *
+ * <p>
+ * Each query borrows an idle workspace of this instance and returns it when it is done, thus a
+ * single instance can serve concurrent queries. A new workspace is only created if all workspaces
+ * are in use, thus there are at most as many workspaces as concurrent queries. A workspace
+ * requires $O(n)$ space and is owned by this instance, not by the threads executing the queries.
+ * The graph must not be modified after the construction of this instance.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class ReusableDijkstraShortestPath<V, E>
+    extends
+    BaseShortestPathAlgorithm<V, E>
+{
+    private final List<V> vertices;
+    private final Map<V, Integer> vertexIndices;
+    // the graph in compressed sparse row format
+    private final int[] offsets;
+    private final int[] tails;
+    private final int[] heads;
+    private final double[] weights;
+    private final List<E> arcEdges;
+
+    // the idle workspaces
+    private final Queue<Workspace> workspaces;
+
+    /**
+     * Constructs a new instance of the algorithm for a given graph.
+     *
+     * @param graph the graph
+     * @throws IllegalArgumentException if the graph contains a negative edge weight
+     */
+    public ReusableDijkstraShortestPath(Graph<V, E> graph)
+    {
+        super(graph);
+        this.vertices = new ArrayList<>(graph.vertexSet());
+        this.vertexIndices = ArcArrays.indexVertices(vertices);
+        ArcArrays<V, E> arcs = new ArcArrays<>(graph, vertices, vertexIndices, false, true, true);
+        arcs.requireNonNegativeWeights();
+        this.offsets = arcs.getOffsets();
+        this.tails = arcs.getTails();
+        this.heads = arcs.getHeads();
+        this.weights = arcs.getWeights();
+        this.arcEdges = arcs.getEdges();
+
+        this.workspaces = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GraphPath<V, E> getPath(V source, V sink)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        if (!graph.containsVertex(sink)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+        }
+        if (source.equals(sink)) {
+            return createEmptyPath(source, sink);
+        }
+
+        Workspace workspace = acquireWorkspace();
+        try {
+            int t = vertexIndices.get(sink);
+            search(workspace, vertexIndices.get(source), t, null);
+            if (!workspace.isSettled(t)) {
+                return null;
+            }
+
+            // reconstruct the path backwards
+            List<E> edgeList = new ArrayList<>();
+            List<V> vertexList = new ArrayList<>();
+            int v = t;
+            vertexList.add(sink);
+            while (workspace.predecessor[v] != -1) {
+                int a = workspace.predecessor[v];
+                edgeList.add(arcEdges.get(a));
+                v = tails[a];
+                vertexList.add(vertices.get(v));
+            }
+            Collections.reverse(edgeList);
+            Collections.reverse(vertexList);
+            return new GraphWalk<>(
+                graph, source, sink, vertexList, edgeList, workspace.distance[t]);
+        } finally {
+            workspaces.offer(workspace);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getPathWeight(V source, V sink)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        if (!graph.containsVertex(sink)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+        }
+        if (source.equals(sink)) {
+            return 0d;
+        }
+
+        Workspace workspace = acquireWorkspace();
+        try {
+            int t = vertexIndices.get(sink);
+            search(workspace, vertexIndices.get(source), t, null);
+            return workspace.isSettled(t) ? workspace.distance[t] : Double.POSITIVE_INFINITY;
+        } finally {
+            workspaces.offer(workspace);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SingleSourcePaths<V, E> getPaths(V source)
+    {
+        return getPaths(source, (v, d) -> false);
+    }
+
+    /**
+     * Compute the shortest paths from a source vertex until a stop condition holds. The returned
+     * paths contain exactly the settled vertices, as described in
+     * {@link DijkstraShortestPath#getPaths(Object, DijkstraStopCondition)}.
+     *
+     * @param source the source vertex
+     * @param condition the stop condition
+     * @return the shortest paths to the settled vertices
+     */
+    public SingleSourcePaths<V, E> getPaths(V source, DijkstraStopCondition<V> condition)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        Objects.requireNonNull(condition, "Condition cannot be null");
+
+        Map<V, Pair<Double, E>> distanceAndPredecessorMap;
+        Workspace workspace = acquireWorkspace();
+        try {
+            search(workspace, vertexIndices.get(source), -1, condition);
+
+            distanceAndPredecessorMap =
+                CollectionUtil.newHashMapWithExpectedSize(workspace.settledCount);
+            for (int i = 0; i < workspace.settledCount; i++) {
+                int v = workspace.settled[i];
+                int a = workspace.predecessor[v];
+                distanceAndPredecessorMap.put(
+                    vertices.get(v),
+                    Pair.of(workspace.distance[v], a == -1 ? null : arcEdges.get(a)));
+            }
+        } finally {
+            workspaces.offer(workspace);
+        }
+        return new TreeSingleSourcePathsImpl<>(graph, source, distanceAndPredecessorMap);
+    }
+
+    /**
+     * Take an idle workspace, or create a new one if all workspaces are in use. The workspace
+     * must be returned to the idle workspaces after the query.
+     */
+    private Workspace acquireWorkspace()
+    {
+        Workspace workspace = workspaces.poll();
+        return workspace != null ? workspace : new Workspace(vertices.size());
+    }
+
+    /**
+     * Run a query from a source vertex until the target vertex is settled, if non-negative, or the
+     * condition holds, if not null.
+     */
+    private void search(
+        Workspace workspace, int source, int target, DijkstraStopCondition<V> condition)
+    {
+        IntDaryHeap heap = workspace.heap;
+        double[] distance = workspace.distance;
+        int[] stamp = workspace.stamp;
+        int query = workspace.start();
+
+        workspace.touch(source, 0d, -1);
+        while (!heap.isEmpty()) {
+            double d = heap.findMinKey();
+            int v = heap.deleteMin();
+            workspace.settled[workspace.settledCount++] = v;
+            if (v == target || condition != null && condition.shouldStop(vertices.get(v), d)) {
+                break;
+            }
+            for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                int w = heads[a];
+                double dw = d + weights[a];
+                if (stamp[w] != query || dw < distance[w]) {
+                    workspace.touch(w, dw, a);
+                }
+            }
+        }
+    }
+
+    /**
+     * The state of the queries which use the workspace one after another. The distance and the
+     * predecessor of a vertex are only valid if the vertex is stamped with the current query.
+     */
+    private static class Workspace
+    {
+        final double[] distance;
+        final int[] predecessor;
+        final int[] stamp;
+        final IntDaryHeap heap;
+        // the settled vertices in the order they were settled
+        final int[] settled;
+        int settledCount;
+        int query;
+
+        Workspace(int n)
+        {
+            this.distance = new double[n];
+            this.predecessor = new int[n];
+            this.stamp = new int[n];
+            this.heap = new IntDaryHeap(n);
+            this.settled = new int[n];
+        }
+
+        /**
+         * Start a new query and return its number.
+         */
+        int start()
+        {
+            heap.clear();
+            settledCount = 0;
+            if (++query == 0) {
+                // the stamps wrapped around, invalidate all of them
+                Arrays.fill(stamp, 0);
+                query = 1;
+            }
+            return query;
+        }
+
+        void touch(int v, double d, int arc)
+        {
+            stamp[v] = query;
+            distance[v] = d;
+            predecessor[v] = arc;
+            heap.insertOrDecreaseKey(v, d);
+        }
+
+        /**
+         * Whether a vertex was settled by the last query. A vertex touched but not settled is
+         * still in the heap.
+         */
+        boolean isSettled(int v)
+        {
+            return stamp[v] == query && !heap.contains(v);
+        }
+    }
+}
+
+// End ReusableDijkstraShortestPath.java
@@ -0,0 +1,581 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Yen's algorithm for the $k$ shortest simple paths between two vertices.
+ *
+ * <p>
+ * The algorithm computes the shortest path and afterwards derives each further path from the
+ * previous one: for every vertex of the previous path, the spur vertex, a shortest path to the
+ * target is computed which shares the prefix up to the spur vertex with the previous path, but
+ * avoids the vertices of this prefix and the edges leaving the spur vertex on the paths found so
+ * far. The best of all candidates found in this way is the next path. Only the spur vertices after
+ * the vertex at which the previous path deviated from its own parent are examined, as suggested by
+ * Lawler. The algorithm is described in the following paper:
+ * <ul>
+ * <li>Jin Y. Yen. Finding the k shortest loopless paths in a network. Management Science 17(11),
+ * 712-716, 1971.</li>
+ * </ul>
+ *
+ * <p>
+ * The spur searches of an iteration are independent of each other. If a fork-join pool is given
+ * they are executed in parallel. Each spur search borrows idle search arrays of this instance and
+ * returns them afterwards, thus there are at most as many search arrays as concurrent searches.
+ * Optionally the algorithm computes the shortest path tree towards the target once and reuses it
+ * in all spur searches: the tree distances are exact lower bounds which guide the searches as in
+ * A*, and a search stops as soon as it reaches a vertex whose tree path to the target avoids the
+ * forbidden vertices and edges, since such a path is then known to be optimal. This is the idea of
+ * the following paper:
+ * <ul>
+ * <li>Ernesto Q. V. Martins, Marta M. B. Pascoal. A new implementation of Yen's ranking loopless
+ * paths algorithm. 4OR 1(2), 121-133, 2003.</li>
+ * </ul>
+ * The optimization usually reduces each spur search to a few steps and is enabled by default.
+ *
+ * <p>
+ * In contrast to {@link KShortestSimplePaths} edge weights must be non-negative. The graph is
+ * copied into arrays during construction and must not be modified afterwards. A single instance
+ * can serve concurrent queries.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class YenKShortestPath<V, E>
+    implements
+    KShortestPathAlgorithm<V, E>
+{
+    private final Graph<V, E> graph;
+    private final ForkJoinPool pool;
+    private final boolean reuseTrees;
+
+    private final List<V> vertices;
+    private final Map<V, Integer> vertexIndices;
+    // the graph in compressed sparse row format
+    private final int[] offsets;
+    private final int[] tails;
+    private final int[] heads;
+    private final double[] weights;
+    private final List<E> arcEdges;
+    // the incoming arcs of each vertex, used to compute shortest path trees towards a target
+    private final int[] inOffsets;
+    private final int[] inArcs;
+
+    // the idle workspaces
+    private final Queue<Workspace> workspaces;
+
+    /**
+     * Constructs a new instance of the algorithm which executes the spur searches sequentially and
+     * reuses the shortest path tree towards the target.
+     *
+     * @param graph the graph
+     * @throws IllegalArgumentException if the graph contains a negative edge weight
+     */
+    public YenKShortestPath(Graph<V, E> graph)
+    {
+        this(graph, true);
+    }
+
+    /**
+     * Constructs a new instance of the algorithm which executes the spur searches sequentially.
+     *
+     * @param graph the graph
+     * @param reuseTrees whether the shortest path tree towards the target should be reused in the
+     *        spur searches
+     * @throws IllegalArgumentException if the graph contains a negative edge weight
+     */
+    public YenKShortestPath(Graph<V, E> graph, boolean reuseTrees)
+    {
+        this(graph, null, reuseTrees);
+    }
+
+    /**
+     * Constructs a new instance of the algorithm which executes the spur searches of each
+     * iteration in parallel in the given fork-join pool and reuses the shortest path tree towards
+     * the target.
+     *
+     * @param graph the graph
+     * @param pool the fork-join pool
+     * @throws IllegalArgumentException if the graph contains a negative edge weight
+     */
+    public YenKShortestPath(Graph<V, E> graph, ForkJoinPool pool)
+    {
+        this(graph, Objects.requireNonNull(pool, "Pool cannot be null"), true);
+    }
+
+    /**
+     * Constructs a new instance of the algorithm.
+     *
+     * @param graph the graph
+     * @param pool the fork-join pool in which the spur searches of each iteration are executed in
+     *        parallel, or null to execute them sequentially
+     * @param reuseTrees whether the shortest path tree towards the target should be reused in the
+     *        spur searches
+     * @throws IllegalArgumentException if the graph contains a negative edge weight
+     */
+    public YenKShortestPath(Graph<V, E> graph, ForkJoinPool pool, boolean reuseTrees)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph is null");
+        this.pool = pool;
+        this.reuseTrees = reuseTrees;
+
+        this.vertices = new ArrayList<>(graph.vertexSet());
+        int n = vertices.size();
+        this.vertexIndices = ArcArrays.indexVertices(vertices);
+        ArcArrays<V, E> arcs = new ArcArrays<>(graph, vertices, vertexIndices, false, true, true);
+        arcs.requireNonNegativeWeights();
+        this.offsets = arcs.getOffsets();
+        this.tails = arcs.getTails();
+        this.heads = arcs.getHeads();
+        this.weights = arcs.getWeights();
+        this.arcEdges = arcs.getEdges();
+
+        // index the arcs by their heads
+        int m = arcs.getArcCount();
+        this.inOffsets = new int[n + 1];
+        for (int a = 0; a < m; a++) {
+            inOffsets[heads[a] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            inOffsets[v + 1] += inOffsets[v];
+        }
+        this.inArcs = new int[m];
+        int[] position = Arrays.copyOf(inOffsets, n);
+        for (int a = 0; a < m; a++) {
+            inArcs[position[heads[a]]++] = a;
+        }
+
+        this.workspaces = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Returns the $k$ shortest simple paths in increasing order of weight. Paths of equal weight
+     * are ordered by their number of edges.
+     *
+     * @param source the source vertex
+     * @param sink the target vertex
+     * @param k the number of shortest paths to return
+     * @return the $k$ shortest simple paths, or fewer if there are less than $k$ simple paths
+     * @throws IllegalArgumentException if the graph does not contain the source or the sink
+     * @throws IllegalArgumentException if the source and the sink are the same vertex
+     * @throws IllegalArgumentException if k is negative or zero
+     */
+    @Override
+    public List<GraphPath<V, E>> getPaths(V source, V sink, int k)
+    {
+        Objects.requireNonNull(source, "Start vertex cannot be null");
+        Objects.requireNonNull(sink, "End vertex cannot be null");
+        if (sink.equals(source)) {
+            throw new IllegalArgumentException("The end vertex is the same as the start vertex!");
+        }
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException("Graph must contain the start vertex!");
+        }
+        if (!graph.containsVertex(sink)) {
+            throw new IllegalArgumentException("Graph must contain the end vertex!");
+        }
+        if (k <= 0) {
+            throw new IllegalArgumentException("Number of paths must be positive");
+        }
+
+        Query query = new Query(vertexIndices.get(source), vertexIndices.get(sink));
+        List<Path> paths = query.run(k);
+
+        List<GraphPath<V, E>> result = new ArrayList<>(paths.size());
+        for (Path path : paths) {
+            List<E> edgeList = new ArrayList<>(path.arcs.length);
+            List<V> vertexList = new ArrayList<>(path.arcs.length + 1);
+            vertexList.add(source);
+            for (int a : path.arcs) {
+                edgeList.add(arcEdges.get(a));
+                vertexList.add(vertices.get(heads[a]));
+            }
+            result.add(new GraphWalk<>(graph, source, sink, vertexList, edgeList, path.weight));
+        }
+        return result;
+    }
+
+    /**
+     * The state of a single query.
+     */
+    private class Query
+    {
+        final int source;
+        final int target;
+        // the distance to the target and the next arc in the shortest path tree towards the target
+        double[] toTarget;
+        int[] next;
+        // the paths found so far, which are not modified during the spur searches
+        final List<Path> paths;
+
+        Query(int source, int target)
+        {
+            this.source = source;
+            this.target = target;
+            this.paths = new ArrayList<>();
+        }
+
+        List<Path> run(int k)
+        {
+            if (reuseTrees) {
+                computeTree();
+            }
+            Path first = spurSearch(null, 0);
+            if (first == null) {
+                return paths;
+            }
+            paths.add(first);
+
+            PriorityQueue<Path> candidates = new PriorityQueue<>();
+            Set<Path> seen = new HashSet<>();
+            while (paths.size() < k) {
+                Path last = paths.get(paths.size() - 1);
+                int from = last.deviation;
+                int to = last.arcs.length;
+                Path[] spurPaths = new Path[to - from];
+                if (pool == null || spurPaths.length == 1) {
+                    for (int i = from; i < to; i++) {
+                        spurPaths[i - from] = spurSearch(last, i);
+                    }
+                } else {
+                    pool.invoke(
+                        new RangeTask(from, to, i -> spurPaths[i - from] = spurSearch(last, i)));
+                }
+                for (Path spurPath : spurPaths) {
+                    if (spurPath != null && seen.add(spurPath)) {
+                        candidates.add(spurPath);
+                    }
+                }
+                if (candidates.isEmpty()) {
+                    break;
+                }
+                paths.add(candidates.poll());
+            }
+            return paths;
+        }
+
+        /**
+         * Compute the shortest path tree towards the target using the incoming arcs.
+         */
+        private void computeTree()
+        {
+            int n = vertices.size();
+            toTarget = new double[n];
+            next = new int[n];
+            Arrays.fill(toTarget, Double.POSITIVE_INFINITY);
+            Arrays.fill(next, -1);
+            toTarget[target] = 0d;
+            IntDaryHeap heap = new IntDaryHeap(n);
+            heap.insert(target, 0d);
+            while (!heap.isEmpty()) {
+                double d = heap.findMinKey();
+                int v = heap.deleteMin();
+                for (int i = inOffsets[v]; i < inOffsets[v + 1]; i++) {
+                    int a = inArcs[i];
+                    int u = tails[a];
+                    double du = d + weights[a];
+                    if (du < toTarget[u]) {
+                        toTarget[u] = du;
+                        next[u] = a;
+                        heap.insertOrDecreaseKey(u, du);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Compute the shortest path which shares the first i arcs with the given path, but avoids
+         * the arcs leaving its i-th vertex on all paths found so far with the same prefix. If the
+         * given path is null the shortest path from the source is computed.
+         */
+        Path spurSearch(Path path, int i)
+        {
+            Workspace workspace = workspaces.poll();
+            if (workspace == null) {
+                workspace = new Workspace(vertices.size());
+            }
+            try {
+                return spurSearch(workspace, path, i);
+            } finally {
+                workspaces.offer(workspace);
+            }
+        }
+
+        private Path spurSearch(Workspace workspace, Path path, int i)
+        {
+            IntDaryHeap heap = workspace.heap;
+            double[] distance = workspace.distance;
+            int[] stamp = workspace.stamp;
+            int[] blocked = workspace.blocked;
+            int search = workspace.start();
+
+            int spur = source;
+            int[] blockedArcs = new int[0];
+            int blockedCount = 0;
+            double rootWeight = 0d;
+            if (path != null) {
+                for (int j = 0; j < i; j++) {
+                    blocked[tails[path.arcs[j]]] = search;
+                    rootWeight += weights[path.arcs[j]];
+                }
+                spur = tails[path.arcs[i]];
+                blockedArcs = new int[paths.size()];
+                for (Path other : paths) {
+                    if (other.arcs.length > i && sharesPrefix(path, other, i)) {
+                        blockedArcs[blockedCount++] = other.arcs[i];
+                    }
+                }
+            }
+
+            double[] toTarget = this.toTarget;
+            if (toTarget != null && toTarget[spur] == Double.POSITIVE_INFINITY) {
+                return null;
+            }
+            workspace.touch(spur, 0d, -1, toTarget == null ? 0d : toTarget[spur]);
+            while (!heap.isEmpty()) {
+                int v = heap.deleteMin();
+                double d = distance[v];
+                if (v == target || toTarget != null
+                    && isTreePathFree(workspace, v, spur, blockedArcs, blockedCount))
+                {
+                    return createPath(workspace.predecessor, path, i, rootWeight, v);
+                }
+                for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                    int w = heads[a];
+                    if (blocked[w] == search
+                        || v == spur && contains(blockedArcs, blockedCount, a))
+                    {
+                        continue;
+                    }
+                    double h = toTarget == null ? 0d : toTarget[w];
+                    if (h == Double.POSITIVE_INFINITY) {
+                        continue;
+                    }
+                    double dw = d + weights[a];
+                    if (stamp[w] != search || dw < distance[w]) {
+                        workspace.touch(w, dw, a, dw + h);
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Whether the tree path from a vertex to the target can extend the spur path to the
+         * vertex. This is the case if the tree path avoids the root path, the spur path and the
+         * blocked arcs.
+         */
+        private boolean isTreePathFree(
+            Workspace workspace, int v, int spur, int[] blockedArcs, int blockedCount)
+        {
+            int[] marked = workspace.marked;
+            int[] predecessor = workspace.predecessor;
+            if (v != target && v == spur && contains(blockedArcs, blockedCount, next[v])) {
+                return false;
+            }
+            int mark = workspace.nextMark();
+            for (int u = v; u != spur; u = tails[predecessor[u]]) {
+                marked[u] = mark;
+            }
+            marked[spur] = mark;
+            for (int u = v; u != target;) {
+                u = heads[next[u]];
+                if (marked[u] == mark || workspace.blocked[u] == workspace.search) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Create the path consisting of the root path, the spur path to a vertex and, if the vertex
+         * is not the target, the tree path from the vertex to the target.
+         */
+        private Path createPath(int[] predecessor, Path path, int i, double rootWeight, int v)
+        {
+            int spurLength = 0;
+            for (int u = v; predecessor[u] != -1; u = tails[predecessor[u]]) {
+                spurLength++;
+            }
+            int treeLength = 0;
+            for (int u = v; u != target; u = heads[next[u]]) {
+                treeLength++;
+            }
+
+            int rootLength = path == null ? 0 : i;
+            int[] arcs = new int[rootLength + spurLength + treeLength];
+            if (path != null) {
+                System.arraycopy(path.arcs, 0, arcs, 0, rootLength);
+            }
+            double weight = rootWeight;
+            int pos = rootLength + spurLength;
+            for (int u = v; predecessor[u] != -1; u = tails[predecessor[u]]) {
+                arcs[--pos] = predecessor[u];
+                weight += weights[predecessor[u]];
+            }
+            pos = rootLength + spurLength;
+            for (int u = v; u != target; u = heads[next[u]]) {
+                arcs[pos++] = next[u];
+                weight += weights[next[u]];
+            }
+            return new Path(arcs, weight, rootLength);
+        }
+    }
+
+    /**
+     * A path from the source to the target together with the index of the arc at which it deviates
+     * from the path it was derived from.
+     */
+    private static class Path
+        implements
+        Comparable<Path>
+    {
+        final int[] arcs;
+        final double weight;
+        final int deviation;
+
+        Path(int[] arcs, double weight, int deviation)
+        {
+            this.arcs = arcs;
+            this.weight = weight;
+            this.deviation = deviation;
+        }
+
+        @Override
+        public int compareTo(Path other)
+        {
+            int c = Double.compare(weight, other.weight);
+            return c != 0 ? c : Integer.compare(arcs.length, other.arcs.length);
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Path)) {
+                return false;
+            }
+            return Arrays.equals(arcs, ((Path) obj).arcs);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Arrays.hashCode(arcs);
+        }
+    }
+
+    /**
+     * The search arrays used by the spur searches which use the workspace one after another. The
+     * distance and the predecessor of a vertex are only valid if the vertex is stamped with the
+     * current search.
+     */
+    private static class Workspace
+    {
+        final double[] distance;
+        final int[] predecessor;
+        final int[] stamp;
+        // vertices of the root path are blocked in the current search
+        final int[] blocked;
+        // vertices of the spur path are marked when checking tree paths
+        final int[] marked;
+        final IntDaryHeap heap;
+        int search;
+        int mark;
+
+        Workspace(int n)
+        {
+            this.distance = new double[n];
+            this.predecessor = new int[n];
+            this.stamp = new int[n];
+            this.blocked = new int[n];
+            this.marked = new int[n];
+            this.heap = new IntDaryHeap(n);
+        }
+
+        /**
+         * Start a new search and return its number.
+         */
+        int start()
+        {
+            heap.clear();
+            if (++search == 0) {
+                // the stamps wrapped around, invalidate all of them
+                Arrays.fill(stamp, 0);
+                Arrays.fill(blocked, 0);
+                search = 1;
+            }
+            return search;
+        }
+
+        /**
+         * Start a new marking of vertices and return its number.
+         */
+        int nextMark()
+        {
+            if (++mark == 0) {
+                Arrays.fill(marked, 0);
+                mark = 1;
+            }
+            return mark;
+        }
+
+        void touch(int v, double d, int arc, double key)
+        {
+            stamp[v] = search;
+            distance[v] = d;
+            predecessor[v] = arc;
+            heap.insertOrDecreaseKey(v, key);
+        }
+    }
+
+    private static boolean sharesPrefix(Path path, Path other, int length)
+    {
+        for (int j = 0; j < length; j++) {
+            if (path.arcs[j] != other.arcs[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contains(int[] array, int count, int value)
+    {
+        for (int j = 0; j < count; j++) {
+            if (array[j] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
+
+// End YenKShortestPath.java
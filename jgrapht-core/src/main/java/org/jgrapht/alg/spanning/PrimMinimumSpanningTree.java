@@ -23,6 +23,7 @@ import org.jgrapht.util.*;
 
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.function.*;
 
 /**
  * An implementation of <a href="http://en.wikipedia.org/wiki/Prim's_algorithm"> Prim's
@@ -30,8 +31,8 @@ import java.util.*;
  * weighted undirected graph. The algorithm was developed by Czech mathematician V. Jarník and later
  * independently by computer scientist Robert C. Prim and rediscovered by E. Dijkstra.
  *
- * This implementation relies on a Fibonacci heap, and runs in $O(|E| + |V|log(|V|))$.
- *
+ * This implementation relies on a Fibonacci heap, and runs in $O(|E| + |V|log(|V|))$. The heap can
+ * be replaced by any other {@link AddressableHeap} using the constructor.
  *
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
@@ -45,6 +46,7 @@ public class PrimMinimumSpanningTree<V, E>
     SpanningTreeAlgorithm<E>
 {
     private final Graph<V, E> g;
+    private final Supplier<AddressableHeap<Integer>> heapSupplier;
 
     /**
      * Construct a new instance of the algorithm.
@@ -52,8 +54,22 @@ public class PrimMinimumSpanningTree<V, E>
      * @param graph the input graph
      */
     public PrimMinimumSpanningTree(Graph<V, E> graph)
+    {
+        this(graph, FibonacciAddressableHeap::new);
+    }
+
+    /**
+     * Construct a new instance of the algorithm which uses a custom heap.
+     *
+     * @param graph the input graph
+     * @param heapSupplier supplier of the heap to use, whose elements are the indices of the
+     *        vertices
+     */
+    public PrimMinimumSpanningTree(
+        Graph<V, E> graph, Supplier<AddressableHeap<Integer>> heapSupplier)
     {
         this.g = Objects.requireNonNull(graph, "Graph cannot be null");
+        this.heapSupplier = Objects.requireNonNull(heapSupplier, "Heap supplier cannot be null");
     }
 
     /**
@@ -80,24 +96,22 @@ public class PrimMinimumSpanningTree<V, E>
         }
 
         VertexInfo[] vertices = (VertexInfo[]) Array.newInstance(VertexInfo.class, N);
-        FibonacciHeapNode<VertexInfo>[] fibNodes =
-            (FibonacciHeapNode<VertexInfo>[]) Array.newInstance(FibonacciHeapNode.class, N);
-        FibonacciHeap<VertexInfo> fibonacciHeap = new FibonacciHeap<>();
+        AddressableHeap.Handle<Integer>[] heapNodes =
+            (AddressableHeap.Handle<Integer>[]) Array.newInstance(AddressableHeap.Handle.class, N);
+        AddressableHeap<Integer> heap = heapSupplier.get();
 
         for (int i = 0; i < N; i++) {
             vertices[i] = new VertexInfo();
-            vertices[i].id = i;
             vertices[i].distance = Double.MAX_VALUE;
-            fibNodes[i] = new FibonacciHeapNode<>(vertices[i]);
 
-            fibonacciHeap.insert(fibNodes[i], vertices[i].distance);
+            heapNodes[i] = heap.insert(vertices[i].distance, i);
         }
 
-        while (!fibonacciHeap.isEmpty()) {
-            FibonacciHeapNode<VertexInfo> fibNode = fibonacciHeap.removeMin();
-            VertexInfo vertexInfo = fibNode.getData();
+        while (!heap.isEmpty()) {
+            int pid = heap.deleteMin().getValue();
+            VertexInfo vertexInfo = vertices[pid];
 
-            V p = indexList.get(vertexInfo.id);
+            V p = indexList.get(pid);
             vertexInfo.spanned = true;
 
             // Add the edge from its parent to the spanning tree (if it exists)
@@ -119,7 +133,7 @@ public class PrimMinimumSpanningTree<V, E>
                         vertices[id].distance = cost;
                         vertices[id].edgeFromParent = e;
 
-                        fibonacciHeap.decreaseKey(fibNodes[id], cost);
+                        heapNodes[id].decreaseKey(cost);
                     }
                 }
             }
@@ -130,7 +144,6 @@ public class PrimMinimumSpanningTree<V, E>
 
     private class VertexInfo
     {
-        public int id;
         public boolean spanned;
         public double distance;
         public E edgeFromParent;
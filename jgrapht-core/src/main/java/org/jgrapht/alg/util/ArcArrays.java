@@ -0,0 +1,200 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.util;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+
+/**
+ * A copy of the arcs of a graph in compressed sparse row format.
+ *
+ * <p>
+ * Algorithms which traverse a graph many times, such as one search from each vertex, copy the
+ * graph once into primitive arrays to avoid the hash lookups and iterators of the graph in their
+ * inner loops. The vertices are numbered $0,\dots,n-1$ by their position in a given list. The
+ * arcs of vertex $v$ are the indices $a$ with {@code offsets[v] <= a < offsets[v + 1]}, one for
+ * each of its outgoing edges, or one for each of its incoming edges for algorithms which traverse
+ * the graph backwards. The tail of an arc is always the vertex which owns it and its head is the
+ * opposite endpoint of the edge, thus the arcs of incoming edges point against the direction of
+ * the edges. This works for directed, undirected and mixed graphs, since an undirected edge is
+ * both an outgoing and an incoming edge of its endpoints.
+ *
+ * <p>
+ * The arrays returned by the getters are not copied and must not be modified. The graph must not
+ * be modified while the arrays are in use.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class ArcArrays<V, E>
+{
+    private final int[] offsets;
+    private final int[] heads;
+    private final double[] weights;
+    private final List<E> edges;
+    private int[] tails;
+
+    /**
+     * Copy the arcs of a graph.
+     *
+     * @param graph the graph
+     * @param vertices the vertices of the graph, in the order of their indices
+     * @param vertexIndices the index of each vertex
+     * @param incoming whether the arcs are the incoming instead of the outgoing edges
+     * @param weights whether the weights of the edges are copied
+     * @param edges whether the edges of the arcs are kept
+     */
+    public ArcArrays(
+        Graph<V, E> graph, List<V> vertices, Map<V, Integer> vertexIndices, boolean incoming,
+        boolean weights, boolean edges)
+    {
+        int n = vertices.size();
+        this.offsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] = offsets[v] + edgesOf(graph, vertices.get(v), incoming).size();
+        }
+        int m = offsets[n];
+        this.heads = new int[m];
+        this.weights = weights ? new double[m] : null;
+        this.edges = edges ? new ArrayList<>(m) : null;
+        for (int v = 0; v < n; v++) {
+            V u = vertices.get(v);
+            int a = offsets[v];
+            for (E e : edgesOf(graph, u, incoming)) {
+                heads[a] = vertexIndices.get(Graphs.getOppositeVertex(graph, e, u));
+                if (weights) {
+                    this.weights[a] = graph.getEdgeWeight(e);
+                }
+                if (edges) {
+                    this.edges.add(e);
+                }
+                a++;
+            }
+        }
+    }
+
+    private static <V, E> Set<E> edgesOf(Graph<V, E> graph, V v, boolean incoming)
+    {
+        return incoming ? graph.incomingEdgesOf(v) : graph.outgoingEdgesOf(v);
+    }
+
+    /**
+     * Create a map from the vertices of a list to their positions in the list.
+     *
+     * @param vertices the vertices
+     * @param <V> the vertex type
+     * @return the index of each vertex
+     */
+    public static <V> Map<V, Integer> indexVertices(List<V> vertices)
+    {
+        Map<V, Integer> vertexIndices = CollectionUtil.newHashMapWithExpectedSize(vertices.size());
+        for (V v : vertices) {
+            vertexIndices.put(v, vertexIndices.size());
+        }
+        return vertexIndices;
+    }
+
+    /**
+     * Check that the weights of all arcs are non-negative, as required by Dijkstra-like searches.
+     *
+     * @throws IllegalArgumentException if an arc has a negative weight
+     */
+    public void requireNonNegativeWeights()
+    {
+        if (weights != null) {
+            for (double weight : weights) {
+                if (weight < 0d) {
+                    throw new IllegalArgumentException("Negative edge weight not allowed");
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the number of arcs.
+     *
+     * @return the number of arcs
+     */
+    public int getArcCount()
+    {
+        return heads.length;
+    }
+
+    /**
+     * Get the offsets of the arcs of the vertices. The arcs of vertex $v$ are the indices from
+     * {@code offsets[v]} up to but excluding {@code offsets[v + 1]}.
+     *
+     * @return an array of length $n+1$ with the offsets
+     */
+    public int[] getOffsets()
+    {
+        return offsets;
+    }
+
+    /**
+     * Get the head of each arc, which is the opposite endpoint of its edge.
+     *
+     * @return the index of the head of each arc
+     */
+    public int[] getHeads()
+    {
+        return heads;
+    }
+
+    /**
+     * Get the tail of each arc, which is the vertex which owns it. The array is computed on the
+     * first call.
+     *
+     * @return the index of the tail of each arc
+     */
+    public int[] getTails()
+    {
+        if (tails == null) {
+            int n = offsets.length - 1;
+            tails = new int[heads.length];
+            for (int v = 0; v < n; v++) {
+                Arrays.fill(tails, offsets[v], offsets[v + 1], v);
+            }
+        }
+        return tails;
+    }
+
+    /**
+     * Get the weight of each arc, which is the weight of its edge.
+     *
+     * @return the weight of each arc, or null if the weights were not copied
+     */
+    public double[] getWeights()
+    {
+        return weights;
+    }
+
+    /**
+     * Get the edge of each arc.
+     *
+     * @return the edge of each arc, or null if the edges were not kept
+     */
+    public List<E> getEdges()
+    {
+        return edges;
+    }
+}
@@ -221,6 +221,38 @@ public abstract class AbstractBaseGraph<V, E>
         return false;
     }
 
+    /**
+     * Creates a new edge in this graph, going from the source vertex to the target vertex, and
+     * returns the created edge, without validating the edge against the graph type.
+     *
+     * <p>
+     * This method is intended for bulk loading of graphs from trusted input. Unlike
+     * {@link #addEdge(Object, Object)}, it does not check that the vertices are contained in the
+     * graph, that the graph does not already contain an edge between the vertices, or that the
+     * edge is not a self-loop. The caller is responsible for ensuring that both vertices are
+     * contained in the graph and that the new edge does not violate the graph type. Otherwise the
+     * behavior of the graph is undefined.
+     *
+     * @param sourceVertex source vertex of the edge
+     * @param targetVertex target vertex of the edge
+     * @return the newly created edge, or null if the edge supplier returned an edge already
+     *         contained in the graph
+     * @throws UnsupportedOperationException if the graph was not initialized with an edge
+     *         supplier
+     */
+    public E addEdgeUnchecked(V sourceVertex, V targetVertex)
+    {
+        if (edgeSupplier == null)
+            throw new UnsupportedOperationException("The graph contains no edge supplier");
+
+        E e = edgeSupplier.get();
+        if (intrusiveEdgesSpecifics.add(e, sourceVertex, targetVertex)) {
+            specifics.addEdgeToTouchingVertices(e);
+            return e;
+        }
+        return null;
+    }
+
     @Override
     public V addVertex()
     {
@@ -336,6 +368,10 @@ public abstract class AbstractBaseGraph<V, E>
 
     /**
      * {@inheritDoc}
+     *
+     * <p>
+     * The spliterator of the returned set splits evenly, thus parallel streams over the edges of
+     * the graph scale with the number of available processors.
      */
     @Override
     public Set<E> edgeSet()
@@ -447,12 +483,16 @@ public abstract class AbstractBaseGraph<V, E>
 
     /**
      * {@inheritDoc}
+     *
+     * <p>
+     * The spliterator of the returned set splits evenly, thus parallel streams over the vertices of
+     * the graph scale with the number of available processors.
      */
     @Override
     public Set<V> vertexSet()
     {
         if (unmodifiableVertexSet == null) {
-            unmodifiableVertexSet = Collections.unmodifiableSet(specifics.getVertexSet());
+            unmodifiableVertexSet = new UnmodifiableSplittableSet<>(specifics.getVertexSet());
         }
 
         return unmodifiableVertexSet;
@@ -495,6 +535,27 @@ public abstract class AbstractBaseGraph<V, E>
         return type;
     }
 
+    /**
+     * Prepare the graph for the insertion of the given number of vertices and edges. Calling this
+     * method right after the construction of the graph avoids the repeated resizing of the
+     * internal maps and edge containers when loading large graphs. The method is only a hint and
+     * the graph may grow beyond the given sizes.
+     *
+     * @param expectedVertices the expected number of vertices
+     * @param expectedEdges the expected number of edges
+     * @throws IllegalArgumentException if any of the sizes is negative
+     */
+    public void ensureCapacity(int expectedVertices, int expectedEdges)
+    {
+        if (expectedVertices < 0 || expectedEdges < 0) {
+            throw new IllegalArgumentException("Expected sizes cannot be negative");
+        }
+        specifics.ensureCapacity(expectedVertices, expectedEdges);
+        intrusiveEdgesSpecifics.ensureCapacity(expectedEdges);
+        // the vertex set of the specifics might have been replaced
+        unmodifiableVertexSet = null;
+    }
+
     /**
      * Create the specifics for this graph. Subclasses can override this method in order to adjust
      * the specifics and thus the space-time tradeoffs of the graph implementation.
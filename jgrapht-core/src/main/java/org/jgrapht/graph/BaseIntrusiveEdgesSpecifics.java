@@ -47,7 +47,31 @@ public abstract class BaseIntrusiveEdgesSpecifics<V, E, IE extends IntrusiveEdge
      */
     public BaseIntrusiveEdgesSpecifics()
     {
-        this.edgeMap = new LinkedHashMap<>();
+        this(new LinkedHashMap<>());
+    }
+
+    /**
+     * Constructor
+     * 
+     * @param edgeMap the map to use for the storage of the edges
+     */
+    protected BaseIntrusiveEdgesSpecifics(Map<E, IE> edgeMap)
+    {
+        this.edgeMap = Objects.requireNonNull(edgeMap);
+    }
+
+    /**
+     * Prepare for the addition of a known number of edges. If there are no edges and the edges are
+     * stored in a {@link LinkedHashMap}, the map is replaced by a map with sufficient capacity.
+     *
+     * @param expectedEdges the expected number of edges
+     */
+    public void ensureCapacity(int expectedEdges)
+    {
+        if (edgeMap.isEmpty() && edgeMap.getClass() == LinkedHashMap.class) {
+            edgeMap = CollectionUtil.newLinkedHashMapWithExpectedSize(expectedEdges);
+            unmodifiableEdgeSet = null;
+        }
     }
 
     /**
@@ -64,12 +88,12 @@ public abstract class BaseIntrusiveEdgesSpecifics<V, E, IE extends IntrusiveEdge
     /**
      * Get the edge set.
      * 
-     * @return an unmodifiable edge set
+     * @return an unmodifiable edge set, whose spliterator splits evenly
      */
     public Set<E> getEdgeSet()
     {
         if (unmodifiableEdgeSet == null) {
-            unmodifiableEdgeSet = Collections.unmodifiableSet(edgeMap.keySet());
+            unmodifiableEdgeSet = new UnmodifiableSplittableSet<>(edgeMap.keySet());
         }
         return unmodifiableEdgeSet;
     }
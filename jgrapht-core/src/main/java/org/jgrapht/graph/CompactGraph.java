@@ -0,0 +1,156 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.specifics.*;
+import org.jgrapht.util.*;
+
+import java.util.function.*;
+
+/**
+ * A graph with a compact edge representation, intended for graphs with millions of edges.
+ *
+ * <p>
+ * The graph stores the source, the target and the weight of each edge in parallel arrays (see
+ * {@link CompactIntrusiveEdgesSpecifics}) and the edges of each vertex as arrays of edge indices
+ * (see {@link CompactDirectedSpecifics} and {@link CompactUndirectedSpecifics}). This costs about
+ * 16 bytes per edge for unweighted and 24 bytes per edge for weighted graphs, instead of more than
+ * 100 bytes per edge for the default graph implementations.
+ *
+ * <p>
+ * Edge objects are not stored by the graph. Whenever the graph returns an edge, it creates a new
+ * edge object, which is a {@link DefaultEdge} for unweighted and a {@link DefaultWeightedEdge} for
+ * weighted graphs. Edge objects are compared by the index of the edge, thus two edge objects
+ * returned for the same edge are equal but not necessarily identical. The edges are created by the
+ * edge supplier of the graph, which cannot be changed. Edges may be added explicitly only if they
+ * were created by the graph itself or, for a clone, by the original graph. In particular
+ * {@link Graphs#addGraph(Graph, Graph)} cannot copy another compact graph, whose edges must be
+ * copied using {@link #addEdge(Object, Object)} instead. Edge retrievals, such as
+ * {@link #getEdge(Object, Object)}, take time linear in the degree of the source vertex.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class CompactGraph<V, E>
+    extends
+    AbstractBaseGraph<V, E>
+{
+    private static final long serialVersionUID = 2613738937315217623L;
+
+    /*
+     * Initialized in createSpecifics, which is called by the super constructor. Must not have an
+     * initializer as it would overwrite the value after the super constructor returns.
+     */
+    private CompactIntrusiveEdgesSpecifics<V, E> edgeStorage;
+
+    private CompactGraph(Supplier<V> vertexSupplier, GraphType type)
+    {
+        super(vertexSupplier, null, type);
+        initEdgeSupplier();
+    }
+
+    /**
+     * Create a new unweighted compact graph.
+     *
+     * @param vertexSupplier the vertex supplier, can be null
+     * @param type the graph type, the weighted property of which is ignored
+     * @param <V> the graph vertex type
+     * @return the new graph
+     * @throws IllegalArgumentException if the graph type is mixed
+     */
+    public static <V> CompactGraph<V, DefaultEdge> createGraph(
+        Supplier<V> vertexSupplier, GraphType type)
+    {
+        return new CompactGraph<>(vertexSupplier, type.asUnweighted());
+    }
+
+    /**
+     * Create a new weighted compact graph.
+     *
+     * @param vertexSupplier the vertex supplier, can be null
+     * @param type the graph type, the weighted property of which is ignored
+     * @param <V> the graph vertex type
+     * @return the new graph
+     * @throws IllegalArgumentException if the graph type is mixed
+     */
+    public static <V> CompactGraph<V, DefaultWeightedEdge> createWeightedGraph(
+        Supplier<V> vertexSupplier, GraphType type)
+    {
+        return new CompactGraph<>(vertexSupplier, type.asWeighted());
+    }
+
+    /**
+     * Not supported, since the edges of a compact graph can only be created by the graph itself.
+     *
+     * @param edgeSupplier the edge supplier
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void setEdgeSupplier(Supplier<E> edgeSupplier)
+    {
+        throw new UnsupportedOperationException("The edge supplier of a compact graph is fixed");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object clone()
+    {
+        CompactGraph<V, E> newGraph = TypeUtil.uncheckedCast(super.clone());
+        newGraph.initEdgeSupplier();
+
+        // weights are stored in the graph and not inside the edge objects
+        if (getType().isWeighted()) {
+            for (E e : edgeSet()) {
+                newGraph.setEdgeWeight(e, getEdgeWeight(e));
+            }
+        }
+        return newGraph;
+    }
+
+    private void initEdgeSupplier()
+    {
+        super.setEdgeSupplier(edgeStorage.getEdgeSupplier());
+    }
+
+    @Override
+    protected Specifics<V, E> createSpecifics(boolean directed)
+    {
+        if (edgeStorage == null) {
+            edgeStorage = new CompactIntrusiveEdgesSpecifics<>(getType().isWeighted());
+        } else {
+            // a clone, whose field still refers to the specifics of the original graph
+            edgeStorage = new CompactIntrusiveEdgesSpecifics<>(edgeStorage);
+        }
+        if (directed) {
+            return new CompactDirectedSpecifics<>(this, edgeStorage);
+        } else {
+            return new CompactUndirectedSpecifics<>(this, edgeStorage);
+        }
+    }
+
+    @Override
+    protected IntrusiveEdgesSpecifics<V, E> createIntrusiveEdgesSpecifics(boolean weighted)
+    {
+        return edgeStorage;
+    }
+}
@@ -0,0 +1,469 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * An intrusive edges specifics which stores the edges in parallel arrays.
+ *
+ * <p>
+ * Each edge is identified by an integer index. The source, the target and the weight of the edge
+ * are stored at this index in parallel arrays, thus the storage cost of an edge is two references
+ * and, for weighted graphs, one double. Edge objects are not stored at all. They are created
+ * lazily, whenever an edge is returned to the user, and two edge objects are equal if and only if
+ * they have the same index and were created by the same specifics. Unweighted edges are instances
+ * of {@link DefaultEdge} and weighted edges are instances of {@link DefaultWeightedEdge}.
+ *
+ * <p>
+ * Only edges created by these specifics, i.e. by the supplier returned by
+ * {@link #getEdgeSupplier()}, can be added. The supplier reserves the index of each edge it
+ * creates, thus the index of an edge is never reused for a different edge, even if the edge is
+ * never added or removed later. The specifics of a cloned graph share the indices with the
+ * specifics of the original graph, such that the edges of the original graph can be added to the
+ * clone and new edges of both graphs are distinct.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class CompactIntrusiveEdgesSpecifics<V, E>
+    implements
+    IntrusiveEdgesSpecifics<V, E>
+{
+    private static final long serialVersionUID = -7139213680726401394L;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final boolean weighted;
+    private final IndexSpace indexSpace;
+    private Object[] sources;
+    private Object[] targets;
+    private double[] weights;
+    private int length;
+    private int edgeCount;
+
+    private transient Set<E> edgeSet;
+
+    /**
+     * Constructor
+     *
+     * @param weighted whether the edges are weighted
+     */
+    public CompactIntrusiveEdgesSpecifics(boolean weighted)
+    {
+        this(weighted, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param weighted whether the edges are weighted
+     * @param expectedEdges the expected number of edges
+     */
+    public CompactIntrusiveEdgesSpecifics(boolean weighted, int expectedEdges)
+    {
+        this(weighted, expectedEdges, new IndexSpace());
+    }
+
+    /**
+     * Create empty specifics for a clone of the graph of other specifics, which share the edge
+     * indices of the other specifics.
+     *
+     * @param other the specifics of the original graph
+     */
+    CompactIntrusiveEdgesSpecifics(CompactIntrusiveEdgesSpecifics<V, E> other)
+    {
+        this(other.weighted, other.length, other.indexSpace);
+    }
+
+    private CompactIntrusiveEdgesSpecifics(
+        boolean weighted, int expectedEdges, IndexSpace indexSpace)
+    {
+        if (expectedEdges < 0) {
+            throw new IllegalArgumentException("Expected number of edges cannot be negative");
+        }
+        this.weighted = weighted;
+        this.indexSpace = indexSpace;
+        this.sources = new Object[expectedEdges];
+        this.targets = new Object[expectedEdges];
+        this.weights = weighted ? new double[expectedEdges] : null;
+    }
+
+    /**
+     * Get a supplier which creates new edges for these specifics. Each call of the supplier
+     * reserves and returns an edge with the next unused index.
+     *
+     * @return the edge supplier
+     */
+    public Supplier<E> getEdgeSupplier()
+    {
+        return new EdgeSupplier<>(this);
+    }
+
+    /**
+     * Get the index of an edge.
+     *
+     * @param e the edge
+     * @return the index of the edge, or -1 if the edge is not contained
+     */
+    public int getEdgeIndex(Object e)
+    {
+        int index = reservedIndex(e);
+        return index != -1 && index < length && sources[index] != null ? index : -1;
+    }
+
+    /**
+     * Get the edge with a particular index.
+     *
+     * @param index the edge index
+     * @return an edge object for the edge with the given index
+     */
+    public E getEdge(int index)
+    {
+        E e = createEdge(index);
+        IntrusiveEdge ie = (IntrusiveEdge) e;
+        ie.source = sources[index];
+        ie.target = targets[index];
+        return e;
+    }
+
+    /**
+     * Get the source vertex of the edge with a particular index.
+     *
+     * @param index the edge index
+     * @return the source vertex
+     */
+    public V getEdgeSource(int index)
+    {
+        return TypeUtil.uncheckedCast(sources[index]);
+    }
+
+    /**
+     * Get the target vertex of the edge with a particular index.
+     *
+     * @param index the edge index
+     * @return the target vertex
+     */
+    public V getEdgeTarget(int index)
+    {
+        return TypeUtil.uncheckedCast(targets[index]);
+    }
+
+    @Override
+    public V getEdgeSource(E e)
+    {
+        return getEdgeSource(indexOf(e));
+    }
+
+    @Override
+    public V getEdgeTarget(E e)
+    {
+        return getEdgeTarget(indexOf(e));
+    }
+
+    @Override
+    public boolean add(E e, V sourceVertex, V targetVertex)
+    {
+        int index = reservedIndex(e);
+        if (index == -1) {
+            throw new IllegalArgumentException(
+                "Only edges created by the edge supplier of the graph can be added");
+        }
+        if (index < length && sources[index] != null) {
+            return false;
+        }
+
+        ensureCapacity(index + 1);
+        sources[index] = sourceVertex;
+        targets[index] = targetVertex;
+        if (weighted) {
+            weights[index] = Graph.DEFAULT_EDGE_WEIGHT;
+        }
+        length = Math.max(length, index + 1);
+        edgeCount++;
+
+        IntrusiveEdge ie = (IntrusiveEdge) e;
+        ie.source = sourceVertex;
+        ie.target = targetVertex;
+        return true;
+    }
+
+    @Override
+    public boolean containsEdge(E e)
+    {
+        return getEdgeIndex(e) != -1;
+    }
+
+    @Override
+    public Set<E> getEdgeSet()
+    {
+        if (edgeSet == null) {
+            edgeSet = new UnmodifiableSplittableSet<>(new EdgeSet());
+        }
+        return edgeSet;
+    }
+
+    @Override
+    public void remove(E e)
+    {
+        int index = getEdgeIndex(e);
+        if (index != -1) {
+            sources[index] = null;
+            targets[index] = null;
+            edgeCount--;
+        }
+    }
+
+    @Override
+    public double getEdgeWeight(E e)
+    {
+        int index = indexOf(e);
+        return weighted ? weights[index] : Graph.DEFAULT_EDGE_WEIGHT;
+    }
+
+    @Override
+    public void setEdgeWeight(E e, double weight)
+    {
+        if (!weighted) {
+            throw new UnsupportedOperationException("Graph is not weighted");
+        }
+        weights[indexOf(e)] = weight;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Since edge indices are never reused, the capacity refers to the total number of edges ever
+     * added.
+     */
+    @Override
+    public void ensureCapacity(int expectedEdges)
+    {
+        if (expectedEdges > sources.length) {
+            int newCapacity =
+                Math.max(expectedEdges, sources.length + (sources.length >> 1) + 1);
+            sources = Arrays.copyOf(sources, newCapacity);
+            targets = Arrays.copyOf(targets, newCapacity);
+            if (weighted) {
+                weights = Arrays.copyOf(weights, newCapacity);
+            }
+        }
+    }
+
+    /**
+     * Get the index of an edge created by these specifics, or by the specifics with which they
+     * share the indices, whether or not the edge is contained.
+     */
+    private int reservedIndex(Object e)
+    {
+        if (weighted) {
+            if (e instanceof CompactWeightedEdge) {
+                CompactWeightedEdge ce = (CompactWeightedEdge) e;
+                return ce.indexSpace == indexSpace ? ce.index : -1;
+            }
+        } else if (e instanceof CompactEdge) {
+            CompactEdge ce = (CompactEdge) e;
+            return ce.indexSpace == indexSpace ? ce.index : -1;
+        }
+        return -1;
+    }
+
+    private int indexOf(E e)
+    {
+        int index = getEdgeIndex(e);
+        if (index == -1) {
+            throw new IllegalArgumentException("no such edge in graph: " + e);
+        }
+        return index;
+    }
+
+    private E createEdge(int index)
+    {
+        if (weighted) {
+            return TypeUtil.uncheckedCast(new CompactWeightedEdge(index, indexSpace));
+        } else {
+            return TypeUtil.uncheckedCast(new CompactEdge(index, indexSpace));
+        }
+    }
+
+    /**
+     * An unweighted edge which is identified by its index.
+     */
+    private static class CompactEdge
+        extends
+        DefaultEdge
+    {
+        private static final long serialVersionUID = 6102530932961066329L;
+
+        final int index;
+        final IndexSpace indexSpace;
+
+        CompactEdge(int index, IndexSpace indexSpace)
+        {
+            this.index = index;
+            this.indexSpace = indexSpace;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return index;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (!(obj instanceof CompactEdge)) {
+                return false;
+            }
+            CompactEdge other = (CompactEdge) obj;
+            return other.index == index && other.indexSpace == indexSpace;
+        }
+    }
+
+    /**
+     * A weighted edge which is identified by its index.
+     */
+    private static class CompactWeightedEdge
+        extends
+        DefaultWeightedEdge
+    {
+        private static final long serialVersionUID = -1584716427738301472L;
+
+        final int index;
+        final IndexSpace indexSpace;
+
+        CompactWeightedEdge(int index, IndexSpace indexSpace)
+        {
+            this.index = index;
+            this.indexSpace = indexSpace;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return index;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (!(obj instanceof CompactWeightedEdge)) {
+                return false;
+            }
+            CompactWeightedEdge other = (CompactWeightedEdge) obj;
+            return other.index == index && other.indexSpace == indexSpace;
+        }
+    }
+
+    /**
+     * The counter of the reserved edge indices, which also identifies the edges created with these
+     * indices.
+     */
+    private static class IndexSpace
+        implements
+        Serializable
+    {
+        private static final long serialVersionUID = 5526186713347905314L;
+
+        int next;
+    }
+
+    private static class EdgeSupplier<E>
+        implements
+        Supplier<E>,
+        Serializable
+    {
+        private static final long serialVersionUID = 3914372840862518725L;
+
+        private final CompactIntrusiveEdgesSpecifics<?, E> specifics;
+
+        EdgeSupplier(CompactIntrusiveEdgesSpecifics<?, E> specifics)
+        {
+            this.specifics = specifics;
+        }
+
+        @Override
+        public E get()
+        {
+            return specifics.createEdge(specifics.indexSpace.next++);
+        }
+    }
+
+    /**
+     * An unmodifiable live view of the edges.
+     */
+    private class EdgeSet
+        extends
+        AbstractSet<E>
+    {
+        @Override
+        public Iterator<E> iterator()
+        {
+            return new Iterator<E>()
+            {
+                private int next = advance(0);
+
+                private int advance(int from)
+                {
+                    while (from < length && sources[from] == null) {
+                        from++;
+                    }
+                    return from;
+                }
+
+                @Override
+                public boolean hasNext()
+                {
+                    return next < length;
+                }
+
+                @Override
+                public E next()
+                {
+                    if (next >= length) {
+                        throw new NoSuchElementException();
+                    }
+                    E e = getEdge(next);
+                    next = advance(next + 1);
+                    return e;
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return edgeCount;
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            return getEdgeIndex(o) != -1;
+        }
+    }
+}
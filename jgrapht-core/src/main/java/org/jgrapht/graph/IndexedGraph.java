@@ -0,0 +1,73 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.specifics.*;
+
+import java.util.function.*;
+
+/**
+ * A graph with fast edge retrievals and a low memory overhead, intended for graphs with
+ * high-degree vertices.
+ *
+ * <p>
+ * The graph stores its adjacency using {@link IndexedDirectedSpecifics} or
+ * {@link IndexedUndirectedSpecifics}, which keep a small hash index from the neighbors to the
+ * edges of each vertex whose degree exceeds a threshold of
+ * {@value IndexedDirectedSpecifics#DEFAULT_INDEX_THRESHOLD} edges.
+ * Edge retrievals, such as {@link #getEdge(Object, Object)}, {@link #containsEdge(Object, Object)}
+ * and the duplicate check of {@link #addEdge(Object, Object)}, take expected constant time at
+ * these vertices, similarly to the default graph implementations, but without their global map of
+ * vertex pairs to edges. A different threshold can be used by a subclass which overrides
+ * {@link #createSpecifics(boolean)}.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class IndexedGraph<V, E>
+    extends
+    AbstractBaseGraph<V, E>
+{
+    private static final long serialVersionUID = 6348237563981052183L;
+
+    /**
+     * Create a new graph.
+     *
+     * @param vertexSupplier the vertex supplier, can be null
+     * @param edgeSupplier the edge supplier, can be null
+     * @param type the graph type
+     * @throws IllegalArgumentException if the graph type is mixed
+     */
+    public IndexedGraph(Supplier<V> vertexSupplier, Supplier<E> edgeSupplier, GraphType type)
+    {
+        super(vertexSupplier, edgeSupplier, type);
+    }
+
+    @Override
+    protected Specifics<V, E> createSpecifics(boolean directed)
+    {
+        if (directed) {
+            return new IndexedDirectedSpecifics<>(this);
+        } else {
+            return new IndexedUndirectedSpecifics<>(this);
+        }
+    }
+}
@@ -99,4 +99,14 @@ public interface IntrusiveEdgesSpecifics<V, E>
      * @param weight the new weight
      */
     void setEdgeWeight(E e, double weight);
+
+    /**
+     * Prepare the specifics for the addition of a known number of edges, in order to avoid
+     * repeated resizing of the internal data structures. The default implementation does nothing.
+     *
+     * @param expectedEdges the expected number of edges
+     */
+    default void ensureCapacity(int expectedEdges)
+    {
+    }
 }
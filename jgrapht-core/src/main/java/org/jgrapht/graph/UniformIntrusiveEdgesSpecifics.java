@@ -17,6 +17,8 @@
  */
 package org.jgrapht.graph;
 
+import java.util.*;
+
 /**
  * An uniform weights variant of the intrusive edges specifics.
  * 
@@ -46,6 +48,17 @@ public class UniformIntrusiveEdgesSpecifics<V, E>
         super();
     }
 
+    /**
+     * Constructor
+     * 
+     * @param edgeMap the map to use for the storage of the edges, such as a concurrent map for
+     *        graphs which are accessed by multiple threads
+     */
+    public UniformIntrusiveEdgesSpecifics(Map<E, IntrusiveEdge> edgeMap)
+    {
+        super(edgeMap);
+    }
+
     @Override
     public boolean add(E e, V sourceVertex, V targetVertex)
     {
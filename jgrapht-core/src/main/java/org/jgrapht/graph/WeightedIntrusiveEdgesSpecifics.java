@@ -17,6 +17,8 @@
  */
 package org.jgrapht.graph;
 
+import java.util.*;
+
 /**
  * A weighted variant of the intrusive edges specifics.
  * 
@@ -46,6 +48,17 @@ public class WeightedIntrusiveEdgesSpecifics<V, E>
         super();
     }
 
+    /**
+     * Constructor
+     * 
+     * @param edgeMap the map to use for the storage of the edges, such as a concurrent map for
+     *        graphs which are accessed by multiple threads
+     */
+    public WeightedIntrusiveEdgesSpecifics(Map<E, IntrusiveWeightedEdge> edgeMap)
+    {
+        super(edgeMap);
+    }
+
     @Override
     public boolean add(E e, V sourceVertex, V targetVertex)
     {
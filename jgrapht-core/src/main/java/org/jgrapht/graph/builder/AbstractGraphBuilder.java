@@ -18,8 +18,12 @@
 package org.jgrapht.graph.builder;
 
 import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
 import org.jgrapht.graph.*;
 
+import java.util.*;
+import java.util.stream.*;
+
 /**
  * Base class for builders of {@link Graph}
  *
@@ -156,6 +160,73 @@ public abstract class AbstractGraphBuilder<V, E, G extends Graph<V, E>,
         return this.self();
     }
 
+    /**
+     * Adds a sequence of edges to the graph being built. Each edge is given as a triple of its
+     * source vertex, its target vertex and its weight. A null weight denotes the default edge
+     * weight, otherwise the graph must be weighted. The source and target vertices are added to
+     * the graph, if not already included.
+     *
+     * <p>
+     * Arrays of triples can be added using {@link Arrays#stream(Object[])}.
+     *
+     * @param edges the edges to add
+     * @return this builder object
+     *
+     * @see #addEdge(Object, Object)
+     * @see #addEdge(Object, Object, double)
+     */
+    public B addEdges(Stream<Triple<V, V, Double>> edges)
+    {
+        edges.forEachOrdered(t -> {
+            if (t.getThird() == null) {
+                this.addEdge(t.getFirst(), t.getSecond());
+            } else {
+                this.addEdge(t.getFirst(), t.getSecond(), t.getThird());
+            }
+        });
+        return this.self();
+    }
+
+    /**
+     * Adds a sequence of edges to the graph being built, skipping the validation of each edge
+     * against the graph type. Each edge is given as a triple of its source vertex, its target
+     * vertex and its weight. A null weight denotes the default edge weight, otherwise the graph
+     * must be weighted. The source and target vertices are added to the graph, if not already
+     * included.
+     *
+     * <p>
+     * The caller asserts that the edges are valid for the graph being built, i.e. that the input
+     * contains no self-loops if the graph does not allow self-loops and no multiple edges between
+     * the same pair of vertices if the graph does not allow multiple edges. If the graph is an
+     * {@link AbstractBaseGraph}, the edges are added by
+     * {@link AbstractBaseGraph#addEdgeUnchecked(Object, Object)} which avoids the cost of these
+     * checks. Otherwise this method behaves like {@link #addEdges(Stream)}. Invalid input results
+     * in undefined behavior of the built graph.
+     *
+     * @param edges the edges to add
+     * @return this builder object
+     *
+     * @see AbstractBaseGraph#addEdgeUnchecked(Object, Object)
+     */
+    public B addEdgesUnchecked(Stream<Triple<V, V, Double>> edges)
+    {
+        if (!(this.graph instanceof AbstractBaseGraph)) {
+            return addEdges(edges);
+        }
+        AbstractBaseGraph<V, E> g = (AbstractBaseGraph<V, E>) this.graph;
+        edges.forEachOrdered(t -> {
+            V source = t.getFirst();
+            V target = t.getSecond();
+            g.addVertex(source);
+            g.addVertex(target);
+            E e = g.addEdgeUnchecked(source, target);
+            if (e != null && t.getThird() != null) {
+                g.setEdgeWeight(e, t.getThird());
+            }
+        });
+        return this.self();
+    }
+
     /**
      * Removes {@code vertex} from the graph being built, if such vertex exist in graph.
      *
@@ -80,6 +80,8 @@ public final class GraphTypeBuilder<V, E>
     private boolean allowingSelfLoops;
     private Supplier<V> vertexSupplier;
     private Supplier<E> edgeSupplier;
+    private int expectedVertices;
+    private int expectedEdges;
 
     private GraphTypeBuilder(boolean directed, boolean undirected)
     {
@@ -197,6 +199,40 @@ public final class GraphTypeBuilder<V, E>
         return this;
     }
 
+    /**
+     * Set the expected number of vertices of the graph. The graph will be presized accordingly,
+     * which avoids repeated resizing of its internal structures when loading large graphs.
+     * 
+     * @param expectedVertices the expected number of vertices
+     * @return the graph type builder
+     * @throws IllegalArgumentException if the number is negative
+     */
+    public GraphTypeBuilder<V, E> expectedVertices(int expectedVertices)
+    {
+        if (expectedVertices < 0) {
+            throw new IllegalArgumentException("Expected number of vertices cannot be negative");
+        }
+        this.expectedVertices = expectedVertices;
+        return this;
+    }
+
+    /**
+     * Set the expected number of edges of the graph. The graph will be presized accordingly,
+     * which avoids repeated resizing of its internal structures when loading large graphs.
+     * 
+     * @param expectedEdges the expected number of edges
+     * @return the graph type builder
+     * @throws IllegalArgumentException if the number is negative
+     */
+    public GraphTypeBuilder<V, E> expectedEdges(int expectedEdges)
+    {
+        if (expectedEdges < 0) {
+            throw new IllegalArgumentException("Expected number of edges cannot be negative");
+        }
+        this.expectedEdges = expectedEdges;
+        return this;
+    }
+
     /**
      * Set the vertex supplier.
      * 
@@ -290,6 +326,15 @@ public final class GraphTypeBuilder<V, E>
      * @throws UnsupportedOperationException in case a graph type is not supported
      */
     public Graph<V, E> buildGraph()
+    {
+        Graph<V, E> graph = createGraph();
+        if ((expectedVertices > 0 || expectedEdges > 0) && graph instanceof AbstractBaseGraph) {
+            ((AbstractBaseGraph<V, E>) graph).ensureCapacity(expectedVertices, expectedEdges);
+        }
+        return graph;
+    }
+
+    private Graph<V, E> createGraph()
     {
         if (directed && undirected) {
             throw new UnsupportedOperationException("Mixed graphs are not supported");
@@ -0,0 +1,362 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.concurrent;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.graph.specifics.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.*;
+import java.util.function.*;
+
+/**
+ * A thread-safe graph which supports fully concurrent queries and highly concurrent updates.
+ *
+ * <p>
+ * Contrary to {@link AsSynchronizedGraph}, which serializes all updates and blocks all queries
+ * during an update using a single read-write lock, this graph stores its vertices, edges and
+ * vertex adjacency in concurrent maps and sets (see {@link ConcurrentDirectedSpecifics} and
+ * {@link ConcurrentUndirectedSpecifics}). Queries never block. Updates lock only the vertices that
+ * they touch, using a fixed array of lock stripes which is sized by the concurrency level. Thus
+ * threads adding edges between different parts of the graph do not block each other and never
+ * block readers.
+ *
+ * <p>
+ * The graph makes the following guarantees:
+ * <ul>
+ * <li>Each update is atomic with respect to all other updates. In particular, a graph which does
+ * not allow multiple edges never ends up with parallel edges, and an edge is never added to a
+ * vertex which is concurrently removed.</li>
+ * <li>The vertex set, the edge set and the edge sets returned by the adjacency queries are live
+ * unmodifiable views whose iterators are weakly consistent. They never throw
+ * {@link java.util.ConcurrentModificationException} and reflect some state of the graph at or
+ * after the creation of the iterator.</li>
+ * <li>Compound queries, such as {@link #edgesOf(Object)} in a directed graph, are not atomic with
+ * respect to updates.</li>
+ * </ul>
+ *
+ * <p>
+ * As with {@link AsSynchronizedGraph} the main use case is concurrent addition. A thread querying
+ * a vertex or an edge which another thread concurrently removes may observe an
+ * {@link IllegalArgumentException}. The vertex and edge suppliers must be thread-safe. Finally,
+ * the graph does not guarantee any iteration order.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class ConcurrentGraph<V, E>
+    extends
+    AbstractBaseGraph<V, E>
+{
+    private static final long serialVersionUID = -3862467128546287212L;
+
+    /**
+     * Default number of lock stripes per available processor.
+     */
+    public static final int DEFAULT_STRIPES_PER_PROCESSOR = 4;
+
+    private ReentrantLock[] stripes;
+
+    /**
+     * Construct a new graph with the default concurrency level.
+     *
+     * @param vertexSupplier the vertex supplier, can be null
+     * @param edgeSupplier the edge supplier, can be null
+     * @param type the graph type
+     *
+     * @throws IllegalArgumentException if the graph type is mixed
+     */
+    public ConcurrentGraph(Supplier<V> vertexSupplier, Supplier<E> edgeSupplier, GraphType type)
+    {
+        this(
+            vertexSupplier, edgeSupplier, type,
+            DEFAULT_STRIPES_PER_PROCESSOR * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Construct a new graph.
+     *
+     * @param vertexSupplier the vertex supplier, can be null
+     * @param edgeSupplier the edge supplier, can be null
+     * @param type the graph type
+     * @param concurrencyLevel the estimated number of concurrently updating threads, used to size
+     *        the lock stripes
+     *
+     * @throws IllegalArgumentException if the graph type is mixed or the concurrency level is not
+     *         positive
+     */
+    public ConcurrentGraph(
+        Supplier<V> vertexSupplier, Supplier<E> edgeSupplier, GraphType type,
+        int concurrencyLevel)
+    {
+        super(vertexSupplier, edgeSupplier, type);
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Concurrency level must be positive");
+        }
+        this.stripes = createStripes(concurrencyLevel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V addVertex()
+    {
+        Supplier<V> vertexSupplier = getVertexSupplier();
+        if (vertexSupplier == null) {
+            throw new UnsupportedOperationException("The graph contains no vertex supplier");
+        }
+        V v = vertexSupplier.get();
+        return addVertex(v) ? v : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addVertex(V v)
+    {
+        if (v == null) {
+            throw new NullPointerException();
+        }
+        ReentrantLock lock = stripeOf(v);
+        lock.lock();
+        try {
+            return super.addVertex(v);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E addEdge(V sourceVertex, V targetVertex)
+    {
+        assertVertexExist(sourceVertex);
+        assertVertexExist(targetVertex);
+
+        ReentrantLock first = firstStripeOf(sourceVertex, targetVertex);
+        ReentrantLock second = secondStripeOf(sourceVertex, targetVertex);
+        first.lock();
+        second.lock();
+        try {
+            return super.addEdge(sourceVertex, targetVertex);
+        } finally {
+            second.unlock();
+            first.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addEdge(V sourceVertex, V targetVertex, E e)
+    {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        assertVertexExist(sourceVertex);
+        assertVertexExist(targetVertex);
+
+        ReentrantLock first = firstStripeOf(sourceVertex, targetVertex);
+        ReentrantLock second = secondStripeOf(sourceVertex, targetVertex);
+        first.lock();
+        second.lock();
+        try {
+            if (containsEdge(e)) {
+                return false;
+            }
+            return super.addEdge(sourceVertex, targetVertex, e);
+        } finally {
+            second.unlock();
+            first.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E removeEdge(V sourceVertex, V targetVertex)
+    {
+        if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+            return null;
+        }
+        ReentrantLock first = firstStripeOf(sourceVertex, targetVertex);
+        ReentrantLock second = secondStripeOf(sourceVertex, targetVertex);
+        first.lock();
+        second.lock();
+        try {
+            return super.removeEdge(sourceVertex, targetVertex);
+        } finally {
+            second.unlock();
+            first.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeEdge(E e)
+    {
+        while (true) {
+            V source;
+            V target;
+            try {
+                source = getEdgeSource(e);
+                target = getEdgeTarget(e);
+            } catch (IllegalArgumentException ex) {
+                // not in graph or concurrently removed
+                return false;
+            }
+
+            ReentrantLock first = firstStripeOf(source, target);
+            ReentrantLock second = secondStripeOf(source, target);
+            first.lock();
+            second.lock();
+            try {
+                if (!containsEdge(e)) {
+                    return false;
+                }
+                // the edge might have been removed and added again with other endpoints
+                if (source.equals(getEdgeSource(e)) && target.equals(getEdgeTarget(e))) {
+                    return super.removeEdge(e);
+                }
+            } finally {
+                second.unlock();
+                first.unlock();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The touching edges are removed one by one. The vertex itself is removed atomically once it
+     * has no more touching edges.
+     */
+    @Override
+    public boolean removeVertex(V v)
+    {
+        ReentrantLock lock = stripeOf(v);
+        while (true) {
+            if (!containsVertex(v)) {
+                return false;
+            }
+            for (E e : new ArrayList<>(edgesOf(v))) {
+                removeEdge(e);
+            }
+
+            lock.lock();
+            try {
+                if (!containsVertex(v)) {
+                    return false;
+                }
+                // edges may have been concurrently added before we acquired the lock
+                if (edgesOf(v).isEmpty()) {
+                    return super.removeVertex(v);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns a shallow copy of this graph instance. Neither edges nor vertices are cloned. The
+     * copy is not an atomic snapshot of this graph if it is concurrently modified.
+     *
+     * @return a shallow copy of this graph.
+     *
+     * @throws RuntimeException in case the clone is not supported
+     */
+    @Override
+    public Object clone()
+    {
+        ConcurrentGraph<V, E> newGraph = TypeUtil.uncheckedCast(super.clone());
+        newGraph.stripes = createStripes(stripes.length);
+        return newGraph;
+    }
+
+    @Override
+    protected Specifics<V, E> createSpecifics(boolean directed)
+    {
+        if (directed) {
+            return new ConcurrentDirectedSpecifics<>(this);
+        } else {
+            return new ConcurrentUndirectedSpecifics<>(this);
+        }
+    }
+
+    @Override
+    protected IntrusiveEdgesSpecifics<V, E> createIntrusiveEdgesSpecifics(boolean weighted)
+    {
+        if (weighted) {
+            return new WeightedIntrusiveEdgesSpecifics<>(new ConcurrentHashMap<>());
+        } else {
+            return new UniformIntrusiveEdgesSpecifics<>(new ConcurrentHashMap<>());
+        }
+    }
+
+    private static ReentrantLock[] createStripes(int concurrencyLevel)
+    {
+        int size = Integer.highestOneBit(Math.max(1, concurrencyLevel - 1)) << 1;
+        ReentrantLock[] stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        return stripes;
+    }
+
+    private int stripeIndexOf(Object o)
+    {
+        int h = o.hashCode();
+        // spread the higher bits, as in HashMap
+        h ^= (h >>> 16);
+        return h & (stripes.length - 1);
+    }
+
+    private ReentrantLock stripeOf(Object o)
+    {
+        return stripes[stripeIndexOf(o)];
+    }
+
+    /*
+     * Locks of two vertices are always acquired in the order of their stripe indices, in order to
+     * avoid deadlocks.
+     */
+    private ReentrantLock firstStripeOf(Object u, Object v)
+    {
+        return stripes[Math.min(stripeIndexOf(u), stripeIndexOf(v))];
+    }
+
+    private ReentrantLock secondStripeOf(Object u, Object v)
+    {
+        return stripes[Math.max(stripeIndexOf(u), stripeIndexOf(v))];
+    }
+}
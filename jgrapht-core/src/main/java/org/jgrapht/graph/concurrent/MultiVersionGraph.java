@@ -0,0 +1,829 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.concurrent;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.locks.*;
+import java.util.function.*;
+
+/**
+ * A thread-safe graph which supports consistent snapshots for read-mostly concurrent workloads.
+ *
+ * <p>
+ * The graph keeps its whole structure, that is the vertex set, the edge set and the adjacency of
+ * each vertex, in persistent hash tries. An update never modifies the current version of the
+ * graph. Instead it creates a new version which shares all unchanged parts with the old one and
+ * publishes it atomically. Thus an update takes $O(\log n)$ time and memory, and
+ * {@link #snapshot()} takes constant time. The snapshot is an unmodifiable graph which never
+ * changes, so long running algorithms, such as shortest paths or connectivity, can run on it
+ * without any locking while other threads keep updating this graph.
+ *
+ * <p>
+ * Updates are serialized by a single lock, while queries never block. Each query on the graph
+ * itself is answered from the latest published version. The vertex set, the edge set and the edge
+ * sets returned by the adjacency queries are immutable views of the version at the time of the
+ * call. A sequence of queries, as executed by an algorithm, is only guaranteed to observe a
+ * consistent state of the graph when executed on a snapshot.
+ *
+ * <p>
+ * The edges of this graph are not intrusive. Since edge objects are shared between versions, the
+ * source, target and weight of an edge are stored inside the graph and not inside the edge object.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class MultiVersionGraph<V, E>
+    extends
+    AbstractGraph<V, E>
+    implements
+    Serializable
+{
+    private static final long serialVersionUID = 6924358106231739478L;
+
+    private static final String UNMODIFIABLE = "this graph is unmodifiable";
+    private static final String LOOPS_NOT_ALLOWED = "loops not allowed";
+
+    private final Supplier<V> vertexSupplier;
+    private final Supplier<E> edgeSupplier;
+    private final GraphType type;
+    private final ReentrantLock writeLock;
+    private volatile Snapshot<V, E> current;
+
+    /**
+     * Construct a new graph.
+     *
+     * @param vertexSupplier the vertex supplier, can be null
+     * @param edgeSupplier the edge supplier, can be null
+     * @param type the graph type
+     *
+     * @throws IllegalArgumentException if the graph type is mixed
+     */
+    public MultiVersionGraph(Supplier<V> vertexSupplier, Supplier<E> edgeSupplier, GraphType type)
+    {
+        Objects.requireNonNull(type, "Graph type cannot be null");
+        if (type.isMixed()) {
+            throw new IllegalArgumentException("Mixed graphs are not supported");
+        }
+        this.vertexSupplier = vertexSupplier;
+        this.edgeSupplier = edgeSupplier;
+        this.type = type.asModifiable();
+        this.writeLock = new ReentrantLock();
+        this.current = new Snapshot<>(
+            type.asUnmodifiable(), PersistentHashMap.empty(), PersistentHashMap.empty(), 0);
+    }
+
+    /**
+     * Get an immutable snapshot of the current version of the graph. The snapshot is created in
+     * constant time and is not affected by any subsequent update of this graph.
+     *
+     * @return an unmodifiable graph containing the current version of this graph
+     */
+    public Graph<V, E> snapshot()
+    {
+        return current;
+    }
+
+    /**
+     * Get the current version number of the graph. The version number starts from zero and is
+     * incremented by each update which modifies the graph.
+     *
+     * @return the current version number
+     */
+    public long getVersion()
+    {
+        return current.version;
+    }
+
+    @Override
+    public Set<E> getAllEdges(V sourceVertex, V targetVertex)
+    {
+        return current.getAllEdges(sourceVertex, targetVertex);
+    }
+
+    @Override
+    public E getEdge(V sourceVertex, V targetVertex)
+    {
+        return current.getEdge(sourceVertex, targetVertex);
+    }
+
+    @Override
+    public Supplier<V> getVertexSupplier()
+    {
+        return vertexSupplier;
+    }
+
+    @Override
+    public Supplier<E> getEdgeSupplier()
+    {
+        return edgeSupplier;
+    }
+
+    @Override
+    public E addEdge(V sourceVertex, V targetVertex)
+    {
+        if (edgeSupplier == null) {
+            throw new UnsupportedOperationException("The graph contains no edge supplier");
+        }
+        writeLock.lock();
+        try {
+            assertVertexExist(sourceVertex);
+            assertVertexExist(targetVertex);
+            if (!isEdgeAllowed(sourceVertex, targetVertex)) {
+                return null;
+            }
+            E e = edgeSupplier.get();
+            if (current.edges.containsKey(e)) {
+                return null;
+            }
+            current = current.withEdge(e, sourceVertex, targetVertex, Graph.DEFAULT_EDGE_WEIGHT);
+            return e;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean addEdge(V sourceVertex, V targetVertex, E e)
+    {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        writeLock.lock();
+        try {
+            if (current.edges.containsKey(e)) {
+                return false;
+            }
+            assertVertexExist(sourceVertex);
+            assertVertexExist(targetVertex);
+            if (!isEdgeAllowed(sourceVertex, targetVertex)) {
+                return false;
+            }
+            current = current.withEdge(e, sourceVertex, targetVertex, Graph.DEFAULT_EDGE_WEIGHT);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public V addVertex()
+    {
+        if (vertexSupplier == null) {
+            throw new UnsupportedOperationException("The graph contains no vertex supplier");
+        }
+        writeLock.lock();
+        try {
+            V v = vertexSupplier.get();
+            if (current.vertices.containsKey(v)) {
+                return null;
+            }
+            current = current.withVertex(v);
+            return v;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean addVertex(V v)
+    {
+        if (v == null) {
+            throw new NullPointerException();
+        }
+        writeLock.lock();
+        try {
+            if (current.vertices.containsKey(v)) {
+                return false;
+            }
+            current = current.withVertex(v);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean containsEdge(E e)
+    {
+        return current.containsEdge(e);
+    }
+
+    @Override
+    public boolean containsVertex(V v)
+    {
+        return current.containsVertex(v);
+    }
+
+    @Override
+    public Set<E> edgeSet()
+    {
+        return current.edgeSet();
+    }
+
+    @Override
+    public int degreeOf(V vertex)
+    {
+        return current.degreeOf(vertex);
+    }
+
+    @Override
+    public Set<E> edgesOf(V vertex)
+    {
+        return current.edgesOf(vertex);
+    }
+
+    @Override
+    public int inDegreeOf(V vertex)
+    {
+        return current.inDegreeOf(vertex);
+    }
+
+    @Override
+    public Set<E> incomingEdgesOf(V vertex)
+    {
+        return current.incomingEdgesOf(vertex);
+    }
+
+    @Override
+    public int outDegreeOf(V vertex)
+    {
+        return current.outDegreeOf(vertex);
+    }
+
+    @Override
+    public Set<E> outgoingEdgesOf(V vertex)
+    {
+        return current.outgoingEdgesOf(vertex);
+    }
+
+    @Override
+    public E removeEdge(V sourceVertex, V targetVertex)
+    {
+        writeLock.lock();
+        try {
+            E e = current.getEdge(sourceVertex, targetVertex);
+            if (e != null) {
+                current = current.withoutEdge(e);
+            }
+            return e;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeEdge(E e)
+    {
+        writeLock.lock();
+        try {
+            if (!current.containsEdge(e)) {
+                return false;
+            }
+            current = current.withoutEdge(e);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The vertex and all its touching edges are removed atomically, that is no version of the
+     * graph contains the vertex without some of its edges.
+     */
+    @Override
+    public boolean removeVertex(V v)
+    {
+        writeLock.lock();
+        try {
+            if (!current.containsVertex(v)) {
+                return false;
+            }
+            current = current.withoutVertex(v);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Set<V> vertexSet()
+    {
+        return current.vertexSet();
+    }
+
+    @Override
+    public V getEdgeSource(E e)
+    {
+        return current.getEdgeSource(e);
+    }
+
+    @Override
+    public V getEdgeTarget(E e)
+    {
+        return current.getEdgeTarget(e);
+    }
+
+    @Override
+    public GraphType getType()
+    {
+        return type;
+    }
+
+    @Override
+    public double getEdgeWeight(E e)
+    {
+        return current.getEdgeWeight(e);
+    }
+
+    @Override
+    public void setEdgeWeight(E e, double weight)
+    {
+        if (!type.isWeighted()) {
+            throw new UnsupportedOperationException("Graph is not weighted");
+        }
+        writeLock.lock();
+        try {
+            Edge<V> edge = current.edges.get(e);
+            if (edge == null) {
+                throw new IllegalArgumentException("no such edge in graph: " + e);
+            }
+            if (edge.weight != weight) {
+                current = current.withEdgeWeight(e, edge, weight);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private boolean isEdgeAllowed(V sourceVertex, V targetVertex)
+    {
+        if (!type.isAllowingSelfLoops() && sourceVertex.equals(targetVertex)) {
+            throw new IllegalArgumentException(LOOPS_NOT_ALLOWED);
+        }
+        return type.isAllowingMultipleEdges()
+            || current.getEdge(sourceVertex, targetVertex) == null;
+    }
+
+    /**
+     * The endpoints and the weight of an edge.
+     */
+    private static final class Edge<V>
+        implements
+        Serializable
+    {
+        private static final long serialVersionUID = -1375398427129306416L;
+
+        final V source;
+        final V target;
+        final double weight;
+
+        Edge(V source, V target, double weight)
+        {
+            this.source = source;
+            this.target = target;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * The adjacency of a vertex. In undirected graphs both the outgoing and the incoming edges are
+     * the touching edges of the vertex.
+     */
+    private static final class Adjacency<E>
+        implements
+        Serializable
+    {
+        private static final long serialVersionUID = 8254173630281695103L;
+
+        @SuppressWarnings("rawtypes")
+        static final Adjacency EMPTY =
+            new Adjacency<>(PersistentHashMap.empty(), PersistentHashMap.empty(), 0);
+
+        final PersistentHashMap<E, Boolean> outgoing;
+        final PersistentHashMap<E, Boolean> incoming;
+        final int loops;
+
+        Adjacency(
+            PersistentHashMap<E, Boolean> outgoing, PersistentHashMap<E, Boolean> incoming,
+            int loops)
+        {
+            this.outgoing = outgoing;
+            this.incoming = incoming;
+            this.loops = loops;
+        }
+    }
+
+    /**
+     * An unmodifiable set view of the keys of a persistent map.
+     */
+    private static final class KeySet<K>
+        extends
+        AbstractSet<K>
+        implements
+        Serializable
+    {
+        private static final long serialVersionUID = -3016712945378236840L;
+
+        private final PersistentHashMap<K, ?> map;
+
+        KeySet(PersistentHashMap<K, ?> map)
+        {
+            this.map = map;
+        }
+
+        @Override
+        public Iterator<K> iterator()
+        {
+            return map.keyIterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return map.size();
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            return map.containsKey(o);
+        }
+    }
+
+    /**
+     * An immutable version of the graph.
+     */
+    private static final class Snapshot<V, E>
+        extends
+        AbstractGraph<V, E>
+        implements
+        Serializable
+    {
+        private static final long serialVersionUID = -8263918372409716628L;
+
+        final GraphType type;
+        final PersistentHashMap<V, Adjacency<E>> vertices;
+        final PersistentHashMap<E, Edge<V>> edges;
+        final long version;
+
+        Snapshot(
+            GraphType type, PersistentHashMap<V, Adjacency<E>> vertices,
+            PersistentHashMap<E, Edge<V>> edges, long version)
+        {
+            this.type = type;
+            this.vertices = vertices;
+            this.edges = edges;
+            this.version = version;
+        }
+
+        @SuppressWarnings("unchecked")
+        Snapshot<V, E> withVertex(V v)
+        {
+            return new Snapshot<>(type, vertices.put(v, Adjacency.EMPTY), edges, version + 1);
+        }
+
+        Snapshot<V, E> withEdge(E e, V source, V target, double weight)
+        {
+            PersistentHashMap<V, Adjacency<E>> newVertices = vertices;
+            if (type.isDirected()) {
+                Adjacency<E> s = newVertices.get(source);
+                newVertices = newVertices
+                    .put(source, new Adjacency<>(s.outgoing.put(e, true), s.incoming, 0));
+                Adjacency<E> t = newVertices.get(target);
+                newVertices = newVertices
+                    .put(target, new Adjacency<>(t.outgoing, t.incoming.put(e, true), 0));
+            } else if (source.equals(target)) {
+                Adjacency<E> s = newVertices.get(source);
+                PersistentHashMap<E, Boolean> touching = s.outgoing.put(e, true);
+                newVertices =
+                    newVertices.put(source, new Adjacency<>(touching, touching, s.loops + 1));
+            } else {
+                newVertices = withTouchingEdge(newVertices, source, e);
+                newVertices = withTouchingEdge(newVertices, target, e);
+            }
+            return new Snapshot<>(
+                type, newVertices, edges.put(e, new Edge<>(source, target, weight)), version + 1);
+        }
+
+        Snapshot<V, E> withEdgeWeight(E e, Edge<V> edge, double weight)
+        {
+            return new Snapshot<>(
+                type, vertices, edges.put(e, new Edge<>(edge.source, edge.target, weight)),
+                version + 1);
+        }
+
+        Snapshot<V, E> withoutEdge(E e)
+        {
+            Edge<V> edge = edges.get(e);
+            PersistentHashMap<V, Adjacency<E>> newVertices =
+                removeFromAdjacency(vertices, e, edge);
+            return new Snapshot<>(type, newVertices, edges.remove(e), version + 1);
+        }
+
+        Snapshot<V, E> withoutVertex(V v)
+        {
+            PersistentHashMap<V, Adjacency<E>> newVertices = vertices;
+            PersistentHashMap<E, Edge<V>> newEdges = edges;
+            for (E e : edgesOf(v)) {
+                newVertices = removeFromAdjacency(newVertices, e, edges.get(e));
+                newEdges = newEdges.remove(e);
+            }
+            return new Snapshot<>(type, newVertices.remove(v), newEdges, version + 1);
+        }
+
+        private PersistentHashMap<V, Adjacency<E>> withTouchingEdge(
+            PersistentHashMap<V, Adjacency<E>> vertices, V v, E e)
+        {
+            Adjacency<E> a = vertices.get(v);
+            PersistentHashMap<E, Boolean> touching = a.outgoing.put(e, true);
+            return vertices.put(v, new Adjacency<>(touching, touching, a.loops));
+        }
+
+        private PersistentHashMap<V, Adjacency<E>> removeFromAdjacency(
+            PersistentHashMap<V, Adjacency<E>> vertices, E e, Edge<V> edge)
+        {
+            if (type.isDirected()) {
+                Adjacency<E> s = vertices.get(edge.source);
+                vertices =
+                    vertices.put(edge.source, new Adjacency<>(s.outgoing.remove(e), s.incoming, 0));
+                Adjacency<E> t = vertices.get(edge.target);
+                vertices =
+                    vertices.put(edge.target, new Adjacency<>(t.outgoing, t.incoming.remove(e), 0));
+                return vertices;
+            }
+            if (edge.source.equals(edge.target)) {
+                Adjacency<E> s = vertices.get(edge.source);
+                PersistentHashMap<E, Boolean> touching = s.outgoing.remove(e);
+                return vertices.put(edge.source, new Adjacency<>(touching, touching, s.loops - 1));
+            }
+            for (V v : Arrays.asList(edge.source, edge.target)) {
+                Adjacency<E> a = vertices.get(v);
+                PersistentHashMap<E, Boolean> touching = a.outgoing.remove(e);
+                vertices = vertices.put(v, new Adjacency<>(touching, touching, a.loops));
+            }
+            return vertices;
+        }
+
+        @Override
+        public Set<E> getAllEdges(V sourceVertex, V targetVertex)
+        {
+            Adjacency<E> a = vertices.get(sourceVertex);
+            if (a == null || !vertices.containsKey(targetVertex)) {
+                return null;
+            }
+            ArrayUnenforcedSet<E> result = new ArrayUnenforcedSet<>();
+            Iterator<E> it = a.outgoing.keyIterator();
+            while (it.hasNext()) {
+                E e = it.next();
+                if (isEdgeBetween(e, sourceVertex, targetVertex)) {
+                    result.add(e);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public E getEdge(V sourceVertex, V targetVertex)
+        {
+            Adjacency<E> a = vertices.get(sourceVertex);
+            if (a == null || !vertices.containsKey(targetVertex)) {
+                return null;
+            }
+            Iterator<E> it = a.outgoing.keyIterator();
+            while (it.hasNext()) {
+                E e = it.next();
+                if (isEdgeBetween(e, sourceVertex, targetVertex)) {
+                    return e;
+                }
+            }
+            return null;
+        }
+
+        private boolean isEdgeBetween(E e, V sourceVertex, V targetVertex)
+        {
+            Edge<V> edge = edges.get(e);
+            if (edge.source.equals(sourceVertex) && edge.target.equals(targetVertex)) {
+                return true;
+            }
+            return type.isUndirected() && edge.source.equals(targetVertex)
+                && edge.target.equals(sourceVertex);
+        }
+
+        @Override
+        public Supplier<V> getVertexSupplier()
+        {
+            return null;
+        }
+
+        @Override
+        public Supplier<E> getEdgeSupplier()
+        {
+            return null;
+        }
+
+        @Override
+        public E addEdge(V sourceVertex, V targetVertex)
+        {
+            throw new UnsupportedOperationException(UNMODIFIABLE);
+        }
+
+        @Override
+        public boolean addEdge(V sourceVertex, V targetVertex, E e)
+        {
+            throw new UnsupportedOperationException(UNMODIFIABLE);
+        }
+
+        @Override
+        public V addVertex()
+        {
+            throw new UnsupportedOperationException(UNMODIFIABLE);
+        }
+
+        @Override
+        public boolean addVertex(V v)
+        {
+            throw new UnsupportedOperationException(UNMODIFIABLE);
+        }
+
+        @Override
+        public boolean containsEdge(E e)
+        {
+            return edges.containsKey(e);
+        }
+
+        @Override
+        public boolean containsVertex(V v)
+        {
+            return vertices.containsKey(v);
+        }
+
+        @Override
+        public Set<E> edgeSet()
+        {
+            return new KeySet<>(edges);
+        }
+
+        @Override
+        public int degreeOf(V vertex)
+        {
+            Adjacency<E> a = adjacencyOf(vertex);
+            if (type.isDirected()) {
+                return a.outgoing.size() + a.incoming.size();
+            }
+            return a.outgoing.size() + a.loops;
+        }
+
+        @Override
+        public Set<E> edgesOf(V vertex)
+        {
+            Adjacency<E> a = adjacencyOf(vertex);
+            if (type.isUndirected()) {
+                return new KeySet<>(a.outgoing);
+            }
+            ArrayUnenforcedSet<E> result =
+                new ArrayUnenforcedSet<>(a.outgoing.size() + a.incoming.size());
+            Iterator<E> it = a.outgoing.keyIterator();
+            while (it.hasNext()) {
+                result.add(it.next());
+            }
+            it = a.incoming.keyIterator();
+            while (it.hasNext()) {
+                E e = it.next();
+                // self-loops have already been added as outgoing edges
+                if (!a.outgoing.containsKey(e)) {
+                    result.add(e);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public int inDegreeOf(V vertex)
+        {
+            Adjacency<E> a = adjacencyOf(vertex);
+            return type.isDirected() ? a.incoming.size() : a.incoming.size() + a.loops;
+        }
+
+        @Override
+        public Set<E> incomingEdgesOf(V vertex)
+        {
+            return new KeySet<>(adjacencyOf(vertex).incoming);
+        }
+
+        @Override
+        public int outDegreeOf(V vertex)
+        {
+            Adjacency<E> a = adjacencyOf(vertex);
+            return type.isDirected() ? a.outgoing.size() : a.outgoing.size() + a.loops;
+        }
+
+        @Override
+        public Set<E> outgoingEdgesOf(V vertex)
+        {
+            return new KeySet<>(adjacencyOf(vertex).outgoing);
+        }
+
+        @Override
+        public E removeEdge(V sourceVertex, V targetVertex)
+        {
+            throw new UnsupportedOperationException(UNMODIFIABLE);
+        }
+
+        @Override
+        public boolean removeEdge(E e)
+        {
+            throw new UnsupportedOperationException(UNMODIFIABLE);
+        }
+
+        @Override
+        public boolean removeVertex(V v)
+        {
+            throw new UnsupportedOperationException(UNMODIFIABLE);
+        }
+
+        @Override
+        public Set<V> vertexSet()
+        {
+            return new KeySet<>(vertices);
+        }
+
+        @Override
+        public V getEdgeSource(E e)
+        {
+            return edgeOf(e).source;
+        }
+
+        @Override
+        public V getEdgeTarget(E e)
+        {
+            return edgeOf(e).target;
+        }
+
+        @Override
+        public GraphType getType()
+        {
+            return type;
+        }
+
+        @Override
+        public double getEdgeWeight(E e)
+        {
+            return edgeOf(e).weight;
+        }
+
+        @Override
+        public void setEdgeWeight(E e, double weight)
+        {
+            throw new UnsupportedOperationException(UNMODIFIABLE);
+        }
+
+        private Adjacency<E> adjacencyOf(V vertex)
+        {
+            if (vertex == null) {
+                throw new NullPointerException();
+            }
+            Adjacency<E> a = vertices.get(vertex);
+            if (a == null) {
+                throw new IllegalArgumentException("no such vertex in graph: " + vertex);
+            }
+            return a;
+        }
+
+        private Edge<V> edgeOf(E e)
+        {
+            if (e == null) {
+                throw new NullPointerException();
+            }
+            Edge<V> edge = edges.get(e);
+            if (edge == null) {
+                throw new IllegalArgumentException("no such edge in graph: " + e);
+            }
+            return edge;
+        }
+    }
+}
@@ -0,0 +1,467 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.concurrent;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * An immutable hash map implemented as a hash array mapped trie.
+ *
+ * <p>
+ * Updates never modify an existing map. Instead they return a new map which shares all unchanged
+ * parts of the trie with the old one, copying only the nodes on the path from the root to the
+ * modified entry. Thus lookups and updates take $O(\log_{32} n)$ time and an update allocates
+ * $O(\log_{32} n)$ memory. Null keys are not permitted.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ *
+ * @author agent
+ */
+final class PersistentHashMap<K, V>
+    implements
+    Serializable
+{
+    private static final long serialVersionUID = 4286930415834871362L;
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final Object NOT_FOUND = new Object();
+
+    @SuppressWarnings("rawtypes")
+    private static final PersistentHashMap EMPTY = new PersistentHashMap<>(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(Node root, int size)
+    {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Get the empty map.
+     *
+     * @return the empty map
+     * @param <K> the key type
+     * @param <V> the value type
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashMap<K, V> empty()
+    {
+        return EMPTY;
+    }
+
+    /**
+     * Get the number of entries of the map.
+     *
+     * @return the number of entries of the map
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * Whether the map contains an entry for a key.
+     *
+     * @param key the key
+     * @return true if the map contains an entry for the key, false otherwise
+     */
+    boolean containsKey(Object key)
+    {
+        return key != null && root != null && root.find(hash(key), 0, key) != NOT_FOUND;
+    }
+
+    /**
+     * Get the value associated with a key.
+     *
+     * @param key the key
+     * @return the value or null if the map contains no entry for the key
+     */
+    @SuppressWarnings("unchecked")
+    V get(Object key)
+    {
+        if (key == null || root == null) {
+            return null;
+        }
+        Object value = root.find(hash(key), 0, key);
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    /**
+     * Get a map which associates a key with a value and contains all other entries of this map.
+     *
+     * @param key the key
+     * @param value the value
+     * @return the new map, or this map if it already associates the key with the same value
+     */
+    PersistentHashMap<K, V> put(K key, V value)
+    {
+        Objects.requireNonNull(key);
+        Node base = root == null ? BitmapNode.EMPTY : root;
+        boolean[] added = new boolean[1];
+        Node newRoot = base.put(hash(key), 0, key, value, added);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Get a map which contains all entries of this map except for the entry of a key.
+     *
+     * @param key the key
+     * @return the new map, or this map if it contains no entry for the key
+     */
+    PersistentHashMap<K, V> remove(Object key)
+    {
+        if (key == null || root == null) {
+            return this;
+        }
+        Node newRoot = root.remove(hash(key), 0, key);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    /**
+     * Get an iterator over the keys of the map.
+     *
+     * @return an iterator over the keys of the map
+     */
+    Iterator<K> keyIterator()
+    {
+        return new EntryIterator<>(root, true);
+    }
+
+    /**
+     * Get an iterator over the values of the map.
+     *
+     * @return an iterator over the values of the map
+     */
+    Iterator<V> valueIterator()
+    {
+        return new EntryIterator<>(root, false);
+    }
+
+    private static int hash(Object key)
+    {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /*
+     * Each node stores its entries as consecutive key-value pairs. In bitmap nodes, a pair with a
+     * null key points to a child node.
+     */
+    private abstract static class Node
+        implements
+        Serializable
+    {
+        private static final long serialVersionUID = 2201617402373932145L;
+
+        final Object[] array;
+
+        Node(Object[] array)
+        {
+            this.array = array;
+        }
+
+        abstract Object find(int hash, int shift, Object key);
+
+        abstract Node put(int hash, int shift, Object key, Object value, boolean[] added);
+
+        abstract Node remove(int hash, int shift, Object key);
+    }
+
+    private static final class BitmapNode
+        extends
+        Node
+    {
+        private static final long serialVersionUID = -4000370262380981574L;
+
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+
+        BitmapNode(int bitmap, Object[] array)
+        {
+            super(array);
+            this.bitmap = bitmap;
+        }
+
+        @Override
+        Object find(int hash, int shift, Object key)
+        {
+            int bit = bitOf(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return NOT_FOUND;
+            }
+            int i = 2 * indexOf(bit);
+            Object k = array[i];
+            if (k == null) {
+                return ((Node) array[i + 1]).find(hash, shift + BITS, key);
+            }
+            return key.equals(k) ? array[i + 1] : NOT_FOUND;
+        }
+
+        @Override
+        Node put(int hash, int shift, Object key, Object value, boolean[] added)
+        {
+            int bit = bitOf(hash, shift);
+            int i = 2 * indexOf(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, i);
+                newArray[i] = key;
+                newArray[i + 1] = value;
+                System.arraycopy(array, i, newArray, i + 2, array.length - i);
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, newArray);
+            }
+
+            Object k = array[i];
+            Object v = array[i + 1];
+            if (k == null) {
+                Node child = ((Node) v).put(hash, shift + BITS, key, value, added);
+                return child == v ? this : replace(i, null, child);
+            }
+            if (key.equals(k)) {
+                return v == value ? this : replace(i, k, value);
+            }
+            added[0] = true;
+            Node child = createNode(shift + BITS, k, v, key, hash, value);
+            return replace(i, null, child);
+        }
+
+        @Override
+        Node remove(int hash, int shift, Object key)
+        {
+            int bit = bitOf(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int i = 2 * indexOf(bit);
+            Object k = array[i];
+            if (k == null) {
+                Node child = (Node) array[i + 1];
+                Node newChild = child.remove(hash, shift + BITS, key);
+                if (newChild == child) {
+                    return this;
+                }
+                if (newChild != null) {
+                    return replace(i, null, newChild);
+                }
+            } else if (!key.equals(k)) {
+                return this;
+            }
+
+            if (bitmap == bit) {
+                return null;
+            }
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            System.arraycopy(array, i + 2, newArray, i, array.length - i - 2);
+            return new BitmapNode(bitmap ^ bit, newArray);
+        }
+
+        private BitmapNode replace(int i, Object key, Object value)
+        {
+            Object[] newArray = array.clone();
+            newArray[i] = key;
+            newArray[i + 1] = value;
+            return new BitmapNode(bitmap, newArray);
+        }
+
+        private int indexOf(int bit)
+        {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        private static int bitOf(int hash, int shift)
+        {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+    }
+
+    private static final class CollisionNode
+        extends
+        Node
+    {
+        private static final long serialVersionUID = 7467312709523581652L;
+
+        private final int hash;
+
+        CollisionNode(int hash, Object[] array)
+        {
+            super(array);
+            this.hash = hash;
+        }
+
+        @Override
+        Object find(int hash, int shift, Object key)
+        {
+            int i = indexOf(key);
+            return i < 0 ? NOT_FOUND : array[i + 1];
+        }
+
+        @Override
+        Node put(int hash, int shift, Object key, Object value, boolean[] added)
+        {
+            if (hash != this.hash) {
+                // nest this node inside a bitmap node which distinguishes the two hashes
+                BitmapNode parent = new BitmapNode(
+                    BitmapNode.bitOf(this.hash, shift), new Object[] { null, this });
+                return parent.put(hash, shift, key, value, added);
+            }
+            int i = indexOf(key);
+            if (i >= 0) {
+                if (array[i + 1] == value) {
+                    return this;
+                }
+                Object[] newArray = array.clone();
+                newArray[i + 1] = value;
+                return new CollisionNode(hash, newArray);
+            }
+            Object[] newArray = Arrays.copyOf(array, array.length + 2);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            added[0] = true;
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        Node remove(int hash, int shift, Object key)
+        {
+            int i = indexOf(key);
+            if (i < 0) {
+                return this;
+            }
+            if (array.length == 2) {
+                return null;
+            }
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            System.arraycopy(array, i + 2, newArray, i, array.length - i - 2);
+            return new CollisionNode(hash, newArray);
+        }
+
+        private int indexOf(Object key)
+        {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static Node createNode(
+        int shift, Object key1, Object value1, Object key2, int hash2, Object value2)
+    {
+        int hash1 = hash(key1);
+        if (hash1 == hash2) {
+            return new CollisionNode(hash1, new Object[] { key1, value1, key2, value2 });
+        }
+        boolean[] added = new boolean[1];
+        return BitmapNode.EMPTY
+            .put(hash1, shift, key1, value1, added).put(hash2, shift, key2, value2, added);
+    }
+
+    /**
+     * Depth-first iterator over the entries of a trie.
+     */
+    private static class EntryIterator<T>
+        implements
+        Iterator<T>
+    {
+        private final boolean keys;
+        private Object[][] stack;
+        private int[] positions;
+        private int depth;
+        private Object next;
+        private boolean hasNext;
+
+        EntryIterator(Node root, boolean keys)
+        {
+            this.keys = keys;
+            this.stack = new Object[8][];
+            this.positions = new int[8];
+            this.depth = -1;
+            if (root != null) {
+                push(root.array);
+            }
+            advance();
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return hasNext;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next()
+        {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            T result = (T) next;
+            advance();
+            return result;
+        }
+
+        private void push(Object[] array)
+        {
+            if (++depth == stack.length) {
+                stack = Arrays.copyOf(stack, 2 * depth);
+                positions = Arrays.copyOf(positions, 2 * depth);
+            }
+            stack[depth] = array;
+            positions[depth] = 0;
+        }
+
+        private void advance()
+        {
+            while (depth >= 0) {
+                Object[] array = stack[depth];
+                int i = positions[depth];
+                if (i == array.length) {
+                    depth--;
+                    continue;
+                }
+                positions[depth] = i + 2;
+                if (array[i] == null) {
+                    push(((Node) array[i + 1]).array);
+                    continue;
+                }
+                next = keys ? array[i] : array[i + 1];
+                hasNext = true;
+                return;
+            }
+            next = null;
+            hasNext = false;
+        }
+    }
+}
@@ -0,0 +1,411 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.primitive;
+
+import org.jgrapht.*;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * The base implementation of the {@link IntGraph} interface, backed by primitive arrays.
+ *
+ * <p>
+ * Edge endpoints and weights are stored in arrays indexed by the edge. The adjacency of each
+ * vertex is an <code>int[]</code> array of edges which grows on demand. Directed graphs keep two
+ * such arrays per vertex, one for outgoing and one for incoming edges, while undirected graphs keep
+ * a single array with all touching edges. All arrays can be presized using the expected number of
+ * vertices and edges in order to avoid any reallocation while the graph is being built.
+ *
+ * <p>
+ * Vertices and edges cannot be removed. The numbering of vertices and edges is therefore always
+ * dense.
+ *
+ * @author agent
+ */
+public abstract class AbstractIntGraph
+    implements
+    IntGraph,
+    Serializable
+{
+    private static final long serialVersionUID = 4571549722430263395L;
+
+    private static final int[] EMPTY = new int[0];
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int DEFAULT_ADJACENCY_CAPACITY = 4;
+
+    private final boolean directed;
+    private final boolean weighted;
+
+    private int n;
+    private int[][] out;
+    private int[] outSize;
+    private int[][] in;
+    private int[] inSize;
+    private int[] loops;
+
+    private int m;
+    private int[] edgeSource;
+    private int[] edgeTarget;
+    private double[] edgeWeight;
+
+    /**
+     * Create a new graph.
+     *
+     * @param directed whether the graph is directed
+     * @param weighted whether the graph is weighted
+     * @param expectedVertices the expected number of vertices
+     * @param expectedEdges the expected number of edges
+     */
+    protected AbstractIntGraph(
+        boolean directed, boolean weighted, int expectedVertices, int expectedEdges)
+    {
+        if (expectedVertices < 0 || expectedEdges < 0) {
+            throw new IllegalArgumentException("Expected sizes must be non-negative");
+        }
+        this.directed = directed;
+        this.weighted = weighted;
+
+        this.out = new int[expectedVertices][];
+        this.outSize = new int[expectedVertices];
+        if (directed) {
+            this.in = new int[expectedVertices][];
+            this.inSize = new int[expectedVertices];
+        }
+        this.loops = new int[expectedVertices];
+
+        this.edgeSource = new int[expectedEdges];
+        this.edgeTarget = new int[expectedEdges];
+        this.edgeWeight = weighted ? new double[expectedEdges] : null;
+    }
+
+    @Override
+    public boolean isDirected()
+    {
+        return directed;
+    }
+
+    @Override
+    public boolean isWeighted()
+    {
+        return weighted;
+    }
+
+    @Override
+    public int vertexCount()
+    {
+        return n;
+    }
+
+    @Override
+    public int edgeCount()
+    {
+        return m;
+    }
+
+    @Override
+    public int addVertex()
+    {
+        if (n == out.length) {
+            int capacity = grow(n);
+            out = Arrays.copyOf(out, capacity);
+            outSize = Arrays.copyOf(outSize, capacity);
+            if (directed) {
+                in = Arrays.copyOf(in, capacity);
+                inSize = Arrays.copyOf(inSize, capacity);
+            }
+            loops = Arrays.copyOf(loops, capacity);
+        }
+        out[n] = EMPTY;
+        if (directed) {
+            in[n] = EMPTY;
+        }
+        return n++;
+    }
+
+    @Override
+    public int addEdge(int source, int target)
+    {
+        assertVertexExist(source);
+        assertVertexExist(target);
+
+        if (m == edgeSource.length) {
+            int capacity = grow(m);
+            edgeSource = Arrays.copyOf(edgeSource, capacity);
+            edgeTarget = Arrays.copyOf(edgeTarget, capacity);
+            if (weighted) {
+                edgeWeight = Arrays.copyOf(edgeWeight, capacity);
+            }
+        }
+
+        int e = m++;
+        edgeSource[e] = source;
+        edgeTarget[e] = target;
+        if (weighted) {
+            edgeWeight[e] = Graph.DEFAULT_EDGE_WEIGHT;
+        }
+
+        out[source] = append(out[source], outSize[source]++, e);
+        if (directed) {
+            in[target] = append(in[target], inSize[target]++, e);
+        } else if (source != target) {
+            out[target] = append(out[target], outSize[target]++, e);
+        }
+        if (source == target) {
+            loops[source]++;
+        }
+        return e;
+    }
+
+    @Override
+    public int addEdge(int source, int target, double weight)
+    {
+        if (!weighted) {
+            throw new UnsupportedOperationException("Graph is not weighted");
+        }
+        int e = addEdge(source, target);
+        edgeWeight[e] = weight;
+        return e;
+    }
+
+    @Override
+    public int getEdgeSource(int e)
+    {
+        assertEdgeExist(e);
+        return edgeSource[e];
+    }
+
+    @Override
+    public int getEdgeTarget(int e)
+    {
+        assertEdgeExist(e);
+        return edgeTarget[e];
+    }
+
+    @Override
+    public double getEdgeWeight(int e)
+    {
+        assertEdgeExist(e);
+        return weighted ? edgeWeight[e] : Graph.DEFAULT_EDGE_WEIGHT;
+    }
+
+    @Override
+    public void setEdgeWeight(int e, double weight)
+    {
+        if (!weighted) {
+            throw new UnsupportedOperationException("Graph is not weighted");
+        }
+        assertEdgeExist(e);
+        edgeWeight[e] = weight;
+    }
+
+    @Override
+    public int getEdge(int source, int target)
+    {
+        if (!containsVertex(source) || !containsVertex(target)) {
+            return -1;
+        }
+        int[] row = out[source];
+        int size = outSize[source];
+        for (int i = 0; i < size; i++) {
+            int e = row[i];
+            int s = edgeSource[e];
+            int t = edgeTarget[e];
+            if ((s == source && t == target) || (!directed && s == target && t == source)) {
+                return e;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int degreeOf(int v)
+    {
+        assertVertexExist(v);
+        if (directed) {
+            return outSize[v] + inSize[v];
+        }
+        return outSize[v] + loops[v];
+    }
+
+    @Override
+    public int inDegreeOf(int v)
+    {
+        if (directed) {
+            assertVertexExist(v);
+            return inSize[v];
+        }
+        return degreeOf(v);
+    }
+
+    @Override
+    public int outDegreeOf(int v)
+    {
+        if (directed) {
+            assertVertexExist(v);
+            return outSize[v];
+        }
+        return degreeOf(v);
+    }
+
+    @Override
+    public int loopCountOf(int v)
+    {
+        assertVertexExist(v);
+        return loops[v];
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt outgoingEdgesOf(int v)
+    {
+        assertVertexExist(v);
+        return new RowIterator(out[v], outSize[v], -1);
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt incomingEdgesOf(int v)
+    {
+        assertVertexExist(v);
+        if (directed) {
+            return new RowIterator(in[v], inSize[v], -1);
+        }
+        return new RowIterator(out[v], outSize[v], -1);
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt successorsOf(int v)
+    {
+        assertVertexExist(v);
+        return new RowIterator(out[v], outSize[v], v);
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt predecessorsOf(int v)
+    {
+        assertVertexExist(v);
+        if (directed) {
+            return new RowIterator(in[v], inSize[v], v);
+        }
+        return new RowIterator(out[v], outSize[v], v);
+    }
+
+    /**
+     * Returns whether a vertex exists in the graph.
+     *
+     * @param v the vertex
+     * @return true if the vertex exists, false otherwise
+     */
+    public boolean containsVertex(int v)
+    {
+        return v >= 0 && v < n;
+    }
+
+    /**
+     * Returns whether an edge exists in the graph.
+     *
+     * @param e the edge
+     * @return true if the edge exists, false otherwise
+     */
+    public boolean containsEdge(int e)
+    {
+        return e >= 0 && e < m;
+    }
+
+    /**
+     * Ensures that the specified vertex exists in this graph, or else throws exception.
+     *
+     * @param v the vertex
+     * @throws IllegalArgumentException if the vertex does not exist
+     */
+    protected void assertVertexExist(int v)
+    {
+        if (v < 0 || v >= n) {
+            throw new IllegalArgumentException("no such vertex in graph: " + v);
+        }
+    }
+
+    /**
+     * Ensures that the specified edge exists in this graph, or else throws exception.
+     *
+     * @param e the edge
+     * @throws IllegalArgumentException if the edge does not exist
+     */
+    protected void assertEdgeExist(int e)
+    {
+        if (e < 0 || e >= m) {
+            throw new IllegalArgumentException("no such edge in graph: " + e);
+        }
+    }
+
+    private static int[] append(int[] row, int size, int e)
+    {
+        if (size == row.length) {
+            row = Arrays.copyOf(row, Math.max(DEFAULT_ADJACENCY_CAPACITY, 2 * size));
+        }
+        row[size] = e;
+        return row;
+    }
+
+    private static int grow(int size)
+    {
+        return Math.max(DEFAULT_CAPACITY, size + (size >> 1));
+    }
+
+    /**
+     * An iterator over a prefix of an adjacency array. When a vertex is given, the iterator
+     * reports for each edge the endpoint which is opposite to that vertex, otherwise the edge
+     * itself.
+     */
+    private class RowIterator
+        implements
+        PrimitiveIterator.OfInt
+    {
+        private final int[] row;
+        private final int size;
+        private final int v;
+        private int next;
+
+        RowIterator(int[] row, int size, int v)
+        {
+            this.row = row;
+            this.size = size;
+            this.v = v;
+            this.next = 0;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return next < size;
+        }
+
+        @Override
+        public int nextInt()
+        {
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            int e = row[next++];
+            if (v < 0) {
+                return e;
+            }
+            int s = edgeSource[e];
+            return s == v ? edgeTarget[e] : s;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.primitive;
+
+/**
+ * A directed unweighted graph whose vertices and edges are primitive integers. Multiple edges
+ * and self-loops are allowed.
+ *
+ * @see IntGraph
+ *
+ * @author agent
+ */
+public class IntDirectedGraph
+    extends
+    AbstractIntGraph
+{
+    private static final long serialVersionUID = -6284616224283920451L;
+
+    /**
+     * Create a new empty graph.
+     */
+    public IntDirectedGraph()
+    {
+        this(0, 0);
+    }
+
+    /**
+     * Create a new empty graph with enough capacity for the expected number of vertices and edges.
+     *
+     * @param expectedVertices the expected number of vertices
+     * @param expectedEdges the expected number of edges
+     */
+    public IntDirectedGraph(int expectedVertices, int expectedEdges)
+    {
+        super(true, false, expectedVertices, expectedEdges);
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.primitive;
+
+import java.util.*;
+
+/**
+ * A graph whose vertices are the integers $0,\dots,n-1$ and whose edges are the integers
+ * $0,\dots,m-1$.
+ *
+ * <p>
+ * Vertices and edges are numbered consecutively in the order they are added to the graph. All
+ * methods work directly with primitive integers and the adjacency iterators return
+ * {@link java.util.PrimitiveIterator.OfInt} instances, so that traversing the graph does not box
+ * any value. Use {@link IntGraphAdapter} in order to pass such a graph to algorithms which expect
+ * a {@link org.jgrapht.Graph}.
+ *
+ * <p>
+ * In undirected graphs the outgoing, incoming and touching edges of a vertex coincide. The
+ * adjacency iterators report each edge touching a vertex exactly once, even self-loops, while the
+ * degree counts self-loops twice in accordance with {@link org.jgrapht.Graph#degreeOf(Object)}.
+ *
+ * @author agent
+ */
+public interface IntGraph
+{
+    /**
+     * Returns whether the graph is directed.
+     *
+     * @return true if the graph is directed, false otherwise
+     */
+    boolean isDirected();
+
+    /**
+     * Returns whether the graph is weighted.
+     *
+     * @return true if the graph is weighted, false otherwise
+     */
+    boolean isWeighted();
+
+    /**
+     * Returns the number of vertices of the graph.
+     *
+     * @return the number of vertices
+     */
+    int vertexCount();
+
+    /**
+     * Returns the number of edges of the graph.
+     *
+     * @return the number of edges
+     */
+    int edgeCount();
+
+    /**
+     * Adds a new vertex to the graph. The new vertex is the integer {@link #vertexCount()} before
+     * the call.
+     *
+     * @return the new vertex
+     */
+    int addVertex();
+
+    /**
+     * Adds a new edge to the graph. The new edge is the integer {@link #edgeCount()} before the
+     * call. In a weighted graph the edge has weight {@link org.jgrapht.Graph#DEFAULT_EDGE_WEIGHT}.
+     *
+     * @param source the source vertex
+     * @param target the target vertex
+     * @return the new edge
+     * @throws IllegalArgumentException if any of the vertices does not exist
+     */
+    int addEdge(int source, int target);
+
+    /**
+     * Adds a new weighted edge to the graph. The new edge is the integer {@link #edgeCount()}
+     * before the call.
+     *
+     * @param source the source vertex
+     * @param target the target vertex
+     * @param weight the edge weight
+     * @return the new edge
+     * @throws IllegalArgumentException if any of the vertices does not exist
+     * @throws UnsupportedOperationException if the graph is not weighted
+     */
+    int addEdge(int source, int target, double weight);
+
+    /**
+     * Returns the source vertex of an edge.
+     *
+     * @param e the edge
+     * @return the source vertex
+     * @throws IllegalArgumentException if the edge does not exist
+     */
+    int getEdgeSource(int e);
+
+    /**
+     * Returns the target vertex of an edge.
+     *
+     * @param e the edge
+     * @return the target vertex
+     * @throws IllegalArgumentException if the edge does not exist
+     */
+    int getEdgeTarget(int e);
+
+    /**
+     * Returns the weight of an edge. Unweighted graphs return
+     * {@link org.jgrapht.Graph#DEFAULT_EDGE_WEIGHT}.
+     *
+     * @param e the edge
+     * @return the edge weight
+     * @throws IllegalArgumentException if the edge does not exist
+     */
+    double getEdgeWeight(int e);
+
+    /**
+     * Sets the weight of an edge.
+     *
+     * @param e the edge
+     * @param weight the new weight
+     * @throws IllegalArgumentException if the edge does not exist
+     * @throws UnsupportedOperationException if the graph is not weighted
+     */
+    void setEdgeWeight(int e, double weight);
+
+    /**
+     * Returns an edge from the source vertex to the target vertex, or $-1$ if no such edge exists.
+     * In undirected graphs the returned edge may have its endpoints in the opposite order.
+     *
+     * @param source the source vertex
+     * @param target the target vertex
+     * @return an edge or $-1$
+     */
+    int getEdge(int source, int target);
+
+    /**
+     * Returns the degree of a vertex. Self-loops are counted twice.
+     *
+     * @param v the vertex
+     * @return the degree
+     * @throws IllegalArgumentException if the vertex does not exist
+     */
+    int degreeOf(int v);
+
+    /**
+     * Returns the number of edges entering a vertex. In undirected graphs this is the degree.
+     *
+     * @param v the vertex
+     * @return the in-degree
+     * @throws IllegalArgumentException if the vertex does not exist
+     */
+    int inDegreeOf(int v);
+
+    /**
+     * Returns the number of edges leaving a vertex. In undirected graphs this is the degree.
+     *
+     * @param v the vertex
+     * @return the out-degree
+     * @throws IllegalArgumentException if the vertex does not exist
+     */
+    int outDegreeOf(int v);
+
+    /**
+     * Returns the number of self-loops of a vertex.
+     *
+     * @param v the vertex
+     * @return the number of self-loops
+     * @throws IllegalArgumentException if the vertex does not exist
+     */
+    int loopCountOf(int v);
+
+    /**
+     * Returns an iterator over the edges leaving a vertex.
+     *
+     * @param v the vertex
+     * @return an iterator over edges
+     * @throws IllegalArgumentException if the vertex does not exist
+     */
+    PrimitiveIterator.OfInt outgoingEdgesOf(int v);
+
+    /**
+     * Returns an iterator over the edges entering a vertex.
+     *
+     * @param v the vertex
+     * @return an iterator over edges
+     * @throws IllegalArgumentException if the vertex does not exist
+     */
+    PrimitiveIterator.OfInt incomingEdgesOf(int v);
+
+    /**
+     * Returns an iterator over the successors of a vertex, that is the targets of the edges
+     * leaving the vertex. A vertex is reported once for each such edge.
+     *
+     * @param v the vertex
+     * @return an iterator over vertices
+     * @throws IllegalArgumentException if the vertex does not exist
+     */
+    PrimitiveIterator.OfInt successorsOf(int v);
+
+    /**
+     * Returns an iterator over the predecessors of a vertex, that is the sources of the edges
+     * entering the vertex. A vertex is reported once for each such edge.
+     *
+     * @param v the vertex
+     * @return an iterator over vertices
+     * @throws IllegalArgumentException if the vertex does not exist
+     */
+    PrimitiveIterator.OfInt predecessorsOf(int v);
+}
@@ -0,0 +1,495 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.primitive;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * A graph adapter class using an {@link IntGraph} as the backing store. The adapter allows
+ * integer graphs to be used with all algorithms of the library which operate on a
+ * {@link Graph}.
+ *
+ * <p>
+ * The vertex set, the edge set and all edge sets returned by the adjacency queries are live
+ * unmodifiable views of the backing graph which are created in constant time. Boxing takes place
+ * only when elements are retrieved from the views.
+ *
+ * <p>
+ * New vertices and edges can be added through the adapter, however since the numbering of an
+ * {@link IntGraph} is always dense, a vertex (edge) can only be added explicitly if it equals the
+ * number of vertices (edges) of the graph. Removal of vertices and edges is not supported.
+ *
+ * @author agent
+ */
+public class IntGraphAdapter
+    extends
+    AbstractGraph<Integer, Integer>
+    implements
+    Graph<Integer, Integer>,
+    Serializable
+{
+    private static final long serialVersionUID = -6133154520834429553L;
+
+    private static final String NO_REMOVAL = "Removal is not supported by integer graphs";
+
+    private final IntGraph graph;
+    private final GraphType type;
+
+    private transient Set<Integer> vertexSet = null;
+    private transient Set<Integer> edgeSet = null;
+
+    /**
+     * Create a new adapter.
+     *
+     * @param graph the backing integer graph
+     */
+    public IntGraphAdapter(IntGraph graph)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+
+        DefaultGraphType.Builder builder = new DefaultGraphType.Builder();
+        if (graph.isDirected()) {
+            builder = builder.directed();
+        } else {
+            builder = builder.undirected();
+        }
+        this.type = builder
+            .weighted(graph.isWeighted()).allowMultipleEdges(true).allowSelfLoops(true)
+            .modifiable(true).build();
+    }
+
+    /**
+     * Get the backing integer graph.
+     *
+     * @return the backing integer graph
+     */
+    public IntGraph getIntGraph()
+    {
+        return graph;
+    }
+
+    @Override
+    public Set<Integer> getAllEdges(Integer sourceVertex, Integer targetVertex)
+    {
+        if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+            return null;
+        }
+        int s = sourceVertex;
+        int t = targetVertex;
+        ArrayUnenforcedSet<Integer> edges = new ArrayUnenforcedSet<>();
+        PrimitiveIterator.OfInt it = graph.outgoingEdgesOf(s);
+        while (it.hasNext()) {
+            int e = it.nextInt();
+            int es = graph.getEdgeSource(e);
+            int et = graph.getEdgeTarget(e);
+            if ((es == s && et == t) || (type.isUndirected() && es == t && et == s)) {
+                edges.add(e);
+            }
+        }
+        return edges;
+    }
+
+    @Override
+    public Integer getEdge(Integer sourceVertex, Integer targetVertex)
+    {
+        if (sourceVertex == null || targetVertex == null) {
+            return null;
+        }
+        int e = graph.getEdge(sourceVertex, targetVertex);
+        return e < 0 ? null : e;
+    }
+
+    @Override
+    public Supplier<Integer> getVertexSupplier()
+    {
+        return null;
+    }
+
+    @Override
+    public Supplier<Integer> getEdgeSupplier()
+    {
+        return null;
+    }
+
+    @Override
+    public Integer addEdge(Integer sourceVertex, Integer targetVertex)
+    {
+        assertVertexExist(sourceVertex);
+        assertVertexExist(targetVertex);
+        return graph.addEdge(sourceVertex, targetVertex);
+    }
+
+    @Override
+    public boolean addEdge(Integer sourceVertex, Integer targetVertex, Integer e)
+    {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        assertVertexExist(sourceVertex);
+        assertVertexExist(targetVertex);
+        if (containsEdge(e)) {
+            return false;
+        }
+        if (e != graph.edgeCount()) {
+            throw new IllegalArgumentException(
+                "Edge must equal the number of edges of the graph: " + e);
+        }
+        graph.addEdge(sourceVertex, targetVertex);
+        return true;
+    }
+
+    @Override
+    public Integer addVertex()
+    {
+        return graph.addVertex();
+    }
+
+    @Override
+    public boolean addVertex(Integer v)
+    {
+        if (v == null) {
+            throw new NullPointerException();
+        }
+        if (containsVertex(v)) {
+            return false;
+        }
+        if (v != graph.vertexCount()) {
+            throw new IllegalArgumentException(
+                "Vertex must equal the number of vertices of the graph: " + v);
+        }
+        graph.addVertex();
+        return true;
+    }
+
+    @Override
+    public boolean containsEdge(Integer e)
+    {
+        return e != null && e >= 0 && e < graph.edgeCount();
+    }
+
+    @Override
+    public boolean containsVertex(Integer v)
+    {
+        return v != null && v >= 0 && v < graph.vertexCount();
+    }
+
+    @Override
+    public Set<Integer> edgeSet()
+    {
+        if (edgeSet == null) {
+            edgeSet = new RangeSet(false);
+        }
+        return edgeSet;
+    }
+
+    @Override
+    public int degreeOf(Integer vertex)
+    {
+        assertVertexExist(vertex);
+        return graph.degreeOf(vertex);
+    }
+
+    @Override
+    public Set<Integer> edgesOf(Integer vertex)
+    {
+        assertVertexExist(vertex);
+        return new AdjacencySet(vertex, true, true);
+    }
+
+    @Override
+    public int inDegreeOf(Integer vertex)
+    {
+        assertVertexExist(vertex);
+        return graph.inDegreeOf(vertex);
+    }
+
+    @Override
+    public Set<Integer> incomingEdgesOf(Integer vertex)
+    {
+        assertVertexExist(vertex);
+        return new AdjacencySet(vertex, false, true);
+    }
+
+    @Override
+    public int outDegreeOf(Integer vertex)
+    {
+        assertVertexExist(vertex);
+        return graph.outDegreeOf(vertex);
+    }
+
+    @Override
+    public Set<Integer> outgoingEdgesOf(Integer vertex)
+    {
+        assertVertexExist(vertex);
+        return new AdjacencySet(vertex, true, false);
+    }
+
+    @Override
+    public boolean removeAllEdges(Collection<? extends Integer> edges)
+    {
+        throw new UnsupportedOperationException(NO_REMOVAL);
+    }
+
+    @Override
+    public Set<Integer> removeAllEdges(Integer sourceVertex, Integer targetVertex)
+    {
+        throw new UnsupportedOperationException(NO_REMOVAL);
+    }
+
+    @Override
+    public boolean removeAllVertices(Collection<? extends Integer> vertices)
+    {
+        throw new UnsupportedOperationException(NO_REMOVAL);
+    }
+
+    @Override
+    public Integer removeEdge(Integer sourceVertex, Integer targetVertex)
+    {
+        throw new UnsupportedOperationException(NO_REMOVAL);
+    }
+
+    @Override
+    public boolean removeEdge(Integer e)
+    {
+        throw new UnsupportedOperationException(NO_REMOVAL);
+    }
+
+    @Override
+    public boolean removeVertex(Integer v)
+    {
+        throw new UnsupportedOperationException(NO_REMOVAL);
+    }
+
+    @Override
+    public Set<Integer> vertexSet()
+    {
+        if (vertexSet == null) {
+            vertexSet = new RangeSet(true);
+        }
+        return vertexSet;
+    }
+
+    @Override
+    public Integer getEdgeSource(Integer e)
+    {
+        assertEdgeExist(e);
+        return graph.getEdgeSource(e);
+    }
+
+    @Override
+    public Integer getEdgeTarget(Integer e)
+    {
+        assertEdgeExist(e);
+        return graph.getEdgeTarget(e);
+    }
+
+    @Override
+    public GraphType getType()
+    {
+        return type;
+    }
+
+    @Override
+    public double getEdgeWeight(Integer e)
+    {
+        assertEdgeExist(e);
+        return graph.getEdgeWeight(e);
+    }
+
+    @Override
+    public void setEdgeWeight(Integer e, double weight)
+    {
+        assertEdgeExist(e);
+        graph.setEdgeWeight(e, weight);
+    }
+
+    private void assertEdgeExist(Integer e)
+    {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        if (!containsEdge(e)) {
+            throw new IllegalArgumentException("no such edge in graph: " + e);
+        }
+    }
+
+    /**
+     * A live view of either the vertex set or the edge set.
+     */
+    private class RangeSet
+        extends
+        AbstractSet<Integer>
+        implements
+        Serializable
+    {
+        private static final long serialVersionUID = 5190215587396893627L;
+
+        private final boolean vertices;
+
+        RangeSet(boolean vertices)
+        {
+            this.vertices = vertices;
+        }
+
+        @Override
+        public Iterator<Integer> iterator()
+        {
+            return new Iterator<Integer>()
+            {
+                private final int size = size();
+                private int next = 0;
+
+                @Override
+                public boolean hasNext()
+                {
+                    return next < size;
+                }
+
+                @Override
+                public Integer next()
+                {
+                    if (next >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    return next++;
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return vertices ? graph.vertexCount() : graph.edgeCount();
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            if (!(o instanceof Integer)) {
+                return false;
+            }
+            int i = (Integer) o;
+            return i >= 0 && i < size();
+        }
+    }
+
+    /**
+     * A live view of the edges touching a vertex.
+     */
+    private class AdjacencySet
+        extends
+        AbstractSet<Integer>
+    {
+        private final int v;
+        private final boolean outgoing;
+        private final boolean incoming;
+
+        AdjacencySet(int v, boolean outgoing, boolean incoming)
+        {
+            this.v = v;
+            if (type.isDirected()) {
+                this.outgoing = outgoing;
+                this.incoming = incoming;
+            } else {
+                this.outgoing = true;
+                this.incoming = false;
+            }
+        }
+
+        @Override
+        public Iterator<Integer> iterator()
+        {
+            PrimitiveIterator.OfInt outIt =
+                outgoing ? graph.outgoingEdgesOf(v) : IntStream.empty().iterator();
+            PrimitiveIterator.OfInt inIt =
+                incoming ? graph.incomingEdgesOf(v) : IntStream.empty().iterator();
+
+            return new Iterator<Integer>()
+            {
+                private int next = advance();
+
+                private int advance()
+                {
+                    if (outIt.hasNext()) {
+                        return outIt.nextInt();
+                    }
+                    while (inIt.hasNext()) {
+                        int e = inIt.nextInt();
+                        // self-loops have already been reported as outgoing
+                        if (!outgoing || graph.getEdgeSource(e) != v) {
+                            return e;
+                        }
+                    }
+                    return -1;
+                }
+
+                @Override
+                public boolean hasNext()
+                {
+                    return next >= 0;
+                }
+
+                @Override
+                public Integer next()
+                {
+                    if (next < 0) {
+                        throw new NoSuchElementException();
+                    }
+                    int e = next;
+                    next = advance();
+                    return e;
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            if (type.isDirected()) {
+                if (!incoming) {
+                    return graph.outDegreeOf(v);
+                }
+                if (!outgoing) {
+                    return graph.inDegreeOf(v);
+                }
+            }
+            // the degree counts self-loops twice while the set contains them once
+            return graph.degreeOf(v) - graph.loopCountOf(v);
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            if (!(o instanceof Integer) || !containsEdge((Integer) o)) {
+                return false;
+            }
+            int e = (Integer) o;
+            int s = graph.getEdgeSource(e);
+            int t = graph.getEdgeTarget(e);
+            return (outgoing && s == v) || (incoming && t == v)
+                || (type.isUndirected() && t == v);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Graph implementations whose vertices and edges are primitive integers.
+ */
+package org.jgrapht.graph.primitive;
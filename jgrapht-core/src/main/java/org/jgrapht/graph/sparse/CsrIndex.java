@@ -0,0 +1,137 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.sparse;
+
+import java.util.*;
+
+/**
+ * Adjacency of a graph in compressed sparse row (CSR) format, computed from the edge endpoints.
+ *
+ * <p>
+ * In directed graphs, the edges leaving vertex v are the edge indices outEdges[outOffsets[v]] up
+ * to (excluding) outEdges[outOffsets[v+1]], sorted by target, and similarly for the incoming edges
+ * which are sorted by source. In undirected graphs the in and out arrays coincide and each row
+ * contains all edges touching the vertex, self-loops appearing only once, sorted by the opposite
+ * endpoint.
+ *
+ * @author agent
+ */
+class CsrIndex
+{
+    final int[] outOffsets;
+    final int[] outEdges;
+    final int[] inOffsets;
+    final int[] inEdges;
+
+    private CsrIndex(int[] outOffsets, int[] outEdges, int[] inOffsets, int[] inEdges)
+    {
+        this.outOffsets = outOffsets;
+        this.outEdges = outEdges;
+        this.inOffsets = inOffsets;
+        this.inEdges = inEdges;
+    }
+
+    /**
+     * Build the adjacency from the edge endpoint arrays.
+     *
+     * @param directed whether the graph is directed
+     * @param n the number of vertices
+     * @param edgeSource the source vertex of each edge
+     * @param edgeTarget the target vertex of each edge
+     * @return the adjacency
+     */
+    static CsrIndex build(boolean directed, int n, int[] edgeSource, int[] edgeTarget)
+    {
+        int m = edgeSource.length;
+        if (directed) {
+            int[] outOffsets = new int[n + 1];
+            int[] outEdges = sortByRowAndColumn(n, m, edgeSource, edgeTarget, null, outOffsets);
+            int[] inOffsets = new int[n + 1];
+            int[] inEdges = sortByRowAndColumn(n, m, edgeTarget, edgeSource, null, inOffsets);
+            return new CsrIndex(outOffsets, outEdges, inOffsets, inEdges);
+        }
+
+        int loops = 0;
+        for (int e = 0; e < m; e++) {
+            if (edgeSource[e] == edgeTarget[e]) {
+                loops++;
+            }
+        }
+        int k = 2 * m - loops;
+        int[] rows = new int[k];
+        int[] columns = new int[k];
+        int[] ids = new int[k];
+        int j = 0;
+        for (int e = 0; e < m; e++) {
+            int s = edgeSource[e];
+            int t = edgeTarget[e];
+            rows[j] = s;
+            columns[j] = t;
+            ids[j++] = e;
+            if (s != t) {
+                rows[j] = t;
+                columns[j] = s;
+                ids[j++] = e;
+            }
+        }
+        int[] offsets = new int[n + 1];
+        int[] edges = sortByRowAndColumn(n, k, rows, columns, ids, offsets);
+        return new CsrIndex(offsets, edges, offsets, edges);
+    }
+
+    /**
+     * Two pass counting sort of $k$ entries, first by column and then (stable) by row.
+     *
+     * @param n the number of rows and columns
+     * @param k the number of entries
+     * @param rows the row of each entry
+     * @param columns the column of each entry
+     * @param ids the identifier of each entry, or null if entry identifiers are $0,\dots,k-1$
+     * @param offsets output array of length $n+1$ with the row boundaries
+     * @return the entry identifiers sorted by row and column
+     */
+    private static int[] sortByRowAndColumn(
+        int n, int k, int[] rows, int[] columns, int[] ids, int[] offsets)
+    {
+        int[] count = new int[n + 1];
+        for (int i = 0; i < k; i++) {
+            count[columns[i] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            count[i + 1] += count[i];
+        }
+        int[] byColumn = new int[k];
+        for (int i = 0; i < k; i++) {
+            byColumn[count[columns[i]]++] = i;
+        }
+
+        for (int i = 0; i < k; i++) {
+            offsets[rows[i] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] position = Arrays.copyOf(offsets, n);
+        int[] result = new int[k];
+        for (int j = 0; j < k; j++) {
+            int i = byColumn[j];
+            result[position[rows[i]]++] = ids == null ? i : ids[i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,890 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.sparse;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * An immutable graph backed by compressed sparse row (CSR) arrays.
+ *
+ * <p>
+ * The graph keeps a single bidirectional mapping between vertices and the integers
+ * $0,\dots,n-1$ and between edges and the integers $0,\dots,m-1$. Edge endpoints and weights are
+ * stored in primitive arrays indexed by the edge index, while the adjacency of each vertex is a
+ * contiguous slice of an <code>int[]</code> array whose boundaries are kept in a second offset
+ * array. Slices are sorted by the opposite endpoint which allows edge retrievals such as
+ * {@link #getEdge(Object, Object)} in logarithmic time. Compared to the default graph
+ * implementations there are no per-vertex edge containers and no per-edge intrusive objects, which
+ * reduces the memory footprint considerably. The edges are mapped to their indices by an
+ * open-addressing hash table of primitive indices, which takes between 8 and 16 bytes per edge.
+ *
+ * <p>
+ * The graph can be built either from an existing graph, using
+ * {@link #ImmutableSparseGraph(Graph)}, or from an edge list using
+ * {@link #fromEdgeList(boolean, int, List)}. In the latter case the vertices and the edges are the
+ * integers $0,\dots,n-1$ and $0,\dots,m-1$ respectively and no mapping is stored at all.
+ *
+ * <p>
+ * The graph supports the full read API of {@link Graph} and thus can be used as input to any
+ * algorithm which does not modify its input. All methods which would modify the graph throw an
+ * {@link UnsupportedOperationException}. The vertex and edge sets, as well as the sets returned by
+ * the various edge queries, are unmodifiable views which are created in constant time and do not
+ * copy the underlying arrays.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class ImmutableSparseGraph<V, E>
+    extends
+    AbstractGraph<V, E>
+    implements
+    Serializable
+{
+    private static final long serialVersionUID = -1620430557213498316L;
+
+    private static final String UNMODIFIABLE = "this graph is unmodifiable";
+
+    private GraphType type;
+
+    /*
+     * Vertices and edges. When the arrays are null, vertices (edges) are the integers 0..n-1
+     * (0..m-1) and the corresponding index maps are also null.
+     */
+    private int n;
+    private Object[] vertices;
+    private Map<V, Integer> vertexIndex;
+    private int m;
+    private Object[] edges;
+    // open-addressing hash table of the edges, each slot holding an edge index plus one or zero
+    private int[] edgeTable;
+
+    /*
+     * Edge endpoints and weights, indexed by edge index.
+     */
+    private int[] edgeSource;
+    private int[] edgeTarget;
+    private double[] edgeWeight;
+
+    /*
+     * Adjacency in CSR format. In directed graphs, the edges leaving vertex v are the edge indices
+     * outEdges[outOffsets[v]] up to (excluding) outEdges[outOffsets[v+1]], sorted by target, and
+     * similarly for the incoming edges which are sorted by source. In undirected graphs the in and
+     * out arrays coincide and each row contains all edges touching the vertex, self-loops
+     * appearing only once, sorted by the opposite endpoint.
+     */
+    private int[] outOffsets;
+    private int[] outEdges;
+    private int[] inOffsets;
+    private int[] inEdges;
+
+    private transient Set<V> vertexSet = null;
+    private transient Set<E> edgeSet = null;
+
+    /**
+     * Create a new immutable sparse graph which is a copy of a given graph. The vertices and edges
+     * are shared with the input graph, but the input graph can be discarded or modified afterwards
+     * without affecting the new graph. Vertex and edge iteration order is preserved.
+     *
+     * @param graph the input graph
+     * @throws IllegalArgumentException if the input graph is mixed
+     */
+    public ImmutableSparseGraph(Graph<V, E> graph)
+    {
+        GraphType inputType = Objects.requireNonNull(graph, "Input graph cannot be null").getType();
+        if (inputType.isMixed()) {
+            throw new IllegalArgumentException("Mixed graph not supported");
+        }
+        this.type = inputType.asUnmodifiable();
+
+        this.n = graph.vertexSet().size();
+        this.vertices = new Object[n];
+        this.vertexIndex = new HashMap<>(capacity(n));
+        int i = 0;
+        for (V v : graph.vertexSet()) {
+            vertices[i] = v;
+            vertexIndex.put(v, i);
+            i++;
+        }
+
+        this.m = graph.edgeSet().size();
+        this.edges = new Object[m];
+        this.edgeSource = new int[m];
+        this.edgeTarget = new int[m];
+        this.edgeWeight = type.isWeighted() ? new double[m] : null;
+        i = 0;
+        for (E e : graph.edgeSet()) {
+            edges[i] = e;
+            edgeSource[i] = vertexIndex.get(graph.getEdgeSource(e));
+            edgeTarget[i] = vertexIndex.get(graph.getEdgeTarget(e));
+            if (edgeWeight != null) {
+                edgeWeight[i] = graph.getEdgeWeight(e);
+            }
+            i++;
+        }
+        buildEdgeTable();
+
+        buildIndex();
+    }
+
+    /**
+     * Create a new immutable sparse graph whose vertices and edges are integers, from arrays which
+     * are used without copying.
+     *
+     * @param type the graph type
+     * @param n the number of vertices
+     * @param edgeSource the source vertex of each edge
+     * @param edgeTarget the target vertex of each edge
+     * @param edgeWeight the weight of each edge, or null for an unweighted graph
+     */
+    ImmutableSparseGraph(
+        GraphType type, int n, int[] edgeSource, int[] edgeTarget, double[] edgeWeight)
+    {
+        this.type = type;
+        this.n = n;
+        this.m = edgeSource.length;
+        this.edgeSource = edgeSource;
+        this.edgeTarget = edgeTarget;
+        this.edgeWeight = edgeWeight;
+        buildIndex();
+    }
+
+    /**
+     * Create a new unweighted immutable sparse graph from an edge list. The vertices of the graph
+     * are the integers $0,\dots,n-1$ and the edges are the integers $0,\dots,m-1$ where edge $i$
+     * corresponds to the $i$-th element of the edge list. Multiple edges and self-loops are
+     * allowed.
+     *
+     * @param directed whether the graph is directed
+     * @param numVertices the number of vertices
+     * @param edges the edge list, each edge represented as a (source, target) pair
+     * @return the graph
+     * @throws IllegalArgumentException if an endpoint is not a valid vertex
+     */
+    public static ImmutableSparseGraph<Integer, Integer> fromEdgeList(
+        boolean directed, int numVertices, List<Pair<Integer, Integer>> edges)
+    {
+        return fromEdgeList(directed, numVertices, edges, null);
+    }
+
+    /**
+     * Create a new immutable sparse graph from an edge list. The vertices of the graph are the
+     * integers $0,\dots,n-1$ and the edges are the integers $0,\dots,m-1$ where edge $i$
+     * corresponds to the $i$-th element of the edge list. Multiple edges and self-loops are
+     * allowed.
+     *
+     * @param directed whether the graph is directed
+     * @param numVertices the number of vertices
+     * @param edges the edge list, each edge represented as a (source, target) pair
+     * @param weights the edge weights, where weight $i$ corresponds to edge $i$, or null for an
+     *        unweighted graph
+     * @return the graph
+     * @throws IllegalArgumentException if an endpoint is not a valid vertex or if the number of
+     *         weights does not match the number of edges
+     */
+    public static ImmutableSparseGraph<Integer, Integer> fromEdgeList(
+        boolean directed, int numVertices, List<Pair<Integer, Integer>> edges, double[] weights)
+    {
+        if (numVertices < 0) {
+            throw new IllegalArgumentException("Number of vertices must be non-negative");
+        }
+        int m = edges.size();
+        if (weights != null && weights.length != m) {
+            throw new IllegalArgumentException("Number of weights must match number of edges");
+        }
+
+        int[] source = new int[m];
+        int[] target = new int[m];
+        int i = 0;
+        for (Pair<Integer, Integer> e : edges) {
+            int s = e.getFirst();
+            int t = e.getSecond();
+            if (s < 0 || s >= numVertices || t < 0 || t >= numVertices) {
+                throw new IllegalArgumentException("Invalid edge endpoints: " + e);
+            }
+            source[i] = s;
+            target[i] = t;
+            i++;
+        }
+
+        DefaultGraphType.Builder typeBuilder = new DefaultGraphType.Builder();
+        if (directed) {
+            typeBuilder = typeBuilder.directed();
+        } else {
+            typeBuilder = typeBuilder.undirected();
+        }
+        GraphType type = typeBuilder
+            .allowMultipleEdges(true).allowSelfLoops(true).weighted(weights != null)
+            .modifiable(false).build();
+
+        return new ImmutableSparseGraph<>(
+            type, numVertices, source, target, weights == null ? null : weights.clone());
+    }
+
+    @Override
+    public Set<E> getAllEdges(V sourceVertex, V targetVertex)
+    {
+        int s = vertexIndexOf(sourceVertex);
+        int t = vertexIndexOf(targetVertex);
+        if (s < 0 || t < 0) {
+            return null;
+        }
+        ArrayUnenforcedSet<E> result = new ArrayUnenforcedSet<>();
+        int to = outOffsets[s + 1];
+        for (int i = lowerBound(s, t); i < to; i++) {
+            int e = outEdges[i];
+            if (opposite(e, s) != t) {
+                break;
+            }
+            result.add(edge(e));
+        }
+        return result;
+    }
+
+    @Override
+    public E getEdge(V sourceVertex, V targetVertex)
+    {
+        int s = vertexIndexOf(sourceVertex);
+        int t = vertexIndexOf(targetVertex);
+        if (s < 0 || t < 0) {
+            return null;
+        }
+        int i = lowerBound(s, t);
+        if (i < outOffsets[s + 1] && opposite(outEdges[i], s) == t) {
+            return edge(outEdges[i]);
+        }
+        return null;
+    }
+
+    @Override
+    public Supplier<V> getVertexSupplier()
+    {
+        return null;
+    }
+
+    @Override
+    public Supplier<E> getEdgeSupplier()
+    {
+        return null;
+    }
+
+    @Override
+    public E addEdge(V sourceVertex, V targetVertex)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean addEdge(V sourceVertex, V targetVertex, E e)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public V addVertex()
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean addVertex(V v)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean containsEdge(E e)
+    {
+        return edgeIndexOf(e) >= 0;
+    }
+
+    @Override
+    public boolean containsVertex(V v)
+    {
+        return vertexIndexOf(v) >= 0;
+    }
+
+    @Override
+    public Set<E> edgeSet()
+    {
+        if (edgeSet == null) {
+            edgeSet = new EdgeSet();
+        }
+        return edgeSet;
+    }
+
+    @Override
+    public int degreeOf(V vertex)
+    {
+        int v = assertVertexIndex(vertex);
+        if (type.isDirected()) {
+            return outOffsets[v + 1] - outOffsets[v] + inOffsets[v + 1] - inOffsets[v];
+        } else {
+            // self-loops appear once in the row but count twice
+            return outOffsets[v + 1] - outOffsets[v] + countLoops(v);
+        }
+    }
+
+    @Override
+    public Set<E> edgesOf(V vertex)
+    {
+        int v = assertVertexIndex(vertex);
+        if (type.isDirected()) {
+            return new TouchingEdgeSet(v);
+        } else {
+            return new EdgeRowSet(outEdges, outOffsets[v], outOffsets[v + 1], v, TOUCHING);
+        }
+    }
+
+    @Override
+    public int inDegreeOf(V vertex)
+    {
+        if (type.isDirected()) {
+            int v = assertVertexIndex(vertex);
+            return inOffsets[v + 1] - inOffsets[v];
+        } else {
+            return degreeOf(vertex);
+        }
+    }
+
+    @Override
+    public Set<E> incomingEdgesOf(V vertex)
+    {
+        int v = assertVertexIndex(vertex);
+        if (type.isDirected()) {
+            return new EdgeRowSet(inEdges, inOffsets[v], inOffsets[v + 1], v, INCOMING);
+        } else {
+            return new EdgeRowSet(outEdges, outOffsets[v], outOffsets[v + 1], v, TOUCHING);
+        }
+    }
+
+    @Override
+    public int outDegreeOf(V vertex)
+    {
+        if (type.isDirected()) {
+            int v = assertVertexIndex(vertex);
+            return outOffsets[v + 1] - outOffsets[v];
+        } else {
+            return degreeOf(vertex);
+        }
+    }
+
+    @Override
+    public Set<E> outgoingEdgesOf(V vertex)
+    {
+        int v = assertVertexIndex(vertex);
+        if (type.isDirected()) {
+            return new EdgeRowSet(outEdges, outOffsets[v], outOffsets[v + 1], v, OUTGOING);
+        } else {
+            return new EdgeRowSet(outEdges, outOffsets[v], outOffsets[v + 1], v, TOUCHING);
+        }
+    }
+
+    @Override
+    public boolean removeAllEdges(Collection<? extends E> edges)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public Set<E> removeAllEdges(V sourceVertex, V targetVertex)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean removeAllVertices(Collection<? extends V> vertices)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public E removeEdge(V sourceVertex, V targetVertex)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean removeEdge(E e)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean removeVertex(V v)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public Set<V> vertexSet()
+    {
+        if (vertexSet == null) {
+            vertexSet = new VertexSet();
+        }
+        return vertexSet;
+    }
+
+    @Override
+    public V getEdgeSource(E e)
+    {
+        return vertex(edgeSource[assertEdgeIndex(e)]);
+    }
+
+    @Override
+    public V getEdgeTarget(E e)
+    {
+        return vertex(edgeTarget[assertEdgeIndex(e)]);
+    }
+
+    @Override
+    public GraphType getType()
+    {
+        return type;
+    }
+
+    @Override
+    public double getEdgeWeight(E e)
+    {
+        int index = assertEdgeIndex(e);
+        return edgeWeight == null ? Graph.DEFAULT_EDGE_WEIGHT : edgeWeight[index];
+    }
+
+    @Override
+    public void setEdgeWeight(E e, double weight)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    /**
+     * Get the internal index of a vertex.
+     *
+     * @param v the vertex
+     * @return the index of the vertex in $[0,n)$ or $-1$ if the vertex is not contained in the
+     *         graph
+     */
+    public int getVertexIndex(V v)
+    {
+        return vertexIndexOf(v);
+    }
+
+    /**
+     * Get the internal index of an edge.
+     *
+     * @param e the edge
+     * @return the index of the edge in $[0,m)$ or $-1$ if the edge is not contained in the graph
+     */
+    public int getEdgeIndex(E e)
+    {
+        return edgeIndexOf(e);
+    }
+
+    /*
+     * Row kinds used by the edge set views in order to answer membership queries in constant time.
+     */
+    private static final int OUTGOING = 0;
+    private static final int INCOMING = 1;
+    private static final int TOUCHING = 2;
+
+    private V vertex(int index)
+    {
+        if (vertices == null) {
+            return TypeUtil.uncheckedCast(Integer.valueOf(index));
+        }
+        return TypeUtil.uncheckedCast(vertices[index]);
+    }
+
+    private E edge(int index)
+    {
+        if (edges == null) {
+            return TypeUtil.uncheckedCast(Integer.valueOf(index));
+        }
+        return TypeUtil.uncheckedCast(edges[index]);
+    }
+
+    private int vertexIndexOf(Object v)
+    {
+        if (vertexIndex == null) {
+            if (v instanceof Integer) {
+                int index = (Integer) v;
+                if (index >= 0 && index < n) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+        Integer index = vertexIndex.get(v);
+        return index == null ? -1 : index;
+    }
+
+    private int edgeIndexOf(Object e)
+    {
+        if (edgeTable == null) {
+            if (e instanceof Integer) {
+                int index = (Integer) e;
+                if (index >= 0 && index < m) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+        if (e == null) {
+            return -1;
+        }
+        int mask = edgeTable.length - 1;
+        for (int slot = hash(e) & mask; edgeTable[slot] != 0; slot = (slot + 1) & mask) {
+            int index = edgeTable[slot] - 1;
+            if (e.equals(edges[index])) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Build the hash table of the edges, with linear probing and a load factor of at most one
+     * half.
+     */
+    private void buildEdgeTable()
+    {
+        int size = Integer.highestOneBit(Math.max(2, 2 * m - 1)) << 1;
+        this.edgeTable = new int[size];
+        int mask = size - 1;
+        for (int index = 0; index < m; index++) {
+            int slot = hash(edges[index]) & mask;
+            while (edgeTable[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            edgeTable[slot] = index + 1;
+        }
+    }
+
+    private static int hash(Object o)
+    {
+        int h = o.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private int assertVertexIndex(V v)
+    {
+        int index = vertexIndexOf(v);
+        if (index < 0) {
+            if (v == null) {
+                throw new NullPointerException();
+            }
+            throw new IllegalArgumentException("no such vertex in graph: " + v.toString());
+        }
+        return index;
+    }
+
+    private int assertEdgeIndex(E e)
+    {
+        int index = edgeIndexOf(e);
+        if (index < 0) {
+            if (e == null) {
+                throw new NullPointerException();
+            }
+            throw new IllegalArgumentException("no such edge in graph: " + e.toString());
+        }
+        return index;
+    }
+
+    /**
+     * Get the endpoint of an edge which is opposite of vertex v in the row of v.
+     */
+    private int opposite(int e, int v)
+    {
+        int s = edgeSource[e];
+        return s == v ? edgeTarget[e] : s;
+    }
+
+    /**
+     * Find the first position in the (out) row of vertex s whose opposite endpoint is not less than
+     * t.
+     */
+    private int lowerBound(int s, int t)
+    {
+        int lo = outOffsets[s];
+        int hi = outOffsets[s + 1];
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (opposite(outEdges[mid], s) < t) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int countLoops(int v)
+    {
+        int count = 0;
+        int to = outOffsets[v + 1];
+        for (int i = lowerBound(v, v); i < to; i++) {
+            int e = outEdges[i];
+            if (edgeSource[e] != v || edgeTarget[e] != v) {
+                break;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Build the CSR adjacency from the edge endpoint arrays.
+     */
+    private void buildIndex()
+    {
+        CsrIndex index = CsrIndex.build(type.isDirected(), n, edgeSource, edgeTarget);
+        outOffsets = index.outOffsets;
+        outEdges = index.outEdges;
+        inOffsets = index.inOffsets;
+        inEdges = index.inEdges;
+    }
+
+    private static int capacity(int expectedSize)
+    {
+        return (int) Math.min(Integer.MAX_VALUE, (long) (expectedSize / 0.75f) + 1);
+    }
+
+    /**
+     * Unmodifiable view of the vertex set.
+     */
+    private class VertexSet
+        extends
+        AbstractSet<V>
+        implements
+        Serializable
+    {
+        private static final long serialVersionUID = 2706143928462937052L;
+
+        @Override
+        public Iterator<V> iterator()
+        {
+            return new IndexIterator<>(0, n, ImmutableSparseGraph.this::vertex);
+        }
+
+        @Override
+        public int size()
+        {
+            return n;
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            return vertexIndexOf(o) >= 0;
+        }
+    }
+
+    /**
+     * Unmodifiable view of the edge set.
+     */
+    private class EdgeSet
+        extends
+        AbstractSet<E>
+        implements
+        Serializable
+    {
+        private static final long serialVersionUID = -2887394096932416815L;
+
+        @Override
+        public Iterator<E> iterator()
+        {
+            return new IndexIterator<>(0, m, ImmutableSparseGraph.this::edge);
+        }
+
+        @Override
+        public int size()
+        {
+            return m;
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            return edgeIndexOf(o) >= 0;
+        }
+    }
+
+    /**
+     * Unmodifiable view of a single adjacency row.
+     */
+    private class EdgeRowSet
+        extends
+        AbstractSet<E>
+    {
+        private final int[] row;
+        private final int from;
+        private final int to;
+        private final int v;
+        private final int kind;
+
+        EdgeRowSet(int[] row, int from, int to, int v, int kind)
+        {
+            this.row = row;
+            this.from = from;
+            this.to = to;
+            this.v = v;
+            this.kind = kind;
+        }
+
+        @Override
+        public Iterator<E> iterator()
+        {
+            return new IndexIterator<>(from, to, i -> edge(row[i]));
+        }
+
+        @Override
+        public int size()
+        {
+            return to - from;
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            int e = edgeIndexOf(o);
+            if (e < 0) {
+                return false;
+            }
+            switch (kind) {
+            case OUTGOING:
+                return edgeSource[e] == v;
+            case INCOMING:
+                return edgeTarget[e] == v;
+            default:
+                return edgeSource[e] == v || edgeTarget[e] == v;
+            }
+        }
+    }
+
+    /**
+     * Unmodifiable view of all edges touching a vertex of a directed graph. The outgoing edges are
+     * reported first, followed by the incoming edges which are not self-loops.
+     */
+    private class TouchingEdgeSet
+        extends
+        AbstractSet<E>
+    {
+        private final int v;
+
+        TouchingEdgeSet(int v)
+        {
+            this.v = v;
+        }
+
+        @Override
+        public Iterator<E> iterator()
+        {
+            return new Iterator<E>()
+            {
+                private int i = outOffsets[v];
+                private int j = nextIncoming(inOffsets[v]);
+
+                @Override
+                public boolean hasNext()
+                {
+                    return i < outOffsets[v + 1] || j < inOffsets[v + 1];
+                }
+
+                @Override
+                public E next()
+                {
+                    if (i < outOffsets[v + 1]) {
+                        return edge(outEdges[i++]);
+                    }
+                    if (j < inOffsets[v + 1]) {
+                        int e = inEdges[j];
+                        j = nextIncoming(j + 1);
+                        return edge(e);
+                    }
+                    throw new NoSuchElementException();
+                }
+            };
+        }
+
+        private int nextIncoming(int j)
+        {
+            int to = inOffsets[v + 1];
+            while (j < to && edgeSource[inEdges[j]] == v) {
+                j++;
+            }
+            return j;
+        }
+
+        @Override
+        public int size()
+        {
+            return outOffsets[v + 1] - outOffsets[v] + inOffsets[v + 1] - inOffsets[v]
+                - countLoops(v);
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            int e = edgeIndexOf(o);
+            return e >= 0 && (edgeSource[e] == v || edgeTarget[e] == v);
+        }
+    }
+
+    /**
+     * Iterator over a range of indices, mapping each index to an element.
+     */
+    private static class IndexIterator<T>
+        implements
+        Iterator<T>
+    {
+        private int next;
+        private final int to;
+        private final IntFunction<T> mapper;
+
+        IndexIterator(int from, int to, IntFunction<T> mapper)
+        {
+            this.next = from;
+            this.to = to;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return next < to;
+        }
+
+        @Override
+        public T next()
+        {
+            if (next >= to) {
+                throw new NoSuchElementException();
+            }
+            return mapper.apply(next++);
+        }
+    }
+}
+
+// End ImmutableSparseGraph.java
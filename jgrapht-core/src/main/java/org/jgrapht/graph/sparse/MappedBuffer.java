@@ -0,0 +1,120 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.sparse;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+
+/**
+ * A memory-mapped file region which may be larger than 2GB.
+ *
+ * <p>
+ * A single {@link MappedByteBuffer} can address at most $2^{31}-1$ bytes, thus the region is
+ * mapped as a sequence of segments of $2^{30}$ bytes each. All values are accessed using absolute
+ * byte positions in little-endian byte order. Values must be aligned to their size, which
+ * guarantees that no value crosses a segment boundary.
+ *
+ * @author agent
+ */
+class MappedBuffer
+{
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+    private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private final MappedByteBuffer[] segments;
+    private final long size;
+
+    private MappedBuffer(MappedByteBuffer[] segments, long size)
+    {
+        this.segments = segments;
+        this.size = size;
+    }
+
+    /**
+     * Map a region of a file, starting at the beginning of the file.
+     *
+     * @param channel the file channel
+     * @param mode the mapping mode
+     * @param size the size of the region in bytes
+     * @return the mapped region
+     * @throws IOException in case of an I/O error
+     */
+    static MappedBuffer map(FileChannel channel, FileChannel.MapMode mode, long size)
+        throws IOException
+    {
+        int count = (int) ((size + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT);
+        MappedByteBuffer[] segments = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long position = (long) i << SEGMENT_SHIFT;
+            segments[i] = channel.map(mode, position, Math.min(SEGMENT_SIZE, size - position));
+            segments[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new MappedBuffer(segments, size);
+    }
+
+    long size()
+    {
+        return size;
+    }
+
+    int getInt(long position)
+    {
+        return segments[(int) (position >>> SEGMENT_SHIFT)].getInt((int) (position & SEGMENT_MASK));
+    }
+
+    long getLong(long position)
+    {
+        return segments[(int) (position >>> SEGMENT_SHIFT)]
+            .getLong((int) (position & SEGMENT_MASK));
+    }
+
+    double getDouble(long position)
+    {
+        return segments[(int) (position >>> SEGMENT_SHIFT)]
+            .getDouble((int) (position & SEGMENT_MASK));
+    }
+
+    void putInt(long position, int value)
+    {
+        segments[(int) (position >>> SEGMENT_SHIFT)].putInt((int) (position & SEGMENT_MASK), value);
+    }
+
+    void putLong(long position, long value)
+    {
+        segments[(int) (position >>> SEGMENT_SHIFT)]
+            .putLong((int) (position & SEGMENT_MASK), value);
+    }
+
+    void putDouble(long position, double value)
+    {
+        segments[(int) (position >>> SEGMENT_SHIFT)]
+            .putDouble((int) (position & SEGMENT_MASK), value);
+    }
+
+    /**
+     * Write any changes of the region to the storage device.
+     */
+    void force()
+    {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+}
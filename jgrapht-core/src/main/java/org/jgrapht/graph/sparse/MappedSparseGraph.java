@@ -0,0 +1,789 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.sparse;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.io.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * An immutable graph whose compressed sparse row (CSR) representation lives in a memory-mapped
+ * file.
+ *
+ * <p>
+ * The graph is stored outside of the Java heap in a file written by
+ * {@link MappedSparseGraphWriter}. The file contains the sorted table of vertex identifiers, the
+ * endpoints and weights of the edges and the adjacency rows of the vertices, in the same layout
+ * as {@link ImmutableSparseGraph}. Opening a graph using {@link #open(Path)} only maps the file
+ * into memory and reads its header, therefore it takes constant time and uses almost no heap
+ * regardless of the size of the graph. The operating system loads the pages of the file on
+ * demand and shares them between all processes which map the same file.
+ *
+ * <p>
+ * The vertices of the graph are the {@code long} identifiers assigned by the writer, iterated in
+ * ascending order, and the edges are the integers $0,\dots,m-1$ (as {@code Long}) in the
+ * iteration order of the edges of the graph which was written. Vertex lookups take logarithmic
+ * time in the number of vertices and edge retrievals such as {@link #getEdge(Object, Object)}
+ * take logarithmic time in the degree of the source vertex.
+ *
+ * <p>
+ * The graph supports the full read API of {@link Graph}. All methods which would modify the graph
+ * throw an {@link UnsupportedOperationException}. The vertex and edge sets, as well as the sets
+ * returned by the various edge queries, are unmodifiable views which read the file directly. The
+ * file mapping is released when the graph is garbage collected. Modifying or truncating the file
+ * while it is mapped results in undefined behavior.
+ *
+ * @author agent
+ */
+public class MappedSparseGraph
+    extends
+    AbstractGraph<Long, Long>
+{
+    private static final String UNMODIFIABLE = "this graph is unmodifiable";
+
+    /*
+     * File format. All values are little-endian and aligned to their size. The header consists of
+     * the magic number, the format version, the type flags and a reserved integer, followed by
+     * the number of vertices n, the number of edges m and the total length k of the (out)
+     * adjacency rows.
+     */
+    static final int MAGIC = 0x4A475346;
+    static final int VERSION = 1;
+    static final int DIRECTED = 1;
+    static final int WEIGHTED = 2;
+    static final int MULTIPLE_EDGES = 4;
+    static final int SELF_LOOPS = 8;
+    static final long HEADER_SIZE = 40;
+
+    private final MappedBuffer buffer;
+    private final GraphType type;
+    private final int n;
+    private final int m;
+    private final Layout layout;
+
+    private transient Set<Long> vertexSet = null;
+    private transient Set<Long> edgeSet = null;
+
+    private MappedSparseGraph(MappedBuffer buffer)
+        throws IOException
+    {
+        this.buffer = buffer;
+        if (buffer.size() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a graph file");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported graph file version " + buffer.getInt(4));
+        }
+        int flags = buffer.getInt(8);
+        long vertexCount = buffer.getLong(16);
+        long edgeCount = buffer.getLong(24);
+        long rowLength = buffer.getLong(32);
+        if (vertexCount < 0 || vertexCount > Integer.MAX_VALUE || edgeCount < 0
+            || edgeCount > Integer.MAX_VALUE || rowLength < 0)
+        {
+            throw new IOException("Corrupt graph file");
+        }
+        this.n = (int) vertexCount;
+        this.m = (int) edgeCount;
+        this.layout = new Layout(flags, n, m, rowLength);
+        if (layout.size != buffer.size()) {
+            throw new IOException("Corrupt or truncated graph file");
+        }
+
+        DefaultGraphType.Builder typeBuilder = new DefaultGraphType.Builder();
+        if ((flags & DIRECTED) != 0) {
+            typeBuilder = typeBuilder.directed();
+        } else {
+            typeBuilder = typeBuilder.undirected();
+        }
+        this.type = typeBuilder
+            .allowMultipleEdges((flags & MULTIPLE_EDGES) != 0)
+            .allowSelfLoops((flags & SELF_LOOPS) != 0).weighted((flags & WEIGHTED) != 0)
+            .modifiable(false).build();
+    }
+
+    /**
+     * Open a graph file written by {@link MappedSparseGraphWriter}.
+     *
+     * @param file the graph file
+     * @return the graph
+     * @throws IOException if the file cannot be read or is not a valid graph file
+     */
+    public static MappedSparseGraph open(Path file)
+        throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the mapping remains valid after the channel is closed
+            return new MappedSparseGraph(
+                MappedBuffer.map(channel, FileChannel.MapMode.READ_ONLY, channel.size()));
+        }
+    }
+
+    @Override
+    public Set<Long> getAllEdges(Long sourceVertex, Long targetVertex)
+    {
+        int s = vertexIndexOf(sourceVertex);
+        int t = vertexIndexOf(targetVertex);
+        if (s < 0 || t < 0) {
+            return null;
+        }
+        ArrayUnenforcedSet<Long> result = new ArrayUnenforcedSet<>();
+        long to = outOffset(s + 1);
+        for (long i = lowerBound(s, t); i < to; i++) {
+            int e = outEdge(i);
+            if (opposite(e, s) != t) {
+                break;
+            }
+            result.add((long) e);
+        }
+        return result;
+    }
+
+    @Override
+    public Long getEdge(Long sourceVertex, Long targetVertex)
+    {
+        int s = vertexIndexOf(sourceVertex);
+        int t = vertexIndexOf(targetVertex);
+        if (s < 0 || t < 0) {
+            return null;
+        }
+        long i = lowerBound(s, t);
+        if (i < outOffset(s + 1) && opposite(outEdge(i), s) == t) {
+            return (long) outEdge(i);
+        }
+        return null;
+    }
+
+    @Override
+    public Supplier<Long> getVertexSupplier()
+    {
+        return null;
+    }
+
+    @Override
+    public Supplier<Long> getEdgeSupplier()
+    {
+        return null;
+    }
+
+    @Override
+    public Long addEdge(Long sourceVertex, Long targetVertex)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean addEdge(Long sourceVertex, Long targetVertex, Long e)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public Long addVertex()
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean addVertex(Long v)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean containsEdge(Long e)
+    {
+        return edgeIndexOf(e) >= 0;
+    }
+
+    @Override
+    public boolean containsVertex(Long v)
+    {
+        return vertexIndexOf(v) >= 0;
+    }
+
+    @Override
+    public Set<Long> edgeSet()
+    {
+        if (edgeSet == null) {
+            edgeSet = new EdgeSet();
+        }
+        return edgeSet;
+    }
+
+    @Override
+    public int degreeOf(Long vertex)
+    {
+        int v = assertVertexIndex(vertex);
+        if (type.isDirected()) {
+            return (int) (outOffset(v + 1) - outOffset(v) + inOffset(v + 1) - inOffset(v));
+        } else {
+            // self-loops appear once in the row but count twice
+            return (int) (outOffset(v + 1) - outOffset(v)) + countLoops(v);
+        }
+    }
+
+    @Override
+    public Set<Long> edgesOf(Long vertex)
+    {
+        int v = assertVertexIndex(vertex);
+        if (type.isDirected()) {
+            return new TouchingEdgeSet(v);
+        } else {
+            return new EdgeRowSet(layout.outEdges, outOffset(v), outOffset(v + 1), v, TOUCHING);
+        }
+    }
+
+    @Override
+    public int inDegreeOf(Long vertex)
+    {
+        if (type.isDirected()) {
+            int v = assertVertexIndex(vertex);
+            return (int) (inOffset(v + 1) - inOffset(v));
+        } else {
+            return degreeOf(vertex);
+        }
+    }
+
+    @Override
+    public Set<Long> incomingEdgesOf(Long vertex)
+    {
+        int v = assertVertexIndex(vertex);
+        if (type.isDirected()) {
+            return new EdgeRowSet(layout.inEdges, inOffset(v), inOffset(v + 1), v, INCOMING);
+        } else {
+            return new EdgeRowSet(layout.outEdges, outOffset(v), outOffset(v + 1), v, TOUCHING);
+        }
+    }
+
+    @Override
+    public int outDegreeOf(Long vertex)
+    {
+        if (type.isDirected()) {
+            int v = assertVertexIndex(vertex);
+            return (int) (outOffset(v + 1) - outOffset(v));
+        } else {
+            return degreeOf(vertex);
+        }
+    }
+
+    @Override
+    public Set<Long> outgoingEdgesOf(Long vertex)
+    {
+        int v = assertVertexIndex(vertex);
+        if (type.isDirected()) {
+            return new EdgeRowSet(layout.outEdges, outOffset(v), outOffset(v + 1), v, OUTGOING);
+        } else {
+            return new EdgeRowSet(layout.outEdges, outOffset(v), outOffset(v + 1), v, TOUCHING);
+        }
+    }
+
+    @Override
+    public boolean removeAllEdges(Collection<? extends Long> edges)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public Set<Long> removeAllEdges(Long sourceVertex, Long targetVertex)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean removeAllVertices(Collection<? extends Long> vertices)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public Long removeEdge(Long sourceVertex, Long targetVertex)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean removeEdge(Long e)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean removeVertex(Long v)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public Set<Long> vertexSet()
+    {
+        if (vertexSet == null) {
+            vertexSet = new VertexSet();
+        }
+        return vertexSet;
+    }
+
+    @Override
+    public Long getEdgeSource(Long e)
+    {
+        return vertexId(source(assertEdgeIndex(e)));
+    }
+
+    @Override
+    public Long getEdgeTarget(Long e)
+    {
+        return vertexId(target(assertEdgeIndex(e)));
+    }
+
+    @Override
+    public GraphType getType()
+    {
+        return type;
+    }
+
+    @Override
+    public double getEdgeWeight(Long e)
+    {
+        int index = assertEdgeIndex(e);
+        if (!type.isWeighted()) {
+            return Graph.DEFAULT_EDGE_WEIGHT;
+        }
+        return buffer.getDouble(layout.weights + 8L * index);
+    }
+
+    @Override
+    public void setEdgeWeight(Long e, double weight)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    /*
+     * Row kinds used by the edge set views in order to answer membership queries in constant time.
+     */
+    private static final int OUTGOING = 0;
+    private static final int INCOMING = 1;
+    private static final int TOUCHING = 2;
+
+    private long vertexId(int index)
+    {
+        return buffer.getLong(layout.ids + 8L * index);
+    }
+
+    private int source(int e)
+    {
+        return buffer.getInt(layout.sources + 4L * e);
+    }
+
+    private int target(int e)
+    {
+        return buffer.getInt(layout.targets + 4L * e);
+    }
+
+    private long outOffset(int v)
+    {
+        return buffer.getLong(layout.outOffsets + 8L * v);
+    }
+
+    private long inOffset(int v)
+    {
+        return buffer.getLong(layout.inOffsets + 8L * v);
+    }
+
+    private int outEdge(long i)
+    {
+        return buffer.getInt(layout.outEdges + 4L * i);
+    }
+
+    private int inEdge(long i)
+    {
+        return buffer.getInt(layout.inEdges + 4L * i);
+    }
+
+    /**
+     * Binary search in the sorted vertex identifier table.
+     */
+    private int vertexIndexOf(Object v)
+    {
+        if (!(v instanceof Long)) {
+            return -1;
+        }
+        long id = (Long) v;
+        int lo = 0;
+        int hi = n - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long midId = vertexId(mid);
+            if (midId < id) {
+                lo = mid + 1;
+            } else if (midId > id) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private int edgeIndexOf(Object e)
+    {
+        if (e instanceof Long) {
+            long index = (Long) e;
+            if (index >= 0 && index < m) {
+                return (int) index;
+            }
+        }
+        return -1;
+    }
+
+    private int assertVertexIndex(Long v)
+    {
+        int index = vertexIndexOf(v);
+        if (index < 0) {
+            if (v == null) {
+                throw new NullPointerException();
+            }
+            throw new IllegalArgumentException("no such vertex in graph: " + v.toString());
+        }
+        return index;
+    }
+
+    private int assertEdgeIndex(Long e)
+    {
+        int index = edgeIndexOf(e);
+        if (index < 0) {
+            if (e == null) {
+                throw new NullPointerException();
+            }
+            throw new IllegalArgumentException("no such edge in graph: " + e.toString());
+        }
+        return index;
+    }
+
+    /**
+     * Get the endpoint of an edge which is opposite of vertex v in the row of v.
+     */
+    private int opposite(int e, int v)
+    {
+        int s = source(e);
+        return s == v ? target(e) : s;
+    }
+
+    /**
+     * Find the first position in the (out) row of vertex s whose opposite endpoint is not less than
+     * t.
+     */
+    private long lowerBound(int s, int t)
+    {
+        long lo = outOffset(s);
+        long hi = outOffset(s + 1);
+        while (lo < hi) {
+            long mid = (lo + hi) >>> 1;
+            if (opposite(outEdge(mid), s) < t) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int countLoops(int v)
+    {
+        int count = 0;
+        long to = outOffset(v + 1);
+        for (long i = lowerBound(v, v); i < to; i++) {
+            int e = outEdge(i);
+            if (source(e) != v || target(e) != v) {
+                break;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Byte positions of the sections of a graph file.
+     */
+    static class Layout
+    {
+        final long ids;
+        final long sources;
+        final long targets;
+        final long weights;
+        final long outOffsets;
+        final long outEdges;
+        final long inOffsets;
+        final long inEdges;
+        final long size;
+
+        /**
+         * Compute the layout of a graph file.
+         *
+         * @param flags the type flags
+         * @param n the number of vertices
+         * @param m the number of edges
+         * @param k the total length of the (out) adjacency rows
+         */
+        Layout(int flags, long n, long m, long k)
+        {
+            long position = HEADER_SIZE;
+            ids = position;
+            position += 8 * n;
+            sources = position;
+            position += align(4 * m);
+            targets = position;
+            position += align(4 * m);
+            weights = position;
+            if ((flags & WEIGHTED) != 0) {
+                position += 8 * m;
+            }
+            outOffsets = position;
+            position += 8 * (n + 1);
+            outEdges = position;
+            position += align(4 * k);
+            if ((flags & DIRECTED) != 0) {
+                inOffsets = position;
+                position += 8 * (n + 1);
+                inEdges = position;
+                position += align(4 * m);
+            } else {
+                inOffsets = outOffsets;
+                inEdges = outEdges;
+            }
+            size = position;
+        }
+
+        private static long align(long bytes)
+        {
+            return (bytes + 7) & ~7L;
+        }
+    }
+
+    /**
+     * Unmodifiable view of the vertex set.
+     */
+    private class VertexSet
+        extends
+        AbstractSet<Long>
+    {
+        @Override
+        public Iterator<Long> iterator()
+        {
+            return new IndexIterator(0, n, i -> vertexId((int) i));
+        }
+
+        @Override
+        public int size()
+        {
+            return n;
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            return vertexIndexOf(o) >= 0;
+        }
+    }
+
+    /**
+     * Unmodifiable view of the edge set.
+     */
+    private class EdgeSet
+        extends
+        AbstractSet<Long>
+    {
+        @Override
+        public Iterator<Long> iterator()
+        {
+            return new IndexIterator(0, m, i -> i);
+        }
+
+        @Override
+        public int size()
+        {
+            return m;
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            return edgeIndexOf(o) >= 0;
+        }
+    }
+
+    /**
+     * Unmodifiable view of a single adjacency row.
+     */
+    private class EdgeRowSet
+        extends
+        AbstractSet<Long>
+    {
+        private final long row;
+        private final long from;
+        private final long to;
+        private final int v;
+        private final int kind;
+
+        EdgeRowSet(long row, long from, long to, int v, int kind)
+        {
+            this.row = row;
+            this.from = from;
+            this.to = to;
+            this.v = v;
+            this.kind = kind;
+        }
+
+        @Override
+        public Iterator<Long> iterator()
+        {
+            return new IndexIterator(from, to, i -> buffer.getInt(row + 4L * i));
+        }
+
+        @Override
+        public int size()
+        {
+            return (int) (to - from);
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            int e = edgeIndexOf(o);
+            if (e < 0) {
+                return false;
+            }
+            switch (kind) {
+            case OUTGOING:
+                return source(e) == v;
+            case INCOMING:
+                return target(e) == v;
+            default:
+                return source(e) == v || target(e) == v;
+            }
+        }
+    }
+
+    /**
+     * Unmodifiable view of all edges touching a vertex of a directed graph. The outgoing edges are
+     * reported first, followed by the incoming edges which are not self-loops.
+     */
+    private class TouchingEdgeSet
+        extends
+        AbstractSet<Long>
+    {
+        private final int v;
+
+        TouchingEdgeSet(int v)
+        {
+            this.v = v;
+        }
+
+        @Override
+        public Iterator<Long> iterator()
+        {
+            return new Iterator<Long>()
+            {
+                private long i = outOffset(v);
+                private long j = nextIncoming(inOffset(v));
+
+                @Override
+                public boolean hasNext()
+                {
+                    return i < outOffset(v + 1) || j < inOffset(v + 1);
+                }
+
+                @Override
+                public Long next()
+                {
+                    if (i < outOffset(v + 1)) {
+                        return (long) outEdge(i++);
+                    }
+                    if (j < inOffset(v + 1)) {
+                        int e = inEdge(j);
+                        j = nextIncoming(j + 1);
+                        return (long) e;
+                    }
+                    throw new NoSuchElementException();
+                }
+            };
+        }
+
+        private long nextIncoming(long j)
+        {
+            long to = inOffset(v + 1);
+            while (j < to && source(inEdge(j)) == v) {
+                j++;
+            }
+            return j;
+        }
+
+        @Override
+        public int size()
+        {
+            return (int) (outOffset(v + 1) - outOffset(v) + inOffset(v + 1) - inOffset(v))
+                - countLoops(v);
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            int e = edgeIndexOf(o);
+            return e >= 0 && (source(e) == v || target(e) == v);
+        }
+    }
+
+    /**
+     * Iterator over a range of positions, mapping each position to a {@code long} value.
+     */
+    private static class IndexIterator
+        implements
+        Iterator<Long>
+    {
+        private long next;
+        private final long to;
+        private final LongUnaryOperator mapper;
+
+        IndexIterator(long from, long to, LongUnaryOperator mapper)
+        {
+            this.next = from;
+            this.to = to;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return next < to;
+        }
+
+        @Override
+        public Long next()
+        {
+            if (next >= to) {
+                throw new NoSuchElementException();
+            }
+            return mapper.applyAsLong(next++);
+        }
+    }
+}
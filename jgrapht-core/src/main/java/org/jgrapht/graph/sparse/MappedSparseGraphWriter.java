@@ -0,0 +1,177 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.sparse;
+
+import org.jgrapht.*;
+
+import java.io.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Writes a graph into a file which can be opened as a {@link MappedSparseGraph}.
+ *
+ * <p>
+ * Each vertex of the written graph is identified by a {@code long} identifier, which becomes the
+ * corresponding vertex of the {@link MappedSparseGraph}. The identifiers are either computed by a
+ * user supplied function, which must assign distinct identifiers to distinct vertices, or are
+ * assigned consecutively starting from zero in the iteration order of the vertices. The edges are
+ * numbered consecutively starting from zero in the iteration order of the edges.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class MappedSparseGraphWriter<V, E>
+{
+    private final ToLongFunction<V> vertexIdProvider;
+
+    /**
+     * Create a new writer which assigns consecutive identifiers to the vertices.
+     */
+    public MappedSparseGraphWriter()
+    {
+        this.vertexIdProvider = null;
+    }
+
+    /**
+     * Create a new writer.
+     *
+     * @param vertexIdProvider function which computes the identifier of a vertex
+     */
+    public MappedSparseGraphWriter(ToLongFunction<V> vertexIdProvider)
+    {
+        this.vertexIdProvider =
+            Objects.requireNonNull(vertexIdProvider, "Vertex id provider cannot be null");
+    }
+
+    /**
+     * Write a graph into a file. An existing file is overwritten.
+     *
+     * @param graph the graph
+     * @param file the output file
+     * @throws IOException in case of an I/O error
+     * @throws IllegalArgumentException if the graph is mixed or if two vertices have the same
+     *         identifier
+     */
+    public void write(Graph<V, E> graph, Path file)
+        throws IOException
+    {
+        GraphType type = graph.getType();
+        if (type.isMixed()) {
+            throw new IllegalArgumentException("Mixed graph not supported");
+        }
+
+        int n = graph.vertexSet().size();
+        long[] ids = new long[n];
+        int i = 0;
+        for (V v : graph.vertexSet()) {
+            ids[i] = vertexIdProvider == null ? i : vertexIdProvider.applyAsLong(v);
+            i++;
+        }
+        long[] sortedIds = ids.clone();
+        Arrays.sort(sortedIds);
+        for (i = 1; i < n; i++) {
+            if (sortedIds[i - 1] == sortedIds[i]) {
+                throw new IllegalArgumentException("Duplicate vertex id " + sortedIds[i]);
+            }
+        }
+        Map<V, Integer> vertexIndex = new HashMap<>();
+        i = 0;
+        for (V v : graph.vertexSet()) {
+            vertexIndex.put(v, Arrays.binarySearch(sortedIds, ids[i++]));
+        }
+
+        int m = graph.edgeSet().size();
+        int[] source = new int[m];
+        int[] target = new int[m];
+        double[] weights = type.isWeighted() ? new double[m] : null;
+        i = 0;
+        for (E e : graph.edgeSet()) {
+            source[i] = vertexIndex.get(graph.getEdgeSource(e));
+            target[i] = vertexIndex.get(graph.getEdgeTarget(e));
+            if (weights != null) {
+                weights[i] = graph.getEdgeWeight(e);
+            }
+            i++;
+        }
+
+        CsrIndex csr = CsrIndex.build(type.isDirected(), n, source, target);
+
+        int flags = 0;
+        if (type.isDirected()) {
+            flags |= MappedSparseGraph.DIRECTED;
+        }
+        if (type.isWeighted()) {
+            flags |= MappedSparseGraph.WEIGHTED;
+        }
+        if (type.isAllowingMultipleEdges()) {
+            flags |= MappedSparseGraph.MULTIPLE_EDGES;
+        }
+        if (type.isAllowingSelfLoops()) {
+            flags |= MappedSparseGraph.SELF_LOOPS;
+        }
+        int k = csr.outEdges.length;
+        MappedSparseGraph.Layout layout = new MappedSparseGraph.Layout(flags, n, m, k);
+
+        try (FileChannel channel = FileChannel.open(
+            file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            MappedBuffer buffer =
+                MappedBuffer.map(channel, FileChannel.MapMode.READ_WRITE, layout.size);
+            buffer.putInt(0, MappedSparseGraph.MAGIC);
+            buffer.putInt(4, MappedSparseGraph.VERSION);
+            buffer.putInt(8, flags);
+            buffer.putInt(12, 0);
+            buffer.putLong(16, n);
+            buffer.putLong(24, m);
+            buffer.putLong(32, k);
+
+            for (i = 0; i < n; i++) {
+                buffer.putLong(layout.ids + 8L * i, sortedIds[i]);
+            }
+            for (i = 0; i < m; i++) {
+                buffer.putInt(layout.sources + 4L * i, source[i]);
+                buffer.putInt(layout.targets + 4L * i, target[i]);
+                if (weights != null) {
+                    buffer.putDouble(layout.weights + 8L * i, weights[i]);
+                }
+            }
+            writeRows(buffer, layout.outOffsets, layout.outEdges, csr.outOffsets, csr.outEdges);
+            if (type.isDirected()) {
+                writeRows(buffer, layout.inOffsets, layout.inEdges, csr.inOffsets, csr.inEdges);
+            }
+            buffer.force();
+        }
+    }
+
+    private static void writeRows(
+        MappedBuffer buffer, long offsetsPosition, long edgesPosition, int[] offsets, int[] edges)
+    {
+        for (int i = 0; i < offsets.length; i++) {
+            buffer.putLong(offsetsPosition + 8L * i, offsets[i]);
+        }
+        for (int i = 0; i < edges.length; i++) {
+            buffer.putInt(edgesPosition + 4L * i, edges[i]);
+        }
+    }
+}
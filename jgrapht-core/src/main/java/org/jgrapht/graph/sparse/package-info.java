@@ -0,0 +1,5 @@
+/**
+ * Immutable graph implementations backed by compressed sparse row arrays, either on the heap or
+ * in memory-mapped files, and utilities to reorder them for cache-friendly traversals.
+ */
+package org.jgrapht.graph.sparse;
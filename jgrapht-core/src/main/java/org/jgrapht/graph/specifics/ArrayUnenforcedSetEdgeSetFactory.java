@@ -39,15 +39,40 @@ public class ArrayUnenforcedSetEdgeSetFactory<V, E>
 {
     private static final long serialVersionUID = 5936902837403445985L;
 
+    private final int initialCapacity;
+
+    /**
+     * Create a new factory.
+     */
+    public ArrayUnenforcedSetEdgeSetFactory()
+    {
+        // NOTE: use size 1 to keep memory usage under control
+        // for the common case of vertices with low degree
+        this(1);
+    }
+
+    /**
+     * Create a new factory for edge sets with a particular initial capacity, such as the expected
+     * average degree of the vertices.
+     *
+     * @param initialCapacity the initial capacity of the edge sets
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    public ArrayUnenforcedSetEdgeSetFactory(int initialCapacity)
+    {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative");
+        }
+        this.initialCapacity = initialCapacity;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public Set<E> createEdgeSet(V vertex)
     {
-        // NOTE: use size 1 to keep memory usage under control
-        // for the common case of vertices with low degree
-        return new ArrayUnenforcedSet<>(1);
+        return new ArrayUnenforcedSet<>(initialCapacity);
     }
 
 }
@@ -0,0 +1,232 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.specifics;
+
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Compact implementation of directed specifics. The edges of each vertex are stored as edge
+ * indices of a {@link CompactIntrusiveEdgesSpecifics} in integer arrays, so that no edge objects
+ * are kept in memory. Edge objects are created on demand when the edge sets of a vertex are
+ * iterated. Like {@link DirectedSpecifics}, edge retrievals take time linear in the degree of the
+ * source vertex.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class CompactDirectedSpecifics<V, E>
+    implements
+    Specifics<V, E>,
+    Serializable
+{
+    private static final long serialVersionUID = -5283149208376250195L;
+
+    protected AbstractBaseGraph<V, E> abstractBaseGraph;
+    protected CompactIntrusiveEdgesSpecifics<V, E> edges;
+    private Map<V, CompactEdgeContainer> vertexMap;
+
+    /**
+     * Construct a new compact directed specifics.
+     *
+     * @param abstractBaseGraph the graph for which these specifics are for
+     * @param edges the storage of the edges of the graph
+     */
+    public CompactDirectedSpecifics(
+        AbstractBaseGraph<V, E> abstractBaseGraph, CompactIntrusiveEdgesSpecifics<V, E> edges)
+    {
+        this.abstractBaseGraph = abstractBaseGraph;
+        this.edges = edges;
+        this.vertexMap = new LinkedHashMap<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addVertex(V v)
+    {
+        if (vertexMap.containsKey(v)) {
+            return false;
+        }
+        vertexMap.put(v, new CompactEdgeContainer());
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<V> getVertexSet()
+    {
+        return vertexMap.keySet();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<E> getAllEdges(V sourceVertex, V targetVertex)
+    {
+        CompactEdgeContainer ec = vertexMap.get(sourceVertex);
+        if (ec == null || !vertexMap.containsKey(targetVertex)) {
+            return null;
+        }
+
+        Set<E> result = new ArrayUnenforcedSet<>();
+        for (int i = 0; i < ec.outgoingSize; i++) {
+            int e = ec.outgoing[i];
+            if (edges.getEdgeTarget(e).equals(targetVertex)) {
+                result.add(edges.getEdge(e));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E getEdge(V sourceVertex, V targetVertex)
+    {
+        CompactEdgeContainer ec = vertexMap.get(sourceVertex);
+        if (ec == null || !vertexMap.containsKey(targetVertex)) {
+            return null;
+        }
+
+        for (int i = 0; i < ec.outgoingSize; i++) {
+            int e = ec.outgoing[i];
+            if (edges.getEdgeTarget(e).equals(targetVertex)) {
+                return edges.getEdge(e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addEdgeToTouchingVertices(E e)
+    {
+        int index = edges.getEdgeIndex(e);
+        V source = edges.getEdgeSource(index);
+        V target = edges.getEdgeTarget(index);
+
+        getEdgeContainer(source).addOutgoing(index);
+        CompactEdgeContainer ec = getEdgeContainer(target);
+        ec.addIncoming(index);
+        if (source.equals(target)) {
+            ec.loops++;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int degreeOf(V vertex)
+    {
+        CompactEdgeContainer ec = getEdgeContainer(vertex);
+        return ec.outgoingSize + ec.incomingSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<E> edgesOf(V vertex)
+    {
+        return getEdgeContainer(vertex).view(edges, true, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int inDegreeOf(V vertex)
+    {
+        return getEdgeContainer(vertex).incomingSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<E> incomingEdgesOf(V vertex)
+    {
+        return getEdgeContainer(vertex).view(edges, false, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int outDegreeOf(V vertex)
+    {
+        return getEdgeContainer(vertex).outgoingSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<E> outgoingEdgesOf(V vertex)
+    {
+        return getEdgeContainer(vertex).view(edges, true, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeEdgeFromTouchingVertices(E e)
+    {
+        int index = edges.getEdgeIndex(e);
+        V source = edges.getEdgeSource(index);
+        V target = edges.getEdgeTarget(index);
+
+        getEdgeContainer(source).removeOutgoing(index);
+        CompactEdgeContainer ec = getEdgeContainer(target);
+        ec.removeIncoming(index);
+        if (source.equals(target)) {
+            ec.loops--;
+        }
+    }
+
+    /**
+     * Get the edge container for specified vertex.
+     *
+     * @param vertex a vertex in this graph
+     *
+     * @return an edge container
+     */
+    private CompactEdgeContainer getEdgeContainer(V vertex)
+    {
+        CompactEdgeContainer ec = vertexMap.get(vertex);
+        if (ec == null) {
+            throw new IllegalArgumentException("no such vertex in graph: " + vertex);
+        }
+        return ec;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.specifics;
+
+import org.jgrapht.graph.*;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * A container for the edges of a vertex, which stores edge indices of a
+ * {@link CompactIntrusiveEdgesSpecifics} in integer arrays. Undirected graphs store the touching
+ * edges as outgoing edges and each self-loop only once.
+ *
+ * @author agent
+ */
+class CompactEdgeContainer
+    implements
+    Serializable
+{
+    private static final long serialVersionUID = -1925723591203846218L;
+
+    private static final int[] EMPTY = new int[0];
+
+    int[] outgoing = EMPTY;
+    int outgoingSize;
+    int[] incoming = EMPTY;
+    int incomingSize;
+    int loops;
+
+    void addOutgoing(int e)
+    {
+        outgoing = append(outgoing, outgoingSize++, e);
+    }
+
+    void addIncoming(int e)
+    {
+        incoming = append(incoming, incomingSize++, e);
+    }
+
+    void removeOutgoing(int e)
+    {
+        if (remove(outgoing, outgoingSize, e)) {
+            outgoingSize--;
+        }
+    }
+
+    void removeIncoming(int e)
+    {
+        if (remove(incoming, incomingSize, e)) {
+            incomingSize--;
+        }
+    }
+
+    /**
+     * Create an unmodifiable live view of some of the edges of the container.
+     *
+     * @param edges the edge storage
+     * @param out whether to include the outgoing edges
+     * @param in whether to include the incoming edges
+     * @return the view
+     */
+    <V, E> Set<E> view(CompactIntrusiveEdgesSpecifics<V, E> edges, boolean out, boolean in)
+    {
+        return new EdgeView<>(edges, out, in);
+    }
+
+    private static int[] append(int[] array, int size, int e)
+    {
+        if (size == array.length) {
+            array = Arrays.copyOf(array, Math.max(4, size + (size >> 1)));
+        }
+        array[size] = e;
+        return array;
+    }
+
+    private static boolean remove(int[] array, int size, int e)
+    {
+        for (int i = 0; i < size; i++) {
+            if (array[i] == e) {
+                System.arraycopy(array, i + 1, array, i, size - i - 1);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(int[] array, int size, int e)
+    {
+        for (int i = 0; i < size; i++) {
+            if (array[i] == e) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private class EdgeView<V, E>
+        extends
+        AbstractSet<E>
+    {
+        private final CompactIntrusiveEdgesSpecifics<V, E> edges;
+        private final boolean out;
+        private final boolean in;
+
+        EdgeView(CompactIntrusiveEdgesSpecifics<V, E> edges, boolean out, boolean in)
+        {
+            this.edges = edges;
+            this.out = out;
+            this.in = in;
+        }
+
+        @Override
+        public Iterator<E> iterator()
+        {
+            return new Iterator<E>()
+            {
+                private boolean inOutgoing = out;
+                private int position = -1;
+                private int next = advance();
+
+                /*
+                 * Self-loops are both outgoing and incoming, thus they are skipped in the incoming
+                 * edges if the outgoing edges are also iterated.
+                 */
+                private int advance()
+                {
+                    if (inOutgoing) {
+                        if (++position < outgoingSize) {
+                            return outgoing[position];
+                        }
+                        inOutgoing = false;
+                        position = -1;
+                    }
+                    if (in) {
+                        while (++position < incomingSize) {
+                            int e = incoming[position];
+                            if (!out || !edges.getEdgeSource(e).equals(edges.getEdgeTarget(e))) {
+                                return e;
+                            }
+                        }
+                    }
+                    return -1;
+                }
+
+                @Override
+                public boolean hasNext()
+                {
+                    return next != -1;
+                }
+
+                @Override
+                public E next()
+                {
+                    if (next == -1) {
+                        throw new NoSuchElementException();
+                    }
+                    E e = edges.getEdge(next);
+                    next = advance();
+                    return e;
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            if (out && in) {
+                return outgoingSize + incomingSize - loops;
+            }
+            return out ? outgoingSize : incomingSize;
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            int e = edges.getEdgeIndex(o);
+            if (e == -1) {
+                return false;
+            }
+            return (out && CompactEdgeContainer.contains(outgoing, outgoingSize, e))
+                || (in && CompactEdgeContainer.contains(incoming, incomingSize, e));
+        }
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.specifics;
+
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Compact implementation of undirected specifics. The touching edges of each vertex are stored as
+ * edge indices of a {@link CompactIntrusiveEdgesSpecifics} in an integer array, so that no edge
+ * objects are kept in memory. Edge objects are created on demand when the edge sets of a vertex are
+ * iterated. Like {@link UndirectedSpecifics}, edge retrievals take time linear in the degree of the
+ * source vertex.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class CompactUndirectedSpecifics<V, E>
+    implements
+    Specifics<V, E>,
+    Serializable
+{
+    private static final long serialVersionUID = 2904716252097403718L;
+
+    protected AbstractBaseGraph<V, E> abstractBaseGraph;
+    protected CompactIntrusiveEdgesSpecifics<V, E> edges;
+    private Map<V, CompactEdgeContainer> vertexMap;
+
+    /**
+     * Construct a new compact undirected specifics.
+     *
+     * @param abstractBaseGraph the graph for which these specifics are for
+     * @param edges the storage of the edges of the graph
+     */
+    public CompactUndirectedSpecifics(
+        AbstractBaseGraph<V, E> abstractBaseGraph, CompactIntrusiveEdgesSpecifics<V, E> edges)
+    {
+        this.abstractBaseGraph = abstractBaseGraph;
+        this.edges = edges;
+        this.vertexMap = new LinkedHashMap<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addVertex(V v)
+    {
+        if (vertexMap.containsKey(v)) {
+            return false;
+        }
+        vertexMap.put(v, new CompactEdgeContainer());
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<V> getVertexSet()
+    {
+        return vertexMap.keySet();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<E> getAllEdges(V sourceVertex, V targetVertex)
+    {
+        CompactEdgeContainer ec = vertexMap.get(sourceVertex);
+        if (ec == null || !vertexMap.containsKey(targetVertex)) {
+            return null;
+        }
+
+        Set<E> result = new ArrayUnenforcedSet<>();
+        for (int i = 0; i < ec.outgoingSize; i++) {
+            int e = ec.outgoing[i];
+            if (isEqualsStraightOrInverted(sourceVertex, targetVertex, e)) {
+                result.add(edges.getEdge(e));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E getEdge(V sourceVertex, V targetVertex)
+    {
+        CompactEdgeContainer ec = vertexMap.get(sourceVertex);
+        if (ec == null || !vertexMap.containsKey(targetVertex)) {
+            return null;
+        }
+
+        for (int i = 0; i < ec.outgoingSize; i++) {
+            int e = ec.outgoing[i];
+            if (isEqualsStraightOrInverted(sourceVertex, targetVertex, e)) {
+                return edges.getEdge(e);
+            }
+        }
+        return null;
+    }
+
+    private boolean isEqualsStraightOrInverted(V sourceVertex, V targetVertex, int e)
+    {
+        V source = edges.getEdgeSource(e);
+        V target = edges.getEdgeTarget(e);
+        return (source.equals(sourceVertex) && target.equals(targetVertex))
+            || (source.equals(targetVertex) && target.equals(sourceVertex));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addEdgeToTouchingVertices(E e)
+    {
+        int index = edges.getEdgeIndex(e);
+        V source = edges.getEdgeSource(index);
+        V target = edges.getEdgeTarget(index);
+
+        CompactEdgeContainer ec = getEdgeContainer(source);
+        ec.addOutgoing(index);
+        if (source.equals(target)) {
+            ec.loops++;
+        } else {
+            getEdgeContainer(target).addOutgoing(index);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int degreeOf(V vertex)
+    {
+        // self-loops are counted twice
+        CompactEdgeContainer ec = getEdgeContainer(vertex);
+        return ec.outgoingSize + ec.loops;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<E> edgesOf(V vertex)
+    {
+        return getEdgeContainer(vertex).view(edges, true, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int inDegreeOf(V vertex)
+    {
+        return degreeOf(vertex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<E> incomingEdgesOf(V vertex)
+    {
+        return edgesOf(vertex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int outDegreeOf(V vertex)
+    {
+        return degreeOf(vertex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<E> outgoingEdgesOf(V vertex)
+    {
+        return edgesOf(vertex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeEdgeFromTouchingVertices(E e)
+    {
+        int index = edges.getEdgeIndex(e);
+        V source = edges.getEdgeSource(index);
+        V target = edges.getEdgeTarget(index);
+
+        CompactEdgeContainer ec = getEdgeContainer(source);
+        ec.removeOutgoing(index);
+        if (source.equals(target)) {
+            ec.loops--;
+        } else {
+            getEdgeContainer(target).removeOutgoing(index);
+        }
+    }
+
+    /**
+     * Get the edge container for specified vertex.
+     *
+     * @param vertex a vertex in this graph
+     *
+     * @return an edge container
+     */
+    private CompactEdgeContainer getEdgeContainer(V vertex)
+    {
+        CompactEdgeContainer ec = vertexMap.get(vertex);
+        if (ec == null) {
+            throw new IllegalArgumentException("no such vertex in graph: " + vertex);
+        }
+        return ec;
+    }
+}
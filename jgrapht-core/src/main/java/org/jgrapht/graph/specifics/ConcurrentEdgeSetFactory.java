@@ -0,0 +1,54 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.specifics;
+
+import org.jgrapht.graph.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * An edge set factory which creates thread-safe sets backed by a {@link ConcurrentHashMap}. The
+ * sets support concurrent updates and weakly consistent iteration, but do not preserve the
+ * insertion order of the edges.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class ConcurrentEdgeSetFactory<V, E>
+    implements
+    EdgeSetFactory<V, E>,
+    Serializable
+{
+    private static final long serialVersionUID = -2437015876553917146L;
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<E> createEdgeSet(V vertex)
+    {
+        return ConcurrentHashMap.newKeySet(INITIAL_CAPACITY);
+    }
+
+}
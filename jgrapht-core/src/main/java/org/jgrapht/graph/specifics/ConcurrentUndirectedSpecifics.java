@@ -0,0 +1,84 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.specifics;
+
+import org.jgrapht.graph.*;
+
+import java.util.concurrent.*;
+
+/**
+ * Thread-safe implementation of UndirectedSpecifics. The vertex map and the edge containers are
+ * backed by concurrent maps, so that queries can run concurrently with updates without any
+ * locking. Updates which touch the same vertex must still be serialized by the graph; see
+ * {@link org.jgrapht.graph.concurrent.ConcurrentGraph}.
+ *
+ * <p>
+ * Contrary to {@link UndirectedSpecifics}, a query on a vertex which has been concurrently removed
+ * from the graph does not recreate its edge container, but behaves as if the vertex had no edges.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class ConcurrentUndirectedSpecifics<V, E>
+    extends
+    UndirectedSpecifics<V, E>
+{
+    private static final long serialVersionUID = -7702841337109263842L;
+
+    /**
+     * Construct a new concurrent undirected specifics.
+     * 
+     * @param abstractBaseGraph the graph for which these specifics are for
+     */
+    public ConcurrentUndirectedSpecifics(AbstractBaseGraph<V, E> abstractBaseGraph)
+    {
+        super(abstractBaseGraph, new ConcurrentHashMap<>(), new ConcurrentEdgeSetFactory<>());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addVertex(V v)
+    {
+        if (vertexMapUndirected.containsKey(v)) {
+            return false;
+        }
+        return vertexMapUndirected.putIfAbsent(v, createEdgeContainer(v)) == null;
+    }
+
+    /**
+     * Get the edge container for specified vertex. If the vertex does not exist an empty container
+     * is returned which is not stored in the vertex map.
+     *
+     * @param vertex a vertex in this graph.
+     *
+     * @return an edge container
+     */
+    @Override
+    protected UndirectedEdgeContainer<V, E> getEdgeContainer(V vertex)
+    {
+        UndirectedEdgeContainer<V, E> ec = vertexMapUndirected.get(vertex);
+        if (ec == null) {
+            ec = createEdgeContainer(vertex);
+        }
+        return ec;
+    }
+}
@@ -93,7 +93,7 @@ public class DirectedSpecifics<V, E>
     {
         DirectedEdgeContainer<V, E> ec = vertexMapDirected.get(v);
         if (ec == null) {
-            vertexMapDirected.put(v, new DirectedEdgeContainer<>(edgeSetFactory, v));
+            vertexMapDirected.put(v, createEdgeContainer(v));
             return true;
         }
         return false;
@@ -254,6 +254,26 @@ public class DirectedSpecifics<V, E>
         getEdgeContainer(target).removeIncomingEdge(e);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * If the graph contains no vertices and the vertices are stored in a {@link LinkedHashMap},
+     * the map is replaced by a map with sufficient capacity. Edge containers created afterwards
+     * are sized for the average degree, if they are {@link ArrayUnenforcedSet}s.
+     */
+    @Override
+    public void ensureCapacity(int expectedVertices, int expectedEdges)
+    {
+        if (vertexMapDirected.isEmpty() && vertexMapDirected.getClass() == LinkedHashMap.class) {
+            vertexMapDirected = CollectionUtil.newLinkedHashMapWithExpectedSize(expectedVertices);
+        }
+        if (edgeSetFactory instanceof ArrayUnenforcedSetEdgeSetFactory && expectedVertices > 0) {
+            int averageDegree = (int) Math.ceil((double) expectedEdges / expectedVertices);
+            edgeSetFactory = new ArrayUnenforcedSetEdgeSetFactory<>(Math.max(1, averageDegree));
+        }
+    }
+
     /**
      * Get the edge container for specified vertex.
      *
@@ -266,10 +286,22 @@ public class DirectedSpecifics<V, E>
         DirectedEdgeContainer<V, E> ec = vertexMapDirected.get(vertex);
 
         if (ec == null) {
-            ec = new DirectedEdgeContainer<>(edgeSetFactory, vertex);
+            ec = createEdgeContainer(vertex);
             vertexMapDirected.put(vertex, ec);
         }
 
         return ec;
     }
+
+    /**
+     * Create the edge container for a new vertex. Subclasses can override this method in order to
+     * store additional information per vertex.
+     *
+     * @param vertex the vertex
+     * @return a new edge container
+     */
+    protected DirectedEdgeContainer<V, E> createEdgeContainer(V vertex)
+    {
+        return new DirectedEdgeContainer<>(edgeSetFactory, vertex);
+    }
 }
@@ -159,4 +159,20 @@ public class FastLookupDirectedSpecifics<V, E>
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Additionally presizes the map from vertex pairs to edges if the graph contains no edges.
+     */
+    @Override
+    public void ensureCapacity(int expectedVertices, int expectedEdges)
+    {
+        super.ensureCapacity(expectedVertices, expectedEdges);
+        if (touchingVerticesToEdgeMap.isEmpty()
+            && touchingVerticesToEdgeMap.getClass() == HashMap.class)
+        {
+            touchingVerticesToEdgeMap = CollectionUtil.newHashMapWithExpectedSize(expectedEdges);
+        }
+    }
 }
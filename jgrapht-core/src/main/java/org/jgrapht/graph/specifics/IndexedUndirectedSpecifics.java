@@ -0,0 +1,239 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.specifics;
+
+import org.jgrapht.graph.*;
+
+import java.util.*;
+
+/**
+ * Implementation of UndirectedSpecifics with fast edge retrievals for high-degree vertices. This
+ * class improves the performance of methods which depend on edge retrievals, e.g. getEdge(V u, V
+ * v), containsEdge(V u, V v), addEdge(V u, V v), similarly to
+ * {@link FastLookupUndirectedSpecifics}.
+ *
+ * <p>
+ * Instead of a single global map from vertex pairs to edges, each vertex whose degree exceeds a
+ * threshold keeps a small open-addressing hash index from its neighbors to its edges. Edge
+ * retrievals from such vertices take expected constant time and do not allocate any objects,
+ * while edge retrievals from the remaining vertices scan their few edges. Since the index stores
+ * no per-pair objects, the memory overhead is considerably lower than the one of
+ * {@link FastLookupUndirectedSpecifics}. The index of a vertex is discarded when its degree drops
+ * below half the threshold.
+ *
+ * <p>
+ * These specifics are used by {@link IndexedGraph}. Other graphs can use them, for example with a
+ * different threshold, by overriding {@link AbstractBaseGraph#createSpecifics(boolean)}.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class IndexedUndirectedSpecifics<V, E>
+    extends
+    UndirectedSpecifics<V, E>
+{
+    private static final long serialVersionUID = 6494588405178655873L;
+
+    /**
+     * Default degree above which a vertex is indexed
+     */
+    public static final int DEFAULT_INDEX_THRESHOLD = 16;
+
+    private final int indexThreshold;
+
+    /**
+     * Construct a new indexed undirected specifics.
+     *
+     * @param abstractBaseGraph the graph for which these specifics are for
+     */
+    public IndexedUndirectedSpecifics(AbstractBaseGraph<V, E> abstractBaseGraph)
+    {
+        this(abstractBaseGraph, DEFAULT_INDEX_THRESHOLD);
+    }
+
+    /**
+     * Construct a new indexed undirected specifics.
+     *
+     * @param abstractBaseGraph the graph for which these specifics are for
+     * @param indexThreshold the degree above which a vertex is indexed
+     */
+    public IndexedUndirectedSpecifics(AbstractBaseGraph<V, E> abstractBaseGraph, int indexThreshold)
+    {
+        this(
+            abstractBaseGraph, new LinkedHashMap<>(), new ArrayUnenforcedSetEdgeSetFactory<>(),
+            indexThreshold);
+    }
+
+    /**
+     * Construct a new indexed undirected specifics.
+     *
+     * @param abstractBaseGraph the graph for which these specifics are for
+     * @param vertexMap map for the storage of vertex edge sets, must be empty
+     * @param edgeSetFactory factory for the creation of vertex edge sets
+     * @param indexThreshold the degree above which a vertex is indexed
+     * @throws IllegalArgumentException if the threshold is negative
+     */
+    public IndexedUndirectedSpecifics(
+        AbstractBaseGraph<V, E> abstractBaseGraph,
+        Map<V, UndirectedEdgeContainer<V, E>> vertexMap, EdgeSetFactory<V, E> edgeSetFactory,
+        int indexThreshold)
+    {
+        super(abstractBaseGraph, vertexMap, edgeSetFactory);
+        if (indexThreshold < 0) {
+            throw new IllegalArgumentException("Index threshold cannot be negative");
+        }
+        this.indexThreshold = indexThreshold;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<E> getAllEdges(V sourceVertex, V targetVertex)
+    {
+        if (abstractBaseGraph.containsVertex(sourceVertex)
+            && abstractBaseGraph.containsVertex(targetVertex))
+        {
+            IndexedEdgeContainer<V, E> ec = getIndexedEdgeContainer(sourceVertex);
+            if (ec.index != null) {
+                return ec.index.getAllEdges(targetVertex);
+            }
+        }
+        return super.getAllEdges(sourceVertex, targetVertex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E getEdge(V sourceVertex, V targetVertex)
+    {
+        IndexedEdgeContainer<V, E> ec =
+            (IndexedEdgeContainer<V, E>) vertexMapUndirected.get(sourceVertex);
+        if (ec == null || targetVertex == null) {
+            return null;
+        }
+        if (ec.index != null) {
+            return ec.index.getEdge(targetVertex);
+        }
+        for (E e : ec.vertexEdges) {
+            if (getOppositeVertex(e, sourceVertex).equals(targetVertex)) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addEdgeToTouchingVertices(E e)
+    {
+        V source = abstractBaseGraph.getEdgeSource(e);
+        V target = abstractBaseGraph.getEdgeTarget(e);
+
+        addEdge(source, target, e);
+        if (!source.equals(target)) {
+            addEdge(target, source, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeEdgeFromTouchingVertices(E e)
+    {
+        V source = abstractBaseGraph.getEdgeSource(e);
+        V target = abstractBaseGraph.getEdgeTarget(e);
+
+        removeEdge(source, target, e);
+        if (!source.equals(target)) {
+            removeEdge(target, source, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected UndirectedEdgeContainer<V, E> createEdgeContainer(V vertex)
+    {
+        return new IndexedEdgeContainer<>(edgeSetFactory, vertex);
+    }
+
+    private void addEdge(V vertex, V neighbor, E e)
+    {
+        IndexedEdgeContainer<V, E> ec = getIndexedEdgeContainer(vertex);
+        ec.addEdge(e);
+
+        if (ec.index != null) {
+            ec.index.add(neighbor, e);
+        } else if (ec.vertexEdges.size() > indexThreshold) {
+            ec.index = new NeighborEdgeIndex<>(ec.vertexEdges.size());
+            for (E f : ec.vertexEdges) {
+                ec.index.add(getOppositeVertex(f, vertex), f);
+            }
+        }
+    }
+
+    private void removeEdge(V vertex, V neighbor, E e)
+    {
+        IndexedEdgeContainer<V, E> ec = getIndexedEdgeContainer(vertex);
+        ec.removeEdge(e);
+
+        if (ec.index != null) {
+            if (ec.vertexEdges.size() < indexThreshold / 2) {
+                ec.index = null;
+            } else {
+                ec.index.remove(neighbor, e);
+            }
+        }
+    }
+
+    private V getOppositeVertex(E e, V vertex)
+    {
+        V source = abstractBaseGraph.getEdgeSource(e);
+        return source.equals(vertex) ? abstractBaseGraph.getEdgeTarget(e) : source;
+    }
+
+    private IndexedEdgeContainer<V, E> getIndexedEdgeContainer(V vertex)
+    {
+        return (IndexedEdgeContainer<V, E>) getEdgeContainer(vertex);
+    }
+
+    /**
+     * An edge container with an optional index of the edges.
+     */
+    private static class IndexedEdgeContainer<V, E>
+        extends
+        UndirectedEdgeContainer<V, E>
+    {
+        private static final long serialVersionUID = -5361470123904389916L;
+
+        NeighborEdgeIndex<V, E> index;
+
+        IndexedEdgeContainer(EdgeSetFactory<V, E> edgeSetFactory, V vertex)
+        {
+            super(edgeSetFactory, vertex);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.specifics;
+
+import org.jgrapht.util.*;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * An index from the neighbors of a vertex to the edges which connect the vertex with them.
+ *
+ * <p>
+ * The index is an open-addressing hash table with linear probing, which stores the neighbors and
+ * the edges in two parallel arrays. A neighbor which is connected by a single edge maps directly
+ * to the edge, otherwise it maps to a list of edges. Lookups do not allocate any objects.
+ * Deletions use backward shifting, thus the table never contains tombstones.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+class NeighborEdgeIndex<V, E>
+    implements
+    Serializable
+{
+    private static final long serialVersionUID = -2372617937185262358L;
+
+    private static final int MIN_CAPACITY = 8;
+
+    private Object[] keys;
+    private Object[] values;
+    private int size;
+
+    /**
+     * Create a new index.
+     *
+     * @param expectedNeighbors the expected number of neighbors
+     */
+    NeighborEdgeIndex(int expectedNeighbors)
+    {
+        int capacity = MIN_CAPACITY;
+        while (capacity < 2 * expectedNeighbors) {
+            capacity <<= 1;
+        }
+        keys = new Object[capacity];
+        values = new Object[capacity];
+    }
+
+    /**
+     * Get some edge connecting the vertex with a neighbor.
+     *
+     * @param neighbor the neighbor
+     * @return an edge, or null if there is no such edge
+     */
+    E getEdge(Object neighbor)
+    {
+        int i = find(neighbor);
+        if (i < 0) {
+            return null;
+        }
+        Object value = values[i];
+        if (value instanceof Edges) {
+            return TypeUtil.uncheckedCast(((Edges) value).get(0));
+        }
+        return TypeUtil.uncheckedCast(value);
+    }
+
+    /**
+     * Get all edges connecting the vertex with a neighbor.
+     *
+     * @param neighbor the neighbor
+     * @return a new set with the edges
+     */
+    Set<E> getAllEdges(Object neighbor)
+    {
+        ArrayUnenforcedSet<E> result = new ArrayUnenforcedSet<>();
+        int i = find(neighbor);
+        if (i >= 0) {
+            Object value = values[i];
+            if (value instanceof Edges) {
+                for (Object e : (Edges) value) {
+                    result.add(TypeUtil.uncheckedCast(e));
+                }
+            } else {
+                result.add(TypeUtil.uncheckedCast(value));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Add an edge connecting the vertex with a neighbor.
+     *
+     * @param neighbor the neighbor
+     * @param e the edge
+     */
+    void add(V neighbor, E e)
+    {
+        int mask = keys.length - 1;
+        int i = hash(neighbor) & mask;
+        while (keys[i] != null) {
+            if (keys[i].equals(neighbor)) {
+                Object value = values[i];
+                if (value instanceof Edges) {
+                    ((Edges) value).add(e);
+                } else {
+                    Edges edges = new Edges();
+                    edges.add(value);
+                    edges.add(e);
+                    values[i] = edges;
+                }
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = neighbor;
+        values[i] = e;
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+    }
+
+    /**
+     * Remove an edge connecting the vertex with a neighbor.
+     *
+     * @param neighbor the neighbor
+     * @param e the edge
+     */
+    void remove(V neighbor, E e)
+    {
+        int i = find(neighbor);
+        if (i < 0) {
+            return;
+        }
+        Object value = values[i];
+        if (value instanceof Edges) {
+            Edges edges = (Edges) value;
+            edges.remove(e);
+            if (edges.size() == 1) {
+                values[i] = edges.get(0);
+            }
+            return;
+        }
+        if (!value.equals(e)) {
+            return;
+        }
+
+        // backward shift deletion
+        int mask = keys.length - 1;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (keys[j] == null) {
+                break;
+            }
+            int k = hash(keys[j]) & mask;
+            // move entry j to i if its home slot k is not cyclically in (i, j]
+            if (i <= j ? (i >= k || k > j) : (i >= k && k > j)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                i = j;
+            }
+        }
+        keys[i] = null;
+        values[i] = null;
+        size--;
+    }
+
+    private int find(Object neighbor)
+    {
+        int mask = keys.length - 1;
+        int i = hash(neighbor) & mask;
+        Object key;
+        while ((key = keys[i]) != null) {
+            if (key.equals(neighbor)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void resize(int capacity)
+    {
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != null) {
+                int i = hash(oldKeys[j]) & mask;
+                while (keys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private static int hash(Object key)
+    {
+        // spread the bits since linear probing is sensitive to clustered hash codes
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Multiple edges connecting the vertex with the same neighbor.
+     */
+    private static class Edges
+        extends
+        ArrayList<Object>
+    {
+        private static final long serialVersionUID = 7040187323218547146L;
+
+        Edges()
+        {
+            super(2);
+        }
+    }
+}
@@ -139,4 +139,16 @@ public interface Specifics<V, E>
      * @param e the edge
      */
     void removeEdgeFromTouchingVertices(E e);
+
+    /**
+     * Prepare the specifics for the addition of a known number of vertices and edges, in order to
+     * avoid repeated resizing of the internal data structures. The default implementation does
+     * nothing.
+     *
+     * @param expectedVertices the expected number of vertices
+     * @param expectedEdges the expected number of edges
+     */
+    default void ensureCapacity(int expectedVertices, int expectedEdges)
+    {
+    }
 }
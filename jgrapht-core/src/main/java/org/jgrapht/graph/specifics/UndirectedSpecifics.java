@@ -93,7 +93,7 @@ public class UndirectedSpecifics<V, E>
     {
         UndirectedEdgeContainer<V, E> ec = vertexMapUndirected.get(v);
         if (ec == null) {
-            vertexMapUndirected.put(v, new UndirectedEdgeContainer<>(edgeSetFactory, v));
+            vertexMapUndirected.put(v, createEdgeContainer(v));
             return true;
         }
         return false;
@@ -267,6 +267,29 @@ public class UndirectedSpecifics<V, E>
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * If the graph contains no vertices and the vertices are stored in a {@link LinkedHashMap},
+     * the map is replaced by a map with sufficient capacity. Edge containers created afterwards
+     * are sized for the average degree, if they are {@link ArrayUnenforcedSet}s.
+     */
+    @Override
+    public void ensureCapacity(int expectedVertices, int expectedEdges)
+    {
+        if (vertexMapUndirected.isEmpty()
+            && vertexMapUndirected.getClass() == LinkedHashMap.class)
+        {
+            vertexMapUndirected =
+                CollectionUtil.newLinkedHashMapWithExpectedSize(expectedVertices);
+        }
+        if (edgeSetFactory instanceof ArrayUnenforcedSetEdgeSetFactory && expectedVertices > 0) {
+            int averageDegree = (int) Math.ceil(2d * expectedEdges / expectedVertices);
+            edgeSetFactory = new ArrayUnenforcedSetEdgeSetFactory<>(Math.max(1, averageDegree));
+        }
+    }
+
     /**
      * Get the edge container for a specified vertex.
      *
@@ -279,10 +302,22 @@ public class UndirectedSpecifics<V, E>
         UndirectedEdgeContainer<V, E> ec = vertexMapUndirected.get(vertex);
 
         if (ec == null) {
-            ec = new UndirectedEdgeContainer<>(edgeSetFactory, vertex);
+            ec = createEdgeContainer(vertex);
             vertexMapUndirected.put(vertex, ec);
         }
 
         return ec;
     }
+
+    /**
+     * Create the edge container for a new vertex. Subclasses can override this method in order to
+     * store additional information per vertex.
+     *
+     * @param vertex the vertex
+     * @return a new edge container
+     */
+    protected UndirectedEdgeContainer<V, E> createEdgeContainer(V vertex)
+    {
+        return new UndirectedEdgeContainer<>(edgeSetFactory, vertex);
+    }
 }
@@ -0,0 +1,136 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+/**
+ * A min-heap with double keys whose elements can be addressed through handles.
+ *
+ * <p>
+ * Each insertion returns a {@link Handle} which can later be used to decrease the key of the
+ * element or to delete it from the heap. This is the interface required by algorithms such as
+ * Dijkstra's shortest path algorithm or Prim's minimum spanning tree algorithm, which allows them
+ * to be used with different heap implementations:
+ * <ul>
+ * <li>{@link FibonacciAddressableHeap}: the classic Fibonacci heap, with the best amortized
+ * bounds but a large constant factor.</li>
+ * <li>{@link PairingHeap}: a self-adjusting heap which is usually faster in practice.</li>
+ * <li>{@link DaryArrayAddressableHeap}: an implicit $d$-ary heap stored in an array, which has
+ * the best memory locality.</li>
+ * </ul>
+ * Algorithms whose elements are the integers $0,\dots,n-1$ may use the {@link IntDaryHeap}
+ * instead, which needs no handles at all.
+ *
+ * <p>
+ * Handles of elements which have been removed from the heap, either by {@link #deleteMin()},
+ * {@link Handle#delete()} or {@link #clear()}, must not be used anymore.
+ *
+ * @param <T> the element type
+ *
+ * @author agent
+ */
+public interface AddressableHeap<T>
+{
+    /**
+     * Insert an element into the heap.
+     *
+     * @param key the key of the element
+     * @param value the element
+     * @return a handle to the element
+     */
+    Handle<T> insert(double key, T value);
+
+    /**
+     * Get a handle to an element with the minimum key.
+     *
+     * @return a handle to an element with the minimum key
+     * @throws java.util.NoSuchElementException if the heap is empty
+     */
+    Handle<T> findMin();
+
+    /**
+     * Remove an element with the minimum key.
+     *
+     * @return a handle to the removed element
+     * @throws java.util.NoSuchElementException if the heap is empty
+     */
+    Handle<T> deleteMin();
+
+    /**
+     * Check whether the heap is empty.
+     *
+     * @return true if the heap is empty, false otherwise
+     */
+    boolean isEmpty();
+
+    /**
+     * Get the number of elements in the heap.
+     *
+     * @return the number of elements in the heap
+     */
+    int size();
+
+    /**
+     * Remove all elements from the heap.
+     */
+    void clear();
+
+    /**
+     * A handle to an element of an {@link AddressableHeap}.
+     *
+     * @param <T> the element type
+     */
+    interface Handle<T>
+    {
+        /**
+         * Get the key of the element.
+         *
+         * @return the key of the element
+         */
+        double getKey();
+
+        /**
+         * Get the element.
+         *
+         * @return the element
+         */
+        T getValue();
+
+        /**
+         * Replace the element, keeping its key.
+         *
+         * @param value the new element
+         */
+        void setValue(T value);
+
+        /**
+         * Decrease the key of the element.
+         *
+         * @param newKey the new key
+         * @throws IllegalArgumentException if the new key is larger than the current key or if
+         *         the element is no longer in the heap
+         */
+        void decreaseKey(double newKey);
+
+        /**
+         * Remove the element from the heap.
+         *
+         * @throws IllegalArgumentException if the element is no longer in the heap
+         */
+        void delete();
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import java.util.*;
+
+/**
+ * An implicit $d$-ary heap stored in an array.
+ *
+ * <p>
+ * The heap is a complete $d$-ary tree whose nodes are stored in breadth-first order in an array,
+ * and each handle keeps its current position in the array. Insert and decrease-key take
+ * $O(\log_d n)$ time and delete-min and delete take $O(d \log_d n)$ time. Since the children of a
+ * node are adjacent in memory, a moderate arity such as $4$ is usually faster than the binary
+ * heap. The array grows as needed.
+ *
+ * @param <T> the element type
+ *
+ * @author agent
+ */
+public class DaryArrayAddressableHeap<T>
+    implements
+    AddressableHeap<T>
+{
+    /**
+     * Default arity of the heap
+     */
+    public static final int DEFAULT_ARITY = 4;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final int d;
+    private Node<T>[] array;
+    private int size;
+
+    /**
+     * Create a new empty heap with the default arity.
+     */
+    public DaryArrayAddressableHeap()
+    {
+        this(DEFAULT_ARITY);
+    }
+
+    /**
+     * Create a new empty heap.
+     *
+     * @param d the arity of the heap
+     * @throws IllegalArgumentException if the arity is less than two
+     */
+    public DaryArrayAddressableHeap(int d)
+    {
+        if (d < 2) {
+            throw new IllegalArgumentException("Arity must be at least two");
+        }
+        this.d = d;
+        this.array = TypeUtil.uncheckedCast(new Node<?>[DEFAULT_CAPACITY]);
+    }
+
+    @Override
+    public Handle<T> insert(double key, T value)
+    {
+        if (size == array.length) {
+            array = Arrays.copyOf(array, 2 * array.length);
+        }
+        Node<T> node = new Node<>(this, key, value);
+        node.index = size++;
+        array[node.index] = node;
+        siftUp(node);
+        return node;
+    }
+
+    @Override
+    public Handle<T> findMin()
+    {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return array[0];
+    }
+
+    @Override
+    public Handle<T> deleteMin()
+    {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        Node<T> min = array[0];
+        remove(min);
+        return min;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public void clear()
+    {
+        for (int i = 0; i < size; i++) {
+            array[i].index = -1;
+            array[i] = null;
+        }
+        size = 0;
+    }
+
+    private void decreaseKey(Node<T> node, double newKey)
+    {
+        checkNode(node);
+        if (newKey > node.key) {
+            throw new IllegalArgumentException(
+                "decreaseKey() got larger key value. Current key: " + node.key + " new key: "
+                    + newKey);
+        }
+        node.key = newKey;
+        siftUp(node);
+    }
+
+    private void remove(Node<T> node)
+    {
+        checkNode(node);
+        int index = node.index;
+        Node<T> last = array[--size];
+        array[size] = null;
+        node.index = -1;
+        if (last != node) {
+            last.index = index;
+            array[index] = last;
+            if (index > 0 && last.key < array[(index - 1) / d].key) {
+                siftUp(last);
+            } else {
+                siftDown(last);
+            }
+        }
+    }
+
+    private void checkNode(Node<T> node)
+    {
+        if (node.heap != this || node.index < 0) {
+            throw new IllegalArgumentException("Invalid heap node");
+        }
+    }
+
+    private void siftUp(Node<T> node)
+    {
+        int i = node.index;
+        double key = node.key;
+        while (i > 0) {
+            int parent = (i - 1) / d;
+            Node<T> p = array[parent];
+            if (key >= p.key) {
+                break;
+            }
+            array[i] = p;
+            p.index = i;
+            i = parent;
+        }
+        array[i] = node;
+        node.index = i;
+    }
+
+    private void siftDown(Node<T> node)
+    {
+        int i = node.index;
+        double key = node.key;
+        while (true) {
+            int first = d * i + 1;
+            if (first >= size) {
+                break;
+            }
+            int last = Math.min(first + d, size);
+            int min = first;
+            double minKey = array[first].key;
+            for (int c = first + 1; c < last; c++) {
+                if (array[c].key < minKey) {
+                    min = c;
+                    minKey = array[c].key;
+                }
+            }
+            if (key <= minKey) {
+                break;
+            }
+            array[i] = array[min];
+            array[i].index = i;
+            i = min;
+        }
+        array[i] = node;
+        node.index = i;
+    }
+
+    /**
+     * A node of the heap which also serves as handle.
+     */
+    private static class Node<T>
+        implements
+        Handle<T>
+    {
+        final DaryArrayAddressableHeap<T> heap;
+        double key;
+        T value;
+        int index;
+
+        Node(DaryArrayAddressableHeap<T> heap, double key, T value)
+        {
+            this.heap = heap;
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public double getKey()
+        {
+            return key;
+        }
+
+        @Override
+        public T getValue()
+        {
+            return value;
+        }
+
+        @Override
+        public void setValue(T value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public void decreaseKey(double newKey)
+        {
+            heap.decreaseKey(this, newKey);
+        }
+
+        @Override
+        public void delete()
+        {
+            heap.remove(this);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import java.util.*;
+
+/**
+ * An {@link AddressableHeap} backed by a {@link FibonacciHeap}. The handles are the nodes of the
+ * Fibonacci heap, thus the adapter adds no allocations. The running times are those of the
+ * Fibonacci heap, i.e. $O(1)$ amortized for insert and decrease-key and $O(\log n)$ amortized for
+ * delete-min and delete. Keys equal to $-\infty$ are not supported.
+ *
+ * @param <T> the element type
+ *
+ * @author agent
+ */
+public class FibonacciAddressableHeap<T>
+    implements
+    AddressableHeap<T>
+{
+    private final FibonacciHeap<T> heap;
+
+    /**
+     * Create a new empty heap.
+     */
+    public FibonacciAddressableHeap()
+    {
+        this.heap = new FibonacciHeap<>();
+    }
+
+    @Override
+    public Handle<T> insert(double key, T value)
+    {
+        Node<T> node = new Node<>(heap, value);
+        heap.insert(node, key);
+        return node;
+    }
+
+    @Override
+    public Handle<T> findMin()
+    {
+        if (heap.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return (Node<T>) heap.min();
+    }
+
+    @Override
+    public Handle<T> deleteMin()
+    {
+        if (heap.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return (Node<T>) heap.removeMin();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return heap.isEmpty();
+    }
+
+    @Override
+    public int size()
+    {
+        return heap.size();
+    }
+
+    @Override
+    public void clear()
+    {
+        heap.clear();
+    }
+
+    /**
+     * A node of the Fibonacci heap which also serves as handle.
+     */
+    private static class Node<T>
+        extends
+        FibonacciHeapNode<T>
+        implements
+        Handle<T>
+    {
+        private final FibonacciHeap<T> heap;
+
+        Node(FibonacciHeap<T> heap, T value)
+        {
+            super(value);
+            this.heap = heap;
+        }
+
+        @Override
+        public T getValue()
+        {
+            return data;
+        }
+
+        @Override
+        public void setValue(T value)
+        {
+            this.data = value;
+        }
+
+        @Override
+        public void decreaseKey(double newKey)
+        {
+            heap.decreaseKey(this, newKey);
+        }
+
+        @Override
+        public void delete()
+        {
+            heap.delete(this);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import java.util.*;
+
+/**
+ * An indexed $d$-ary min-heap whose elements are the integers $0,\dots,n-1$.
+ *
+ * <p>
+ * This heap is intended for algorithms which number their vertices, such as algorithms on graphs
+ * with integer vertices or algorithms which keep their state in arrays indexed by vertex. Each
+ * element is addressed by itself instead of a handle, thus the heap does not allocate any objects
+ * after construction. It is stored in three primitive arrays: the heap array, the position of each
+ * element in the heap array and the key of each element. Insert and decrease-key take
+ * $O(\log_d n)$ time and delete-min takes $O(d \log_d n)$ time. Clearing the heap takes time
+ * proportional to its size, not to $n$, which allows the heap to be reused across many searches.
+ *
+ * @author agent
+ */
+public class IntDaryHeap
+{
+    /**
+     * Default arity of the heap
+     */
+    public static final int DEFAULT_ARITY = 4;
+
+    private final int d;
+    private final int[] heap;
+    private final int[] position;
+    private final double[] keys;
+    private int size;
+
+    /**
+     * Create a new empty heap with the default arity.
+     *
+     * @param capacity the number of elements $n$, elements are the integers $0,\dots,n-1$
+     */
+    public IntDaryHeap(int capacity)
+    {
+        this(capacity, DEFAULT_ARITY);
+    }
+
+    /**
+     * Create a new empty heap.
+     *
+     * @param capacity the number of elements $n$, elements are the integers $0,\dots,n-1$
+     * @param d the arity of the heap
+     * @throws IllegalArgumentException if the capacity is negative or the arity is less than two
+     */
+    public IntDaryHeap(int capacity, int d)
+    {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        if (d < 2) {
+            throw new IllegalArgumentException("Arity must be at least two");
+        }
+        this.d = d;
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        Arrays.fill(position, -1);
+        this.keys = new double[capacity];
+    }
+
+    /**
+     * Get the number of elements $n$ which the heap can hold.
+     *
+     * @return the capacity of the heap
+     */
+    public int capacity()
+    {
+        return heap.length;
+    }
+
+    /**
+     * Check whether the heap is empty.
+     *
+     * @return true if the heap is empty, false otherwise
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Get the number of elements in the heap.
+     *
+     * @return the number of elements in the heap
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Check whether an element is in the heap.
+     *
+     * @param element the element
+     * @return true if the element is in the heap, false otherwise
+     */
+    public boolean contains(int element)
+    {
+        return position[element] >= 0;
+    }
+
+    /**
+     * Get the key of an element in the heap.
+     *
+     * @param element the element
+     * @return the key of the element
+     * @throws IllegalArgumentException if the element is not in the heap
+     */
+    public double getKey(int element)
+    {
+        if (position[element] < 0) {
+            throw new IllegalArgumentException("Element not in heap: " + element);
+        }
+        return keys[element];
+    }
+
+    /**
+     * Insert an element.
+     *
+     * @param element the element
+     * @param key the key of the element
+     * @throws IllegalArgumentException if the element is already in the heap
+     */
+    public void insert(int element, double key)
+    {
+        if (position[element] >= 0) {
+            throw new IllegalArgumentException("Element already in heap: " + element);
+        }
+        keys[element] = key;
+        position[element] = size;
+        heap[size++] = element;
+        siftUp(element);
+    }
+
+    /**
+     * Decrease the key of an element.
+     *
+     * @param element the element
+     * @param key the new key
+     * @throws IllegalArgumentException if the element is not in the heap or if the new key is
+     *         larger than the current key
+     */
+    public void decreaseKey(int element, double key)
+    {
+        if (position[element] < 0) {
+            throw new IllegalArgumentException("Element not in heap: " + element);
+        }
+        if (key > keys[element]) {
+            throw new IllegalArgumentException(
+                "decreaseKey() got larger key value. Current key: " + keys[element] + " new key: "
+                    + key);
+        }
+        keys[element] = key;
+        siftUp(element);
+    }
+
+    /**
+     * Insert an element or, if it is already in the heap, decrease its key if the new key is
+     * smaller. This is the typical relaxation step of Dijkstra-like algorithms.
+     *
+     * @param element the element
+     * @param key the key
+     * @return true if the element was inserted or its key was decreased, false otherwise
+     */
+    public boolean insertOrDecreaseKey(int element, double key)
+    {
+        if (position[element] < 0) {
+            insert(element, key);
+            return true;
+        }
+        if (key < keys[element]) {
+            keys[element] = key;
+            siftUp(element);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Get an element with the minimum key.
+     *
+     * @return an element with the minimum key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int findMin()
+    {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heap[0];
+    }
+
+    /**
+     * Get the minimum key.
+     *
+     * @return the minimum key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public double findMinKey()
+    {
+        return keys[findMin()];
+    }
+
+    /**
+     * Remove an element with the minimum key.
+     *
+     * @return the removed element
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int deleteMin()
+    {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int min = heap[0];
+        position[min] = -1;
+        int last = heap[--size];
+        if (size > 0) {
+            position[last] = 0;
+            heap[0] = last;
+            siftDown(last);
+        }
+        return min;
+    }
+
+    /**
+     * Remove all elements from the heap, in time proportional to the size of the heap.
+     */
+    public void clear()
+    {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int element)
+    {
+        int i = position[element];
+        double key = keys[element];
+        while (i > 0) {
+            int parent = (i - 1) / d;
+            int p = heap[parent];
+            if (key >= keys[p]) {
+                break;
+            }
+            heap[i] = p;
+            position[p] = i;
+            i = parent;
+        }
+        heap[i] = element;
+        position[element] = i;
+    }
+
+    private void siftDown(int element)
+    {
+        int i = position[element];
+        double key = keys[element];
+        while (true) {
+            int first = d * i + 1;
+            if (first >= size) {
+                break;
+            }
+            int last = Math.min(first + d, size);
+            int min = first;
+            double minKey = keys[heap[first]];
+            for (int c = first + 1; c < last; c++) {
+                double cKey = keys[heap[c]];
+                if (cKey < minKey) {
+                    min = c;
+                    minKey = cKey;
+                }
+            }
+            if (key <= minKey) {
+                break;
+            }
+            int child = heap[min];
+            heap[i] = child;
+            position[child] = i;
+            i = min;
+        }
+        heap[i] = element;
+        position[element] = i;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import java.util.*;
+
+/**
+ * A growable list of primitive integers.
+ *
+ * <p>
+ * The list stores its values in an array which doubles its size when it is full, thus it avoids
+ * the boxing and the per-element memory of a {@code List<Integer>}. It is intended for algorithms
+ * which collect vertex or arc indices. No bounds are checked beyond those of the array.
+ *
+ * @author agent
+ */
+public class IntList
+{
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private int[] values;
+    private int size;
+
+    /**
+     * Create a new empty list.
+     */
+    public IntList()
+    {
+        this.values = new int[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Add a value at the end of the list.
+     *
+     * @param value the value
+     */
+    public void add(int value)
+    {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, 2 * size);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Add all values of another list at the end of this list.
+     *
+     * @param other the other list
+     */
+    public void addAll(IntList other)
+    {
+        if (size + other.size > values.length) {
+            values = Arrays.copyOf(values, Math.max(2 * values.length, size + other.size));
+        }
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Get the value at a position of the list.
+     *
+     * @param index the position, which must be less than the size of the list
+     * @return the value
+     */
+    public int get(int index)
+    {
+        return values[index];
+    }
+
+    /**
+     * Get the number of values of the list.
+     *
+     * @return the number of values
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Check whether the list is empty.
+     *
+     * @return true if the list is empty, false otherwise
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Copy the values of the list into a new array.
+     *
+     * @return an array containing the values of the list
+     */
+    public int[] toArray()
+    {
+        return Arrays.copyOf(values, size);
+    }
+}
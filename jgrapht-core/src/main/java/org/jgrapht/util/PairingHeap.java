@@ -0,0 +1,277 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import java.util.*;
+
+/**
+ * A pairing heap.
+ *
+ * <p>
+ * The heap is a heap-ordered multi-way tree, where the children of each node are kept in a
+ * doubly linked list. Insert and decrease-key link a single tree with the root and take $O(1)$
+ * actual time, while delete-min combines the children of the root using the standard two-pass
+ * scheme in $O(\log n)$ amortized time. Although its theoretical bounds for decrease-key are
+ * weaker than those of the Fibonacci heap, the pairing heap is considerably simpler and usually
+ * faster in practice. See M. L. Fredman, R. Sedgewick, D. D. Sleator and R. E. Tarjan. The
+ * pairing heap: A new form of self-adjusting heap. Algorithmica, 1(1-4):111&ndash;129, 1986.
+ *
+ * @param <T> the element type
+ *
+ * @author agent
+ */
+public class PairingHeap<T>
+    implements
+    AddressableHeap<T>
+{
+    private Node<T> root;
+    private int size;
+
+    /**
+     * Create a new empty heap.
+     */
+    public PairingHeap()
+    {
+    }
+
+    @Override
+    public Handle<T> insert(double key, T value)
+    {
+        Node<T> node = new Node<>(this, key, value);
+        root = root == null ? node : link(root, node);
+        size++;
+        return node;
+    }
+
+    @Override
+    public Handle<T> findMin()
+    {
+        if (root == null) {
+            throw new NoSuchElementException();
+        }
+        return root;
+    }
+
+    @Override
+    public Handle<T> deleteMin()
+    {
+        if (root == null) {
+            throw new NoSuchElementException();
+        }
+        Node<T> min = root;
+        root = combine(min.child);
+        min.child = null;
+        min.heap = null;
+        size--;
+        return min;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return root == null;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public void clear()
+    {
+        root = null;
+        size = 0;
+    }
+
+    private void decreaseKey(Node<T> node, double newKey)
+    {
+        if (node.heap != this) {
+            throw new IllegalArgumentException("Invalid heap node");
+        }
+        if (newKey > node.key) {
+            throw new IllegalArgumentException(
+                "decreaseKey() got larger key value. Current key: " + node.key + " new key: "
+                    + newKey);
+        }
+        node.key = newKey;
+        if (node != root) {
+            cut(node);
+            root = link(root, node);
+        }
+    }
+
+    private void delete(Node<T> node)
+    {
+        if (node.heap != this) {
+            throw new IllegalArgumentException("Invalid heap node");
+        }
+        if (node == root) {
+            deleteMin();
+            return;
+        }
+        cut(node);
+        Node<T> subtree = combine(node.child);
+        if (subtree != null) {
+            root = link(root, subtree);
+        }
+        node.child = null;
+        node.heap = null;
+        size--;
+    }
+
+    /*
+     * Make the root with the larger key the leftmost child of the other root.
+     */
+    private static <T> Node<T> link(Node<T> a, Node<T> b)
+    {
+        if (b.key < a.key) {
+            Node<T> tmp = a;
+            a = b;
+            b = tmp;
+        }
+        b.next = a.child;
+        if (a.child != null) {
+            a.child.prev = b;
+        }
+        b.prev = a;
+        a.child = b;
+        return a;
+    }
+
+    /*
+     * Detach a non-root node, together with its subtree, from its parent.
+     */
+    private static <T> void cut(Node<T> node)
+    {
+        if (node.prev.child == node) {
+            node.prev.child = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    /*
+     * Combine a list of siblings into a single tree, by linking pairs from left to right and then
+     * linking the results from right to left.
+     */
+    private static <T> Node<T> combine(Node<T> first)
+    {
+        if (first == null) {
+            return null;
+        }
+
+        // first pass, keeping the linked pairs in a stack
+        Node<T> pairs = null;
+        while (first != null) {
+            Node<T> a = first;
+            Node<T> b = a.next;
+            a.prev = null;
+            a.next = null;
+            if (b == null) {
+                a.next = pairs;
+                pairs = a;
+                break;
+            }
+            first = b.next;
+            b.prev = null;
+            b.next = null;
+            Node<T> linked = link(a, b);
+            linked.next = pairs;
+            pairs = linked;
+        }
+
+        // second pass
+        Node<T> result = pairs;
+        pairs = pairs.next;
+        result.next = null;
+        while (pairs != null) {
+            Node<T> next = pairs.next;
+            pairs.next = null;
+            result = link(result, pairs);
+            pairs = next;
+        }
+        result.prev = null;
+        return result;
+    }
+
+    /**
+     * A node of the heap which also serves as handle.
+     */
+    private static class Node<T>
+        implements
+        Handle<T>
+    {
+        PairingHeap<T> heap;
+        double key;
+        T value;
+        Node<T> child;
+        // left sibling, or parent for the leftmost child
+        Node<T> prev;
+        Node<T> next;
+
+        Node(PairingHeap<T> heap, double key, T value)
+        {
+            this.heap = heap;
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public double getKey()
+        {
+            return key;
+        }
+
+        @Override
+        public T getValue()
+        {
+            return value;
+        }
+
+        @Override
+        public void setValue(T value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public void decreaseKey(double newKey)
+        {
+            if (heap == null) {
+                throw new IllegalArgumentException("Invalid heap node");
+            }
+            heap.decreaseKey(this, newKey);
+        }
+
+        @Override
+        public void delete()
+        {
+            if (heap == null) {
+                throw new IllegalArgumentException("Invalid heap node");
+            }
+            heap.delete(this);
+        }
+    }
+}
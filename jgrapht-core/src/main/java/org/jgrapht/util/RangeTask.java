@@ -0,0 +1,91 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * A fork-join task which runs an action for each index of a range.
+ *
+ * <p>
+ * The range is split into halves until a part contains at most a threshold number of indices,
+ * whose actions are then run sequentially. A threshold of one lets the workers of the pool balance
+ * actions of very different cost, such as searches from different source vertices, while a larger
+ * threshold reduces the overhead of the tasks for cheap actions.
+ *
+ * @author agent
+ */
+public class RangeTask
+    extends
+    RecursiveAction
+{
+    private static final long serialVersionUID = 2736019875239486817L;
+
+    private final int from;
+    private final int to;
+    private final int threshold;
+    private final IntConsumer action;
+
+    /**
+     * Create a task which runs the action of each index as a separate task.
+     *
+     * @param from the first index of the range
+     * @param to the index after the last index of the range
+     * @param action the action to run for each index
+     */
+    public RangeTask(int from, int to, IntConsumer action)
+    {
+        this(from, to, 1, action);
+    }
+
+    /**
+     * Create a task.
+     *
+     * @param from the first index of the range
+     * @param to the index after the last index of the range
+     * @param threshold the maximum number of indices whose actions are run sequentially
+     * @param action the action to run for each index
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    public RangeTask(int from, int to, int threshold, IntConsumer action)
+    {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be positive");
+        }
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+        this.action = action;
+    }
+
+    @Override
+    protected void compute()
+    {
+        if (to - from <= threshold) {
+            for (int i = from; i < to; i++) {
+                action.accept(i);
+            }
+        } else {
+            int mid = (from + to) >>> 1;
+            invokeAll(
+                new RangeTask(from, mid, threshold, action),
+                new RangeTask(mid, to, threshold, action));
+        }
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * An unmodifiable view of a set whose spliterator splits evenly.
+ *
+ * <p>
+ * The spliterators of linked collections, such as the key set of a {@link LinkedHashMap}, are
+ * based on the iterator of the collection and split off small batches of elements one at a time.
+ * Parallel streams over such collections scale poorly. The spliterator of this view traverses the
+ * backing set through its own spliterator, thus sequential streams cost the same as streams of the
+ * backing set. Only when the spliterator is first split, before any element has been traversed,
+ * it binds to an array copy of the backing set and splits this copy into halves. The copy takes
+ * linear time but is cheap compared to the parallel work it enables. Modifications of the backing
+ * set after the first split are not reflected by the spliterator. Backing sets whose spliterators
+ * are {@link Spliterator#CONCURRENT concurrent} already split well and are not copied.
+ *
+ * <p>
+ * All other methods are delegated to the backing set. Attempts to modify the set result in an
+ * {@link UnsupportedOperationException}.
+ *
+ * @param <E> the element type
+ *
+ * @author agent
+ */
+public class UnmodifiableSplittableSet<E>
+    extends
+    AbstractSet<E>
+    implements
+    Serializable
+{
+    private static final long serialVersionUID = 3208456342728401357L;
+
+    private final Set<E> backingSet;
+
+    /**
+     * Create a new view.
+     *
+     * @param backingSet the backing set
+     */
+    public UnmodifiableSplittableSet(Set<E> backingSet)
+    {
+        this.backingSet = Objects.requireNonNull(backingSet);
+    }
+
+    @Override
+    public Iterator<E> iterator()
+    {
+        Iterator<E> it = backingSet.iterator();
+        return new Iterator<E>()
+        {
+            @Override
+            public boolean hasNext()
+            {
+                return it.hasNext();
+            }
+
+            @Override
+            public E next()
+            {
+                return it.next();
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<E> spliterator()
+    {
+        return new SnapshotSpliterator<>(backingSet);
+    }
+
+    @Override
+    public int size()
+    {
+        return backingSet.size();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return backingSet.isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        return backingSet.contains(o);
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c)
+    {
+        return backingSet.containsAll(c);
+    }
+
+    @Override
+    public Object[] toArray()
+    {
+        return backingSet.toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a)
+    {
+        return backingSet.toArray(a);
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action)
+    {
+        backingSet.forEach(action);
+    }
+
+    @Override
+    public boolean add(E e)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean remove(Object o)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * A spliterator which traverses the spliterator of a set and which switches to an array copy
+     * of the set when it is first split.
+     */
+    private static class SnapshotSpliterator<E>
+        implements
+        Spliterator<E>
+    {
+        private static final int COPIED_CHARACTERISTICS =
+            Spliterator.DISTINCT | Spliterator.ORDERED | Spliterator.NONNULL;
+
+        private final Set<E> set;
+        // the spliterator of the set, or of the array copy after the first split
+        private Spliterator<E> delegate;
+        private boolean copied;
+        private boolean started;
+
+        SnapshotSpliterator(Set<E> set)
+        {
+            this.set = set;
+        }
+
+        private Spliterator<E> delegate()
+        {
+            if (delegate == null) {
+                delegate = set.spliterator();
+            }
+            return delegate;
+        }
+
+        private boolean isCopyable(Spliterator<E> s)
+        {
+            return !copied && !s.hasCharacteristics(Spliterator.CONCURRENT);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action)
+        {
+            started = true;
+            return delegate().tryAdvance(action);
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action)
+        {
+            started = true;
+            delegate().forEachRemaining(action);
+        }
+
+        @Override
+        public Spliterator<E> trySplit()
+        {
+            Spliterator<E> s = delegate();
+            if (isCopyable(s)) {
+                if (started) {
+                    // the copy would lose the position of the traversal
+                    return null;
+                }
+                delegate = TypeUtil.uncheckedCast(
+                    Spliterators.spliterator(
+                        set.toArray(), s.characteristics() & COPIED_CHARACTERISTICS));
+                copied = true;
+            }
+            return delegate.trySplit();
+        }
+
+        @Override
+        public long estimateSize()
+        {
+            return delegate().estimateSize();
+        }
+
+        @Override
+        public int characteristics()
+        {
+            Spliterator<E> s = delegate();
+            int characteristics = s.characteristics();
+            if (isCopyable(s) && (characteristics & Spliterator.SIZED) != 0) {
+                // splits are taken from the array copy
+                characteristics |= Spliterator.SUBSIZED;
+            }
+            return characteristics;
+        }
+
+        @Override
+        public Comparator<? super E> getComparator()
+        {
+            return delegate().getComparator();
+        }
+    }
+}
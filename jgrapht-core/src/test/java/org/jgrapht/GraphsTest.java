@@ -17,10 +17,14 @@
  */
 package org.jgrapht;
 
+import org.jgrapht.generate.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 import org.junit.*;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
 
 /**
  * @author Christoph Zauner
@@ -446,6 +450,37 @@ public class GraphsTest
         Assert.assertEquals(new HashSet<>(Arrays.asList(2, 4)), neighborSet);
     }
 
+    @Test
+    public void testParallelForEach()
+    {
+        Graph<Integer, DefaultEdge> graph = new DirectedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnmRandomGraphGenerator<Integer, DefaultEdge>(1000, 5000, 7, true, true)
+            .generateGraph(graph);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Set<Integer> vertices = ConcurrentHashMap.newKeySet();
+            AtomicLong degrees = new AtomicLong();
+            Graphs.parallelForEachVertex(graph, v -> {
+                Assert.assertTrue(vertices.add(v));
+                degrees.addAndGet(graph.outDegreeOf(v));
+            }, pool);
+            Assert.assertEquals(graph.vertexSet(), vertices);
+            Assert.assertEquals(graph.edgeSet().size(), degrees.get());
+
+            Set<DefaultEdge> edges = ConcurrentHashMap.newKeySet();
+            Graphs.parallelForEachEdge(graph, e -> Assert.assertTrue(edges.add(e)), pool);
+            Assert.assertEquals(graph.edgeSet(), edges);
+        } finally {
+            pool.shutdown();
+        }
+
+        Set<Integer> vertices = ConcurrentHashMap.newKeySet();
+        Graphs.parallelForEachVertex(graph, vertices::add);
+        Assert.assertEquals(graph.vertexSet(), vertices);
+    }
+
 }
 
 // End GraphsTest.java
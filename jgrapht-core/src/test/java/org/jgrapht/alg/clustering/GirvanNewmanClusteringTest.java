@@ -0,0 +1,151 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.clustering;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link GirvanNewmanClustering}.
+ *
+ * @author agent
+ */
+public class GirvanNewmanClusteringTest
+{
+    /**
+     * Create three cliques of four vertices, connected in a path by single edges.
+     */
+    private static Graph<Integer, DefaultEdge> createCliques()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        for (int c = 0; c < 3; c++) {
+            for (int i = 0; i < 4; i++) {
+                g.addVertex(4 * c + i);
+                for (int j = 0; j < i; j++) {
+                    g.addEdge(4 * c + j, 4 * c + i);
+                }
+            }
+        }
+        g.addEdge(3, 4);
+        g.addEdge(7, 8);
+        return g;
+    }
+
+    private static Set<Set<Integer>> clusters(List<Set<Integer>> clusters)
+    {
+        return new HashSet<>(clusters);
+    }
+
+    private static Set<Integer> range(int from, int to)
+    {
+        Set<Integer> range = new HashSet<>();
+        for (int i = from; i < to; i++) {
+            range.add(i);
+        }
+        return range;
+    }
+
+    @Test
+    public void testCliques()
+    {
+        Graph<Integer, DefaultEdge> g = createCliques();
+        int edges = g.edgeSet().size();
+
+        assertEquals(
+            Collections.singleton(range(0, 12)),
+            clusters(new GirvanNewmanClustering<>(g, 1).getClusters()));
+        assertEquals(
+            new HashSet<>(Arrays.asList(range(0, 4), range(4, 12))),
+            clusters(new GirvanNewmanClustering<>(g, 2).getClusters()));
+        assertEquals(
+            new HashSet<>(Arrays.asList(range(0, 4), range(4, 8), range(8, 12))),
+            clusters(new GirvanNewmanClustering<>(g, 3).getClusters()));
+
+        // the input graph is not modified
+        assertEquals(edges, g.edgeSet().size());
+    }
+
+    @Test
+    public void testParallel()
+    {
+        Graph<Integer, DefaultEdge> g = createCliques();
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertEquals(
+                new HashSet<>(Arrays.asList(range(0, 4), range(4, 8), range(8, 12))),
+                clusters(new GirvanNewmanClustering<>(g, 3, pool).getClusters()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testDisconnected()
+    {
+        Graph<Integer, DefaultEdge> g = createCliques();
+        g.removeEdge(3, 4);
+        g.addVertex(12);
+
+        // more components than clusters
+        assertEquals(3, new GirvanNewmanClustering<>(g, 2).getClusters().size());
+
+        // only the components which still have edges are split
+        List<Set<Integer>> clusters = new GirvanNewmanClustering<>(g, 4).getClusters();
+        assertEquals(4, clusters.size());
+        assertTrue(clusters.contains(Collections.singleton(12)));
+        assertTrue(clusters.contains(range(0, 4)));
+    }
+
+    @Test
+    public void testWeighted()
+    {
+        // a square whose heavy edge is avoided by the shortest paths
+        Graph<Integer, DefaultWeightedEdge> g =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2, 3));
+        Graphs.addEdge(g, 0, 1, 1d);
+        Graphs.addEdge(g, 1, 2, 10d);
+        Graphs.addEdge(g, 2, 3, 1d);
+        Graphs.addEdge(g, 3, 0, 1d);
+
+        // the light edge 3-0 carries the most shortest paths and is removed first, then the
+        // heavy edge 1-2 carries the most
+        assertEquals(
+            new HashSet<>(Arrays.asList(range(0, 2), range(2, 4))),
+            clusters(new GirvanNewmanClustering<>(g, 2).getClusters()));
+    }
+
+    @Test
+    public void testSingletons()
+    {
+        Graph<Integer, DefaultEdge> g = createCliques();
+        assertEquals(12, new GirvanNewmanClustering<>(g, 12).getClusters().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyClusters()
+    {
+        new GirvanNewmanClustering<>(createCliques(), 13);
+    }
+}
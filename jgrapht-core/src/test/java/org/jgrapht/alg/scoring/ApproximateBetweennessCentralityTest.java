@@ -0,0 +1,141 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ApproximateBetweennessCentrality}.
+ *
+ * @author agent
+ */
+public class ApproximateBetweennessCentralityTest
+{
+    private static final double EPSILON = 0.02;
+    private static final double DELTA = 0.1;
+
+    @Test
+    public void testErrorBound()
+    {
+        Random rng = new Random(5);
+        for (int test = 0; test < 4; test++) {
+            boolean directed = test % 2 == 0;
+            boolean weighted = test >= 2;
+            Graph<Integer, DefaultWeightedEdge> g;
+            if (directed) {
+                g = new DirectedWeightedPseudograph<>(
+                    SupplierUtil.createIntegerSupplier(),
+                    SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            } else {
+                g = new WeightedPseudograph<>(
+                    SupplierUtil.createIntegerSupplier(),
+                    SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            }
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+                100, 300, rng.nextLong(), true, true).generateGraph(g);
+            if (weighted) {
+                for (DefaultWeightedEdge e : g.edgeSet()) {
+                    g.setEdgeWeight(e, 1 + rng.nextInt(3));
+                }
+            } else {
+                g = new AsUnweightedGraph<>(g);
+            }
+
+            Map<Integer, Double> expected = new BetweennessCentrality<>(g).getScores();
+            Map<Integer, Double> actual =
+                new ApproximateBetweennessCentrality<>(g, EPSILON, DELTA, 17).getScores();
+            // the error bound holds for the fractions of the ordered pairs
+            int n = g.vertexSet().size();
+            double pairs = directed ? n * (n - 1) : n * (n - 1) / 2d;
+            for (Integer v : g.vertexSet()) {
+                assertEquals(expected.get(v) / pairs, actual.get(v) / pairs, EPSILON);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelSameScores()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnmRandomGraphGenerator<Integer, DefaultEdge>(200, 600, 3).generateGraph(g);
+
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            Map<Integer, Double> expected =
+                new ApproximateBetweennessCentrality<>(g, true, 0.05, DELTA, 29, null)
+                    .getScores();
+            Map<Integer, Double> actual =
+                new ApproximateBetweennessCentrality<>(g, true, 0.05, DELTA, 29, pool)
+                    .getScores();
+            assertEquals(expected, actual);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testLinear()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new LinearGraphGenerator<Integer, DefaultEdge>(5).generateGraph(g);
+
+        ApproximateBetweennessCentrality<Integer, DefaultEdge> bc =
+            new ApproximateBetweennessCentrality<>(g, 0.1, DELTA, 7);
+        // the vertex diameter is bounded by 5, thus r = 50 * (1 + 1 + ln 10)
+        assertEquals(216, bc.getSampleSize());
+        Map<Integer, Double> scores = bc.getScores();
+        assertEquals(0.0, scores.get(0), 0.0);
+        assertEquals(0.0, scores.get(4), 0.0);
+        // the exact score of the center is 4 out of 10 pairs
+        assertEquals(4.0, scores.get(2), 10 * 0.1);
+    }
+
+    @Test
+    public void testSingletonGraph()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        g.addVertex(0);
+        ApproximateBetweennessCentrality<Integer, DefaultEdge> bc =
+            new ApproximateBetweennessCentrality<>(g, 0.1, DELTA, 7);
+        assertEquals(0.0, bc.getVertexScore(0), 0.0);
+        assertEquals(0, bc.getSampleSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidEpsilon()
+    {
+        new ApproximateBetweennessCentrality<>(new SimpleGraph<>(DefaultEdge.class), 0d, DELTA, 7);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidDelta()
+    {
+        new ApproximateBetweennessCentrality<>(new SimpleGraph<>(DefaultEdge.class), 0.1, 1d, 7);
+    }
+}
@@ -19,12 +19,14 @@ package org.jgrapht.alg.scoring;
 
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.shortestpath.*;
 import org.jgrapht.generate.*;
 import org.jgrapht.graph.*;
 import org.jgrapht.util.*;
 import org.junit.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 import static org.junit.Assert.*;
 
@@ -171,6 +173,125 @@ public class BetweennessCentralityTest
 
     }
 
+    @Test
+    public void testEdgeScores()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new LinearGraphGenerator<Integer, DefaultEdge>(4).generateGraph(g);
+        BetweennessCentrality<Integer, DefaultEdge> bc = new BetweennessCentrality<>(g);
+        assertEquals(3.0, bc.getEdgeScore(g.getEdge(0, 1)), 0.0);
+        assertEquals(4.0, bc.getEdgeScore(g.getEdge(1, 2)), 0.0);
+        assertEquals(3.0, bc.getEdgeScore(g.getEdge(2, 3)), 0.0);
+
+        // normalized by the 6 unordered pairs
+        bc = new BetweennessCentrality<>(g, true);
+        assertEquals(4.0 / 6, bc.getEdgeScore(g.getEdge(1, 2)), 1e-12);
+    }
+
+    @Test
+    public void testEdgeScoresDirected()
+    {
+        Graph<Integer, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2));
+        // two parallel edges share the shortest paths through them
+        DefaultEdge e1 = g.addEdge(0, 1);
+        DefaultEdge e2 = g.addEdge(0, 1);
+        DefaultEdge e3 = g.addEdge(1, 2);
+        g.addEdge(1, 1);
+        Map<DefaultEdge, Double> scores = new BetweennessCentrality<>(g).getEdgeScores();
+        assertEquals(1.0, scores.get(e1), 0.0);
+        assertEquals(1.0, scores.get(e2), 0.0);
+        assertEquals(2.0, scores.get(e3), 0.0);
+        assertEquals(0.0, scores.get(g.getEdge(1, 1)), 0.0);
+    }
+
+    @Test
+    public void testEdgeScoresSumOfPathLengths()
+    {
+        // every shortest path of length l adds l to the sum of the edge scores, and l - 1 to the
+        // sum of the vertex scores
+        Graph<Integer, DefaultEdge> g = new DirectedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnmRandomGraphGenerator<Integer, DefaultEdge>(50, 200, 19, false, false)
+            .generateGraph(g);
+        BetweennessCentrality<Integer, DefaultEdge> bc = new BetweennessCentrality<>(g);
+        double vertexSum = bc.getScores().values().stream().mapToDouble(x -> x).sum();
+        double edgeSum = bc.getEdgeScores().values().stream().mapToDouble(x -> x).sum();
+        int pairs = 0;
+        for (Integer s : g.vertexSet()) {
+            ShortestPathAlgorithm.SingleSourcePaths<Integer, DefaultEdge> paths =
+                new DijkstraShortestPath<>(g).getPaths(s);
+            for (Integer t : g.vertexSet()) {
+                if (!s.equals(t) && paths.getPath(t) != null) {
+                    pairs++;
+                }
+            }
+        }
+        assertEquals(edgeSum - pairs, vertexSum, 1e-9);
+    }
+
+    @Test
+    public void testWeightedShorterPathFoundLater()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2, 3));
+        // the path 0-1 is found first and replaced by the shorter path 0-2-1
+        Graphs.addEdge(g, 0, 1, 3d);
+        Graphs.addEdge(g, 0, 2, 1d);
+        Graphs.addEdge(g, 2, 1, 1d);
+        Graphs.addEdge(g, 1, 3, 1d);
+        Map<Integer, Double> scores = new BetweennessCentrality<>(g).getScores();
+        assertEquals(0.0, scores.get(0), 0.0);
+        assertEquals(2.0, scores.get(1), 0.0);
+        assertEquals(2.0, scores.get(2), 0.0);
+        assertEquals(0.0, scores.get(3), 0.0);
+    }
+
+    @Test
+    public void testParallel()
+    {
+        Random rng = new Random(13);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (int test = 0; test < 4; test++) {
+                Graph<Integer, DefaultWeightedEdge> g;
+                if (test % 2 == 0) {
+                    g = new DirectedWeightedPseudograph<>(
+                        SupplierUtil.createIntegerSupplier(),
+                        SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+                } else {
+                    g = new WeightedPseudograph<>(
+                        SupplierUtil.createIntegerSupplier(),
+                        SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+                }
+                new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+                    300, 900, rng.nextLong(), true, true).generateGraph(g);
+                for (DefaultWeightedEdge e : g.edgeSet()) {
+                    // small integer weights produce many shortest paths of equal weight
+                    g.setEdgeWeight(e, 1 + rng.nextInt(3));
+                }
+
+                Map<Integer, Double> expected = new BetweennessCentrality<>(g, true).getScores();
+                Map<Integer, Double> actual =
+                    new BetweennessCentrality<>(g, true, pool).getScores();
+                for (Integer v : g.vertexSet()) {
+                    assertEquals(expected.get(v), actual.get(v), 1e-9);
+                }
+                Map<DefaultWeightedEdge, Double> expectedEdges =
+                    new BetweennessCentrality<>(g, true).getEdgeScores();
+                Map<DefaultWeightedEdge, Double> actualEdges =
+                    new BetweennessCentrality<>(g, true, pool).getEdgeScores();
+                for (DefaultWeightedEdge e : g.edgeSet()) {
+                    assertEquals(expectedEdges.get(e), actualEdges.get(e), 1e-9);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     @Test
     public void testStar()
     {
@@ -17,10 +17,16 @@
  */
 package org.jgrapht.alg.scoring;
 
+import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.generate.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 import org.junit.*;
 
+import java.util.*;
+import java.util.concurrent.*;
+
 import static org.junit.Assert.*;
 
 /**
@@ -242,6 +248,44 @@ public class PageRankTest
         // }
     }
 
+    @Test
+    public void testParallel()
+    {
+        Random rng = new Random(11);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (int test = 0; test < 4; test++) {
+                Graph<Integer, DefaultWeightedEdge> g;
+                if (test % 2 == 0) {
+                    g = new DirectedWeightedPseudograph<>(
+                        SupplierUtil.createIntegerSupplier(),
+                        SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+                } else {
+                    g = new WeightedPseudograph<>(
+                        SupplierUtil.createIntegerSupplier(),
+                        SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+                }
+                new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+                    500, 2000, rng.nextLong(), true, true).generateGraph(g);
+                for (DefaultWeightedEdge e : g.edgeSet()) {
+                    g.setEdgeWeight(e, 0.5 + rng.nextDouble());
+                }
+
+                Map<Integer, Double> expected = new PageRank<>(g, 0.85, 100, 1e-9).getScores();
+                Map<Integer, Double> actual =
+                    new PageRank<>(g, 0.85, 100, 1e-9, pool).getScores();
+                double sum = 0d;
+                for (Integer v : g.vertexSet()) {
+                    assertEquals(expected.get(v), actual.get(v), 1e-12);
+                    sum += actual.get(v);
+                }
+                assertEquals(1d, sum, 1e-6);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     @Test
     public void testEmptyGraph()
     {
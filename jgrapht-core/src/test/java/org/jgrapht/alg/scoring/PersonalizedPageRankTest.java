@@ -0,0 +1,143 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for PersonalizedPageRank
+ *
+ * @author agent
+ */
+public class PersonalizedPageRankTest
+{
+    private static Graph<Integer, DefaultWeightedEdge> createRandomGraph(long seed)
+    {
+        Graph<Integer, DefaultWeightedEdge> g = new DirectedWeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(200, 800, seed, true, true)
+            .generateGraph(g);
+        Random rng = new Random(seed);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, 0.5 + rng.nextDouble());
+        }
+        return g;
+    }
+
+    @Test
+    public void testUniformSourcesEqualPageRank()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = createRandomGraph(3);
+        Map<Integer, Double> sources = new HashMap<>();
+        for (Integer v : g.vertexSet()) {
+            sources.put(v, 1d);
+        }
+
+        VertexScoringAlgorithm<Integer, Double> pr = new PageRank<>(g, 0.85, 1000, 1e-12);
+        VertexScoringAlgorithm<Integer, Double> ppr =
+            new PersonalizedPageRank<>(g, sources, 0.85, 1000, 1e-12);
+        for (Integer v : g.vertexSet()) {
+            assertEquals(pr.getVertexScore(v), ppr.getVertexScore(v), 1e-9);
+        }
+    }
+
+    @Test
+    public void testSingleSource()
+    {
+        DirectedPseudograph<String, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+        g.addVertex("a");
+        g.addVertex("b");
+        g.addVertex("c");
+        g.addEdge("a", "b");
+        g.addEdge("b", "a");
+
+        VertexScoringAlgorithm<String, Double> ppr =
+            new PersonalizedPageRank<>(g, Collections.singletonMap("a", 1d), 0.5, 100, 1e-12);
+
+        // the walk alternates between a and b and restarts at a with probability 1/2
+        assertEquals(2d / 3, ppr.getVertexScore("a"), 1e-9);
+        assertEquals(1d / 3, ppr.getVertexScore("b"), 1e-9);
+        assertEquals(0d, ppr.getVertexScore("c"), 0d);
+        assertEquals(3, ppr.getScores().size());
+    }
+
+    @Test
+    public void testPushApproximation()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = createRandomGraph(5);
+        Map<Integer, Double> sources = new HashMap<>();
+        sources.put(0, 2d);
+        sources.put(1, 1d);
+
+        VertexScoringAlgorithm<Integer, Double> exact =
+            new PersonalizedPageRank<>(g, sources, 0.85, 1000, 1e-12);
+        for (double epsilon : new double[] { 1e-3, 1e-5, 1e-7 }) {
+            VertexScoringAlgorithm<Integer, Double> approximate =
+                new PersonalizedPageRank<>(g, sources, 0.85, epsilon);
+            double totalError = 0d;
+            for (Integer v : g.vertexSet()) {
+                double error = exact.getVertexScore(v) - approximate.getVertexScore(v);
+                assertTrue(error > -1e-9);
+                totalError += error;
+            }
+            assertTrue(totalError < 1000 * epsilon);
+        }
+    }
+
+    @Test
+    public void testPushIsLocal()
+    {
+        // a long path, far away vertices are never touched
+        Graph<Integer, DefaultEdge> g = new DirectedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new LinearGraphGenerator<Integer, DefaultEdge>(10000).generateGraph(g);
+
+        PersonalizedPageRank<Integer, DefaultEdge> ppr =
+            new PersonalizedPageRank<>(g, Collections.singletonMap(0, 1d), 0.5, 1e-4);
+        assertEquals(0.5, ppr.getVertexScore(0), 1e-9);
+        assertEquals(0.25, ppr.getVertexScore(1), 1e-9);
+        assertEquals(0d, ppr.getVertexScore(100), 0d);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSources()
+    {
+        DirectedPseudograph<String, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+        g.addVertex("a");
+
+        new PersonalizedPageRank<>(g, Collections.singletonMap("a", 0d));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownSource()
+    {
+        DirectedPseudograph<String, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+        g.addVertex("a");
+
+        new PersonalizedPageRank<>(g, "b");
+    }
+}
@@ -20,13 +20,17 @@ package org.jgrapht.alg.shortestpath;
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
 import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.alg.shortestpath.ALTAdmissibleHeuristic.*;
 import org.jgrapht.alg.util.*;
 import org.jgrapht.generate.*;
 import org.jgrapht.graph.*;
 import org.jgrapht.util.*;
 import org.junit.*;
 
+import java.io.*;
+import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.*;
 
 import static org.junit.Assert.*;
@@ -145,4 +149,123 @@ public class ALTAdmissibleHeuristicTest
 
     }
 
+    @Test
+    public void testSelectionStrategies()
+    {
+        Random rng = new Random(17);
+        for (Graph<Integer, DefaultWeightedEdge> g : createRandomGraphs(rng)) {
+            for (LandmarkSelectionStrategy strategy : LandmarkSelectionStrategy.values()) {
+                ALTAdmissibleHeuristic<Integer, DefaultWeightedEdge> h =
+                    new ALTAdmissibleHeuristic<>(g, 3, strategy, new Random(7));
+                assertEquals(3, new HashSet<>(h.getLandmarks()).size());
+                assertTrue(g.vertexSet().containsAll(h.getLandmarks()));
+                assertAdmissibleAndExact(g, h);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelPrecomputation()
+    {
+        Random rng = new Random(5);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (Graph<Integer, DefaultWeightedEdge> g : createRandomGraphs(rng)) {
+                Set<Integer> landmarks = new HashSet<>(Arrays.asList(0, 5, 10, 15, 20, 25));
+                ALTAdmissibleHeuristic<Integer, DefaultWeightedEdge> h =
+                    new ALTAdmissibleHeuristic<>(g, landmarks, pool);
+                assertEquals(landmarks, new HashSet<>(h.getLandmarks()));
+                assertAdmissibleAndExact(g, h);
+
+                ALTAdmissibleHeuristic<Integer, DefaultWeightedEdge> avoid =
+                    new ALTAdmissibleHeuristic<>(
+                        g, 4, LandmarkSelectionStrategy.AVOID, new Random(3), pool);
+                assertAdmissibleAndExact(g, avoid);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyLandmarks()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = new WeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        Graphs.addEdgeWithVertices(g, 0, 1);
+        new ALTAdmissibleHeuristic<>(g, 3, LandmarkSelectionStrategy.RANDOM, new Random());
+    }
+
+    @Test
+    public void testWriteAndRead()
+        throws IOException
+    {
+        Random rng = new Random(11);
+        for (Graph<Integer, DefaultWeightedEdge> g : createRandomGraphs(rng)) {
+            ALTAdmissibleHeuristic<Integer, DefaultWeightedEdge> h = new ALTAdmissibleHeuristic<>(
+                g, 4, LandmarkSelectionStrategy.FARTHEST, rng);
+            Path file = Files.createTempFile("landmarks", ".bin");
+            try {
+                h.write(file);
+                ALTAdmissibleHeuristic<Integer, DefaultWeightedEdge> loaded =
+                    ALTAdmissibleHeuristic.read(g, file);
+                assertEquals(h.getLandmarks(), loaded.getLandmarks());
+                for (Integer v : g.vertexSet()) {
+                    for (Integer u : g.vertexSet()) {
+                        assertEquals(h.getCostEstimate(v, u), loaded.getCostEstimate(v, u), 0);
+                    }
+                }
+
+                // a different graph must be rejected
+                Graph<Integer, DefaultWeightedEdge> other = new WeightedPseudograph<>(
+                    SupplierUtil.createIntegerSupplier(),
+                    SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+                Graphs.addAllVertices(other, g.vertexSet());
+                try {
+                    ALTAdmissibleHeuristic.read(other, file);
+                    fail("Graph mismatch not detected");
+                } catch (IOException e) {
+                    // expected
+                }
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static List<Graph<Integer, DefaultWeightedEdge>> createRandomGraphs(Random rng)
+    {
+        List<Graph<Integer, DefaultWeightedEdge>> graphs = new ArrayList<>();
+        graphs.add(
+            new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER));
+        graphs.add(
+            new WeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER));
+        for (Graph<Integer, DefaultWeightedEdge> g : graphs) {
+            new GnpRandomGraphGenerator<Integer, DefaultWeightedEdge>(30, 0.1, rng, true)
+                .generateGraph(g);
+            for (DefaultWeightedEdge e : g.edgeSet()) {
+                g.setEdgeWeight(e, rng.nextDouble());
+            }
+        }
+        return graphs;
+    }
+
+    private static void assertAdmissibleAndExact(
+        Graph<Integer, DefaultWeightedEdge> g, AStarAdmissibleHeuristic<Integer> h)
+    {
+        Comparator<Double> comparator = new ToleranceDoubleComparator();
+        ShortestPathAlgorithm<Integer, DefaultWeightedEdge> dijkstra =
+            new DijkstraShortestPath<>(g);
+        ShortestPathAlgorithm<Integer, DefaultWeightedEdge> astar = new AStarShortestPath<>(g, h);
+        for (Integer v : g.vertexSet()) {
+            for (Integer u : g.vertexSet()) {
+                double weight = dijkstra.getPathWeight(v, u);
+                assertTrue(comparator.compare(h.getCostEstimate(v, u), weight) <= 0);
+                assertEquals(weight, astar.getPathWeight(v, u), 1e-9);
+            }
+        }
+    }
+
 }
@@ -20,6 +20,7 @@ package org.jgrapht.alg.shortestpath;
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 import org.junit.*;
 
 import static org.junit.Assert.*;
@@ -134,6 +135,27 @@ public class AStarShortestPathTest
         assertTrue(aStarShortestPath2.isConsistentHeuristic(new EuclideanDistance()));
     }
 
+    /**
+     * Test on a graph with a path from the source node to the target node using custom heaps.
+     */
+    @Test
+    public void testLabyrinth1CustomHeaps()
+    {
+        this.readLabyrinth(labyrinth1);
+        AStarShortestPath<Node, DefaultWeightedEdge> aStarShortestPath =
+            new AStarShortestPath<>(graph, new ManhattanDistance(), PairingHeap::new);
+        GraphPath<Node, DefaultWeightedEdge> path =
+            aStarShortestPath.getPath(sourceNode, targetNode);
+        assertNotNull(path);
+        assertEquals(47, (int) path.getWeight());
+
+        aStarShortestPath =
+            new AStarShortestPath<>(graph, new ManhattanDistance(), DaryArrayAddressableHeap::new);
+        path = aStarShortestPath.getPath(sourceNode, targetNode);
+        assertNotNull(path);
+        assertEquals(47, (int) path.getWeight());
+    }
+
     /**
      * Test on a graph where there is no path from the source node to the target node.
      */
@@ -78,6 +78,8 @@ public class AllPairsShortestPathsTest
         algs.add((g) -> new DijkstraShortestPath<>(g));
         algs.add((g) -> new BidirectionalDijkstraShortestPath<>(g));
         algs.add((g) -> new AStarShortestPath<>(g, (u, t) -> 0d));
+        algs.add((g) -> new ParallelFloydWarshallShortestPaths<>(g));
+        algs.add((g) -> new ParallelDijkstraShortestPaths<>(g));
         algs.add((g) -> {
             Integer[] vertices = g.vertexSet().toArray(new Integer[0]);
             Set<Integer> landmarks = new HashSet<>();
@@ -426,6 +426,35 @@ public class BidirectionalDijkstraShortestPathTest
         }
     }
 
+    @Test
+    public void testRandomGraphsCustomHeaps()
+    {
+        DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(30, 150, 1).generateGraph(g);
+        Random rng = new Random(1);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, rng.nextDouble());
+        }
+
+        for (Integer v : g.vertexSet()) {
+            for (Integer u : g.vertexSet()) {
+                double expected = new DijkstraShortestPath<>(g).getPathWeight(v, u);
+                assertEquals(
+                    expected,
+                    new BidirectionalDijkstraShortestPath<>(g, PairingHeap::new)
+                        .getPathWeight(v, u),
+                    1e-9);
+                assertEquals(
+                    expected,
+                    new BidirectionalDijkstraShortestPath<>(g, DaryArrayAddressableHeap::new)
+                        .getPathWeight(v, u),
+                    1e-9);
+            }
+        }
+    }
+
     private <V, E> double computePathWeight(Graph<V, E> g, GraphPath<V, E> path)
     {
         if (path.getEdgeList().isEmpty()) {
@@ -0,0 +1,238 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.graph.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CachingShortestPath}.
+ *
+ * @author agent
+ */
+public class CachingShortestPathTest
+{
+    /**
+     * Create the path 0-1-2-3 of unit weights and the shortcut 0-3 of weight 5, which is the
+     * second shortest path.
+     */
+    private static ListenableGraph<Integer, DefaultWeightedEdge> createGraph()
+    {
+        ListenableGraph<Integer, DefaultWeightedEdge> graph = new DefaultListenableGraph<>(
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class));
+        Graphs.addAllVertices(graph, Arrays.asList(0, 1, 2, 3, 4));
+        Graphs.addEdge(graph, 0, 1, 1d);
+        Graphs.addEdge(graph, 1, 2, 1d);
+        Graphs.addEdge(graph, 2, 3, 1d);
+        Graphs.addEdge(graph, 0, 3, 5d);
+        return graph;
+    }
+
+    @Test
+    public void testHitsAndMisses()
+    {
+        ListenableGraph<Integer, DefaultWeightedEdge> graph = createGraph();
+        CachingShortestPath<Integer, DefaultWeightedEdge> cache =
+            new CachingShortestPath<>(graph, new DijkstraShortestPath<>(graph));
+        graph.addGraphListener(cache);
+
+        assertEquals(3d, cache.getPathWeight(0, 3), 0d);
+        assertEquals(3d, cache.getPath(0, 3).getWeight(), 0d);
+        assertNull(cache.getPath(3, 0));
+        assertEquals(Double.POSITIVE_INFINITY, cache.getPathWeight(3, 0), 0d);
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        cache.getPath(0, 3);
+        assertEquals(3, cache.getMissCount());
+    }
+
+    @Test
+    public void testEviction()
+    {
+        ListenableGraph<Integer, DefaultWeightedEdge> graph = createGraph();
+        CachingShortestPath<Integer, DefaultWeightedEdge> cache =
+            new CachingShortestPath<>(graph, new DijkstraShortestPath<>(graph), 2);
+        graph.addGraphListener(cache);
+
+        cache.getPath(0, 1);
+        cache.getPath(0, 2);
+        cache.getPath(0, 1);
+        // evicts the least recently used path from 0 to 2
+        cache.getPath(0, 3);
+        assertEquals(2, cache.size());
+
+        cache.getPath(0, 1);
+        cache.getPath(0, 3);
+        assertEquals(3, cache.getHitCount());
+        cache.getPath(0, 2);
+        assertEquals(4, cache.getMissCount());
+    }
+
+    @Test
+    public void testEdgeRemoval()
+    {
+        ListenableGraph<Integer, DefaultWeightedEdge> graph = createGraph();
+        CachingShortestPath<Integer, DefaultWeightedEdge> cache =
+            new CachingShortestPath<>(graph, new DijkstraShortestPath<>(graph));
+        graph.addGraphListener(cache);
+
+        cache.getPath(0, 3);
+        cache.getPath(0, 1);
+        graph.removeEdge(2, 3);
+        assertEquals(1, cache.size());
+
+        assertEquals(5d, cache.getPathWeight(0, 3), 0d);
+        assertEquals(1d, cache.getPathWeight(0, 1), 0d);
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void testWeightUpdates()
+    {
+        ListenableGraph<Integer, DefaultWeightedEdge> graph = createGraph();
+        CachingShortestPath<Integer, DefaultWeightedEdge> cache =
+            new CachingShortestPath<>(graph, new DijkstraShortestPath<>(graph));
+        graph.addGraphListener(cache);
+
+        // the first weight change records the weights and invalidates everything
+        cache.getPath(0, 3);
+        graph.setEdgeWeight(graph.getEdge(0, 3), 5d);
+        assertEquals(0, cache.size());
+
+        cache.getPath(0, 3);
+        cache.getPath(0, 1);
+
+        // an increase off the cached paths changes nothing
+        graph.setEdgeWeight(graph.getEdge(0, 3), 6d);
+        assertEquals(2, cache.size());
+
+        // an increase on a cached path invalidates this path only
+        graph.setEdgeWeight(graph.getEdge(1, 2), 10d);
+        assertEquals(1, cache.size());
+        assertEquals(6d, cache.getPathWeight(0, 3), 0d);
+
+        // a decrease invalidates everything
+        graph.setEdgeWeight(graph.getEdge(1, 2), 1d);
+        assertEquals(0, cache.size());
+        assertEquals(3d, cache.getPathWeight(0, 3), 0d);
+    }
+
+    @Test
+    public void testEdgeAndVertexAddition()
+    {
+        ListenableGraph<Integer, DefaultWeightedEdge> graph = createGraph();
+        CachingShortestPath<Integer, DefaultWeightedEdge> cache =
+            new CachingShortestPath<>(graph, new DijkstraShortestPath<>(graph));
+        graph.addGraphListener(cache);
+
+        assertNull(cache.getPath(0, 4));
+        graph.addVertex(5);
+        assertEquals(1, cache.size());
+
+        Graphs.addEdge(graph, 3, 4, 1d);
+        assertEquals(0, cache.size());
+        assertEquals(4d, cache.getPathWeight(0, 4), 0d);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testVertexRemoval()
+    {
+        ListenableGraph<Integer, DefaultWeightedEdge> graph = createGraph();
+        CachingShortestPath<Integer, DefaultWeightedEdge> cache =
+            new CachingShortestPath<>(graph, new DijkstraShortestPath<>(graph));
+        graph.addGraphListener(cache);
+
+        cache.getPath(0, 4);
+        cache.getPath(1, 2);
+        graph.removeVertex(4);
+        assertEquals(1, cache.size());
+
+        cache.getPath(0, 4);
+    }
+
+    @Test
+    public void testModificationDuringQuery()
+    {
+        ListenableGraph<Integer, DefaultWeightedEdge> graph = createGraph();
+        DijkstraShortestPath<Integer, DefaultWeightedEdge> dijkstra =
+            new DijkstraShortestPath<>(graph);
+        // an algorithm whose query races with the removal of an edge of the returned path
+        ShortestPathAlgorithm<Integer, DefaultWeightedEdge> racing =
+            new BaseShortestPathAlgorithm<Integer, DefaultWeightedEdge>(graph)
+            {
+                @Override
+                public GraphPath<Integer, DefaultWeightedEdge> getPath(
+                    Integer source, Integer sink)
+                {
+                    GraphPath<Integer, DefaultWeightedEdge> path = dijkstra.getPath(source, sink);
+                    graph.removeEdge(2, 3);
+                    return path;
+                }
+            };
+        CachingShortestPath<Integer, DefaultWeightedEdge> cache =
+            new CachingShortestPath<>(graph, racing);
+        graph.addGraphListener(cache);
+
+        assertEquals(3d, cache.getPathWeight(0, 3), 0d);
+        // the stale path is not cached
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testRemovedListener()
+    {
+        ListenableGraph<Integer, DefaultWeightedEdge> graph = createGraph();
+        CachingShortestPath<Integer, DefaultWeightedEdge> cache =
+            new CachingShortestPath<>(graph, new DijkstraShortestPath<>(graph));
+        graph.addGraphListener(cache);
+
+        cache.getPath(0, 3);
+        graph.removeGraphListener(cache);
+        graph.removeEdge(2, 3);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testListenerAddedAfterModification()
+    {
+        ListenableGraph<Integer, DefaultWeightedEdge> graph = createGraph();
+        CachingShortestPath<Integer, DefaultWeightedEdge> cache =
+            new CachingShortestPath<>(graph, new DijkstraShortestPath<>(graph));
+
+        // an increase before the cache is added as a listener
+        graph.setEdgeWeight(graph.getEdge(1, 2), 5d);
+        graph.addGraphListener(cache);
+        assertEquals(5d, cache.getPathWeight(0, 3), 0d);
+
+        // a decrease below the new weight but above the initial weight
+        graph.setEdgeWeight(graph.getEdge(1, 2), 2d);
+        assertEquals(0, cache.size());
+        assertEquals(4d, cache.getPathWeight(0, 3), 0d);
+    }
+}
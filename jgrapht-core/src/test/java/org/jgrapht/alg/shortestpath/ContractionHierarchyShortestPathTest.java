@@ -0,0 +1,232 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent
+ */
+public class ContractionHierarchyShortestPathTest
+{
+
+    @Test
+    public void testGraphDirected()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+
+        g.addVertex("1");
+        g.addVertex("2");
+        g.addVertex("3");
+        g.addVertex("4");
+        g.addVertex("5");
+        g.setEdgeWeight(g.addEdge("1", "2"), 3.0);
+        g.setEdgeWeight(g.addEdge("3", "1"), 3.0);
+        g.setEdgeWeight(g.addEdge("2", "4"), 3.0);
+        g.setEdgeWeight(g.addEdge("3", "5"), 5.0);
+        g.setEdgeWeight(g.addEdge("5", "4"), 5.0);
+        g.setEdgeWeight(g.addEdge("4", "4"), 1.0);
+
+        ContractionHierarchyShortestPath<String, DefaultWeightedEdge> sp =
+            new ContractionHierarchyShortestPath<>(g);
+        GraphPath<String, DefaultWeightedEdge> p = sp.getPath("3", "4");
+
+        assertEquals("3", p.getStartVertex());
+        assertEquals("4", p.getEndVertex());
+        assertEquals(9.0, p.getWeight(), 0);
+        assertEquals(Arrays.asList("3", "1", "2", "4"), p.getVertexList());
+        assertEquals(
+            Arrays.asList(g.getEdge("3", "1"), g.getEdge("1", "2"), g.getEdge("2", "4")),
+            p.getEdgeList());
+
+        assertNull(sp.getPath("4", "3"));
+        assertEquals(Double.POSITIVE_INFINITY, sp.getPathWeight("4", "3"), 0);
+
+        GraphPath<String, DefaultWeightedEdge> empty = sp.getPath("4", "4");
+        assertEquals(0, empty.getLength());
+        assertEquals(0d, empty.getWeight(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        g.addVertex("1");
+        g.addVertex("2");
+        g.setEdgeWeight(g.addEdge("1", "2"), -1.0);
+
+        new ContractionHierarchy<>(g);
+    }
+
+    @Test
+    public void testRandomDirectedGraphs()
+    {
+        for (int seed = 0; seed < 10; seed++) {
+            Graph<Integer, DefaultWeightedEdge> g = new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(40, 160, seed, true, true)
+                .generateGraph(g);
+            setRandomWeights(g, seed);
+            assertSamePaths(g, new ContractionHierarchy<>(g));
+        }
+    }
+
+    @Test
+    public void testRandomUndirectedGraphs()
+    {
+        for (int seed = 0; seed < 10; seed++) {
+            Graph<Integer, DefaultWeightedEdge> g = new WeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(40, 80, seed, true, true)
+                .generateGraph(g);
+            setRandomWeights(g, seed);
+            assertSamePaths(g, new ContractionHierarchy<>(g));
+        }
+    }
+
+    @Test
+    public void testIntegerWeightsWithTies()
+    {
+        for (int seed = 0; seed < 5; seed++) {
+            Graph<Integer, DefaultWeightedEdge> g = new SimpleDirectedWeightedGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(40, 200, seed)
+                .generateGraph(g);
+            Random rng = new Random(seed);
+            for (DefaultWeightedEdge e : g.edgeSet()) {
+                g.setEdgeWeight(e, rng.nextInt(3));
+            }
+            assertSamePaths(g, new ContractionHierarchy<>(g));
+        }
+    }
+
+    @Test
+    public void testWitnessFromTwoWayNeighbor()
+    {
+        // no shortcut is needed, since the neighbors of each vertex are connected by witnesses,
+        // such as 1-2-3 for the neighbors 1 and 3 of vertex 0, which the search from 1 must reach
+        // although 1 is itself a neighbor of 0
+        Graph<Integer, DefaultWeightedEdge> g =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2, 3));
+        Graphs.addEdge(g, 0, 1, 1d);
+        Graphs.addEdge(g, 0, 2, 1d);
+        Graphs.addEdge(g, 0, 3, 1.5d);
+        Graphs.addEdge(g, 1, 2, 1d);
+        Graphs.addEdge(g, 2, 3, 1d);
+        Graphs.addEdge(g, 1, 3, 10d);
+        ContractionHierarchy<Integer, DefaultWeightedEdge> hierarchy =
+            new ContractionHierarchy<>(g);
+        assertEquals(0, hierarchy.getShortcutCount());
+        assertSamePaths(g, hierarchy);
+
+        Graph<Integer, DefaultWeightedEdge> grid = new SimpleWeightedGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GridGraphGenerator<Integer, DefaultWeightedEdge>(3, 3).generateGraph(grid);
+        hierarchy = new ContractionHierarchy<>(grid);
+        assertEquals(4, hierarchy.getShortcutCount());
+        assertSamePaths(grid, hierarchy);
+    }
+
+    @Test
+    public void testParallelPreprocessing()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = new WeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GridGraphGenerator<Integer, DefaultWeightedEdge>(50, 50).generateGraph(g);
+        Random rng = new Random(7);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, 1.0 + rng.nextDouble());
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ContractionHierarchy<Integer, DefaultWeightedEdge> hierarchy =
+                new ContractionHierarchy<>(g, pool, 50);
+            ContractionHierarchyShortestPath<Integer, DefaultWeightedEdge> sp =
+                new ContractionHierarchyShortestPath<>(hierarchy);
+            DijkstraShortestPath<Integer, DefaultWeightedEdge> dijkstra =
+                new DijkstraShortestPath<>(g);
+            List<Integer> vertices = new ArrayList<>(g.vertexSet());
+            for (int i = 0; i < 200; i++) {
+                Integer source = vertices.get(rng.nextInt(vertices.size()));
+                Integer sink = vertices.get(rng.nextInt(vertices.size()));
+                assertPath(g, dijkstra.getPathWeight(source, sink), sp.getPath(source, sink));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void setRandomWeights(Graph<Integer, DefaultWeightedEdge> g, long seed)
+    {
+        Random rng = new Random(seed);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, rng.nextDouble());
+        }
+    }
+
+    private static void assertSamePaths(
+        Graph<Integer, DefaultWeightedEdge> g,
+        ContractionHierarchy<Integer, DefaultWeightedEdge> hierarchy)
+    {
+        ContractionHierarchyShortestPath<Integer, DefaultWeightedEdge> sp =
+            new ContractionHierarchyShortestPath<>(hierarchy);
+        DijkstraShortestPath<Integer, DefaultWeightedEdge> dijkstra =
+            new DijkstraShortestPath<>(g);
+        for (Integer source : g.vertexSet()) {
+            for (Integer sink : g.vertexSet()) {
+                assertPath(g, dijkstra.getPathWeight(source, sink), sp.getPath(source, sink));
+            }
+        }
+    }
+
+    private static <V, E> void assertPath(Graph<V, E> g, double expected, GraphPath<V, E> path)
+    {
+        if (expected == Double.POSITIVE_INFINITY) {
+            assertNull(path);
+            return;
+        }
+        assertEquals(expected, path.getWeight(), 1e-9);
+
+        List<V> vertices = path.getVertexList();
+        List<E> edges = path.getEdgeList();
+        assertEquals(vertices.size(), edges.size() + 1);
+        double weight = 0d;
+        for (int i = 0; i < edges.size(); i++) {
+            E e = edges.get(i);
+            assertEquals(vertices.get(i + 1), Graphs.getOppositeVertex(g, e, vertices.get(i)));
+            if (g.getType().isDirected()) {
+                assertEquals(vertices.get(i), g.getEdgeSource(e));
+            }
+            weight += g.getEdgeWeight(e);
+        }
+        assertEquals(expected, weight, 1e-9);
+    }
+}
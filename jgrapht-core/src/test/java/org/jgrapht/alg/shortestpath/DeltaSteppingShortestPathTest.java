@@ -0,0 +1,179 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent
+ */
+public class DeltaSteppingShortestPathTest
+{
+
+    @Test
+    public void testGraphDirected()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        g.addVertex("1");
+        g.addVertex("2");
+        g.addVertex("3");
+        g.addVertex("4");
+        g.addVertex("5");
+        g.setEdgeWeight(g.addEdge("1", "2"), 3.0);
+        g.setEdgeWeight(g.addEdge("3", "1"), 3.0);
+        g.setEdgeWeight(g.addEdge("2", "4"), 3.0);
+        g.setEdgeWeight(g.addEdge("3", "5"), 5.0);
+        g.setEdgeWeight(g.addEdge("5", "4"), 5.0);
+        g.setEdgeWeight(g.addEdge("4", "4"), 1.0);
+
+        DeltaSteppingShortestPath<String, DefaultWeightedEdge> sp =
+            new DeltaSteppingShortestPath<>(g, 2.0);
+        GraphPath<String, DefaultWeightedEdge> p = sp.getPath("3", "4");
+        assertEquals(9.0, p.getWeight(), 0);
+        assertEquals(Arrays.asList("3", "1", "2", "4"), p.getVertexList());
+        assertNull(sp.getPath("4", "3"));
+        assertEquals(0, sp.getPath("4", "4").getLength());
+
+        SingleSourcePaths<String, DefaultWeightedEdge> paths = sp.getPaths("3");
+        assertEquals("3", paths.getSourceVertex());
+        assertEquals(0.0, paths.getWeight("3"), 0);
+        assertEquals(3.0, paths.getWeight("1"), 0);
+        assertEquals(5.0, paths.getWeight("5"), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        g.addVertex("1");
+        g.addVertex("2");
+        g.setEdgeWeight(g.addEdge("1", "2"), -1.0);
+
+        new DeltaSteppingShortestPath<>(g).getPaths("1");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidDelta()
+    {
+        new DeltaSteppingShortestPath<>(new DirectedPseudograph<>(DefaultEdge.class), 0d);
+    }
+
+    @Test
+    public void testRandomGraphs()
+    {
+        for (int seed = 0; seed < 5; seed++) {
+            Random rng = new Random(seed);
+            List<Graph<Integer, DefaultWeightedEdge>> graphs = new ArrayList<>();
+            graphs.add(
+                new DirectedWeightedPseudograph<>(
+                    SupplierUtil.createIntegerSupplier(),
+                    SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER));
+            graphs.add(
+                new WeightedPseudograph<>(
+                    SupplierUtil.createIntegerSupplier(),
+                    SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER));
+            for (Graph<Integer, DefaultWeightedEdge> g : graphs) {
+                new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+                    40, 160, seed, true, true).generateGraph(g);
+                for (DefaultWeightedEdge e : g.edgeSet()) {
+                    // include zero weight edges
+                    g.setEdgeWeight(e, rng.nextInt(5) == 0 ? 0d : rng.nextDouble());
+                }
+                DijkstraShortestPath<Integer, DefaultWeightedEdge> dijkstra =
+                    new DijkstraShortestPath<>(g);
+                for (double delta : new double[] { Double.NaN, 0.01, 0.3,
+                    Double.POSITIVE_INFINITY })
+                {
+                    DeltaSteppingShortestPath<Integer, DefaultWeightedEdge> sp =
+                        new DeltaSteppingShortestPath<>(g, delta, ForkJoinPool.commonPool());
+                    for (Integer source : g.vertexSet()) {
+                        assertSamePaths(g, dijkstra.getPaths(source), sp.getPaths(source));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testParallel()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = new DirectedWeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(5000, 40000, 7)
+            .generateGraph(g);
+        Random rng = new Random(7);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, rng.nextInt(10));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            DijkstraShortestPath<Integer, DefaultWeightedEdge> dijkstra =
+                new DijkstraShortestPath<>(g);
+            for (double delta : new double[] { Double.NaN, 5.0, Double.POSITIVE_INFINITY }) {
+                DeltaSteppingShortestPath<Integer, DefaultWeightedEdge> sp =
+                    new DeltaSteppingShortestPath<>(g, delta, pool);
+                for (int source = 0; source < 5; source++) {
+                    assertSamePaths(g, dijkstra.getPaths(source), sp.getPaths(source));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static <V, E> void assertSamePaths(
+        Graph<V, E> g, SingleSourcePaths<V, E> expected, SingleSourcePaths<V, E> actual)
+    {
+        for (V sink : g.vertexSet()) {
+            double weight = expected.getWeight(sink);
+            assertEquals(weight, actual.getWeight(sink), 1e-9);
+            GraphPath<V, E> path = actual.getPath(sink);
+            if (weight == Double.POSITIVE_INFINITY) {
+                assertNull(path);
+                continue;
+            }
+            assertEquals(weight, path.getWeight(), 1e-9);
+
+            // the edges must form a walk of the given weight
+            V v = actual.getSourceVertex();
+            double total = 0d;
+            for (E e : path.getEdgeList()) {
+                if (g.getType().isDirected()) {
+                    assertEquals(v, g.getEdgeSource(e));
+                }
+                v = Graphs.getOppositeVertex(g, e, v);
+                total += g.getEdgeWeight(e);
+            }
+            assertEquals(sink, v);
+            assertEquals(weight, total, 1e-9);
+        }
+    }
+}
@@ -19,10 +19,14 @@ package org.jgrapht.alg.shortestpath;
 
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.generate.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 import org.junit.*;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
 
 import static org.junit.Assert.*;
 
@@ -162,6 +166,104 @@ public class DijkstraShortestPathTest
         }
     }
 
+
+    @Test
+    public void testCustomHeaps()
+    {
+        DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(100, 1000, 17).generateGraph(g);
+        Random rng = new Random(17);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, rng.nextInt(10));
+        }
+
+        List<Supplier<AddressableHeap<Integer>>> heaps =
+            Arrays.asList(PairingHeap::new, DaryArrayAddressableHeap::new,
+                () -> new DaryArrayAddressableHeap<>(2));
+        for (Integer source : Arrays.asList(0, 17, 42)) {
+            SingleSourcePaths<Integer, DefaultWeightedEdge> expected =
+                new DijkstraShortestPath<>(g).getPaths(source);
+            for (Supplier<AddressableHeap<Integer>> heap : heaps) {
+                SingleSourcePaths<Integer, DefaultWeightedEdge> paths =
+                    new DijkstraShortestPath<>(g, heap).getPaths(source);
+                for (Integer v : g.vertexSet()) {
+                    assertEquals(expected.getWeight(v), paths.getWeight(v), 0d);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testStopConditions()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = new WeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GridGraphGenerator<Integer, DefaultWeightedEdge>(20, 20).generateGraph(g);
+        Random rng = new Random(17);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, 1.0 + rng.nextDouble());
+        }
+        DijkstraShortestPath<Integer, DefaultWeightedEdge> dijkstra = new DijkstraShortestPath<>(g);
+        SingleSourcePaths<Integer, DefaultWeightedEdge> all = dijkstra.getPaths(0);
+
+        // the nearest two of three targets
+        Set<Integer> targets = new HashSet<>(Arrays.asList(399, 21, 42));
+        SingleSourcePaths<Integer, DefaultWeightedEdge> nearest =
+            dijkstra.getPaths(0, DijkstraStopCondition.anyTargets(targets, 2));
+        assertEquals(all.getWeight(21), nearest.getWeight(21), 0d);
+        assertEquals(all.getWeight(42), nearest.getWeight(42), 0d);
+        assertEquals(all.getPath(42).getEdgeList(), nearest.getPath(42).getEdgeList());
+        assertNull(nearest.getPath(399));
+        assertEquals(Double.POSITIVE_INFINITY, nearest.getWeight(399), 0d);
+
+        SingleSourcePaths<Integer, DefaultWeightedEdge> allTargets =
+            dijkstra.getPaths(0, DijkstraStopCondition.allTargets(targets));
+        assertEquals(all.getWeight(399), allTargets.getWeight(399), 0d);
+
+        // the settled vertices are the closest vertices
+        SingleSourcePaths<Integer, DefaultWeightedEdge> visits =
+            dijkstra.getPaths(0, DijkstraStopCondition.maxVisits(50));
+        List<Double> settled = new ArrayList<>();
+        List<Double> distances = new ArrayList<>();
+        for (Integer v : g.vertexSet()) {
+            distances.add(all.getWeight(v));
+            if (visits.getWeight(v) != Double.POSITIVE_INFINITY) {
+                assertEquals(all.getWeight(v), visits.getWeight(v), 0d);
+                settled.add(visits.getWeight(v));
+            }
+        }
+        Collections.sort(settled);
+        Collections.sort(distances);
+        assertEquals(distances.subList(0, 50), settled);
+
+        // the search also stops within the radius
+        SingleSourcePaths<Integer, DefaultWeightedEdge> radius =
+            new DijkstraShortestPath<>(g, 5.0).getPaths(0, DijkstraStopCondition.maxVisits(1000));
+        for (Integer v : g.vertexSet()) {
+            double expected = all.getWeight(v) <= 5.0 ? all.getWeight(v) : Double.POSITIVE_INFINITY;
+            assertEquals(expected, radius.getWeight(v), 0d);
+        }
+
+        // the first condition which holds stops the search
+        SingleSourcePaths<Integer, DefaultWeightedEdge> combined = dijkstra.getPaths(
+            0, DijkstraStopCondition.<Integer> maxVisits(3).or(
+                DijkstraStopCondition.timeBudget(1, TimeUnit.HOURS)));
+        int count = 0;
+        for (Integer v : g.vertexSet()) {
+            if (combined.getWeight(v) != Double.POSITIVE_INFINITY) {
+                count++;
+            }
+        }
+        assertEquals(3, count);
+
+        SingleSourcePaths<Integer, DefaultWeightedEdge> expired =
+            dijkstra.getPaths(0, DijkstraStopCondition.timeBudget(0, TimeUnit.SECONDS));
+        assertEquals(0d, expired.getWeight(0), 0d);
+        assertNull(expired.getPath(1));
+    }
+
 }
 
 // End DijkstraShortestPathTest.java
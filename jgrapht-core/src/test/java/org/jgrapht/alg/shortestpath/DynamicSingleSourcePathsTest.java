@@ -0,0 +1,147 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link DynamicSingleSourcePaths}.
+ *
+ * @author agent
+ */
+public class DynamicSingleSourcePathsTest
+{
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    public void testUpdates()
+    {
+        ListenableGraph<Integer, DefaultWeightedEdge> graph = new DefaultListenableGraph<>(
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class));
+        Graphs.addAllVertices(graph, Arrays.asList(0, 1, 2, 3));
+        Graphs.addEdge(graph, 0, 1, 1d);
+        Graphs.addEdge(graph, 1, 2, 1d);
+        Graphs.addEdge(graph, 0, 2, 3d);
+
+        DynamicSingleSourcePaths<Integer, DefaultWeightedEdge> paths =
+            new DynamicSingleSourcePaths<>(graph, 0);
+        assertEquals(2d, paths.getWeight(2), 0d);
+        assertEquals(Double.POSITIVE_INFINITY, paths.getWeight(3), 0d);
+        assertNull(paths.getPath(3));
+
+        Graphs.addEdge(graph, 2, 3, 1d);
+        assertEquals(3d, paths.getWeight(3), 0d);
+        assertEquals(Arrays.asList(0, 1, 2, 3), paths.getPath(3).getVertexList());
+
+        graph.setEdgeWeight(graph.getEdge(1, 2), 5d);
+        assertEquals(3d, paths.getWeight(2), 0d);
+        assertEquals(Arrays.asList(0, 2, 3), paths.getPath(3).getVertexList());
+
+        graph.removeEdge(0, 2);
+        assertEquals(6d, paths.getWeight(2), 0d);
+        assertEquals(7d, paths.getWeight(3), 0d);
+
+        graph.removeVertex(2);
+        assertEquals(Double.POSITIVE_INFINITY, paths.getWeight(3), 0d);
+        assertEquals(1d, paths.getWeight(1), 0d);
+        assertEquals(0d, paths.getWeight(0), 0d);
+    }
+
+    @Test
+    public void testRandomUpdates()
+    {
+        Random rng = new Random(7);
+        for (int test = 0; test < 10; test++) {
+            boolean directed = test % 2 == 0;
+            Graph<Integer, DefaultWeightedEdge> base;
+            if (directed) {
+                base = new DirectedWeightedPseudograph<>(
+                    SupplierUtil.createIntegerSupplier(),
+                    SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            } else {
+                base = new WeightedPseudograph<>(
+                    SupplierUtil.createIntegerSupplier(),
+                    SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            }
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+                40, directed ? 120 : 80, rng.nextLong(), true, true).generateGraph(base);
+            ListenableGraph<Integer, DefaultWeightedEdge> graph =
+                new DefaultListenableGraph<>(base);
+            for (DefaultWeightedEdge e : graph.edgeSet()) {
+                // small integer weights, including zero, produce many ties
+                graph.setEdgeWeight(e, rng.nextInt(5));
+            }
+
+            DynamicSingleSourcePaths<Integer, DefaultWeightedEdge> paths =
+                new DynamicSingleSourcePaths<>(graph, 0);
+            assertSamePaths(graph, paths);
+            for (int step = 0; step < 200; step++) {
+                List<DefaultWeightedEdge> edges = new ArrayList<>(graph.edgeSet());
+                int operation = rng.nextInt(4);
+                if (operation == 0 || edges.isEmpty()) {
+                    Graphs.addEdge(graph, rng.nextInt(40), rng.nextInt(40), rng.nextInt(5));
+                } else if (operation == 1) {
+                    graph.removeEdge(edges.get(rng.nextInt(edges.size())));
+                } else {
+                    graph.setEdgeWeight(edges.get(rng.nextInt(edges.size())), rng.nextInt(5));
+                }
+                assertSamePaths(graph, paths);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight()
+    {
+        ListenableGraph<Integer, DefaultWeightedEdge> graph = new DefaultListenableGraph<>(
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class));
+        Graphs.addAllVertices(graph, Arrays.asList(0, 1));
+        DefaultWeightedEdge e = Graphs.addEdge(graph, 0, 1, 1d);
+
+        new DynamicSingleSourcePaths<>(graph, 0);
+        graph.setEdgeWeight(e, -1d);
+    }
+
+    private static void assertSamePaths(
+        Graph<Integer, DefaultWeightedEdge> graph,
+        DynamicSingleSourcePaths<Integer, DefaultWeightedEdge> paths)
+    {
+        SingleSourcePaths<Integer, DefaultWeightedEdge> expected =
+            new DijkstraShortestPath<>(graph).getPaths(0);
+        for (Integer v : graph.vertexSet()) {
+            double weight = expected.getWeight(v);
+            assertEquals(weight, paths.getWeight(v), EPSILON);
+            GraphPath<Integer, DefaultWeightedEdge> path = paths.getPath(v);
+            if (weight == Double.POSITIVE_INFINITY) {
+                assertNull(path);
+            } else {
+                assertEquals(weight, path.getWeight(), EPSILON);
+                assertEquals(v, path.getEndVertex());
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent
+ */
+public class ParallelDijkstraShortestPathsTest
+{
+
+    @Test
+    public void testGraphDirected()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        g.addVertex("1");
+        g.addVertex("2");
+        g.addVertex("3");
+        g.addVertex("4");
+        g.setEdgeWeight(g.addEdge("1", "2"), 1.0);
+        g.setEdgeWeight(g.addEdge("2", "3"), 1.0);
+        g.setEdgeWeight(g.addEdge("1", "3"), 3.0);
+        g.setEdgeWeight(g.addEdge("3", "4"), 1.0);
+        g.setEdgeWeight(g.addEdge("4", "4"), 1.0);
+
+        ParallelDijkstraShortestPaths<String, DefaultWeightedEdge> sp =
+            new ParallelDijkstraShortestPaths<>(g);
+
+        GraphPath<String, DefaultWeightedEdge> p = sp.getPath("1", "4");
+        assertEquals(3.0, p.getWeight(), 0);
+        assertEquals(Arrays.asList("1", "2", "3", "4"), p.getVertexList());
+        assertNull(sp.getPath("4", "1"));
+        assertEquals(Double.POSITIVE_INFINITY, sp.getPathWeight("4", "1"), 0);
+        assertEquals(0, sp.getPath("4", "4").getLength());
+
+        SingleSourcePaths<String, DefaultWeightedEdge> paths = sp.getPaths("2");
+        assertEquals("2", paths.getSourceVertex());
+        assertEquals(2.0, paths.getWeight("4"), 0);
+        assertEquals(Arrays.asList("2", "3"), paths.getPath("3").getVertexList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        g.addVertex("1");
+        g.addVertex("2");
+        g.setEdgeWeight(g.addEdge("1", "2"), -1.0);
+
+        new ParallelDijkstraShortestPaths<>(g).getPathWeight("1", "2");
+    }
+
+    @Test
+    public void testRandomGraphs()
+    {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int seed = 0; seed < 5; seed++) {
+                Random rng = new Random(seed);
+                List<Graph<Integer, DefaultWeightedEdge>> graphs = new ArrayList<>();
+                graphs.add(
+                    new DirectedWeightedPseudograph<>(
+                        SupplierUtil.createIntegerSupplier(),
+                        SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER));
+                graphs.add(
+                    new WeightedPseudograph<>(
+                        SupplierUtil.createIntegerSupplier(),
+                        SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER));
+                for (Graph<Integer, DefaultWeightedEdge> g : graphs) {
+                    new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+                        60, 150, seed, true, true).generateGraph(g);
+                    for (DefaultWeightedEdge e : g.edgeSet()) {
+                        g.setEdgeWeight(e, rng.nextDouble());
+                    }
+                    ParallelFloydWarshallShortestPathsTest.assertSamePaths(
+                        g, new DijkstraShortestPath<>(g),
+                        new ParallelDijkstraShortestPaths<>(g, pool));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
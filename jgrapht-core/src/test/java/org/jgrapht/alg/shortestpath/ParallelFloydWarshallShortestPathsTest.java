@@ -0,0 +1,169 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent
+ */
+public class ParallelFloydWarshallShortestPathsTest
+{
+
+    @Test
+    public void testGraphDirected()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        g.addVertex("1");
+        g.addVertex("2");
+        g.addVertex("3");
+        g.addVertex("4");
+        g.setEdgeWeight(g.addEdge("1", "2"), 3.0);
+        g.setEdgeWeight(g.addEdge("2", "3"), -2.0);
+        g.setEdgeWeight(g.addEdge("1", "3"), 2.0);
+        g.setEdgeWeight(g.addEdge("3", "4"), 1.0);
+        g.setEdgeWeight(g.addEdge("4", "4"), 1.0);
+
+        ParallelFloydWarshallShortestPaths<String, DefaultWeightedEdge> sp =
+            new ParallelFloydWarshallShortestPaths<>(g, ForkJoinPool.commonPool(), 3);
+
+        GraphPath<String, DefaultWeightedEdge> p = sp.getPath("1", "4");
+        assertEquals(2.0, p.getWeight(), 0);
+        assertEquals(Arrays.asList("1", "2", "3", "4"), p.getVertexList());
+        assertNull(sp.getPath("4", "1"));
+        assertEquals(Double.POSITIVE_INFINITY, sp.getPathWeight("4", "1"), 0);
+        assertEquals(0, sp.getPath("4", "4").getLength());
+
+        SingleSourcePaths<String, DefaultWeightedEdge> paths = sp.getPaths("2");
+        assertEquals("2", paths.getSourceVertex());
+        assertEquals(-1.0, paths.getWeight("4"), 0);
+        assertEquals(Arrays.asList("2", "3"), paths.getPath("3").getVertexList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBlockSize()
+    {
+        new ParallelFloydWarshallShortestPaths<>(
+            new DirectedPseudograph<>(DefaultEdge.class), ForkJoinPool.commonPool(), 0);
+    }
+
+    @Test
+    public void testRandomGraphs()
+    {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int seed = 0; seed < 5; seed++) {
+                Random rng = new Random(seed);
+                List<Graph<Integer, DefaultWeightedEdge>> graphs = new ArrayList<>();
+                graphs.add(
+                    new DirectedWeightedPseudograph<>(
+                        SupplierUtil.createIntegerSupplier(),
+                        SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER));
+                graphs.add(
+                    new WeightedPseudograph<>(
+                        SupplierUtil.createIntegerSupplier(),
+                        SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER));
+                for (Graph<Integer, DefaultWeightedEdge> g : graphs) {
+                    new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+                        50, 300, seed, true, true).generateGraph(g);
+                    for (DefaultWeightedEdge e : g.edgeSet()) {
+                        g.setEdgeWeight(e, rng.nextDouble());
+                    }
+                    // block sizes which do and do not divide the number of vertices
+                    for (int blockSize : new int[] { 1, 7, 10, 64 }) {
+                        assertSamePaths(
+                            g, new FloydWarshallShortestPaths<>(g),
+                            new ParallelFloydWarshallShortestPaths<>(g, pool, blockSize));
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testNegativeWeights()
+    {
+        for (int seed = 0; seed < 5; seed++) {
+            Random rng = new Random(seed);
+            Graph<Integer, DefaultWeightedEdge> g = new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(40, 200, seed, false, true)
+                .generateGraph(g);
+
+            // orient all edges from smaller to larger vertices, which avoids negative cycles
+            for (DefaultWeightedEdge e : new ArrayList<>(g.edgeSet())) {
+                int u = g.getEdgeSource(e);
+                int v = g.getEdgeTarget(e);
+                if (u > v) {
+                    g.removeEdge(e);
+                    e = g.addEdge(v, u);
+                }
+                g.setEdgeWeight(e, rng.nextDouble() - 0.5);
+            }
+            assertSamePaths(
+                g, new BellmanFordShortestPath<>(g), new ParallelFloydWarshallShortestPaths<>(
+                    g, ForkJoinPool.commonPool(), 8));
+        }
+    }
+
+    static <V, E> void assertSamePaths(
+        Graph<V, E> g, ShortestPathAlgorithm<V, E> expected, ShortestPathAlgorithm<V, E> actual)
+    {
+        for (V source : g.vertexSet()) {
+            for (V sink : g.vertexSet()) {
+                double weight = expected.getPathWeight(source, sink);
+                assertEquals(weight, actual.getPathWeight(source, sink), 1e-9);
+                GraphPath<V, E> path = actual.getPath(source, sink);
+                if (weight == Double.POSITIVE_INFINITY) {
+                    assertNull(path);
+                    continue;
+                }
+                assertEquals(weight, path.getWeight(), 1e-9);
+                assertEquals(source, path.getStartVertex());
+                assertEquals(sink, path.getEndVertex());
+
+                // the edges must form a walk of the given weight
+                V v = source;
+                double total = 0d;
+                for (E e : path.getEdgeList()) {
+                    if (g.getType().isDirected()) {
+                        assertEquals(v, g.getEdgeSource(e));
+                    }
+                    v = Graphs.getOppositeVertex(g, e, v);
+                    total += g.getEdgeWeight(e);
+                }
+                assertEquals(sink, v);
+                assertEquals(weight, total, 1e-9);
+            }
+        }
+    }
+}
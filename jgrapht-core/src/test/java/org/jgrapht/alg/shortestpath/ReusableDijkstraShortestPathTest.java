@@ -0,0 +1,190 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent
+ */
+public class ReusableDijkstraShortestPathTest
+{
+
+    @Test
+    public void testGraphDirected()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        g.addVertex("1");
+        g.addVertex("2");
+        g.addVertex("3");
+        g.addVertex("4");
+        g.addVertex("5");
+        g.setEdgeWeight(g.addEdge("1", "2"), 3.0);
+        g.setEdgeWeight(g.addEdge("3", "1"), 3.0);
+        g.setEdgeWeight(g.addEdge("2", "4"), 3.0);
+        g.setEdgeWeight(g.addEdge("3", "5"), 5.0);
+        g.setEdgeWeight(g.addEdge("5", "4"), 5.0);
+        g.setEdgeWeight(g.addEdge("4", "4"), 1.0);
+
+        ReusableDijkstraShortestPath<String, DefaultWeightedEdge> sp =
+            new ReusableDijkstraShortestPath<>(g);
+        for (int i = 0; i < 3; i++) {
+            GraphPath<String, DefaultWeightedEdge> p = sp.getPath("3", "4");
+            assertEquals(9.0, p.getWeight(), 0);
+            assertEquals(Arrays.asList("3", "1", "2", "4"), p.getVertexList());
+            assertEquals(
+                Arrays.asList(g.getEdge("3", "1"), g.getEdge("1", "2"), g.getEdge("2", "4")),
+                p.getEdgeList());
+            assertNull(sp.getPath("4", "3"));
+            assertEquals(Double.POSITIVE_INFINITY, sp.getPathWeight("4", "3"), 0);
+            assertEquals(0, sp.getPath("4", "4").getLength());
+            assertEquals(6.0, sp.getPathWeight("1", "4"), 0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        g.addVertex("1");
+        g.addVertex("2");
+        g.setEdgeWeight(g.addEdge("1", "2"), -1.0);
+
+        new ReusableDijkstraShortestPath<>(g);
+    }
+
+    @Test
+    public void testRepeatedQueries()
+    {
+        for (int seed = 0; seed < 5; seed++) {
+            Random rng = new Random(seed);
+            List<Graph<Integer, DefaultWeightedEdge>> graphs = new ArrayList<>();
+            graphs.add(
+                new DirectedWeightedPseudograph<>(
+                    SupplierUtil.createIntegerSupplier(),
+                    SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER));
+            graphs.add(
+                new WeightedPseudograph<>(
+                    SupplierUtil.createIntegerSupplier(),
+                    SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER));
+            for (Graph<Integer, DefaultWeightedEdge> g : graphs) {
+                new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+                    40, 100, seed, true, true).generateGraph(g);
+                for (DefaultWeightedEdge e : g.edgeSet()) {
+                    g.setEdgeWeight(e, rng.nextInt(4));
+                }
+                DijkstraShortestPath<Integer, DefaultWeightedEdge> dijkstra =
+                    new DijkstraShortestPath<>(g);
+                ReusableDijkstraShortestPath<Integer, DefaultWeightedEdge> sp =
+                    new ReusableDijkstraShortestPath<>(g);
+                for (Integer source : g.vertexSet()) {
+                    SingleSourcePaths<Integer, DefaultWeightedEdge> expected =
+                        dijkstra.getPaths(source);
+                    SingleSourcePaths<Integer, DefaultWeightedEdge> paths = sp.getPaths(source);
+                    for (Integer sink : g.vertexSet()) {
+                        double weight = expected.getWeight(sink);
+                        assertEquals(weight, paths.getWeight(sink), 1e-9);
+                        assertEquals(weight, sp.getPathWeight(source, sink), 1e-9);
+                        GraphPath<Integer, DefaultWeightedEdge> path = sp.getPath(source, sink);
+                        if (weight == Double.POSITIVE_INFINITY) {
+                            assertNull(path);
+                        } else {
+                            assertEquals(weight, path.getWeight(), 1e-9);
+                            assertEquals(
+                                path.getEdgeList().size() + 1, path.getVertexList().size());
+                            assertEquals(sink, path.getEndVertex());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testStopCondition()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = new WeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GridGraphGenerator<Integer, DefaultWeightedEdge>(20, 20).generateGraph(g);
+        ReusableDijkstraShortestPath<Integer, DefaultWeightedEdge> sp =
+            new ReusableDijkstraShortestPath<>(g);
+
+        Set<Integer> targets = new HashSet<>(Arrays.asList(399, 21, 42));
+        SingleSourcePaths<Integer, DefaultWeightedEdge> nearest =
+            sp.getPaths(0, DijkstraStopCondition.anyTargets(targets, 2));
+        assertEquals(2.0, nearest.getWeight(21), 0d);
+        assertEquals(4.0, nearest.getWeight(42), 0d);
+        assertEquals(Double.POSITIVE_INFINITY, nearest.getWeight(399), 0d);
+
+        // a full query afterwards is not affected by the stopped one
+        assertEquals(38.0, sp.getPaths(0).getWeight(399), 0d);
+    }
+
+    @Test
+    public void testConcurrentQueries()
+        throws Exception
+    {
+        Graph<Integer, DefaultWeightedEdge> g = new WeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GridGraphGenerator<Integer, DefaultWeightedEdge>(30, 30).generateGraph(g);
+        Random rng = new Random(17);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, 1.0 + rng.nextDouble());
+        }
+        DijkstraShortestPath<Integer, DefaultWeightedEdge> dijkstra = new DijkstraShortestPath<>(g);
+        ReusableDijkstraShortestPath<Integer, DefaultWeightedEdge> sp =
+            new ReusableDijkstraShortestPath<>(g);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int task = 0; task < 8; task++) {
+                long seed = task;
+                results.add(executor.submit(() -> {
+                    Random queries = new Random(seed);
+                    for (int i = 0; i < 100; i++) {
+                        int source = queries.nextInt(900);
+                        int sink = queries.nextInt(900);
+                        double expected = dijkstra.getPathWeight(source, sink);
+                        if (Math.abs(expected - sp.getPathWeight(source, sink)) > 1e-9) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
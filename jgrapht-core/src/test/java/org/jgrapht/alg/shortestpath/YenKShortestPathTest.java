@@ -0,0 +1,161 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link YenKShortestPath}.
+ *
+ * @author agent
+ */
+public class YenKShortestPathTest
+{
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    public void testCompleteGraph()
+    {
+        KShortestPathCompleteGraph4 graph = new KShortestPathCompleteGraph4();
+
+        List<GraphPath<String, DefaultWeightedEdge>> paths =
+            new YenKShortestPath<>(graph).getPaths("vS", "v3", 5);
+
+        assertEquals(5, paths.size());
+        assertEquals(Arrays.asList(graph.eS1, graph.e13), paths.get(0).getEdgeList());
+        assertEquals(2d, paths.get(0).getWeight(), EPSILON);
+        assertEquals(
+            Arrays.asList(new String[] { "vS", "v1", "v3" }), paths.get(0).getVertexList());
+        assertEquals(Arrays.asList(graph.eS3), paths.get(4).getEdgeList());
+    }
+
+    @Test
+    public void testNoPath()
+    {
+        Graph<Integer, DefaultWeightedEdge> graph =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(graph, Arrays.asList(0, 1, 2));
+        Graphs.addEdge(graph, 1, 0, 1d);
+
+        assertTrue(new YenKShortestPath<>(graph).getPaths(0, 1, 3).isEmpty());
+        assertTrue(new YenKShortestPath<>(graph, false).getPaths(0, 2, 3).isEmpty());
+    }
+
+    @Test
+    public void testRandomGraphs()
+    {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            Random rng = new Random(33);
+            for (int test = 0; test < 20; test++) {
+                boolean directed = test % 2 == 0;
+                Graph<Integer, DefaultWeightedEdge> graph;
+                if (directed) {
+                    graph = new DirectedWeightedPseudograph<>(
+                        SupplierUtil.createIntegerSupplier(),
+                        SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+                } else {
+                    graph = new WeightedPseudograph<>(
+                        SupplierUtil.createIntegerSupplier(),
+                        SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+                }
+                new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+                    12, directed ? 36 : 24, rng.nextLong(), true, true).generateGraph(graph);
+                for (DefaultWeightedEdge e : graph.edgeSet()) {
+                    // small integer weights produce many ties
+                    graph.setEdgeWeight(e, rng.nextInt(4));
+                }
+
+                KShortestPathAlgorithm<Integer, DefaultWeightedEdge> expected =
+                    new KShortestSimplePaths<>(graph);
+                List<KShortestPathAlgorithm<Integer, DefaultWeightedEdge>> algorithms =
+                    Arrays.asList(
+                        new YenKShortestPath<>(graph, false), new YenKShortestPath<>(graph, true),
+                        new YenKShortestPath<>(graph, pool, false),
+                        new YenKShortestPath<>(graph, pool));
+                for (int i = 0; i < 5; i++) {
+                    int source = rng.nextInt(12);
+                    int sink = rng.nextInt(12);
+                    if (source == sink) {
+                        continue;
+                    }
+                    List<GraphPath<Integer, DefaultWeightedEdge>> expectedPaths =
+                        expected.getPaths(source, sink, 30);
+                    for (KShortestPathAlgorithm<Integer, DefaultWeightedEdge> a : algorithms) {
+                        assertSamePaths(expectedPaths, a.getPaths(source, sink, 30));
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSameSourceAndSink()
+    {
+        Graph<Integer, DefaultWeightedEdge> graph =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        graph.addVertex(0);
+
+        new YenKShortestPath<>(graph).getPaths(0, 0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight()
+    {
+        Graph<Integer, DefaultWeightedEdge> graph =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(graph, Arrays.asList(0, 1));
+        Graphs.addEdge(graph, 0, 1, -1d);
+
+        new YenKShortestPath<>(graph);
+    }
+
+    private static void assertSamePaths(
+        List<GraphPath<Integer, DefaultWeightedEdge>> expected,
+        List<GraphPath<Integer, DefaultWeightedEdge>> actual)
+    {
+        // paths of equal weight may be reported in a different order
+        assertEquals(expected.size(), actual.size());
+        Set<List<DefaultWeightedEdge>> edgeLists = new HashSet<>();
+        for (int i = 0; i < expected.size(); i++) {
+            GraphPath<Integer, DefaultWeightedEdge> path = actual.get(i);
+            assertEquals(expected.get(i).getWeight(), path.getWeight(), EPSILON);
+            List<Integer> vertexList = path.getVertexList();
+            assertEquals(vertexList.size(), new HashSet<>(vertexList).size());
+            assertTrue(edgeLists.add(path.getEdgeList()));
+
+            double weight = 0d;
+            for (DefaultWeightedEdge e : path.getEdgeList()) {
+                weight += path.getGraph().getEdgeWeight(e);
+            }
+            assertEquals(path.getWeight(), weight, EPSILON);
+        }
+    }
+}
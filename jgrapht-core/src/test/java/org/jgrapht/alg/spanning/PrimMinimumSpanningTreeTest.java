@@ -19,7 +19,14 @@ package org.jgrapht.alg.spanning;
 
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.generate.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
 
 public class PrimMinimumSpanningTreeTest
     extends
@@ -32,4 +39,26 @@ public class PrimMinimumSpanningTreeTest
     {
         return new PrimMinimumSpanningTree<>(network);
     }
+
+    @Test
+    public void testCustomHeaps()
+    {
+        Random rng = new Random(17);
+        WeightedPseudograph<Integer, DefaultWeightedEdge> g = new WeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(200, 2000, 17).generateGraph(g);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, rng.nextDouble());
+        }
+
+        double expected = new PrimMinimumSpanningTree<>(g).getSpanningTree().getWeight();
+        assertEquals(
+            expected,
+            new PrimMinimumSpanningTree<>(g, PairingHeap::new).getSpanningTree().getWeight(),
+            1e-9);
+        assertEquals(
+            expected, new PrimMinimumSpanningTree<>(g, DaryArrayAddressableHeap::new)
+                .getSpanningTree().getWeight(),
+            1e-9);
+    }
 }
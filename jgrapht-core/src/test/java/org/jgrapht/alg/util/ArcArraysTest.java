@@ -0,0 +1,85 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.util;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ArcArrays}.
+ *
+ * @author agent
+ */
+public class ArcArraysTest
+{
+    private static Graph<String, DefaultWeightedEdge> createGraph()
+    {
+        Graph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c"));
+        Graphs.addEdge(g, "a", "b", 1d);
+        Graphs.addEdge(g, "a", "c", 2d);
+        Graphs.addEdge(g, "c", "b", 3d);
+        return g;
+    }
+
+    @Test
+    public void testOutgoing()
+    {
+        Graph<String, DefaultWeightedEdge> g = createGraph();
+        List<String> vertices = Arrays.asList("a", "b", "c");
+        ArcArrays<String, DefaultWeightedEdge> arcs =
+            new ArcArrays<>(g, vertices, ArcArrays.indexVertices(vertices), false, true, true);
+
+        assertEquals(3, arcs.getArcCount());
+        assertArrayEquals(new int[] { 0, 2, 2, 3 }, arcs.getOffsets());
+        assertArrayEquals(new int[] { 1, 2, 1 }, arcs.getHeads());
+        assertArrayEquals(new int[] { 0, 0, 2 }, arcs.getTails());
+        assertArrayEquals(new double[] { 1d, 2d, 3d }, arcs.getWeights(), 0d);
+        assertEquals(g.getEdge("c", "b"), arcs.getEdges().get(2));
+    }
+
+    @Test
+    public void testIncoming()
+    {
+        Graph<String, DefaultWeightedEdge> g = createGraph();
+        List<String> vertices = Arrays.asList("a", "b", "c");
+        ArcArrays<String, DefaultWeightedEdge> arcs =
+            new ArcArrays<>(g, vertices, ArcArrays.indexVertices(vertices), true, false, false);
+
+        assertArrayEquals(new int[] { 0, 0, 2, 3 }, arcs.getOffsets());
+        assertArrayEquals(new int[] { 0, 2, 0 }, arcs.getHeads());
+        assertNull(arcs.getWeights());
+        assertNull(arcs.getEdges());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight()
+    {
+        Graph<String, DefaultWeightedEdge> g = createGraph();
+        g.setEdgeWeight(g.getEdge("a", "c"), -1d);
+        List<String> vertices = new ArrayList<>(g.vertexSet());
+        new ArcArrays<>(g, vertices, ArcArrays.indexVertices(vertices), false, true, false)
+            .requireNonNegativeWeights();
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CompactGraph}.
+ *
+ * @author agent
+ */
+public class CompactGraphTest
+{
+    private static final long SEED = 5;
+
+    @Test
+    public void testDirected()
+    {
+        CompactGraph<Integer, DefaultWeightedEdge> g = CompactGraph.createWeightedGraph(
+            SupplierUtil.createIntegerSupplier(), DefaultGraphType.directedPseudograph());
+        DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> expected =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+
+        applyRandomUpdates(g, expected);
+        assertTrue(g.getType().isWeighted());
+    }
+
+    @Test
+    public void testUndirected()
+    {
+        CompactGraph<Integer, DefaultWeightedEdge> g = CompactGraph.createWeightedGraph(
+            SupplierUtil.createIntegerSupplier(), DefaultGraphType.pseudograph());
+        WeightedPseudograph<Integer, DefaultWeightedEdge> expected =
+            new WeightedPseudograph<>(DefaultWeightedEdge.class);
+
+        applyRandomUpdates(g, expected);
+    }
+
+    @Test
+    public void testSimpleUnweighted()
+    {
+        CompactGraph<String, DefaultEdge> g =
+            CompactGraph.createGraph(null, DefaultGraphType.simple());
+        g.addVertex("a");
+        g.addVertex("b");
+        g.addVertex("c");
+        DefaultEdge ab = g.addEdge("a", "b");
+        DefaultEdge bc = g.addEdge("b", "c");
+        assertNull(g.addEdge("b", "a"));
+        assertFalse(g.addEdge("a", "b", ab));
+
+        assertEquals("(a : b)", ab.toString());
+        assertEquals(ab, g.getEdge("b", "a"));
+        assertNotSame(ab, g.getEdge("b", "a"));
+        assertEquals(new HashSet<>(Arrays.asList(ab, bc)), g.edgesOf("b"));
+        assertEquals(Graph.DEFAULT_EDGE_WEIGHT, g.getEdgeWeight(ab), 0d);
+
+        assertTrue(g.removeEdge(ab));
+        assertFalse(g.containsEdge(ab));
+        assertFalse(g.removeEdge(ab));
+        DefaultEdge ac = g.addEdge("a", "c");
+        assertNotEquals(ab, ac);
+        assertEquals(Collections.singleton(bc), g.edgesOf("b"));
+        assertEquals(new HashSet<>(Arrays.asList(bc, ac)), g.edgeSet());
+
+        assertTrue(g.removeVertex("c"));
+        assertTrue(g.edgeSet().isEmpty());
+        assertEquals(0, g.degreeOf("a"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testForeignEdge()
+    {
+        CompactGraph<String, DefaultEdge> g =
+            CompactGraph.createGraph(null, DefaultGraphType.pseudograph());
+        g.addVertex("a");
+        g.addEdge("a", "a", new DefaultEdge());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSetEdgeSupplier()
+    {
+        CompactGraph.createGraph(null, DefaultGraphType.pseudograph())
+            .setEdgeSupplier(SupplierUtil.DEFAULT_EDGE_SUPPLIER);
+    }
+
+    @Test
+    public void testClone()
+    {
+        CompactGraph<Integer, DefaultWeightedEdge> g = CompactGraph.createWeightedGraph(
+            SupplierUtil.createIntegerSupplier(), DefaultGraphType.directedPseudograph());
+        for (int i = 0; i < 3; i++) {
+            g.addVertex();
+        }
+        DefaultWeightedEdge e1 = g.addEdge(0, 1);
+        DefaultWeightedEdge e2 = g.addEdge(1, 2);
+        g.removeEdge(e1);
+        g.setEdgeWeight(e2, 4d);
+
+        @SuppressWarnings("unchecked") Graph<Integer, DefaultWeightedEdge> copy =
+            (Graph<Integer, DefaultWeightedEdge>) g.clone();
+        assertEquals(g, copy);
+        assertEquals(4d, copy.getEdgeWeight(e2), 0d);
+
+        // the new edges of both graphs are distinct
+        DefaultWeightedEdge e3 = copy.addEdge(2, 0);
+        assertTrue(copy.containsEdge(e3));
+        assertFalse(g.containsEdge(e3));
+        DefaultWeightedEdge e4 = g.addEdge(2, 0);
+        assertNotEquals(e3, e4);
+        assertFalse(copy.containsEdge(e4));
+    }
+
+    @Test
+    public void testCopyCompactGraph()
+    {
+        CompactGraph<Integer, DefaultWeightedEdge> g1 = CompactGraph.createWeightedGraph(
+            SupplierUtil.createIntegerSupplier(), DefaultGraphType.simple());
+        CompactGraph<Integer, DefaultWeightedEdge> g2 = CompactGraph.createWeightedGraph(
+            SupplierUtil.createIntegerSupplier(), DefaultGraphType.simple());
+        Graphs.addAllVertices(g1, Arrays.asList(0, 1, 2));
+        Graphs.addAllVertices(g2, Arrays.asList(0, 1, 2));
+        Graphs.addEdge(g1, 0, 1, 2d);
+        DefaultWeightedEdge e = g2.addEdge(1, 2);
+
+        // the edges of another compact graph are not equal to any edge and cannot be added
+        DefaultWeightedEdge foreign = g1.getEdge(0, 1);
+        assertNotEquals(e, foreign);
+        assertFalse(g2.containsEdge(foreign));
+        try {
+            Graphs.addGraph(g2, g1);
+            fail("Foreign edge added");
+        } catch (IllegalArgumentException expected) {
+        }
+        assertEquals(Collections.singleton(e), g2.edgeSet());
+
+        // copy the edges by creating new edges of the destination graph
+        for (DefaultWeightedEdge f : g1.edgeSet()) {
+            Graphs.addEdge(g2, g1.getEdgeSource(f), g1.getEdgeTarget(f), g1.getEdgeWeight(f));
+        }
+        assertEquals(2, g2.edgeSet().size());
+        assertTrue(g2.containsEdge(0, 1));
+        assertEquals(2d, g2.getEdgeWeight(g2.getEdge(0, 1)), 0d);
+        assertTrue(g2.containsEdge(e));
+    }
+
+    @Test
+    public void testSupplierReservesIndices()
+    {
+        CompactGraph<Integer, DefaultEdge> g = CompactGraph.createGraph(
+            SupplierUtil.createIntegerSupplier(), DefaultGraphType.pseudograph());
+        g.addVertex();
+        DefaultEdge e1 = g.getEdgeSupplier().get();
+        DefaultEdge e2 = g.getEdgeSupplier().get();
+        assertNotEquals(e1, e2);
+        assertTrue(g.addEdge(0, 0, e2));
+        assertTrue(g.addEdge(0, 0, e1));
+        assertEquals(new HashSet<>(Arrays.asList(e1, e2)), g.edgeSet());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSetWeightOfUnweightedEdge()
+    {
+        CompactGraph<Integer, DefaultEdge> g = CompactGraph.createGraph(
+            SupplierUtil.createIntegerSupplier(), DefaultGraphType.pseudograph());
+        g.addVertex();
+        g.setEdgeWeight(g.addEdge(0, 0), 2d);
+    }
+
+    private static void applyRandomUpdates(
+        Graph<Integer, DefaultWeightedEdge> g, Graph<Integer, DefaultWeightedEdge> expected)
+    {
+        Random rng = new Random(SEED);
+        int n = 40;
+        for (int i = 0; i < n; i++) {
+            g.addVertex();
+            expected.addVertex(i);
+        }
+        Map<DefaultWeightedEdge, DefaultWeightedEdge> edgeMap = new HashMap<>();
+        for (int i = 0; i < 800; i++) {
+            int u = rng.nextInt(n);
+            int v = rng.nextInt(n);
+            int op = rng.nextInt(10);
+            if (op < 6) {
+                double w = rng.nextDouble();
+                DefaultWeightedEdge e = g.addEdge(u, v);
+                g.setEdgeWeight(e, w);
+                DefaultWeightedEdge f = expected.addEdge(u, v);
+                expected.setEdgeWeight(f, w);
+                edgeMap.put(f, e);
+            } else if (op < 9) {
+                DefaultWeightedEdge f = expected.removeEdge(u, v);
+                if (f != null) {
+                    assertTrue(g.removeEdge(edgeMap.remove(f)));
+                } else {
+                    assertNull(g.getEdge(u, v));
+                }
+            } else {
+                for (DefaultWeightedEdge f : expected.edgesOf(u)) {
+                    edgeMap.remove(f);
+                }
+                assertEquals(expected.removeVertex(u), g.removeVertex(u));
+                assertEquals(expected.addVertex(u), g.addVertex(u));
+            }
+        }
+
+        assertEquals(expected.vertexSet(), g.vertexSet());
+        assertEquals(new HashSet<>(edgeMap.values()), g.edgeSet());
+        assertEquals(expected.edgeSet().size(), g.edgeSet().size());
+        for (DefaultWeightedEdge f : expected.edgeSet()) {
+            DefaultWeightedEdge e = edgeMap.get(f);
+            assertTrue(g.containsEdge(e));
+            assertEquals(expected.getEdgeSource(f), g.getEdgeSource(e));
+            assertEquals(expected.getEdgeTarget(f), g.getEdgeTarget(e));
+            assertEquals(expected.getEdgeWeight(f), g.getEdgeWeight(e), 0d);
+        }
+        for (Integer v : expected.vertexSet()) {
+            assertEquals(expected.degreeOf(v), g.degreeOf(v));
+            assertEquals(expected.inDegreeOf(v), g.inDegreeOf(v));
+            assertEquals(expected.outDegreeOf(v), g.outDegreeOf(v));
+            assertEquals(mapped(edgeMap, expected.edgesOf(v)), g.edgesOf(v));
+            assertEquals(mapped(edgeMap, expected.incomingEdgesOf(v)), g.incomingEdgesOf(v));
+            assertEquals(mapped(edgeMap, expected.outgoingEdgesOf(v)), g.outgoingEdgesOf(v));
+            assertEquals(expected.edgesOf(v).size(), g.edgesOf(v).size());
+            for (Integer u : expected.vertexSet()) {
+                assertEquals(
+                    mapped(edgeMap, expected.getAllEdges(v, u)), g.getAllEdges(v, u));
+            }
+        }
+    }
+
+    private static Set<DefaultWeightedEdge> mapped(
+        Map<DefaultWeightedEdge, DefaultWeightedEdge> edgeMap, Set<DefaultWeightedEdge> edges)
+    {
+        Set<DefaultWeightedEdge> result = new HashSet<>();
+        for (DefaultWeightedEdge f : edges) {
+            result.add(edgeMap.get(f));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link IndexedGraph}.
+ *
+ * @author agent
+ */
+public class IndexedGraphTest
+{
+    private static final int N = 100;
+
+    private static Graph<Integer, DefaultEdge> createStar(GraphType type)
+    {
+        // the center has more edges than the index threshold
+        Graph<Integer, DefaultEdge> g = new IndexedGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, type);
+        for (int i = 0; i < N; i++) {
+            g.addVertex();
+        }
+        for (int i = 1; i < N; i++) {
+            g.addEdge(0, i);
+        }
+        return g;
+    }
+
+    @Test
+    public void testDirected()
+    {
+        Graph<Integer, DefaultEdge> g = createStar(DefaultGraphType.directedSimple());
+        assertTrue(g.getType().isDirected());
+        assertEquals(N - 1, g.outDegreeOf(0));
+        for (int i = 1; i < N; i++) {
+            assertTrue(g.containsEdge(0, i));
+            assertFalse(g.containsEdge(i, 0));
+        }
+        // multiple edges are rejected using the index of the center
+        assertNull(g.addEdge(0, N / 2));
+
+        g.removeEdge(0, N / 2);
+        assertFalse(g.containsEdge(0, N / 2));
+        assertEquals(N - 2, g.edgeSet().size());
+    }
+
+    @Test
+    public void testUndirected()
+    {
+        Graph<Integer, DefaultEdge> g = createStar(DefaultGraphType.simple());
+        assertTrue(g.getType().isUndirected());
+        assertEquals(N - 1, g.degreeOf(0));
+        for (int i = 1; i < N; i++) {
+            assertEquals(g.getEdge(0, i), g.getEdge(i, 0));
+        }
+        assertNull(g.addEdge(N / 2, 0));
+
+        g.removeVertex(N / 2);
+        assertNull(g.getEdge(0, N / 2));
+        assertEquals(N - 2, g.degreeOf(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMixed()
+    {
+        new IndexedGraph<>(null, SupplierUtil.DEFAULT_EDGE_SUPPLIER, DefaultGraphType.mixed());
+    }
+}
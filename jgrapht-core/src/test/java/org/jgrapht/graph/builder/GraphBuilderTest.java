@@ -18,10 +18,12 @@
 package org.jgrapht.graph.builder;
 
 import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
 import org.jgrapht.graph.*;
 import org.junit.*;
 
 import java.util.*;
+import java.util.stream.*;
 
 import static org.junit.Assert.*;
 
@@ -145,6 +147,23 @@ public class GraphBuilderTest
         assertTrue(g.vertexSet().containsAll(Collections.singletonList(v1)));
     }
 
+    @Test
+    public void testAddEdges()
+    {
+        Graph<String, DefaultWeightedEdge> g = new GraphBuilder<>(
+            new SimpleWeightedGraph<String, DefaultWeightedEdge>(DefaultWeightedEdge.class))
+                .addEdges(
+                    Stream.of(Triple.of(v1, v2, 2d), Triple.of(v2, v3, null),
+                        Triple.of(v2, v1, 5d)))
+                .build();
+
+        assertEquals(3, g.vertexSet().size());
+        assertEquals(2, g.edgeSet().size());
+        assertEquals(2d, g.getEdgeWeight(g.getEdge(v1, v2)), 0d);
+        assertEquals(
+            Graph.DEFAULT_EDGE_WEIGHT, g.getEdgeWeight(g.getEdge(v2, v3)), 0d);
+    }
+
 }
 
 // End GraphBuilderTest.java
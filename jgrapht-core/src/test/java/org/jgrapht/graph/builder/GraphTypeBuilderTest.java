@@ -18,10 +18,13 @@
 package org.jgrapht.graph.builder;
 
 import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
 import org.jgrapht.graph.*;
 import org.jgrapht.util.*;
 import org.junit.*;
 
+import java.util.*;
+
 import static org.junit.Assert.*;
 
 /**
@@ -101,4 +104,67 @@ public class GraphTypeBuilderTest
         assertEquals(graph.getEdgeSupplier(), graph1.getEdgeSupplier());
     }
 
+    @Test
+    public void testBulkLoadPresized()
+    {
+        int n = 100;
+        List<Triple<Integer, Integer, Double>> edges = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            edges.add(Triple.of(i, (i + 1) % n, (double) i));
+            edges.add(Triple.of(i, (i + 7) % n, null));
+        }
+
+        Graph<Integer, DefaultWeightedEdge> graph = GraphTypeBuilder
+            .<Integer, DefaultWeightedEdge> directed().weighted(true).allowingSelfLoops(false)
+            .allowingMultipleEdges(false).edgeClass(DefaultWeightedEdge.class)
+            .expectedVertices(n).expectedEdges(2 * n).buildGraphBuilder()
+            .addEdgesUnchecked(edges.stream()).build();
+
+        Graph<Integer, DefaultWeightedEdge> expected =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        new GraphBuilder<>(expected).addEdges(edges.stream());
+
+        assertEquals(expected.vertexSet(), graph.vertexSet());
+        assertEquals(2 * n, graph.edgeSet().size());
+        for (Triple<Integer, Integer, Double> t : edges) {
+            DefaultWeightedEdge e = graph.getEdge(t.getFirst(), t.getSecond());
+            assertNotNull(e);
+            double weight = t.getThird() == null ? Graph.DEFAULT_EDGE_WEIGHT : t.getThird();
+            assertEquals(weight, graph.getEdgeWeight(e), 0d);
+            assertEquals(
+                expected.getEdgeWeight(expected.getEdge(t.getFirst(), t.getSecond())),
+                graph.getEdgeWeight(e), 0d);
+        }
+        for (Integer v : expected.vertexSet()) {
+            assertEquals(expected.outDegreeOf(v), graph.outDegreeOf(v));
+            assertEquals(expected.inDegreeOf(v), graph.inDegreeOf(v));
+        }
+    }
+
+    @Test
+    public void testBulkLoadUndirectedArray()
+    {
+        @SuppressWarnings("unchecked") Triple<String, String, Double>[] edges = new Triple[] {
+            Triple.of("a", "b", null), Triple.of("b", "c", null), Triple.of("c", "a", null) };
+
+        Graph<String, DefaultEdge> graph = GraphTypeBuilder
+            .<String, DefaultEdge> undirected().allowingSelfLoops(false)
+            .allowingMultipleEdges(false).edgeClass(DefaultEdge.class).expectedVertices(3)
+            .expectedEdges(3).buildGraphBuilder().addEdgesUnchecked(Arrays.stream(edges)).build();
+
+        assertEquals(3, graph.vertexSet().size());
+        assertEquals(3, graph.edgeSet().size());
+        for (String v : graph.vertexSet()) {
+            assertEquals(2, graph.degreeOf(v));
+        }
+        assertTrue(graph.containsEdge("a", "c"));
+        assertNull(graph.addEdge("a", "b"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeExpectedVertices()
+    {
+        GraphTypeBuilder.<Integer, DefaultEdge> directed().expectedVertices(-1);
+    }
+
 }
@@ -0,0 +1,199 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.concurrent;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ConcurrentGraph}.
+ *
+ * @author agent
+ */
+public class ConcurrentGraphTest
+{
+    private static final int THREADS = 8;
+
+    @Test
+    public void testSequential()
+    {
+        ConcurrentGraph<Integer, DefaultWeightedEdge> g = new ConcurrentGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER,
+            DefaultGraphType.directedPseudograph().asWeighted(), 2);
+
+        Integer v0 = g.addVertex();
+        Integer v1 = g.addVertex();
+        assertFalse(g.addVertex(v0));
+        DefaultWeightedEdge e1 = g.addEdge(v0, v1);
+        DefaultWeightedEdge e2 = g.addEdge(v0, v1);
+        DefaultWeightedEdge e3 = g.addEdge(v1, v1);
+        assertFalse(g.addEdge(v0, v1, e1));
+        g.setEdgeWeight(e1, 3d);
+
+        assertEquals(3d, g.getEdgeWeight(e1), 0d);
+        assertEquals(3, g.edgeSet().size());
+        assertEquals(2, g.outDegreeOf(v0));
+        assertEquals(3, g.inDegreeOf(v1));
+        assertEquals(new HashSet<>(Arrays.asList(e1, e2, e3)), g.edgesOf(v1));
+        assertEquals(new HashSet<>(Arrays.asList(e1, e2)), g.getAllEdges(v0, v1));
+
+        assertTrue(g.removeEdge(e2));
+        assertFalse(g.removeEdge(e2));
+        assertTrue(g.removeVertex(v1));
+        assertFalse(g.removeVertex(v1));
+        assertEquals(Collections.singleton(v0), g.vertexSet());
+        assertTrue(g.edgeSet().isEmpty());
+        assertTrue(g.outgoingEdgesOf(v0).isEmpty());
+
+        @SuppressWarnings("unchecked") Graph<Integer, DefaultWeightedEdge> copy =
+            (Graph<Integer, DefaultWeightedEdge>) g.clone();
+        assertEquals(g.vertexSet(), copy.vertexSet());
+    }
+
+    @Test
+    public void testConcurrentSimpleGraph()
+        throws Exception
+    {
+        ConcurrentGraph<Integer, DefaultEdge> g = new ConcurrentGraph<>(
+            null, SupplierUtil.DEFAULT_EDGE_SUPPLIER, DefaultGraphType.simple());
+        int n = 200;
+        for (int i = 0; i < n; i++) {
+            g.addVertex(i);
+        }
+
+        // all threads try to add the same edges in different orientations
+        AtomicInteger added = new AtomicInteger();
+        runConcurrently(t -> {
+            Random rng = new Random(t);
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j += 3) {
+                    boolean reversed = rng.nextBoolean();
+                    if (g.addEdge(reversed ? j : i, reversed ? i : j) != null) {
+                        added.incrementAndGet();
+                    }
+                }
+            }
+        });
+
+        assertEquals(added.get(), g.edgeSet().size());
+        int expected = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j += 3) {
+                assertEquals(1, g.getAllEdges(i, j).size());
+                expected++;
+            }
+        }
+        assertEquals(expected, g.edgeSet().size());
+    }
+
+    @Test
+    public void testConcurrentAddAndRemove()
+        throws Exception
+    {
+        ConcurrentGraph<Integer, DefaultEdge> g = new ConcurrentGraph<>(
+            null, SupplierUtil.DEFAULT_EDGE_SUPPLIER, DefaultGraphType.directedPseudograph());
+        int n = 100;
+        for (int i = 0; i < n; i++) {
+            g.addVertex(i);
+        }
+
+        runConcurrently(t -> {
+            Random rng = new Random(t);
+            for (int i = 0; i < 2000; i++) {
+                int u = rng.nextInt(n);
+                int v = rng.nextInt(n);
+                try {
+                    if (t % 2 == 0) {
+                        g.addEdge(u, v);
+                    } else if (rng.nextInt(10) == 0) {
+                        g.removeVertex(u);
+                        g.addVertex(u);
+                    } else {
+                        g.removeEdge(u, v);
+                    }
+                } catch (IllegalArgumentException e) {
+                    // vertex removed concurrently
+                }
+                // readers must never fail
+                for (DefaultEdge e : g.edgeSet()) {
+                    assertNotNull(e);
+                }
+            }
+        });
+
+        // check consistency of vertex adjacency and edge set
+        int outgoing = 0;
+        int incoming = 0;
+        for (Integer v : g.vertexSet()) {
+            for (DefaultEdge e : g.outgoingEdgesOf(v)) {
+                assertTrue(g.containsEdge(e));
+                assertEquals(v, g.getEdgeSource(e));
+                outgoing++;
+            }
+            for (DefaultEdge e : g.incomingEdgesOf(v)) {
+                assertTrue(g.containsEdge(e));
+                assertEquals(v, g.getEdgeTarget(e));
+                incoming++;
+            }
+        }
+        assertEquals(g.edgeSet().size(), outgoing);
+        assertEquals(g.edgeSet().size(), incoming);
+        for (DefaultEdge e : g.edgeSet()) {
+            assertTrue(g.containsVertex(g.getEdgeSource(e)));
+            assertTrue(g.containsVertex(g.getEdgeTarget(e)));
+        }
+    }
+
+    private interface Task
+    {
+        void run(int thread)
+            throws Exception;
+    }
+
+    private static void runConcurrently(Task task)
+        throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            CountDownLatch start = new CountDownLatch(1);
+            for (int t = 0; t < THREADS; t++) {
+                final int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.concurrent;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.connectivity.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link MultiVersionGraph}.
+ *
+ * @author agent
+ */
+public class MultiVersionGraphTest
+{
+    private static final long SEED = 17;
+
+    @Test
+    public void testDirectedAgainstReference()
+    {
+        MultiVersionGraph<Integer, DefaultWeightedEdge> g = new MultiVersionGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER,
+            DefaultGraphType.directedPseudograph().asWeighted());
+        DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> expected =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+
+        applyRandomUpdates(g, expected);
+        assertSameGraph(expected, g);
+        assertSameGraph(expected, g.snapshot());
+    }
+
+    @Test
+    public void testUndirectedAgainstReference()
+    {
+        MultiVersionGraph<Integer, DefaultWeightedEdge> g = new MultiVersionGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER,
+            DefaultGraphType.pseudograph().asWeighted());
+        WeightedPseudograph<Integer, DefaultWeightedEdge> expected =
+            new WeightedPseudograph<>(DefaultWeightedEdge.class);
+
+        applyRandomUpdates(g, expected);
+        assertSameGraph(expected, g);
+        assertSameGraph(expected, g.snapshot());
+    }
+
+    @Test
+    public void testSnapshotIsolation()
+    {
+        MultiVersionGraph<Integer, DefaultEdge> g = new MultiVersionGraph<>(
+            null, SupplierUtil.DEFAULT_EDGE_SUPPLIER, DefaultGraphType.simple());
+        g.addVertex(1);
+        g.addVertex(2);
+        DefaultEdge e = g.addEdge(1, 2);
+        assertNull(g.addEdge(2, 1));
+        assertEquals(3, g.getVersion());
+
+        Graph<Integer, DefaultEdge> before = g.snapshot();
+        Set<Integer> vertices = before.vertexSet();
+        g.addVertex(3);
+        g.addEdge(2, 3);
+        g.removeVertex(1);
+
+        assertEquals(new HashSet<>(Arrays.asList(1, 2)), vertices);
+        assertEquals(Collections.singleton(e), before.edgeSet());
+        assertEquals(Integer.valueOf(1), before.getEdgeSource(e));
+        assertEquals(1, before.degreeOf(2));
+        assertFalse(g.containsEdge(e));
+        assertEquals(new HashSet<>(Arrays.asList(2, 3)), g.vertexSet());
+        assertEquals(1, g.degreeOf(2));
+        assertFalse(before.getType().isModifiable());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSnapshotUnmodifiable()
+    {
+        MultiVersionGraph<Integer, DefaultEdge> g = new MultiVersionGraph<>(
+            null, SupplierUtil.DEFAULT_EDGE_SUPPLIER, DefaultGraphType.simple());
+        g.snapshot().addVertex(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSelfLoopNotAllowed()
+    {
+        MultiVersionGraph<Integer, DefaultEdge> g = new MultiVersionGraph<>(
+            null, SupplierUtil.DEFAULT_EDGE_SUPPLIER, DefaultGraphType.simple());
+        g.addVertex(1);
+        g.addEdge(1, 1);
+    }
+
+    @Test
+    public void testPersistentHashMapCollisions()
+    {
+        // keys with equal hash codes end up in collision nodes
+        PersistentHashMap<String, Integer> map = PersistentHashMap.empty();
+        List<String> keys = Arrays.asList("Aa", "BB", "AaAa", "BBBB", "AaBB", "BBAa", "C");
+        for (int i = 0; i < keys.size(); i++) {
+            map = map.put(keys.get(i), i);
+        }
+        assertEquals(keys.size(), map.size());
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(Integer.valueOf(i), map.get(keys.get(i)));
+        }
+        PersistentHashMap<String, Integer> removed = map.remove("BB").remove("AaBB");
+        assertEquals(keys.size() - 2, removed.size());
+        assertFalse(removed.containsKey("BB"));
+        assertTrue(removed.containsKey("Aa"));
+        assertTrue(map.containsKey("BB"));
+        assertSame(removed, removed.remove("missing"));
+
+        Set<String> iterated = new HashSet<>();
+        removed.keyIterator().forEachRemaining(iterated::add);
+        assertEquals(new HashSet<>(Arrays.asList("Aa", "AaAa", "BBBB", "BBAa", "C")), iterated);
+    }
+
+    @Test
+    public void testConcurrentReadersOnSnapshots()
+        throws Exception
+    {
+        MultiVersionGraph<Integer, DefaultWeightedEdge> g = new MultiVersionGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER,
+            DefaultGraphType.directedPseudograph().asWeighted());
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(200, 1000, SEED)
+            .generateGraph(g);
+
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int t = 0; t < 3; t++) {
+                readers.add(executor.submit(() -> {
+                    while (!done.get()) {
+                        Graph<Integer, DefaultWeightedEdge> snapshot = g.snapshot();
+                        Graph<Integer, DefaultWeightedEdge> copy =
+                            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+                        Graphs.addGraph(copy, snapshot);
+                        assertEquals(snapshot.edgeSet().size(), copy.edgeSet().size());
+                        assertEquals(
+                            new KosarajuStrongConnectivityInspector<>(copy)
+                                .stronglyConnectedSets().size(),
+                            new KosarajuStrongConnectivityInspector<>(snapshot)
+                                .stronglyConnectedSets().size());
+                    }
+                    return null;
+                }));
+            }
+
+            Random rng = new Random(SEED);
+            for (int i = 0; i < 2000; i++) {
+                int u = rng.nextInt(200);
+                int v = rng.nextInt(200);
+                if (rng.nextBoolean()) {
+                    g.removeEdge(u, v);
+                } else if (g.containsVertex(u) && g.containsVertex(v)) {
+                    g.addEdge(u, v);
+                }
+            }
+            done.set(true);
+            for (Future<?> f : readers) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void applyRandomUpdates(
+        Graph<Integer, DefaultWeightedEdge> g, Graph<Integer, DefaultWeightedEdge> expected)
+    {
+        Random rng = new Random(SEED);
+        int n = 40;
+        for (int i = 0; i < n; i++) {
+            g.addVertex(i);
+            expected.addVertex(i);
+        }
+        Map<DefaultWeightedEdge, DefaultWeightedEdge> edgeMap = new HashMap<>();
+        for (int i = 0; i < 600; i++) {
+            int u = rng.nextInt(n);
+            int v = rng.nextInt(n);
+            int op = rng.nextInt(10);
+            if (op < 6) {
+                if (g.containsVertex(u) && g.containsVertex(v)) {
+                    double w = rng.nextDouble();
+                    DefaultWeightedEdge e = g.addEdge(u, v);
+                    g.setEdgeWeight(e, w);
+                    DefaultWeightedEdge f = expected.addEdge(u, v);
+                    expected.setEdgeWeight(f, w);
+                    edgeMap.put(f, e);
+                }
+            } else if (op < 9) {
+                DefaultWeightedEdge f = expected.removeEdge(u, v);
+                if (f != null) {
+                    assertTrue(g.removeEdge(edgeMap.remove(f)));
+                } else {
+                    assertNull(g.getEdge(u, v));
+                }
+            } else {
+                assertEquals(expected.removeVertex(u), g.removeVertex(u));
+                assertEquals(expected.addVertex(u), g.addVertex(u));
+            }
+        }
+
+        // replace the reference edges by the equivalent ones for comparison
+        Graph<Integer, DefaultWeightedEdge> copy = expected.getType().isDirected()
+            ? new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class)
+            : new WeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(copy, expected.vertexSet());
+        for (DefaultWeightedEdge f : expected.edgeSet()) {
+            DefaultWeightedEdge e = edgeMap.get(f);
+            copy.addEdge(expected.getEdgeSource(f), expected.getEdgeTarget(f), e);
+            copy.setEdgeWeight(e, expected.getEdgeWeight(f));
+        }
+        expected.removeAllVertices(new ArrayList<>(expected.vertexSet()));
+        Graphs.addGraph(expected, copy);
+    }
+
+    private static void assertSameGraph(
+        Graph<Integer, DefaultWeightedEdge> expected, Graph<Integer, DefaultWeightedEdge> actual)
+    {
+        assertEquals(expected.vertexSet(), actual.vertexSet());
+        assertEquals(expected.edgeSet(), actual.edgeSet());
+        for (DefaultWeightedEdge e : expected.edgeSet()) {
+            assertEquals(expected.getEdgeSource(e), actual.getEdgeSource(e));
+            assertEquals(expected.getEdgeTarget(e), actual.getEdgeTarget(e));
+            assertEquals(expected.getEdgeWeight(e), actual.getEdgeWeight(e), 0d);
+        }
+        for (Integer v : expected.vertexSet()) {
+            assertEquals(expected.degreeOf(v), actual.degreeOf(v));
+            assertEquals(expected.inDegreeOf(v), actual.inDegreeOf(v));
+            assertEquals(expected.outDegreeOf(v), actual.outDegreeOf(v));
+            assertEquals(expected.edgesOf(v), actual.edgesOf(v));
+            assertEquals(expected.incomingEdgesOf(v), actual.incomingEdgesOf(v));
+            assertEquals(expected.outgoingEdgesOf(v), actual.outgoingEdgesOf(v));
+            for (Integer u : expected.vertexSet()) {
+                assertEquals(expected.getAllEdges(v, u), actual.getAllEdges(v, u));
+            }
+        }
+        for (Integer v : expected.vertexSet()) {
+            assertEquals(
+                new DijkstraShortestPath<>(expected).getPaths(v).getWeight(0),
+                new DijkstraShortestPath<>(actual).getPaths(v).getWeight(0), 1e-9);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.primitive;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.connectivity.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link IntGraphAdapter}.
+ *
+ * @author agent
+ */
+public class IntGraphAdapterTest
+{
+    private static final long SEED = 7;
+
+    @Test
+    public void testDirectedPseudograph()
+    {
+        DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> expected =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        expected.setVertexSupplier(SupplierUtil.createIntegerSupplier());
+        IntGraphAdapter actual = new IntGraphAdapter(new IntDirectedWeightedGraph());
+
+        fill(expected, actual);
+        assertSameGraph(expected, actual);
+    }
+
+    @Test
+    public void testUndirectedPseudograph()
+    {
+        WeightedPseudograph<Integer, DefaultWeightedEdge> expected =
+            new WeightedPseudograph<>(DefaultWeightedEdge.class);
+        expected.setVertexSupplier(SupplierUtil.createIntegerSupplier());
+        IntGraphAdapter actual = new IntGraphAdapter(new IntUndirectedWeightedGraph());
+
+        fill(expected, actual);
+        assertSameGraph(expected, actual);
+    }
+
+    @Test
+    public void testAlgorithms()
+    {
+        IntGraphAdapter g = new IntGraphAdapter(new IntDirectedWeightedGraph());
+        new GnmRandomGraphGenerator<Integer, Integer>(100, 500, SEED).generateGraph(g);
+        assertEquals(100, g.vertexSet().size());
+        assertEquals(500, g.edgeSet().size());
+
+        Graph<Integer, Integer> copy =
+            new DirectedWeightedPseudograph<>(SupplierUtil.createIntegerSupplier(), null);
+        Graphs.addGraph(copy, g);
+
+        for (int v = 0; v < 100; v += 7) {
+            for (int u = 0; u < 100; u++) {
+                assertEquals(
+                    new DijkstraShortestPath<>(copy).getPathWeight(v, u),
+                    new DijkstraShortestPath<>(g).getPathWeight(v, u), 1e-9);
+            }
+        }
+        assertEquals(
+            new KosarajuStrongConnectivityInspector<>(copy).stronglyConnectedSets(),
+            new KosarajuStrongConnectivityInspector<>(g).stronglyConnectedSets());
+    }
+
+    @Test
+    public void testExplicitAdditions()
+    {
+        IntGraphAdapter g = new IntGraphAdapter(new IntUndirectedGraph());
+        assertTrue(g.addVertex(0));
+        assertFalse(g.addVertex(0));
+        assertEquals(Integer.valueOf(1), g.addVertex());
+        assertTrue(g.addEdge(0, 1, 0));
+        assertFalse(g.addEdge(0, 1, 0));
+        assertEquals(Integer.valueOf(0), g.getEdge(1, 0));
+        assertNull(g.getEdge(1, 1));
+        assertNull(g.getAllEdges(0, 5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonDenseVertex()
+    {
+        new IntGraphAdapter(new IntUndirectedGraph()).addVertex(5);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRemoval()
+    {
+        IntGraphAdapter g = new IntGraphAdapter(new IntUndirectedGraph());
+        g.addVertex();
+        g.removeVertex(0);
+    }
+
+    private static void fill(
+        Graph<Integer, DefaultWeightedEdge> expected, IntGraphAdapter actual)
+    {
+        Random rng = new Random(SEED);
+        int n = 30;
+        for (int i = 0; i < n; i++) {
+            expected.addVertex();
+            actual.addVertex();
+        }
+        for (int i = 0; i < 150; i++) {
+            int s = rng.nextInt(n);
+            int t = rng.nextInt(n);
+            double w = rng.nextDouble();
+            Graphs.addEdge(expected, s, t, w);
+            actual.setEdgeWeight(actual.addEdge(s, t), w);
+        }
+    }
+
+    private static void assertSameGraph(
+        Graph<Integer, DefaultWeightedEdge> expected, IntGraphAdapter actual)
+    {
+        // edges are added in the same order to both graphs
+        List<DefaultWeightedEdge> edges = new ArrayList<>(expected.edgeSet());
+
+        assertEquals(expected.vertexSet(), actual.vertexSet());
+        assertEquals(edges.size(), actual.edgeSet().size());
+        for (int e = 0; e < edges.size(); e++) {
+            assertEquals(expected.getEdgeSource(edges.get(e)), actual.getEdgeSource(e));
+            assertEquals(expected.getEdgeTarget(edges.get(e)), actual.getEdgeTarget(e));
+            assertEquals(expected.getEdgeWeight(edges.get(e)), actual.getEdgeWeight(e), 0d);
+        }
+        for (Integer v : expected.vertexSet()) {
+            assertEquals(expected.degreeOf(v), actual.degreeOf(v));
+            assertEquals(expected.inDegreeOf(v), actual.inDegreeOf(v));
+            assertEquals(expected.outDegreeOf(v), actual.outDegreeOf(v));
+            assertEquals(indices(edges, expected.edgesOf(v)), actual.edgesOf(v));
+            assertEquals(indices(edges, expected.incomingEdgesOf(v)), actual.incomingEdgesOf(v));
+            assertEquals(indices(edges, expected.outgoingEdgesOf(v)), actual.outgoingEdgesOf(v));
+            assertEquals(expected.edgesOf(v).size(), actual.edgesOf(v).size());
+            assertEquals(expected.incomingEdgesOf(v).size(), actual.incomingEdgesOf(v).size());
+            for (Integer u : expected.vertexSet()) {
+                assertEquals(
+                    indices(edges, expected.getAllEdges(v, u)), actual.getAllEdges(v, u));
+                assertEquals(expected.containsEdge(v, u), actual.containsEdge(v, u));
+            }
+        }
+    }
+
+    private static Set<Integer> indices(
+        List<DefaultWeightedEdge> edges, Set<DefaultWeightedEdge> subset)
+    {
+        Set<Integer> result = new HashSet<>();
+        for (DefaultWeightedEdge e : subset) {
+            result.add(edges.indexOf(e));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.primitive;
+
+import org.jgrapht.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the {@link IntGraph} implementations.
+ *
+ * @author agent
+ */
+public class IntGraphTest
+{
+    @Test
+    public void testDirected()
+    {
+        IntGraph g = new IntDirectedGraph();
+        assertTrue(g.isDirected());
+        assertFalse(g.isWeighted());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, g.addVertex());
+        }
+        assertEquals(0, g.addEdge(0, 1));
+        assertEquals(1, g.addEdge(0, 2));
+        assertEquals(2, g.addEdge(2, 0));
+        assertEquals(3, g.addEdge(3, 3));
+        assertEquals(4, g.addEdge(0, 1));
+
+        assertEquals(4, g.vertexCount());
+        assertEquals(5, g.edgeCount());
+        assertEquals(3, g.outDegreeOf(0));
+        assertEquals(1, g.inDegreeOf(0));
+        assertEquals(4, g.degreeOf(0));
+        assertEquals(2, g.degreeOf(3));
+        assertEquals(0, g.loopCountOf(0));
+        assertEquals(1, g.loopCountOf(3));
+        assertEquals(Arrays.asList(1, 2, 1), toList(g.successorsOf(0)));
+        assertEquals(Arrays.asList(2), toList(g.predecessorsOf(0)));
+        assertEquals(Arrays.asList(0, 1, 4), toList(g.outgoingEdgesOf(0)));
+        assertEquals(Arrays.asList(3), toList(g.successorsOf(3)));
+        assertEquals(0, g.getEdge(0, 1));
+        assertEquals(2, g.getEdge(2, 0));
+        assertEquals(-1, g.getEdge(1, 0));
+        assertEquals(-1, g.getEdge(1, 7));
+        assertEquals(Graph.DEFAULT_EDGE_WEIGHT, g.getEdgeWeight(2), 0d);
+    }
+
+    @Test
+    public void testUndirected()
+    {
+        IntGraph g = new IntUndirectedGraph(2, 2);
+        for (int i = 0; i < 4; i++) {
+            g.addVertex();
+        }
+        g.addEdge(0, 1);
+        g.addEdge(0, 2);
+        g.addEdge(2, 0);
+        g.addEdge(3, 3);
+
+        assertEquals(3, g.degreeOf(0));
+        assertEquals(3, g.outDegreeOf(0));
+        assertEquals(3, g.inDegreeOf(0));
+        assertEquals(2, g.degreeOf(3));
+        assertEquals(0, g.loopCountOf(0));
+        assertEquals(1, g.loopCountOf(3));
+        assertEquals(Arrays.asList(1, 2, 2), toList(g.successorsOf(0)));
+        assertEquals(Arrays.asList(0, 0), toList(g.predecessorsOf(2)));
+        assertEquals(Arrays.asList(3), toList(g.successorsOf(3)));
+        assertEquals(0, g.getEdge(1, 0));
+        assertEquals(1, g.getEdge(2, 0));
+        assertEquals(-1, g.getEdge(1, 2));
+    }
+
+    @Test
+    public void testWeighted()
+    {
+        IntGraph g = new IntDirectedWeightedGraph();
+        g.addVertex();
+        g.addVertex();
+        int e1 = g.addEdge(0, 1, 5d);
+        int e2 = g.addEdge(1, 0);
+        assertEquals(5d, g.getEdgeWeight(e1), 0d);
+        assertEquals(Graph.DEFAULT_EDGE_WEIGHT, g.getEdgeWeight(e2), 0d);
+        g.setEdgeWeight(e2, 3d);
+        assertEquals(3d, g.getEdgeWeight(e2), 0d);
+
+        IntGraph ug = new IntUndirectedWeightedGraph();
+        ug.addVertex();
+        assertEquals(0, ug.addEdge(0, 0, 2d));
+        assertEquals(2d, ug.getEdgeWeight(0), 0d);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnweightedSetWeight()
+    {
+        IntGraph g = new IntUndirectedGraph();
+        g.addVertex();
+        g.addEdge(0, 0);
+        g.setEdgeWeight(0, 2d);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingVertex()
+    {
+        IntGraph g = new IntDirectedGraph();
+        g.addVertex();
+        g.addEdge(0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingEdge()
+    {
+        IntGraph g = new IntDirectedGraph();
+        g.getEdgeSource(0);
+    }
+
+    @Test
+    public void testGrowth()
+    {
+        IntGraph g = new IntDirectedGraph();
+        for (int i = 0; i < 1000; i++) {
+            g.addVertex();
+        }
+        for (int i = 0; i < 1000; i++) {
+            for (int j = 0; j < 10; j++) {
+                g.addEdge(i, (i + j) % 1000);
+            }
+        }
+        assertEquals(10000, g.edgeCount());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(10, g.outDegreeOf(i));
+            assertEquals(10, g.inDegreeOf(i));
+        }
+    }
+
+    private static List<Integer> toList(PrimitiveIterator.OfInt it)
+    {
+        List<Integer> result = new ArrayList<>();
+        while (it.hasNext()) {
+            result.add(it.nextInt());
+        }
+        return result;
+    }
+}
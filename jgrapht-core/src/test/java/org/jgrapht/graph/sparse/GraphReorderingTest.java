@@ -0,0 +1,182 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.sparse;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link GraphReordering}.
+ *
+ * @author agent
+ */
+public class GraphReorderingTest
+{
+    private static final long SEED = 17;
+
+    @Test
+    public void testDirectedWeighted()
+    {
+        DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        g.setVertexSupplier(SupplierUtil.createIntegerSupplier());
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(60, 300, SEED, true, true)
+            .generateGraph(g);
+        Random rng = new Random(SEED);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, rng.nextDouble());
+        }
+
+        for (GraphReordering.Order order : GraphReordering.Order.values()) {
+            GraphReordering<Integer, DefaultWeightedEdge> reordering =
+                new GraphReordering<>(g, order);
+            assertTrue(reordering.getGraph().getType().isDirected());
+            assertTrue(reordering.getGraph().getType().isWeighted());
+            assertCorrespondence(g, reordering);
+        }
+    }
+
+    @Test
+    public void testUndirected()
+    {
+        Pseudograph<Integer, DefaultEdge> g = new Pseudograph<>(DefaultEdge.class);
+        g.setVertexSupplier(SupplierUtil.createIntegerSupplier());
+        new GnmRandomGraphGenerator<Integer, DefaultEdge>(60, 150, SEED, true, true)
+            .generateGraph(g);
+        // a few isolated vertices
+        Graphs.addAllVertices(g, Arrays.asList(100, 101, 102));
+
+        for (GraphReordering.Order order : GraphReordering.Order.values()) {
+            GraphReordering<Integer, DefaultEdge> reordering = new GraphReordering<>(g, order);
+            assertTrue(reordering.getGraph().getType().isUndirected());
+            assertCorrespondence(g, reordering);
+        }
+    }
+
+    @Test
+    public void testBfsOrder()
+    {
+        Graph<String, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("d", "a", "c", "b", "e"));
+        g.addEdge("d", "c");
+        g.addEdge("c", "a");
+        g.addEdge("d", "b");
+        g.addEdge("a", "e");
+
+        GraphReordering<String, DefaultEdge> reordering =
+            new GraphReordering<>(g, GraphReordering.Order.BFS);
+        assertEquals(Arrays.asList("d", "c", "b", "a", "e"), reordering.getVertexOrder());
+    }
+
+    @Test
+    public void testReverseCuthillMcKeeOnPath()
+    {
+        // a path whose vertices are inserted in scrambled order
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        int n = 50;
+        List<Integer> vertices = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            vertices.add(i);
+        }
+        Collections.shuffle(vertices, new Random(SEED));
+        Graphs.addAllVertices(g, vertices);
+        for (int i = 0; i < n - 1; i++) {
+            g.addEdge(i, i + 1);
+        }
+
+        GraphReordering<Integer, DefaultEdge> reordering =
+            new GraphReordering<>(g, GraphReordering.Order.REVERSE_CUTHILL_MCKEE);
+        assertEquals(1, bandwidth(reordering.getGraph()));
+        int first = reordering.getVertex(0);
+        assertTrue(first == 0 || first == n - 1);
+    }
+
+    @Test
+    public void testDegreeOrder()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2, 3, 4));
+        g.addEdge(0, 1);
+        g.addEdge(3, 0);
+        g.addEdge(3, 1);
+        g.addEdge(3, 2);
+
+        GraphReordering<Integer, DefaultEdge> reordering =
+            new GraphReordering<>(g, GraphReordering.Order.DEGREE);
+        assertEquals(Arrays.asList(3, 0, 1, 2, 4), reordering.getVertexOrder());
+        assertEquals(0, reordering.getVertexIndex(3));
+        assertEquals(4, reordering.getVertexIndex(4));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownVertex()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        g.addVertex(0);
+        new GraphReordering<>(g, GraphReordering.Order.BFS).getVertexIndex(1);
+    }
+
+    private static <V, E> void assertCorrespondence(
+        Graph<V, E> g, GraphReordering<V, E> reordering)
+    {
+        ImmutableSparseGraph<Integer, Integer> copy = reordering.getGraph();
+        assertEquals(g.vertexSet().size(), copy.vertexSet().size());
+        assertEquals(g.edgeSet().size(), copy.edgeSet().size());
+        assertEquals(new HashSet<>(g.vertexSet()), new HashSet<>(reordering.getVertexOrder()));
+
+        for (V v : g.vertexSet()) {
+            int i = reordering.getVertexIndex(v);
+            assertEquals(v, reordering.getVertex(i));
+            assertEquals(g.degreeOf(v), copy.degreeOf(i));
+        }
+
+        int previousSource = -1;
+        int previousTarget = -1;
+        for (int i = 0; i < copy.edgeSet().size(); i++) {
+            E e = reordering.getEdge(i);
+            assertEquals(i, reordering.getEdgeIndex(e));
+            int source = copy.getEdgeSource(i);
+            int target = copy.getEdgeTarget(i);
+            assertEquals(g.getEdgeSource(e), reordering.getVertex(source));
+            assertEquals(g.getEdgeTarget(e), reordering.getVertex(target));
+            assertEquals(g.getEdgeWeight(e), copy.getEdgeWeight(i), 0d);
+
+            // edges are sorted by source and target
+            assertTrue(
+                source > previousSource || (source == previousSource && target >= previousTarget));
+            previousSource = source;
+            previousTarget = target;
+        }
+    }
+
+    private static int bandwidth(Graph<Integer, Integer> g)
+    {
+        int result = 0;
+        for (Integer e : g.edgeSet()) {
+            result = Math.max(result, Math.abs(g.getEdgeSource(e) - g.getEdgeTarget(e)));
+        }
+        return result;
+    }
+}
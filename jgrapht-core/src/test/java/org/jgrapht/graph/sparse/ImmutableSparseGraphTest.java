@@ -0,0 +1,221 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.sparse;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.connectivity.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ImmutableSparseGraph}.
+ *
+ * @author agent
+ */
+public class ImmutableSparseGraphTest
+{
+    private static final long SEED = 17;
+
+    @Test
+    public void testDirectedCopy()
+    {
+        DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        g.setVertexSupplier(SupplierUtil.createIntegerSupplier());
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(50, 400, SEED, true, true)
+            .generateGraph(g);
+        Random rng = new Random(SEED);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, rng.nextDouble());
+        }
+
+        ImmutableSparseGraph<Integer, DefaultWeightedEdge> sparse = new ImmutableSparseGraph<>(g);
+        assertFalse(sparse.getType().isModifiable());
+        assertTrue(sparse.getType().isDirected());
+        assertSameGraph(g, sparse);
+    }
+
+    @Test
+    public void testUndirectedCopy()
+    {
+        Pseudograph<Integer, DefaultEdge> g = new Pseudograph<>(DefaultEdge.class);
+        g.setVertexSupplier(SupplierUtil.createIntegerSupplier());
+        new GnmRandomGraphGenerator<Integer, DefaultEdge>(50, 400, SEED, true, true)
+            .generateGraph(g);
+
+        ImmutableSparseGraph<Integer, DefaultEdge> sparse = new ImmutableSparseGraph<>(g);
+        assertTrue(sparse.getType().isUndirected());
+        assertSameGraph(g, sparse);
+    }
+
+    @Test
+    public void testEdgeList()
+    {
+        List<Pair<Integer, Integer>> edges = new ArrayList<>();
+        edges.add(Pair.of(0, 1));
+        edges.add(Pair.of(1, 2));
+        edges.add(Pair.of(2, 0));
+        edges.add(Pair.of(0, 1));
+        edges.add(Pair.of(3, 3));
+
+        ImmutableSparseGraph<Integer, Integer> g =
+            ImmutableSparseGraph.fromEdgeList(true, 5, edges, new double[] { 1, 2, 3, 4, 5 });
+
+        assertEquals(5, g.vertexSet().size());
+        assertEquals(5, g.edgeSet().size());
+        assertTrue(g.containsVertex(4));
+        assertFalse(g.containsVertex(5));
+        assertTrue(g.containsEdge(4));
+        assertFalse(g.containsEdge(5));
+        assertEquals(Integer.valueOf(1), g.getEdgeSource(1));
+        assertEquals(Integer.valueOf(2), g.getEdgeTarget(1));
+        assertEquals(3d, g.getEdgeWeight(2), 0d);
+        assertEquals(new HashSet<>(Arrays.asList(0, 3)), g.getAllEdges(0, 1));
+        assertEquals(Integer.valueOf(0), g.getEdge(0, 1));
+        assertNull(g.getEdge(1, 0));
+        assertEquals(2, g.outDegreeOf(0));
+        assertEquals(1, g.inDegreeOf(0));
+        assertEquals(2, g.degreeOf(3));
+        assertEquals(Collections.singleton(4), g.edgesOf(3));
+        assertEquals(0, g.degreeOf(4));
+        assertTrue(g.edgesOf(4).isEmpty());
+
+        ImmutableSparseGraph<Integer, Integer> ug =
+            ImmutableSparseGraph.fromEdgeList(false, 5, edges);
+        assertFalse(ug.getType().isWeighted());
+        assertEquals(Integer.valueOf(0), ug.getEdge(1, 0));
+        assertEquals(3, ug.degreeOf(1));
+        assertEquals(2, ug.degreeOf(3));
+        assertEquals(new HashSet<>(Arrays.asList(0, 2, 3)), ug.edgesOf(0));
+    }
+
+    @Test
+    public void testCollidingEdges()
+    {
+        // strings whose hash codes are all equal
+        List<String> edges = Arrays.asList("AaAa", "AaBB", "BBAa", "BBBB");
+        Graph<Integer, String> input = new DirectedPseudograph<>(String.class);
+        Graphs.addAllVertices(input, Arrays.asList(0, 1, 2));
+        for (int i = 0; i < edges.size(); i++) {
+            input.addEdge(i % 3, (i + 1) % 3, edges.get(i));
+        }
+
+        ImmutableSparseGraph<Integer, String> g = new ImmutableSparseGraph<>(input);
+        for (int i = 0; i < edges.size(); i++) {
+            assertTrue(g.containsEdge(edges.get(i)));
+            assertEquals(i % 3, g.getEdgeSource(edges.get(i)).intValue());
+            assertEquals((i + 1) % 3, g.getEdgeTarget(edges.get(i)).intValue());
+        }
+        assertFalse(g.containsEdge("Aa"));
+        assertFalse(g.containsEdge(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEdgeListInvalidVertex()
+    {
+        ImmutableSparseGraph.fromEdgeList(true, 2, Collections.singletonList(Pair.of(0, 2)));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnmodifiable()
+    {
+        ImmutableSparseGraph<Integer, Integer> g =
+            ImmutableSparseGraph.fromEdgeList(true, 2, Collections.singletonList(Pair.of(0, 1)));
+        g.addEdge(1, 0);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnmodifiableEdgeSet()
+    {
+        ImmutableSparseGraph<Integer, Integer> g =
+            ImmutableSparseGraph.fromEdgeList(true, 2, Collections.singletonList(Pair.of(0, 1)));
+        g.outgoingEdgesOf(0).clear();
+    }
+
+    @Test
+    public void testAlgorithms()
+    {
+        SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge> g =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        g.setVertexSupplier(SupplierUtil.createIntegerSupplier());
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(100, 300, SEED)
+            .generateGraph(g);
+        Random rng = new Random(SEED);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, 1 + rng.nextInt(10));
+        }
+        ImmutableSparseGraph<Integer, DefaultWeightedEdge> sparse = new ImmutableSparseGraph<>(g);
+
+        for (Integer v : g.vertexSet()) {
+            for (Integer u : g.vertexSet()) {
+                assertEquals(
+                    new DijkstraShortestPath<>(g).getPathWeight(v, u),
+                    new DijkstraShortestPath<>(sparse).getPathWeight(v, u), 1e-9);
+            }
+        }
+        assertEquals(
+            new KosarajuStrongConnectivityInspector<>(g).stronglyConnectedSets().size(),
+            new KosarajuStrongConnectivityInspector<>(sparse).stronglyConnectedSets().size());
+        assertEquals(
+            new ConnectivityInspector<>(g).connectedSets(),
+            new ConnectivityInspector<>(sparse).connectedSets());
+    }
+
+    private static <V, E> void assertSameGraph(Graph<V, E> expected, Graph<V, E> actual)
+    {
+        assertEquals(new ArrayList<>(expected.vertexSet()), new ArrayList<>(actual.vertexSet()));
+        assertEquals(new ArrayList<>(expected.edgeSet()), new ArrayList<>(actual.edgeSet()));
+        assertEquals(expected.vertexSet(), actual.vertexSet());
+        assertEquals(expected.edgeSet(), actual.edgeSet());
+
+        for (E e : expected.edgeSet()) {
+            assertTrue(actual.containsEdge(e));
+            assertEquals(expected.getEdgeSource(e), actual.getEdgeSource(e));
+            assertEquals(expected.getEdgeTarget(e), actual.getEdgeTarget(e));
+            assertEquals(expected.getEdgeWeight(e), actual.getEdgeWeight(e), 0d);
+        }
+
+        for (V v : expected.vertexSet()) {
+            assertTrue(actual.containsVertex(v));
+            assertEquals(expected.degreeOf(v), actual.degreeOf(v));
+            assertEquals(expected.inDegreeOf(v), actual.inDegreeOf(v));
+            assertEquals(expected.outDegreeOf(v), actual.outDegreeOf(v));
+            assertEquals(expected.edgesOf(v), actual.edgesOf(v));
+            assertEquals(expected.incomingEdgesOf(v), actual.incomingEdgesOf(v));
+            assertEquals(expected.outgoingEdgesOf(v), actual.outgoingEdgesOf(v));
+            assertEquals(expected.edgesOf(v).size(), actual.edgesOf(v).size());
+
+            for (V u : expected.vertexSet()) {
+                assertEquals(expected.getAllEdges(v, u), actual.getAllEdges(v, u));
+                assertEquals(expected.containsEdge(v, u), actual.containsEdge(v, u));
+                E e = actual.getEdge(v, u);
+                if (e != null) {
+                    assertTrue(expected.getAllEdges(v, u).contains(e));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.sparse;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+import org.junit.rules.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link MappedSparseGraph}.
+ *
+ * @author agent
+ */
+public class MappedSparseGraphTest
+{
+    private static final long SEED = 13;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDirected()
+        throws IOException
+    {
+        DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        g.setVertexSupplier(SupplierUtil.createIntegerSupplier());
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(50, 400, SEED, true, true)
+            .generateGraph(g);
+        Random rng = new Random(SEED);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, rng.nextDouble());
+        }
+
+        Path file = folder.newFile().toPath();
+        new MappedSparseGraphWriter<Integer, DefaultWeightedEdge>(v -> 1000L - 7 * v)
+            .write(g, file);
+        MappedSparseGraph mapped = MappedSparseGraph.open(file);
+
+        assertFalse(mapped.getType().isModifiable());
+        assertTrue(mapped.getType().isDirected());
+        assertTrue(mapped.getType().isWeighted());
+        assertSameGraph(g, mapped, v -> 1000L - 7 * v);
+    }
+
+    @Test
+    public void testUndirected()
+        throws IOException
+    {
+        Pseudograph<Integer, DefaultEdge> g = new Pseudograph<>(DefaultEdge.class);
+        g.setVertexSupplier(SupplierUtil.createIntegerSupplier());
+        new GnmRandomGraphGenerator<Integer, DefaultEdge>(50, 400, SEED, true, true)
+            .generateGraph(g);
+        g.addVertex();
+
+        Path file = folder.newFile().toPath();
+        new MappedSparseGraphWriter<Integer, DefaultEdge>().write(g, file);
+        MappedSparseGraph mapped = MappedSparseGraph.open(file);
+
+        assertTrue(mapped.getType().isUndirected());
+        assertFalse(mapped.getType().isWeighted());
+        assertTrue(mapped.getType().isAllowingSelfLoops());
+        assertSameGraph(g, mapped, v -> v);
+    }
+
+    @Test
+    public void testQueries()
+        throws IOException
+    {
+        Graph<String, DefaultEdge> g = new SimpleDirectedGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c"));
+        g.addEdge("a", "b");
+        g.addEdge("b", "c");
+        g.addEdge("c", "a");
+
+        Path file = folder.newFile().toPath();
+        new MappedSparseGraphWriter<String, DefaultEdge>(v -> v.charAt(0)).write(g, file);
+        MappedSparseGraph mapped = MappedSparseGraph.open(file);
+
+        assertEquals(Arrays.asList(97L, 98L, 99L), new ArrayList<>(mapped.vertexSet()));
+        assertEquals(Arrays.asList(0L, 1L, 2L), new ArrayList<>(mapped.edgeSet()));
+        assertEquals(Long.valueOf(1), mapped.getEdge(98L, 99L));
+        assertNull(mapped.getEdge(99L, 98L));
+        assertNull(mapped.getEdge(99L, 100L));
+        assertFalse(mapped.containsVertex(100L));
+        assertFalse(mapped.containsEdge(3L));
+        assertEquals(Long.valueOf(99), mapped.getEdgeSource(2L));
+        assertEquals(Graph.DEFAULT_EDGE_WEIGHT, mapped.getEdgeWeight(0L), 0d);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateVertexId()
+        throws IOException
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        g.addVertex(1);
+        g.addVertex(2);
+        new MappedSparseGraphWriter<Integer, DefaultEdge>(v -> 0L)
+            .write(g, folder.newFile().toPath());
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidFile()
+        throws IOException
+    {
+        Path file = folder.newFile().toPath();
+        Files.write(file, new byte[64]);
+        MappedSparseGraph.open(file);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnmodifiable()
+        throws IOException
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        g.addVertex(1);
+        Path file = folder.newFile().toPath();
+        new MappedSparseGraphWriter<Integer, DefaultEdge>().write(g, file);
+        MappedSparseGraph.open(file).addVertex(1L);
+    }
+
+    private static <E> void assertSameGraph(
+        Graph<Integer, E> expected, MappedSparseGraph actual, ToLongFunction<Integer> id)
+    {
+        List<E> edges = new ArrayList<>(expected.edgeSet());
+        Map<E, Long> edgeIds = new HashMap<>();
+        for (int i = 0; i < edges.size(); i++) {
+            edgeIds.put(edges.get(i), (long) i);
+        }
+
+        assertEquals(expected.vertexSet().size(), actual.vertexSet().size());
+        assertEquals(edges.size(), actual.edgeSet().size());
+        for (E e : edges) {
+            Long f = edgeIds.get(e);
+            assertTrue(actual.containsEdge(f));
+            assertEquals(
+                id.applyAsLong(expected.getEdgeSource(e)), (long) actual.getEdgeSource(f));
+            assertEquals(
+                id.applyAsLong(expected.getEdgeTarget(e)), (long) actual.getEdgeTarget(f));
+            assertEquals(expected.getEdgeWeight(e), actual.getEdgeWeight(f), 0d);
+        }
+        for (Integer v : expected.vertexSet()) {
+            long u = id.applyAsLong(v);
+            assertTrue(actual.containsVertex(u));
+            assertEquals(expected.degreeOf(v), actual.degreeOf(u));
+            assertEquals(expected.inDegreeOf(v), actual.inDegreeOf(u));
+            assertEquals(expected.outDegreeOf(v), actual.outDegreeOf(u));
+            assertEquals(mapped(edgeIds, expected.edgesOf(v)), actual.edgesOf(u));
+            assertEquals(expected.edgesOf(v).size(), actual.edgesOf(u).size());
+            assertEquals(mapped(edgeIds, expected.incomingEdgesOf(v)), actual.incomingEdgesOf(u));
+            assertEquals(mapped(edgeIds, expected.outgoingEdgesOf(v)), actual.outgoingEdgesOf(u));
+            for (Integer w : expected.vertexSet()) {
+                long x = id.applyAsLong(w);
+                assertEquals(
+                    mapped(edgeIds, expected.getAllEdges(v, w)), actual.getAllEdges(u, x));
+                assertEquals(expected.containsEdge(v, w), actual.containsEdge(u, x));
+            }
+        }
+    }
+
+    private static <E> Set<Long> mapped(Map<E, Long> edgeIds, Set<E> edges)
+    {
+        Set<Long> result = new HashSet<>();
+        for (E e : edges) {
+            result.add(edgeIds.get(e));
+        }
+        return result;
+    }
+}
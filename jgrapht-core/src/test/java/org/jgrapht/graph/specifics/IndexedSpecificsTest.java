@@ -0,0 +1,165 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.specifics;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link IndexedDirectedSpecifics} and {@link IndexedUndirectedSpecifics}.
+ *
+ * @author agent
+ */
+public class IndexedSpecificsTest
+{
+    private static final long SEED = 11;
+
+    @Test
+    public void testDirected()
+    {
+        Graph<Integer, DefaultEdge> g = createGraph(DefaultGraphType.directedPseudograph(), 4);
+        Graph<Integer, DefaultEdge> expected = new DirectedPseudograph<>(DefaultEdge.class);
+        applyRandomUpdates(g, expected);
+    }
+
+    @Test
+    public void testUndirected()
+    {
+        Graph<Integer, DefaultEdge> g = createGraph(DefaultGraphType.pseudograph(), 4);
+        Graph<Integer, DefaultEdge> expected = new Pseudograph<>(DefaultEdge.class);
+        applyRandomUpdates(g, expected);
+    }
+
+    @Test
+    public void testSimpleDirected()
+    {
+        Graph<Integer, DefaultEdge> g = createGraph(DefaultGraphType.simple().asDirected(), 0);
+        for (int i = 0; i < 100; i++) {
+            g.addVertex(i);
+        }
+        for (int i = 1; i < 100; i++) {
+            assertNotNull(g.addEdge(0, i));
+            assertNull(g.addEdge(0, i));
+        }
+        assertEquals(99, g.outDegreeOf(0));
+        for (int i = 1; i < 100; i++) {
+            assertTrue(g.containsEdge(0, i));
+            assertFalse(g.containsEdge(i, 0));
+            assertEquals(Integer.valueOf(i), g.getEdgeTarget(g.getEdge(0, i)));
+        }
+        assertNull(g.getEdge(0, 100));
+        assertNull(g.getEdge(100, 0));
+        assertNull(g.getAllEdges(0, 100));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeThreshold()
+    {
+        createGraph(DefaultGraphType.pseudograph(), -1);
+    }
+
+    private static void applyRandomUpdates(
+        Graph<Integer, DefaultEdge> g, Graph<Integer, DefaultEdge> expected)
+    {
+        Random rng = new Random(SEED);
+        int n = 12;
+        for (int i = 0; i < n; i++) {
+            g.addVertex(i);
+            expected.addVertex(i);
+        }
+        Map<DefaultEdge, DefaultEdge> edgeMap = new HashMap<>();
+        for (int round = 0; round < 3000; round++) {
+            int u = rng.nextInt(n);
+            int v = rng.nextInt(n);
+            int op = rng.nextInt(10);
+            if (op < 5) {
+                edgeMap.put(expected.addEdge(u, v), g.addEdge(u, v));
+            } else if (op < 9) {
+                DefaultEdge f = expected.removeEdge(u, v);
+                if (f != null) {
+                    DefaultEdge e = edgeMap.remove(f);
+                    assertTrue(g.getAllEdges(u, v).contains(e));
+                    assertTrue(g.removeEdge(e));
+                } else {
+                    assertNull(g.getEdge(u, v));
+                }
+            } else {
+                for (DefaultEdge f : expected.edgesOf(u)) {
+                    edgeMap.remove(f);
+                }
+                assertTrue(expected.removeVertex(u));
+                assertTrue(g.removeVertex(u));
+                expected.addVertex(u);
+                g.addVertex(u);
+            }
+
+            if (round % 100 == 0) {
+                assertSameGraph(g, expected, edgeMap);
+            }
+        }
+        assertSameGraph(g, expected, edgeMap);
+    }
+
+    private static void assertSameGraph(
+        Graph<Integer, DefaultEdge> g, Graph<Integer, DefaultEdge> expected,
+        Map<DefaultEdge, DefaultEdge> edgeMap)
+    {
+        assertEquals(expected.edgeSet().size(), g.edgeSet().size());
+        for (Integer u : expected.vertexSet()) {
+            assertEquals(expected.degreeOf(u), g.degreeOf(u));
+            for (Integer v : expected.vertexSet()) {
+                Set<DefaultEdge> edges = new HashSet<>();
+                for (DefaultEdge f : expected.getAllEdges(u, v)) {
+                    edges.add(edgeMap.get(f));
+                }
+                assertEquals(edges, new HashSet<>(g.getAllEdges(u, v)));
+                assertEquals(expected.containsEdge(u, v), g.containsEdge(u, v));
+                DefaultEdge e = g.getEdge(u, v);
+                assertTrue(e == null ? edges.isEmpty() : edges.contains(e));
+            }
+        }
+    }
+
+    /**
+     * Create a graph which uses the indexed specifics.
+     */
+    private static Graph<Integer, DefaultEdge> createGraph(GraphType type, int indexThreshold)
+    {
+        return new AbstractBaseGraph<Integer, DefaultEdge>(
+            null, SupplierUtil.DEFAULT_EDGE_SUPPLIER, type)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected Specifics<Integer, DefaultEdge> createSpecifics(boolean directed)
+            {
+                if (directed) {
+                    return new IndexedDirectedSpecifics<>(this, indexThreshold);
+                } else {
+                    return new IndexedUndirectedSpecifics<>(this, indexThreshold);
+                }
+            }
+        };
+    }
+}
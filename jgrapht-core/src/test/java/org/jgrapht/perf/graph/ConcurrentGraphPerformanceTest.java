@@ -0,0 +1,108 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.perf.graph;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.graph.concurrent.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+import java.util.concurrent.*;
+
+/**
+ * Benchmark comparing {@link AsSynchronizedGraph} and {@link ConcurrentGraph} under a mixed
+ * workload of writer threads adding edges and reader threads querying the graph. The benchmark is
+ * repeated with 1, 4 and 16 writer threads.
+ *
+ * @author agent
+ */
+public class ConcurrentGraphPerformanceTest
+{
+    public static final int PERF_BENCHMARK_VERTICES_COUNT = 10000;
+    public static final int READER_THREADS = 4;
+    public static final int[] WRITER_THREADS = { 1, 4, 16 };
+
+    @State(Scope.Group)
+    public static class GraphState
+    {
+        @Param({ "synchronized", "concurrent" })
+        public String implementation;
+
+        Graph<Integer, DefaultEdge> graph;
+
+        @Setup(Level.Iteration)
+        public void setup()
+        {
+            if ("synchronized".equals(implementation)) {
+                graph = new AsSynchronizedGraph<>(
+                    new DirectedPseudograph<>(null, SupplierUtil.DEFAULT_EDGE_SUPPLIER, false));
+            } else {
+                graph = new ConcurrentGraph<>(
+                    null, SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                    DefaultGraphType.directedPseudograph());
+            }
+            for (int i = 0; i < PERF_BENCHMARK_VERTICES_COUNT; i++) {
+                graph.addVertex(i);
+            }
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    public DefaultEdge addEdge(GraphState state)
+    {
+        ThreadLocalRandom rng = ThreadLocalRandom.current();
+        return state.graph.addEdge(
+            rng.nextInt(PERF_BENCHMARK_VERTICES_COUNT), rng.nextInt(PERF_BENCHMARK_VERTICES_COUNT));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    public int query(GraphState state)
+    {
+        ThreadLocalRandom rng = ThreadLocalRandom.current();
+        int count = 0;
+        for (DefaultEdge e : state.graph
+            .outgoingEdgesOf(rng.nextInt(PERF_BENCHMARK_VERTICES_COUNT)))
+        {
+            if (state.graph.containsEdge(e)) {
+                count++;
+            }
+        }
+        return count + state.graph.edgeSet().size();
+    }
+
+    @Test
+    public void testConcurrentGraphBenchmark()
+        throws RunnerException
+    {
+        for (int writers : WRITER_THREADS) {
+            Options opt = new OptionsBuilder()
+                .include(".*" + ConcurrentGraphPerformanceTest.class.getSimpleName() + ".*")
+                .threadGroups(writers, READER_THREADS).mode(Mode.Throughput)
+                .timeUnit(TimeUnit.MILLISECONDS).warmupIterations(3).measurementIterations(5)
+                .forks(1).shouldFailOnError(true).shouldDoGC(true).build();
+
+            new Runner(opt).run();
+        }
+    }
+}
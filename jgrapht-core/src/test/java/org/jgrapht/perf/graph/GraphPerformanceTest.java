@@ -202,6 +202,26 @@ public class GraphPerformanceTest
         }
     }
 
+    /**
+     * Graph class which relies on the IndexedDirectedSpecifics. This class is optimized to perform
+     * quick edge retrievals with a low memory overhead.
+     */
+    public static class IndexedDirectedGraphBenchmark
+        extends
+        DirectedGraphBenchmarkBase
+    {
+        @Override
+        SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge> constructGraph()
+        {
+            SimpleDirectedWeightedGraph<Integer,
+                DefaultWeightedEdge> graph = new IndexedDirectedWeightedGraph<>(
+                    SupplierUtil.createIntegerSupplier(1),
+                    SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            rgg.generateGraph(graph);
+            return graph;
+        }
+    }
+
     @Test
     public void testRandomGraphBenchmark()
         throws RunnerException
@@ -209,6 +229,7 @@ public class GraphPerformanceTest
         Options opt = new OptionsBuilder()
             .include(".*" + MemoryEfficientDirectedGraphBenchmark.class.getSimpleName() + ".*")
             .include(".*" + FastLookupDirectedGraphBenchmark.class.getSimpleName() + ".*")
+            .include(".*" + IndexedDirectedGraphBenchmark.class.getSimpleName() + ".*")
 
             .mode(Mode.AverageTime).timeUnit(TimeUnit.MILLISECONDS)
             // .warmupTime(TimeValue.seconds(1))
@@ -243,4 +264,28 @@ public class GraphPerformanceTest
             return new DirectedSpecifics<>(this);
         }
     }
+
+    /**
+     * Creates a graph implementation which indexes the edges of high-degree vertices.
+     * 
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     */
+    public static class IndexedDirectedWeightedGraph<V, E>
+        extends
+        SimpleDirectedWeightedGraph<V, E>
+    {
+        private static final long serialVersionUID = 2374938274503954711L;
+
+        public IndexedDirectedWeightedGraph(Supplier<V> vertexSupplier, Supplier<E> edgeSupplier)
+        {
+            super(vertexSupplier, edgeSupplier);
+        }
+
+        @Override
+        protected Specifics<V, E> createSpecifics(boolean directed)
+        {
+            return new IndexedDirectedSpecifics<>(this);
+        }
+    }
 }
@@ -0,0 +1,113 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.perf.graph;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.graph.sparse.*;
+import org.jgrapht.traverse.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmark comparing breadth-first and depth-first traversals of a grid graph whose vertices are
+ * numbered randomly against traversals of the copies produced by {@link GraphReordering}.
+ *
+ * @author agent
+ */
+public class GraphReorderingPerformanceTest
+{
+    public static final int GRID_SIZE = 300;
+    public static final long SEED = 17;
+
+    @State(Scope.Benchmark)
+    public static class GraphState
+    {
+        @Param({ "RANDOM", "BFS", "REVERSE_CUTHILL_MCKEE", "DEGREE" })
+        public String order;
+
+        Graph<Integer, Integer> graph;
+
+        @Setup(Level.Trial)
+        public void setup()
+        {
+            Graph<Integer, DefaultEdge> grid = new SimpleGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            new GridGraphGenerator<Integer, DefaultEdge>(GRID_SIZE, GRID_SIZE)
+                .generateGraph(grid);
+
+            // number the vertices randomly
+            List<Integer> labels = new ArrayList<>(grid.vertexSet());
+            Collections.shuffle(labels, new Random(SEED));
+            List<Pair<Integer, Integer>> edges = new ArrayList<>();
+            for (DefaultEdge e : grid.edgeSet()) {
+                edges.add(
+                    Pair.of(labels.get(grid.getEdgeSource(e)), labels.get(grid.getEdgeTarget(e))));
+            }
+            Collections.shuffle(edges, new Random(SEED));
+            graph = ImmutableSparseGraph.fromEdgeList(false, labels.size(), edges);
+
+            if (!"RANDOM".equals(order)) {
+                graph = new GraphReordering<>(graph, GraphReordering.Order.valueOf(order))
+                    .getGraph();
+            }
+        }
+    }
+
+    @Benchmark
+    public int breadthFirst(GraphState state)
+    {
+        int count = 0;
+        Iterator<Integer> it = new BreadthFirstIterator<>(state.graph);
+        while (it.hasNext()) {
+            count += it.next();
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int depthFirst(GraphState state)
+    {
+        int count = 0;
+        Iterator<Integer> it = new DepthFirstIterator<>(state.graph);
+        while (it.hasNext()) {
+            count += it.next();
+        }
+        return count;
+    }
+
+    @Test
+    public void testGraphReorderingBenchmark()
+        throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+            .include(".*" + GraphReorderingPerformanceTest.class.getSimpleName() + ".*")
+            .mode(Mode.AverageTime).timeUnit(TimeUnit.MILLISECONDS).warmupIterations(3)
+            .measurementIterations(5).forks(1).shouldFailOnError(true).shouldDoGC(true).build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.perf.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.scoring.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+import java.util.concurrent.*;
+
+/**
+ * Benchmark of PageRank on a sparse random directed graph, running sequentially and in the common
+ * fork-join pool.
+ *
+ * @author agent
+ */
+public class PageRankPerformanceTest
+{
+    public static final int VERTICES = 100000;
+    public static final int EDGES = 1000000;
+    public static final long SEED = 17;
+
+    @State(Scope.Benchmark)
+    public static class GraphState
+    {
+        Graph<Integer, DefaultEdge> graph;
+
+        @Setup(Level.Trial)
+        public void setup()
+        {
+            graph = new DirectedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            new GnmRandomGraphGenerator<Integer, DefaultEdge>(VERTICES, EDGES, SEED, false, true)
+                .generateGraph(graph);
+        }
+    }
+
+    @Benchmark
+    public double pageRank(GraphState state)
+    {
+        return new PageRank<>(state.graph).getVertexScore(0);
+    }
+
+    @Benchmark
+    public double parallelPageRank(GraphState state)
+    {
+        return new PageRank<>(
+            state.graph, PageRank.DAMPING_FACTOR_DEFAULT, PageRank.MAX_ITERATIONS_DEFAULT,
+            PageRank.TOLERANCE_DEFAULT, ForkJoinPool.commonPool()).getVertexScore(0);
+    }
+
+    @Test
+    public void testPageRankBenchmark()
+        throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+            .include(".*" + PageRankPerformanceTest.class.getSimpleName() + ".*")
+            .mode(Mode.AverageTime).timeUnit(TimeUnit.MILLISECONDS).warmupIterations(3)
+            .measurementIterations(5).forks(1).shouldFailOnError(true).shouldDoGC(true).build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.perf.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.scoring.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmark of personalized PageRank for a single source on a sparse random directed graph,
+ * comparing power iterations with the forward push approximation.
+ *
+ * @author agent
+ */
+public class PersonalizedPageRankPerformanceTest
+{
+    public static final int VERTICES = 100000;
+    public static final int EDGES = 1000000;
+    public static final double EPSILON = 1e-6;
+    public static final long SEED = 17;
+
+    @State(Scope.Benchmark)
+    public static class GraphState
+    {
+        Graph<Integer, DefaultEdge> graph;
+        Map<Integer, Double> sources;
+
+        @Setup(Level.Trial)
+        public void setup()
+        {
+            graph = new DirectedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            new GnmRandomGraphGenerator<Integer, DefaultEdge>(VERTICES, EDGES, SEED, false, true)
+                .generateGraph(graph);
+            sources = Collections.singletonMap(0, 1d);
+        }
+    }
+
+    @Benchmark
+    public double powerIterations(GraphState state)
+    {
+        return new PersonalizedPageRank<>(state.graph, state.sources).getVertexScore(0);
+    }
+
+    @Benchmark
+    public double push(GraphState state)
+    {
+        return new PersonalizedPageRank<>(
+            state.graph, state.sources, PageRank.DAMPING_FACTOR_DEFAULT, EPSILON)
+                .getVertexScore(0);
+    }
+
+    @Test
+    public void testPersonalizedPageRankBenchmark()
+        throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+            .include(".*" + PersonalizedPageRankPerformanceTest.class.getSimpleName() + ".*")
+            .mode(Mode.AverageTime).timeUnit(TimeUnit.MILLISECONDS).warmupIterations(3)
+            .measurementIterations(5).forks(1).shouldFailOnError(true).shouldDoGC(true).build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.perf.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * Benchmark comparing the heaps available to Dijkstra's algorithm on a road-like graph, a grid
+ * with random weights, and on a scale-free graph. The int-keyed heap is benchmarked with an array
+ * based implementation of Dijkstra's algorithm over the same graphs.
+ *
+ * @author agent
+ */
+public class AddressableHeapPerformanceTest
+{
+    public static final int GRID_SIZE = 200;
+    public static final int SCALE_FREE_VERTICES = 40000;
+    public static final int SCALE_FREE_EDGES_PER_VERTEX = 5;
+    public static final long SEED = 17;
+
+    @State(Scope.Benchmark)
+    public static class GraphState
+    {
+        @Param({ "road", "scalefree" })
+        public String graphType;
+
+        Graph<Integer, DefaultWeightedEdge> graph;
+
+        // the graph in compressed sparse row format, for the int-keyed heap
+        int[] offsets;
+        int[] targets;
+        double[] weights;
+
+        @Setup(Level.Trial)
+        public void setup()
+        {
+            graph = new WeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            if ("road".equals(graphType)) {
+                new GridGraphGenerator<Integer, DefaultWeightedEdge>(GRID_SIZE, GRID_SIZE)
+                    .generateGraph(graph);
+            } else {
+                new BarabasiAlbertGraphGenerator<Integer, DefaultWeightedEdge>(
+                    SCALE_FREE_EDGES_PER_VERTEX, SCALE_FREE_EDGES_PER_VERTEX, SCALE_FREE_VERTICES,
+                    SEED).generateGraph(graph);
+            }
+            Random rng = new Random(SEED);
+            for (DefaultWeightedEdge e : graph.edgeSet()) {
+                graph.setEdgeWeight(e, 1.0 + rng.nextDouble());
+            }
+
+            int n = graph.vertexSet().size();
+            offsets = new int[n + 1];
+            targets = new int[2 * graph.edgeSet().size()];
+            weights = new double[targets.length];
+            int k = 0;
+            for (int v = 0; v < n; v++) {
+                offsets[v] = k;
+                for (DefaultWeightedEdge e : graph.edgesOf(v)) {
+                    targets[k] = Graphs.getOppositeVertex(graph, e, v);
+                    weights[k++] = graph.getEdgeWeight(e);
+                }
+            }
+            offsets[n] = k;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class HeapState
+    {
+        @Param({ "fibonacci", "pairing", "binary", "4-ary" })
+        public String heap;
+
+        Supplier<AddressableHeap<Integer>> heapSupplier;
+
+        @Setup(Level.Trial)
+        public void setup()
+        {
+            switch (heap) {
+            case "fibonacci":
+                heapSupplier = FibonacciAddressableHeap::new;
+                break;
+            case "pairing":
+                heapSupplier = PairingHeap::new;
+                break;
+            case "binary":
+                heapSupplier = () -> new DaryArrayAddressableHeap<>(2);
+                break;
+            default:
+                heapSupplier = () -> new DaryArrayAddressableHeap<>(4);
+                break;
+            }
+        }
+    }
+
+    @Benchmark
+    public SingleSourcePaths<Integer, DefaultWeightedEdge> addressableHeap(
+        GraphState graphState, HeapState heapState)
+    {
+        return new DijkstraShortestPath<>(graphState.graph, heapState.heapSupplier).getPaths(0);
+    }
+
+    @Benchmark
+    public double[] intDaryHeap(GraphState state)
+    {
+        int n = state.offsets.length - 1;
+        double[] distance = new double[n];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        IntDaryHeap heap = new IntDaryHeap(n);
+        distance[0] = 0d;
+        heap.insert(0, 0d);
+        while (!heap.isEmpty()) {
+            double d = heap.findMinKey();
+            int v = heap.deleteMin();
+            for (int j = state.offsets[v]; j < state.offsets[v + 1]; j++) {
+                int u = state.targets[j];
+                double du = d + state.weights[j];
+                if (du < distance[u]) {
+                    distance[u] = du;
+                    heap.insertOrDecreaseKey(u, du);
+                }
+            }
+        }
+        return distance;
+    }
+
+    @Test
+    public void testAddressableHeapBenchmark()
+        throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+            .include(".*" + AddressableHeapPerformanceTest.class.getSimpleName() + ".*")
+            .mode(Mode.AverageTime).timeUnit(TimeUnit.MILLISECONDS).warmupIterations(3)
+            .measurementIterations(5).forks(1).shouldFailOnError(true).shouldDoGC(true).build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.perf.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmark of the all pairs shortest path algorithms, comparing the parallel versions with the
+ * sequential ones on a dense and on a sparse random graph.
+ *
+ * @author agent
+ */
+public class AllPairsShortestPathsPerformanceTest
+{
+    public static final int DENSE_VERTICES = 500;
+    public static final double DENSE_EDGE_PROBABILITY = 0.5;
+    public static final int SPARSE_VERTICES = 1500;
+    public static final int SPARSE_EDGES = 6000;
+    public static final long SEED = 17;
+
+    @State(Scope.Benchmark)
+    public static class GraphState
+    {
+        @Param({ "dense", "sparse" })
+        public String graphType;
+
+        Graph<Integer, DefaultWeightedEdge> graph;
+        Integer source;
+        Integer sink;
+
+        @Setup(Level.Trial)
+        public void setup()
+        {
+            graph = new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            if ("dense".equals(graphType)) {
+                new GnpRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+                    DENSE_VERTICES, DENSE_EDGE_PROBABILITY, SEED).generateGraph(graph);
+            } else {
+                new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+                    SPARSE_VERTICES, SPARSE_EDGES, SEED).generateGraph(graph);
+            }
+            Random rng = new Random(SEED);
+            for (DefaultWeightedEdge e : graph.edgeSet()) {
+                graph.setEdgeWeight(e, rng.nextDouble());
+            }
+            source = 0;
+            sink = graph.vertexSet().size() - 1;
+        }
+    }
+
+    @Benchmark
+    public double floydWarshall(GraphState state)
+    {
+        return run(new FloydWarshallShortestPaths<>(state.graph), state);
+    }
+
+    @Benchmark
+    public double parallelFloydWarshall(GraphState state)
+    {
+        return run(new ParallelFloydWarshallShortestPaths<>(state.graph), state);
+    }
+
+    @Benchmark
+    public double johnson(GraphState state)
+    {
+        return run(new JohnsonShortestPaths<>(state.graph), state);
+    }
+
+    @Benchmark
+    public double parallelDijkstra(GraphState state)
+    {
+        return run(new ParallelDijkstraShortestPaths<>(state.graph), state);
+    }
+
+    private static double run(
+        ShortestPathAlgorithm<Integer, DefaultWeightedEdge> shortestPaths, GraphState state)
+    {
+        // the first query computes all paths
+        return shortestPaths.getPathWeight(state.source, state.sink);
+    }
+
+    @Test
+    public void testAllPairsShortestPathsBenchmark()
+        throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+            .include(".*" + AllPairsShortestPathsPerformanceTest.class.getSimpleName() + ".*")
+            .mode(Mode.AverageTime).timeUnit(TimeUnit.MILLISECONDS).warmupIterations(3)
+            .measurementIterations(5).forks(1).shouldFailOnError(true).shouldDoGC(true).build();
+
+        new Runner(opt).run();
+    }
+}
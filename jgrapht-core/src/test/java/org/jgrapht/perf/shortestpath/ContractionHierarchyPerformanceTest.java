@@ -0,0 +1,151 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.perf.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmark of point-to-point queries on a road-like graph, comparing contraction hierarchies with
+ * bidirectional Dijkstra. The graph is a grid with random weights, where every tenth row and
+ * column is a faster highway. The preprocessing of the contraction hierarchy is benchmarked
+ * separately.
+ *
+ * @author agent
+ */
+public class ContractionHierarchyPerformanceTest
+{
+    public static final int GRID_SIZE = 100;
+    public static final int HIGHWAY_SPACING = 10;
+    public static final double HIGHWAY_SPEEDUP = 4.0;
+    public static final int QUERIES = 100;
+    public static final long SEED = 17;
+
+    @State(Scope.Benchmark)
+    public static class GraphState
+    {
+        Graph<Integer, DefaultWeightedEdge> graph;
+        int[] sources;
+        int[] targets;
+
+        @Setup(Level.Trial)
+        public void setup()
+        {
+            graph = new WeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            new GridGraphGenerator<Integer, DefaultWeightedEdge>(GRID_SIZE, GRID_SIZE)
+                .generateGraph(graph);
+            Random rng = new Random(SEED);
+            for (DefaultWeightedEdge e : graph.edgeSet()) {
+                int u = graph.getEdgeSource(e);
+                int v = graph.getEdgeTarget(e);
+                boolean sameRow = u / GRID_SIZE == v / GRID_SIZE;
+                int line = sameRow ? u / GRID_SIZE : u % GRID_SIZE;
+                double weight = 1.0 + rng.nextDouble();
+                if (line % HIGHWAY_SPACING == 0) {
+                    weight /= HIGHWAY_SPEEDUP;
+                }
+                graph.setEdgeWeight(e, weight);
+            }
+            int n = graph.vertexSet().size();
+            sources = new int[QUERIES];
+            targets = new int[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                sources[i] = rng.nextInt(n);
+                targets[i] = rng.nextInt(n);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class HierarchyState
+    {
+        ContractionHierarchyShortestPath<Integer, DefaultWeightedEdge> shortestPath;
+
+        @Setup(Level.Trial)
+        public void setup(GraphState state)
+        {
+            shortestPath = new ContractionHierarchyShortestPath<>(state.graph);
+        }
+    }
+
+    @Benchmark
+    public double bidirectionalDijkstra(GraphState state)
+    {
+        return runQueries(new BidirectionalDijkstraShortestPath<>(state.graph), state);
+    }
+
+    @Benchmark
+    public double contractionHierarchy(GraphState state, HierarchyState hierarchyState)
+    {
+        return runQueries(hierarchyState.shortestPath, state);
+    }
+
+    @Benchmark
+    public ContractionHierarchy<Integer, DefaultWeightedEdge> sequentialPreprocessing(
+        GraphState state)
+    {
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            return new ContractionHierarchy<>(state.graph, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public ContractionHierarchy<Integer, DefaultWeightedEdge> parallelPreprocessing(
+        GraphState state)
+    {
+        return new ContractionHierarchy<>(state.graph);
+    }
+
+    private static double runQueries(
+        ShortestPathAlgorithm<Integer, DefaultWeightedEdge> shortestPath, GraphState state)
+    {
+        double total = 0d;
+        for (int i = 0; i < QUERIES; i++) {
+            total += shortestPath
+                .getPath(state.sources[i], state.targets[i]).getEdgeList().size();
+        }
+        return total;
+    }
+
+    @Test
+    public void testContractionHierarchyBenchmark()
+        throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+            .include(".*" + ContractionHierarchyPerformanceTest.class.getSimpleName() + ".*")
+            .mode(Mode.AverageTime).timeUnit(TimeUnit.MILLISECONDS).warmupIterations(3)
+            .measurementIterations(5).forks(1).shouldFailOnError(true).shouldDoGC(true).build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.perf.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmark of single-source shortest paths on a large sparse random graph, comparing
+ * delta-stepping with several bucket widths to Dijkstra's algorithm.
+ *
+ * @author agent
+ */
+public class DeltaSteppingPerformanceTest
+{
+    public static final int VERTICES = 200000;
+    public static final int EDGES = 1000000;
+    public static final long SEED = 17;
+
+    @State(Scope.Benchmark)
+    public static class GraphState
+    {
+        Graph<Integer, DefaultWeightedEdge> graph;
+
+        @Setup(Level.Trial)
+        public void setup()
+        {
+            graph = new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(VERTICES, EDGES, SEED)
+                .generateGraph(graph);
+            Random rng = new Random(SEED);
+            for (DefaultWeightedEdge e : graph.edgeSet()) {
+                graph.setEdgeWeight(e, rng.nextDouble());
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class DeltaSteppingState
+    {
+        @Param({ "auto", "0.1", "1.0" })
+        public String delta;
+
+        DeltaSteppingShortestPath<Integer, DefaultWeightedEdge> shortestPath;
+
+        @Setup(Level.Trial)
+        public void setup(GraphState state)
+        {
+            double width = "auto".equals(delta) ? Double.NaN : Double.parseDouble(delta);
+            shortestPath =
+                new DeltaSteppingShortestPath<>(state.graph, width, ForkJoinPool.commonPool());
+            // copy the graph before measuring
+            shortestPath.getPaths(0);
+        }
+    }
+
+    @Benchmark
+    public SingleSourcePaths<Integer, DefaultWeightedEdge> dijkstra(GraphState state)
+    {
+        return new DijkstraShortestPath<>(state.graph).getPaths(0);
+    }
+
+    @Benchmark
+    public SingleSourcePaths<Integer, DefaultWeightedEdge> deltaStepping(
+        DeltaSteppingState state)
+    {
+        return state.shortestPath.getPaths(0);
+    }
+
+    @Test
+    public void testDeltaSteppingBenchmark()
+        throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+            .include(".*" + DeltaSteppingPerformanceTest.class.getSimpleName() + ".*")
+            .mode(Mode.AverageTime).timeUnit(TimeUnit.MILLISECONDS).warmupIterations(3)
+            .measurementIterations(5).forks(1).shouldFailOnError(true).shouldDoGC(true).build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.perf.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmark of random edge weight updates on a grid, comparing the recomputation of the shortest
+ * path tree by Dijkstra's algorithm with its incremental maintenance.
+ *
+ * @author agent
+ */
+public class DynamicShortestPathPerformanceTest
+{
+    public static final int GRID_SIZE = 300;
+    public static final int UPDATES = 100;
+    public static final long SEED = 17;
+
+    @State(Scope.Benchmark)
+    public static class GraphState
+    {
+        ListenableGraph<Integer, DefaultWeightedEdge> graph;
+        List<DefaultWeightedEdge> edges;
+        Random rng;
+
+        @Setup(Level.Trial)
+        public void setup()
+        {
+            Graph<Integer, DefaultWeightedEdge> base = new WeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            new GridGraphGenerator<Integer, DefaultWeightedEdge>(GRID_SIZE, GRID_SIZE)
+                .generateGraph(base);
+            graph = new DefaultListenableGraph<>(base);
+            rng = new Random(SEED);
+            for (DefaultWeightedEdge e : graph.edgeSet()) {
+                graph.setEdgeWeight(e, 1.0 + rng.nextDouble());
+            }
+            edges = new ArrayList<>(graph.edgeSet());
+        }
+    }
+
+    @Benchmark
+    public double dijkstra(GraphState state)
+    {
+        double total = 0d;
+        for (int i = 0; i < UPDATES; i++) {
+            updateRandomEdge(state);
+            total += new DijkstraShortestPath<>(state.graph).getPaths(0).getWeight(i);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double dynamic(GraphState state)
+    {
+        DynamicSingleSourcePaths<Integer, DefaultWeightedEdge> paths =
+            new DynamicSingleSourcePaths<>(state.graph, 0);
+        double total = 0d;
+        for (int i = 0; i < UPDATES; i++) {
+            updateRandomEdge(state);
+            total += paths.getWeight(i);
+        }
+        state.graph.removeGraphListener(paths);
+        return total;
+    }
+
+    private static void updateRandomEdge(GraphState state)
+    {
+        DefaultWeightedEdge e = state.edges.get(state.rng.nextInt(state.edges.size()));
+        state.graph.setEdgeWeight(e, 1.0 + state.rng.nextDouble());
+    }
+
+    @Test
+    public void testDynamicShortestPathBenchmark()
+        throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+            .include(".*" + DynamicShortestPathPerformanceTest.class.getSimpleName() + ".*")
+            .mode(Mode.AverageTime).timeUnit(TimeUnit.MILLISECONDS).warmupIterations(3)
+            .measurementIterations(5).forks(1).shouldFailOnError(true).shouldDoGC(true).build();
+
+        new Runner(opt).run();
+    }
+}
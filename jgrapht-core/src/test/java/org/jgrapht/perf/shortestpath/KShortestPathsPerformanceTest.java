@@ -0,0 +1,127 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.perf.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmark of alternative route queries on a grid with random weights, comparing the variants of
+ * Yen's algorithm.
+ *
+ * @author agent
+ */
+public class KShortestPathsPerformanceTest
+{
+    public static final int GRID_SIZE = 100;
+    public static final int QUERIES = 5;
+    public static final int K = 50;
+    public static final long SEED = 17;
+
+    @State(Scope.Benchmark)
+    public static class GraphState
+    {
+        Graph<Integer, DefaultWeightedEdge> graph;
+        int[] sources;
+        int[] targets;
+
+        @Setup(Level.Trial)
+        public void setup()
+        {
+            graph = new WeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            new GridGraphGenerator<Integer, DefaultWeightedEdge>(GRID_SIZE, GRID_SIZE)
+                .generateGraph(graph);
+            Random rng = new Random(SEED);
+            for (DefaultWeightedEdge e : graph.edgeSet()) {
+                graph.setEdgeWeight(e, 1.0 + rng.nextDouble());
+            }
+
+            sources = new int[QUERIES];
+            targets = new int[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                sources[i] = rng.nextInt(GRID_SIZE * GRID_SIZE);
+                do {
+                    targets[i] = rng.nextInt(GRID_SIZE * GRID_SIZE);
+                } while (targets[i] == sources[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    public double yen(GraphState state)
+    {
+        return runQueries(new YenKShortestPath<>(state.graph, false), state);
+    }
+
+    @Benchmark
+    public double yenReusingTrees(GraphState state)
+    {
+        return runQueries(new YenKShortestPath<>(state.graph, true), state);
+    }
+
+    @Benchmark
+    public double parallelYen(GraphState state)
+    {
+        return runQueries(
+            new YenKShortestPath<>(state.graph, ForkJoinPool.commonPool(), false), state);
+    }
+
+    @Benchmark
+    public double parallelYenReusingTrees(GraphState state)
+    {
+        return runQueries(new YenKShortestPath<>(state.graph, ForkJoinPool.commonPool()), state);
+    }
+
+    private static double runQueries(
+        KShortestPathAlgorithm<Integer, DefaultWeightedEdge> kShortestPaths, GraphState state)
+    {
+        double total = 0d;
+        for (int i = 0; i < QUERIES; i++) {
+            for (GraphPath<Integer, DefaultWeightedEdge> path : kShortestPaths
+                .getPaths(state.sources[i], state.targets[i], K))
+            {
+                total += path.getWeight();
+            }
+        }
+        return total;
+    }
+
+    @Test
+    public void testKShortestPathsBenchmark()
+        throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+            .include(".*" + KShortestPathsPerformanceTest.class.getSimpleName() + ".*")
+            .mode(Mode.AverageTime).timeUnit(TimeUnit.MILLISECONDS).warmupIterations(3)
+            .measurementIterations(5).forks(1).shouldFailOnError(true).shouldDoGC(true).build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.perf.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmark of many short point-to-point queries on a grid with random weights, comparing
+ * Dijkstra's algorithm with its reusable workspace version.
+ *
+ * @author agent
+ */
+public class ReusableDijkstraPerformanceTest
+{
+    public static final int GRID_SIZE = 300;
+    public static final int QUERIES = 1000;
+    public static final int QUERY_RADIUS = 10;
+    public static final long SEED = 17;
+
+    @State(Scope.Benchmark)
+    public static class GraphState
+    {
+        Graph<Integer, DefaultWeightedEdge> graph;
+        ReusableDijkstraShortestPath<Integer, DefaultWeightedEdge> reusable;
+        int[] sources;
+        int[] targets;
+
+        @Setup(Level.Trial)
+        public void setup()
+        {
+            graph = new WeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            new GridGraphGenerator<Integer, DefaultWeightedEdge>(GRID_SIZE, GRID_SIZE)
+                .generateGraph(graph);
+            Random rng = new Random(SEED);
+            for (DefaultWeightedEdge e : graph.edgeSet()) {
+                graph.setEdgeWeight(e, 1.0 + rng.nextDouble());
+            }
+            reusable = new ReusableDijkstraShortestPath<>(graph);
+
+            // local queries, whose targets are close to their sources
+            sources = new int[QUERIES];
+            targets = new int[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                int row = rng.nextInt(GRID_SIZE - QUERY_RADIUS);
+                int column = rng.nextInt(GRID_SIZE - QUERY_RADIUS);
+                sources[i] = row * GRID_SIZE + column;
+                targets[i] = (row + rng.nextInt(QUERY_RADIUS)) * GRID_SIZE + column
+                    + rng.nextInt(QUERY_RADIUS);
+            }
+        }
+    }
+
+    @Benchmark
+    public double dijkstra(GraphState state)
+    {
+        return runQueries(new DijkstraShortestPath<>(state.graph), state);
+    }
+
+    @Benchmark
+    public double reusableDijkstra(GraphState state)
+    {
+        return runQueries(state.reusable, state);
+    }
+
+    private static double runQueries(
+        ShortestPathAlgorithm<Integer, DefaultWeightedEdge> shortestPath, GraphState state)
+    {
+        double total = 0d;
+        for (int i = 0; i < QUERIES; i++) {
+            total += shortestPath.getPathWeight(state.sources[i], state.targets[i]);
+        }
+        return total;
+    }
+
+    @Test
+    public void testReusableDijkstraBenchmark()
+        throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+            .include(".*" + ReusableDijkstraPerformanceTest.class.getSimpleName() + ".*")
+            .mode(Mode.AverageTime).timeUnit(TimeUnit.MILLISECONDS).warmupIterations(3)
+            .measurementIterations(5).forks(1).shouldFailOnError(true).shouldDoGC(true).build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Base class for {@link AddressableHeap} tests.
+ *
+ * @author agent
+ */
+public abstract class AddressableHeapTestBase
+{
+    private static final long SEED = 17;
+
+    protected abstract <T> AddressableHeap<T> createHeap();
+
+    @Test
+    public void testSort()
+    {
+        AddressableHeap<Integer> heap = createHeap();
+        Random rng = new Random(SEED);
+        List<Double> keys = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            double key = rng.nextInt(100);
+            keys.add(key);
+            heap.insert(key, i);
+        }
+        assertEquals(1000, heap.size());
+
+        Collections.sort(keys);
+        for (double key : keys) {
+            assertEquals(key, heap.findMin().getKey(), 0d);
+            assertEquals(key, heap.deleteMin().getKey(), 0d);
+        }
+        assertTrue(heap.isEmpty());
+        assertEquals(0, heap.size());
+    }
+
+    @Test
+    public void testDecreaseKeyAndDelete()
+    {
+        AddressableHeap<Integer> heap = createHeap();
+        Random rng = new Random(SEED);
+        List<AddressableHeap.Handle<Integer>> handles = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            handles.add(heap.insert(1000 + rng.nextInt(1000), i));
+        }
+
+        // interleave decrease-key, delete and delete-min
+        Set<Integer> deleted = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            AddressableHeap.Handle<Integer> h = handles.get(rng.nextInt(handles.size()));
+            if (deleted.contains(h.getValue())) {
+                continue;
+            }
+            switch (i % 3) {
+            case 0:
+                h.decreaseKey(h.getKey() - rng.nextInt(1500));
+                break;
+            case 1:
+                h.delete();
+                deleted.add(h.getValue());
+                break;
+            default:
+                deleted.add(heap.deleteMin().getValue());
+                break;
+            }
+        }
+
+        assertEquals(1000 - deleted.size(), heap.size());
+        double previous = Double.NEGATIVE_INFINITY;
+        while (!heap.isEmpty()) {
+            AddressableHeap.Handle<Integer> h = heap.deleteMin();
+            assertTrue(h.getKey() >= previous);
+            assertTrue(deleted.add(h.getValue()));
+            previous = h.getKey();
+        }
+        assertEquals(1000, deleted.size());
+    }
+
+    @Test
+    public void testSetValue()
+    {
+        AddressableHeap<String> heap = createHeap();
+        AddressableHeap.Handle<String> h = heap.insert(1.0, "a");
+        heap.insert(2.0, "b");
+        h.setValue("c");
+        assertEquals("c", heap.findMin().getValue());
+    }
+
+    @Test
+    public void testClear()
+    {
+        AddressableHeap<Integer> heap = createHeap();
+        for (int i = 0; i < 10; i++) {
+            heap.insert(i, i);
+        }
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertEquals(0, heap.size());
+        heap.insert(5.0, 5);
+        assertEquals(5, heap.deleteMin().getValue().intValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIncreaseKey()
+    {
+        AddressableHeap<Integer> heap = createHeap();
+        heap.insert(1.0, 1).decreaseKey(2.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecreaseKeyOfRemoved()
+    {
+        AddressableHeap<Integer> heap = createHeap();
+        heap.insert(2.0, 2);
+        heap.insert(1.0, 1);
+        heap.deleteMin().decreaseKey(0.0);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testDeleteMinOfEmpty()
+    {
+        AddressableHeap<Integer> heap = createHeap();
+        heap.deleteMin();
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link IntDaryHeap}.
+ *
+ * @author agent
+ */
+public class IntDaryHeapTest
+{
+    private static final long SEED = 17;
+
+    @Test
+    public void testSort()
+    {
+        for (int d = 2; d <= 5; d++) {
+            IntDaryHeap heap = new IntDaryHeap(1000, d);
+            Random rng = new Random(SEED);
+            double[] keys = new double[1000];
+            for (int i = 0; i < 1000; i++) {
+                keys[i] = rng.nextInt(100);
+                heap.insert(i, keys[i]);
+            }
+            assertEquals(1000, heap.size());
+
+            double previous = Double.NEGATIVE_INFINITY;
+            while (!heap.isEmpty()) {
+                double key = heap.findMinKey();
+                int min = heap.deleteMin();
+                assertEquals(keys[min], key, 0d);
+                assertTrue(key >= previous);
+                assertFalse(heap.contains(min));
+                previous = key;
+            }
+        }
+    }
+
+    @Test
+    public void testInsertOrDecreaseKey()
+    {
+        IntDaryHeap heap = new IntDaryHeap(100);
+        Random rng = new Random(SEED);
+        double[] best = new double[100];
+        Arrays.fill(best, Double.POSITIVE_INFINITY);
+        for (int i = 0; i < 1000; i++) {
+            int element = rng.nextInt(100);
+            double key = rng.nextDouble();
+            assertEquals(key < best[element], heap.insertOrDecreaseKey(element, key));
+            best[element] = Math.min(best[element], key);
+            assertEquals(best[element], heap.getKey(element), 0d);
+        }
+
+        double previous = Double.NEGATIVE_INFINITY;
+        while (!heap.isEmpty()) {
+            double key = heap.findMinKey();
+            assertEquals(best[heap.deleteMin()], key, 0d);
+            assertTrue(key >= previous);
+            previous = key;
+        }
+    }
+
+    @Test
+    public void testClear()
+    {
+        IntDaryHeap heap = new IntDaryHeap(10);
+        for (int i = 0; i < 10; i += 2) {
+            heap.insert(i, i);
+        }
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        for (int i = 0; i < 10; i++) {
+            assertFalse(heap.contains(i));
+        }
+        heap.insert(4, 1.0);
+        assertEquals(4, heap.deleteMin());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInsertTwice()
+    {
+        IntDaryHeap heap = new IntDaryHeap(10);
+        heap.insert(1, 1.0);
+        heap.insert(1, 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIncreaseKey()
+    {
+        IntDaryHeap heap = new IntDaryHeap(10);
+        heap.insert(1, 1.0);
+        heap.decreaseKey(1, 2.0);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import org.junit.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link IntList}.
+ *
+ * @author agent
+ */
+public class IntListTest
+{
+    @Test
+    public void testAdd()
+    {
+        IntList list = new IntList();
+        assertTrue(list.isEmpty());
+        for (int i = 0; i < 100; i++) {
+            list.add(i * i);
+        }
+        assertFalse(list.isEmpty());
+        assertEquals(100, list.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i * i, list.get(i));
+        }
+    }
+
+    @Test
+    public void testAddAll()
+    {
+        IntList first = new IntList();
+        first.add(1);
+        first.add(2);
+        IntList second = new IntList();
+        for (int i = 3; i <= 20; i++) {
+            second.add(i);
+        }
+        first.addAll(second);
+        first.addAll(new IntList());
+
+        int[] expected = new int[20];
+        for (int i = 0; i < 20; i++) {
+            expected[i] = i + 1;
+        }
+        assertArrayEquals(expected, first.toArray());
+        assertEquals(18, second.size());
+    }
+}
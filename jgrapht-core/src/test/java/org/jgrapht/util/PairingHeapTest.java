@@ -0,0 +1,34 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+/**
+ * Tests for {@link PairingHeap}.
+ *
+ * @author agent
+ */
+public class PairingHeapTest
+    extends
+    AddressableHeapTestBase
+{
+    @Override
+    protected <T> AddressableHeap<T> createHeap()
+    {
+        return new PairingHeap<>();
+    }
+}
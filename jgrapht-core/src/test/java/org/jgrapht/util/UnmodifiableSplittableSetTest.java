@@ -0,0 +1,128 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.stream.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link UnmodifiableSplittableSet}.
+ *
+ * @author agent
+ */
+public class UnmodifiableSplittableSetTest
+{
+    @Test
+    public void testSplitsEvenly()
+    {
+        Set<Integer> backing = new LinkedHashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            backing.add(i);
+        }
+        Set<Integer> set = new UnmodifiableSplittableSet<>(backing);
+
+        Spliterator<Integer> right = set.spliterator();
+        assertTrue(right.hasCharacteristics(Spliterator.SUBSIZED));
+        Spliterator<Integer> left = right.trySplit();
+        assertEquals(500, left.estimateSize());
+        assertEquals(500, right.estimateSize());
+
+        List<Integer> elements = new ArrayList<>();
+        left.forEachRemaining(elements::add);
+        right.forEachRemaining(elements::add);
+        assertEquals(new ArrayList<>(backing), elements);
+
+        assertEquals(
+            999 * 1000 / 2, set.parallelStream().mapToInt(Integer::intValue).sum());
+        assertEquals(
+            new ArrayList<>(backing), set.parallelStream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testSequentialStreamDoesNotCopy()
+    {
+        Set<Integer> backing = new LinkedHashSet<Integer>()
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public Object[] toArray()
+            {
+                throw new AssertionError("Set copied");
+            }
+        };
+        for (int i = 0; i < 100; i++) {
+            backing.add(i);
+        }
+        Set<Integer> set = new UnmodifiableSplittableSet<>(backing);
+
+        assertTrue(set.stream().anyMatch(i -> i == 3));
+        assertEquals(100, set.stream().count());
+        assertEquals(
+            IntStream.range(0, 100).boxed().collect(Collectors.toList()),
+            set.stream().collect(Collectors.toList()));
+
+        // once traversal started the spliterator no longer splits
+        Spliterator<Integer> it = set.spliterator();
+        assertTrue(it.tryAdvance(i -> assertEquals(0, i.intValue())));
+        assertNull(it.trySplit());
+    }
+
+    @Test
+    public void testGraphSets()
+    {
+        Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(DefaultEdge.class);
+        for (int i = 0; i < 100; i++) {
+            graph.addVertex(i);
+            if (i > 0) {
+                graph.addEdge(i - 1, i);
+            }
+        }
+
+        Spliterator<Integer> vertices = graph.vertexSet().spliterator();
+        assertNotNull(vertices.trySplit());
+        assertEquals(50, vertices.estimateSize());
+        Spliterator<DefaultEdge> edges = graph.edgeSet().spliterator();
+        assertNotNull(edges.trySplit());
+        assertEquals(50, edges.estimateSize());
+        assertEquals(
+            2 * graph.edgeSet().size(),
+            graph.vertexSet().parallelStream().mapToInt(graph::degreeOf).sum());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testIteratorRemove()
+    {
+        Set<Integer> set = new UnmodifiableSplittableSet<>(new HashSet<>(Arrays.asList(1, 2)));
+        Iterator<Integer> it = set.iterator();
+        it.next();
+        it.remove();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAdd()
+    {
+        new UnmodifiableSplittableSet<>(new HashSet<Integer>()).add(1);
+    }
+}